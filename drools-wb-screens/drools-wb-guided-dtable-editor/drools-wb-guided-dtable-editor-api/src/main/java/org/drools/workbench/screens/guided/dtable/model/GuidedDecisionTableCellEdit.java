@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.model;
+
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * New value of a cell of a Decision Table, sent instead of the whole model when only cells have been changed.
+ */
+@Portable
+public class GuidedDecisionTableCellEdit {
+
+    private int rowIndex;
+    private int columnIndex;
+    private DTCellValue52 value;
+
+    public GuidedDecisionTableCellEdit() {
+    }
+
+    public GuidedDecisionTableCellEdit(final int rowIndex,
+                                       final int columnIndex,
+                                       final DTCellValue52 value) {
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.value = value;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * The index relative to GuidedDecisionTable52.getExpandedColumns()
+     * @return
+     */
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    public DTCellValue52 getValue() {
+        return value;
+    }
+}
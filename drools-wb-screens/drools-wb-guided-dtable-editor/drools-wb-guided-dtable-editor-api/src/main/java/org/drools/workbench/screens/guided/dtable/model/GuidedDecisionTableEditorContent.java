@@ -35,6 +35,8 @@ public class GuidedDecisionTableEditorContent {
     private Overview overview;
     private ObservablePath currentPath;
     private ObservablePath latestPath;
+    private int totalRowCount;
+    private String version;
 
     public GuidedDecisionTableEditorContent() {
     }
@@ -47,6 +49,7 @@ public class GuidedDecisionTableEditorContent {
         this.overview = PortablePreconditions.checkNotNull("overview", overview);
         this.currentPath = PortablePreconditions.checkNotNull("currentPath", currentPath);
         this.latestPath = PortablePreconditions.checkNotNull("latestPath", latestPath);
+        this.totalRowCount = model.getData().size();
     }
 
     public GuidedDecisionTableEditorContent(final GuidedDecisionTable52 model,
@@ -61,6 +64,7 @@ public class GuidedDecisionTableEditorContent {
                                                                       workItemDefinitions);
         this.dataModel = PortablePreconditions.checkNotNull("dataModel",
                                                             dataModel);
+        this.totalRowCount = model.getData().size();
     }
 
     public GuidedDecisionTable52 getModel() {
@@ -90,4 +94,28 @@ public class GuidedDecisionTableEditorContent {
     public ObservablePath getLatestPath() {
         return latestPath;
     }
+
+    /**
+     * Number of rows of the Decision Table; the model can contain only the first of them.
+     * @return
+     */
+    public int getTotalRowCount() {
+        return totalRowCount;
+    }
+
+    public void setTotalRowCount(int totalRowCount) {
+        this.totalRowCount = totalRowCount;
+    }
+
+    /**
+     * Version of the Decision Table the content has been loaded from; cell edits are saved against it.
+     * @return
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
 }
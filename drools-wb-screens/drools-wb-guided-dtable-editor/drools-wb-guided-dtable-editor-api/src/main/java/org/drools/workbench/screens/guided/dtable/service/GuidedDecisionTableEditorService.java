@@ -16,7 +16,11 @@
 
 package org.drools.workbench.screens.guided.dtable.service;
 
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.guvnor.common.services.shared.validation.ValidationService;
@@ -43,12 +47,53 @@ public interface GuidedDecisionTableEditorService
 
     String DTABLE_VERIFICATION_DISABLED = "org.kie.verification.disable-dtable-realtime-verification";
 
+    /**
+     * Maximum number of rows returned by {@link #loadContent(Path)} and by each call to {@link #loadRows(Path, String, int, int)}
+     */
+    int ROW_WINDOW_SIZE = 500;
+
+    /**
+     * Loads the content of a Decision Table with, at most, the first {@link #ROW_WINDOW_SIZE} rows. The total number
+     * of rows is available from {@link GuidedDecisionTableEditorContent#getTotalRowCount()}.
+     * @param path
+     * @return
+     */
     GuidedDecisionTableEditorContent loadContent(final Path path);
 
+    /**
+     * Loads a window of rows of a Decision Table
+     * @param path
+     * @param version Version of the Decision Table the previous rows have been loaded from; see {@link GuidedDecisionTableEditorContent#getVersion()}. Not checked if null.
+     * @param startRowIndex Index of the first row to load
+     * @param rowCount Maximum number of rows to load
+     * @return The rows; empty if startRowIndex is beyond the last row
+     * @throws org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException if the Decision Table has been changed since version
+     */
+    List<List<DTCellValue52>> loadRows(final Path path,
+                                       final String version,
+                                       final int startRowIndex,
+                                       final int rowCount);
+
     PackageDataModelOracleBaselinePayload loadDataModel(final Path path);
 
     Path saveAndUpdateGraphEntries(final Path resource,
                                    final GuidedDecisionTable52 model,
                                    final Metadata metadata,
                                    final String comment);
+
+    /**
+     * Saves changes to the cells of a Decision Table, without sending the whole model.
+     * @param resource
+     * @param baseVersion Version of the Decision Table the edits have been made on; see {@link GuidedDecisionTableEditorContent#getVersion()}
+     * @param edits
+     * @param metadata
+     * @param comment
+     * @return The version of the saved Decision Table
+     * @throws org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException if the Decision Table has been changed since baseVersion
+     */
+    String saveCellEdits(final Path resource,
+                         final String baseVersion,
+                         final List<GuidedDecisionTableCellEdit> edits,
+                         final Metadata metadata,
+                         final String comment);
 }
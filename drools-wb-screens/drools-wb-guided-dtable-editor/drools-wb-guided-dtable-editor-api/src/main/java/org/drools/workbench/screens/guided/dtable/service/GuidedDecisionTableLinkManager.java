@@ -17,6 +17,7 @@
 package org.drools.workbench.screens.guided.dtable.service;
 
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableLinkSignatures;
 
 /**
  * Definition of service to maintain links between Decision Tables.
@@ -36,6 +37,29 @@ public interface GuidedDecisionTableLinkManager {
                final GuidedDecisionTable52 targetModel,
                final LinkFoundCallback callback );
 
+    /**
+     * Create links between two Guided Decision Tables from their signatures. This avoids the signatures of a
+     * Decision Table being re-built when it is linked to many other Decision Tables.
+     * @param signatures
+     *         The signatures of the Decision Table to link from.
+     * @param otherSignatures
+     *         The signatures of another potential Decision Table that may be linked to.
+     * @param callback
+     *         Called when a link between the two Decision Tables has been found.
+     */
+    void link( final GuidedDecisionTableLinkSignatures signatures,
+               final GuidedDecisionTableLinkSignatures otherSignatures,
+               final LinkFoundCallback callback );
+
+    /**
+     * Build the signatures of the columns of a Guided Decision Table that can be linked. They remain valid until
+     * the columns of the Decision Table change.
+     * @param model
+     *         The Decision Table.
+     * @return The signatures of the Decision Table; never null.
+     */
+    GuidedDecisionTableLinkSignatures getSignatures( final GuidedDecisionTable52 model );
+
     /**
      * Callback when a link is found.
      */
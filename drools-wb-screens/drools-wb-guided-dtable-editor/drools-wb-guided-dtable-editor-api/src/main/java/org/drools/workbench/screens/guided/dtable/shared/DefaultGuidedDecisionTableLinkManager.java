@@ -18,6 +18,7 @@ package org.drools.workbench.screens.guided.dtable.shared;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -89,8 +90,6 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
         }
     }
 
-    private final RHSTypeFieldsExtractor rhsTypeFieldsExtractor = new RHSTypeFieldsExtractor();
-
     @Override
     public void link(final GuidedDecisionTable52 model,
                      final GuidedDecisionTable52 otherModel,
@@ -104,83 +103,102 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
         if (callback == null) {
             return;
         }
+        link(getSignatures(model),
+             getSignatures(otherModel),
+             callback);
+    }
+
+    @Override
+    public void link(final GuidedDecisionTableLinkSignatures signatures,
+                     final GuidedDecisionTableLinkSignatures otherSignatures,
+                     final LinkFoundCallback callback) {
+        if (signatures == null || otherSignatures == null || callback == null) {
+            return;
+        }
+        final List<String> otherConditionSignatures = otherSignatures.getConditionSignatures();
+        for (int conditionIndex = 0; conditionIndex < otherConditionSignatures.size(); conditionIndex++) {
+            final Integer sourceColumnIndex = signatures.getActionColumnIndex(otherConditionSignatures.get(conditionIndex));
+            if (sourceColumnIndex != null) {
+                callback.link(sourceColumnIndex,
+                              otherSignatures.getConditionColumnIndex(conditionIndex));
+            }
+        }
+    }
+
+    @Override
+    public GuidedDecisionTableLinkSignatures getSignatures(final GuidedDecisionTable52 model) {
+        if (model == null) {
+            return GuidedDecisionTableLinkSignatures.EMPTY;
+        }
+        final GuidedDecisionTableLinkSignatures signatures = new GuidedDecisionTableLinkSignatures();
+        final Map<BaseColumn, Integer> columnIndices = getColumnIndices(model);
         final BRLRuleModel helper = new BRLRuleModel(model);
 
-        //Re-create links to other Decision Tables
-        for (CompositeColumn<? extends BaseColumn> otherDecisionTableConditions : otherModel.getConditions()) {
-            if (otherDecisionTableConditions instanceof Pattern52) {
-                final Pattern52 otherDecisionTablePattern = (Pattern52) otherDecisionTableConditions;
-                for (ConditionCol52 otherDecisionTableCondition : otherDecisionTablePattern.getChildColumns()) {
-                    final String factType = otherDecisionTablePattern.getFactType();
-                    final String fieldName = otherDecisionTableCondition.getFactField();
-                    final ActionCol52 linkedActionColumn = getLinkedActionColumn(factType,
-                                                                                 fieldName,
-                                                                                 model,
-                                                                                 helper);
-                    if (linkedActionColumn != null) {
-                        final int sourceColumnIndex = model.getExpandedColumns().indexOf(linkedActionColumn);
-                        final int targetColumnIndex = otherModel.getExpandedColumns().indexOf(otherDecisionTableCondition);
-                        callback.link(sourceColumnIndex,
-                                      targetColumnIndex);
-                    }
+        for (CompositeColumn<? extends BaseColumn> conditions : model.getConditions()) {
+            if (conditions instanceof Pattern52) {
+                final Pattern52 pattern = (Pattern52) conditions;
+                for (ConditionCol52 condition : pattern.getChildColumns()) {
+                    signatures.addCondition(GuidedDecisionTableLinkSignatures.makeSignature(pattern.getFactType(),
+                                                                                            condition.getFactField()),
+                                            getColumnIndex(columnIndices,
+                                                           condition));
                 }
-            } else if (otherDecisionTableConditions instanceof BRLConditionColumn) {
-                final BRLConditionColumn fragment = (BRLConditionColumn) otherDecisionTableConditions;
+            } else if (conditions instanceof BRLConditionColumn) {
+                final BRLConditionColumn fragment = (BRLConditionColumn) conditions;
                 for (BRLConditionVariableColumn var : fragment.getChildColumns()) {
-                    final String factType = var.getFactType();
-                    final String fieldName = var.getFactField();
-                    final ActionCol52 linkedActionColumn = getLinkedActionColumn(factType,
-                                                                                 fieldName,
-                                                                                 model,
-                                                                                 helper);
-                    if (linkedActionColumn != null) {
-                        final int sourceColumnIndex = model.getExpandedColumns().indexOf(linkedActionColumn);
-                        final int targetColumnIndex = otherModel.getExpandedColumns().indexOf(var);
-                        callback.link(sourceColumnIndex,
-                                      targetColumnIndex);
-                    }
+                    signatures.addCondition(GuidedDecisionTableLinkSignatures.makeSignature(var.getFactType(),
+                                                                                            var.getFactField()),
+                                            getColumnIndex(columnIndices,
+                                                           var));
                 }
             }
         }
-    }
-
-    private ActionCol52 getLinkedActionColumn(final String factType,
-                                              final String fieldName,
-                                              final GuidedDecisionTable52 model,
-                                              final BRLRuleModel helper) {
-        if (factType == null || fieldName == null) {
-            return null;
-        }
 
         for (ActionCol52 ac : model.getActionCols()) {
             if (ac instanceof ActionInsertFactCol52) {
                 final ActionInsertFactCol52 aif = (ActionInsertFactCol52) ac;
-                if (factType.equals(aif.getFactType()) && fieldName.equals(aif.getFactField())) {
-                    return ac;
-                }
+                signatures.addAction(GuidedDecisionTableLinkSignatures.makeSignature(aif.getFactType(),
+                                                                                     aif.getFactField()),
+                                     getColumnIndex(columnIndices,
+                                                    ac));
             } else if (ac instanceof ActionSetFieldCol52) {
                 final ActionSetFieldCol52 asf = (ActionSetFieldCol52) ac;
-                final String binding = asf.getBoundName();
-                final String asfFactType = helper.getLHSBindingType(binding);
-                if (factType.equals(asfFactType) && fieldName.equals(asf.getFactField())) {
-                    return ac;
-                }
+                final String asfFactType = helper.getLHSBindingType(asf.getBoundName());
+                signatures.addAction(GuidedDecisionTableLinkSignatures.makeSignature(asfFactType,
+                                                                                     asf.getFactField()),
+                                     getColumnIndex(columnIndices,
+                                                    ac));
             } else if (ac instanceof BRLActionColumn) {
                 final BRLActionColumn fragment = (BRLActionColumn) ac;
-
                 if (hasTemplateKeys(fragment)) {
-                    return getLinkedTemplateKeyColumn(fragment,
-                                                      factType,
-                                                      fieldName);
+                    addTemplateKeySignatures(signatures,
+                                             columnIndices,
+                                             fragment);
                 } else {
-                    return getLinkedDefinitionColumn(model,
-                                                     fragment,
-                                                     factType,
-                                                     fieldName);
+                    addDefinitionSignatures(signatures,
+                                            columnIndices,
+                                            model,
+                                            fragment);
                 }
             }
         }
-        return null;
+        return signatures;
+    }
+
+    private Map<BaseColumn, Integer> getColumnIndices(final GuidedDecisionTable52 model) {
+        final Map<BaseColumn, Integer> columnIndices = new IdentityHashMap<>();
+        final List<BaseColumn> expandedColumns = model.getExpandedColumns();
+        for (int index = 0; index < expandedColumns.size(); index++) {
+            columnIndices.put(expandedColumns.get(index),
+                              index);
+        }
+        return columnIndices;
+    }
+
+    private int getColumnIndex(final Map<BaseColumn, Integer> columnIndices,
+                               final BaseColumn column) {
+        final Integer index = columnIndices.get(column);
+        return index == null ? -1 : index;
     }
 
     private boolean hasTemplateKeys(final BRLActionColumn column) {
@@ -193,30 +211,31 @@ public class DefaultGuidedDecisionTableLinkManager implements GuidedDecisionTabl
         return ivs.size() > 0;
     }
 
-    private ActionCol52 getLinkedTemplateKeyColumn(final BRLActionColumn fragment,
-                                                   final String factType,
-                                                   final String fieldName) {
+    private void addTemplateKeySignatures(final GuidedDecisionTableLinkSignatures signatures,
+                                          final Map<BaseColumn, Integer> columnIndices,
+                                          final BRLActionColumn fragment) {
         for (BRLActionVariableColumn var : fragment.getChildColumns()) {
-            if (factType.equals(var.getFactType()) && fieldName.equals(var.getFactField())) {
-                return var;
-            }
+            signatures.addAction(GuidedDecisionTableLinkSignatures.makeSignature(var.getFactType(),
+                                                                                 var.getFactField()),
+                                 getColumnIndex(columnIndices,
+                                                var));
         }
-        return null;
     }
 
-    private ActionCol52 getLinkedDefinitionColumn(final GuidedDecisionTable52 model,
-                                                  final BRLActionColumn fragment,
-                                                  final String factType,
-                                                  final String fieldName) {
-        final Map<String, List<String>> rhsTypeFields = rhsTypeFieldsExtractor.extract(model,
-                                                                                       fragment.getDefinition());
-        if (rhsTypeFields.containsKey(factType)) {
-            for (String field : rhsTypeFields.get(factType)) {
-                if (field.equals(fieldName)) {
-                    return fragment.getChildColumns().get(0);
-                }
-            }
+    private void addDefinitionSignatures(final GuidedDecisionTableLinkSignatures signatures,
+                                         final Map<BaseColumn, Integer> columnIndices,
+                                         final GuidedDecisionTable52 model,
+                                         final BRLActionColumn fragment) {
+        if (fragment.getChildColumns().isEmpty()) {
+            return;
         }
-        return null;
+        //Without Template Keys the whole fragment is represented by its first column
+        final int columnIndex = getColumnIndex(columnIndices,
+                                               fragment.getChildColumns().get(0));
+        final Map<String, List<String>> rhsTypeFields = new RHSTypeFieldsExtractor().extract(model,
+                                                                                              fragment.getDefinition());
+        rhsTypeFields.forEach((factType, fields) -> fields.forEach((field) -> signatures.addAction(GuidedDecisionTableLinkSignatures.makeSignature(factType,
+                                                                                                                                                    field),
+                                                                                                   columnIndex)));
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.shared;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Signatures (Fact Type and Field) of the columns of a Decision Table that can be linked to other Decision Tables.
+ * Action columns are indexed by signature so that the links between two Decision Tables can be found with one
+ * lookup per condition column.
+ */
+public class GuidedDecisionTableLinkSignatures {
+
+    public static final GuidedDecisionTableLinkSignatures EMPTY = new GuidedDecisionTableLinkSignatures();
+
+    private final Map<String, Integer> actionColumnIndices = new HashMap<>();
+    private final List<String> conditionSignatures = new ArrayList<>();
+    private final List<Integer> conditionColumnIndices = new ArrayList<>();
+
+    /**
+     * Builds the signature of a column.
+     * @param factType
+     *         Fact Type of the column; can be null.
+     * @param factField
+     *         Field of the column; can be null.
+     * @return null if the Fact Type or the Field are missing.
+     */
+    public static String makeSignature(final String factType,
+                                       final String factField) {
+        if (factType == null || factField == null) {
+            return null;
+        }
+        return factType + "#" + factField;
+    }
+
+    /**
+     * Records an action column. Only the first action column with a signature can be linked.
+     * @param signature
+     *         Signature of the column.
+     * @param columnIndex
+     *         The index relative to GuidedDecisionTable52.getExpandedColumns()
+     */
+    void addAction(final String signature,
+                   final int columnIndex) {
+        if (signature != null && !actionColumnIndices.containsKey(signature)) {
+            actionColumnIndices.put(signature,
+                                    columnIndex);
+        }
+    }
+
+    /**
+     * Records a condition column.
+     * @param signature
+     *         Signature of the column.
+     * @param columnIndex
+     *         The index relative to GuidedDecisionTable52.getExpandedColumns()
+     */
+    void addCondition(final String signature,
+                      final int columnIndex) {
+        if (signature != null) {
+            conditionSignatures.add(signature);
+            conditionColumnIndices.add(columnIndex);
+        }
+    }
+
+    /**
+     * @param signature
+     *         Signature of a condition column of another Decision Table.
+     * @return The index of the action column with the signature; null if there is none.
+     */
+    public Integer getActionColumnIndex(final String signature) {
+        return actionColumnIndices.get(signature);
+    }
+
+    public Set<String> getActionSignatures() {
+        return Collections.unmodifiableSet(actionColumnIndices.keySet());
+    }
+
+    public List<String> getConditionSignatures() {
+        return Collections.unmodifiableList(conditionSignatures);
+    }
+
+    public int getConditionColumnIndex(final int conditionIndex) {
+        return conditionColumnIndices.get(conditionIndex);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.shared;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Thrown when rows are loaded, or cell edits are saved, against a version of a Decision Table that is not the latest one.
+ */
+@Portable
+public class GuidedDecisionTableVersionConflictException extends RuntimeException {
+
+    private Path path;
+    private String author;
+
+    public GuidedDecisionTableVersionConflictException() {
+    }
+
+    public GuidedDecisionTableVersionConflictException(final String message) {
+        super(message);
+    }
+
+    public GuidedDecisionTableVersionConflictException(final String message,
+                                                       final Path path,
+                                                       final String author) {
+        super(message);
+        this.path = path;
+        this.author = author;
+    }
+
+    /**
+     * The Decision Table that has been changed.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The user that saved the latest version of the Decision Table, if known.
+     */
+    public String getAuthor() {
+        return author;
+    }
+}
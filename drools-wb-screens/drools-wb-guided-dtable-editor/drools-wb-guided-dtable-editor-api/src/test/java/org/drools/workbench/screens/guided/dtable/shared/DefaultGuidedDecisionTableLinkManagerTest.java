@@ -17,6 +17,7 @@
 package org.drools.workbench.screens.guided.dtable.shared;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.drools.workbench.models.datamodel.rule.ActionFieldValue;
 import org.drools.workbench.models.datamodel.rule.ActionInsertFact;
@@ -36,6 +37,7 @@ import org.kie.soup.project.datamodel.oracle.DataType;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.spy;
 
@@ -93,6 +95,80 @@ public class DefaultGuidedDecisionTableLinkManagerTest {
                      });
     }
 
+    @Test
+    public void signaturesIndexActionsAndConditions() {
+        //Columns: Row#[0], Description[1], Condition[2], Action[3], Action[4]
+        final GuidedDecisionTable52 dt = new GuidedDecisionTable52();
+        final Pattern52 p1 = new Pattern52();
+        p1.setBoundName("$f");
+        p1.setFactType("Fact");
+        final ConditionCol52 p1c1 = new ConditionCol52();
+        p1c1.setFactField("field1");
+        p1.getChildColumns().add(p1c1);
+        dt.getConditions().add(p1);
+        final ActionSetFieldCol52 asf = new ActionSetFieldCol52();
+        asf.setBoundName("$f");
+        asf.setFactField("field2");
+        dt.getActionCols().add(asf);
+        final ActionInsertFactCol52 aif = new ActionInsertFactCol52();
+        aif.setFactType("Fact");
+        aif.setFactField("field2");
+        dt.getActionCols().add(aif);
+
+        final GuidedDecisionTableLinkSignatures signatures = manager.getSignatures(dt);
+
+        assertEquals(1,
+                     signatures.getConditionSignatures().size());
+        assertEquals(GuidedDecisionTableLinkSignatures.makeSignature("Fact",
+                                                                     "field1"),
+                     signatures.getConditionSignatures().get(0));
+        assertEquals(2,
+                     signatures.getConditionColumnIndex(0));
+        assertEquals(1,
+                     signatures.getActionSignatures().size());
+        //The first action with a signature is the one linked
+        assertEquals(Integer.valueOf(3),
+                     signatures.getActionColumnIndex(GuidedDecisionTableLinkSignatures.makeSignature("Fact",
+                                                                                                     "field2")));
+        assertNull(signatures.getActionColumnIndex(GuidedDecisionTableLinkSignatures.makeSignature("Fact",
+                                                                                                   "field1")));
+    }
+
+    @Test
+    public void linkSignatures() {
+        //Columns: Row#[0], Description[1], Action[2]
+        final GuidedDecisionTable52 dt1 = new GuidedDecisionTable52();
+        final ActionInsertFactCol52 aif = new ActionInsertFactCol52();
+        aif.setFactType("Fact");
+        aif.setFactField("field");
+        dt1.getActionCols().add(aif);
+
+        //Columns: Row#[0], Description[1], Condition[2], Condition[3]
+        final GuidedDecisionTable52 dt2 = new GuidedDecisionTable52();
+        final Pattern52 p2 = new Pattern52();
+        p2.setBoundName("$f");
+        p2.setFactType("Fact");
+        final ConditionCol52 p2c1 = new ConditionCol52();
+        p2c1.setFactField("other");
+        p2.getChildColumns().add(p2c1);
+        final ConditionCol52 p2c2 = new ConditionCol52();
+        p2c2.setFactField("field");
+        p2.getChildColumns().add(p2c2);
+        dt2.getConditions().add(p2);
+
+        final List<int[]> links = new ArrayList<>();
+        manager.link(manager.getSignatures(dt1),
+                     manager.getSignatures(dt2),
+                     (s, t) -> links.add(new int[]{s, t}));
+
+        assertEquals(1,
+                     links.size());
+        assertEquals(2,
+                     links.get(0)[0]);
+        assertEquals(3,
+                     links.get(0)[1]);
+    }
+
     @Test
     public void fieldConstraintLinksToActionInsertFactField() {
         //Columns: Row#[0], Description[1], Action[2]
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Versions of Guided Decision Tables: the digest of their XML. Two versions are the same if and only if the XML
+ * is the same, whatever the history of the file.
+ */
+public class GuidedDecisionTableContentVersion {
+
+    private GuidedDecisionTableContentVersion() {
+    }
+
+    /**
+     * @param xml XML of the Decision Table; null is treated as an empty file.
+     * @return The version of the Decision Table
+     */
+    public static String of(final String xml) {
+        final byte[] bytes = (xml == null ? "" : xml).getBytes(StandardCharsets.UTF_8);
+        final StringBuilder builder = new StringBuilder();
+        for (byte b : newDigest().digest(bytes)) {
+            builder.append(String.format("%02x",
+                                         b));
+        }
+        return builder.toString();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
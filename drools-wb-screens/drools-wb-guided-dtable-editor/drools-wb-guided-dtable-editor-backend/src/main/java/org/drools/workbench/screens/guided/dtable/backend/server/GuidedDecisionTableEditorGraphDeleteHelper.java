@@ -16,6 +16,7 @@
 
 package org.drools.workbench.screens.guided.dtable.backend.server;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -24,16 +25,12 @@ import javax.inject.Named;
 
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
-import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
-import org.guvnor.common.services.backend.file.FileExtensionFilter;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.ext.editor.commons.backend.service.helper.DeleteHelper;
 import org.uberfire.io.IOService;
-import org.uberfire.java.nio.file.DirectoryStream;
-import org.uberfire.java.nio.file.Files;
 
 /**
  * DeleteHelper for Guided Decision Tables referenced in Guided Decision Table Graphs
@@ -43,8 +40,8 @@ public class GuidedDecisionTableEditorGraphDeleteHelper implements DeleteHelper
 
     private IOService ioService;
     private GuidedDTableResourceTypeDefinition dtableType;
-    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
     private GuidedDecisionTableGraphEditorService dtableGraphService;
+    private GuidedDecisionTableGraphReferenceIndex graphReferenceIndex;
     private CommentedOptionFactory commentedOptionFactory;
 
     public GuidedDecisionTableEditorGraphDeleteHelper() {
@@ -54,13 +51,13 @@ public class GuidedDecisionTableEditorGraphDeleteHelper implements DeleteHelper
     @Inject
     public GuidedDecisionTableEditorGraphDeleteHelper(final @Named("ioStrategy") IOService ioService,
                                                       final GuidedDTableResourceTypeDefinition dtableType,
-                                                      final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
                                                       final GuidedDecisionTableGraphEditorService dtableGraphService,
+                                                      final GuidedDecisionTableGraphReferenceIndex graphReferenceIndex,
                                                       final CommentedOptionFactory commentedOptionFactory) {
         this.ioService = ioService;
         this.dtableType = dtableType;
-        this.dtableGraphType = dtableGraphType;
         this.dtableGraphService = dtableGraphService;
+        this.graphReferenceIndex = graphReferenceIndex;
         this.commentedOptionFactory = commentedOptionFactory;
     }
 
@@ -71,17 +68,17 @@ public class GuidedDecisionTableEditorGraphDeleteHelper implements DeleteHelper
 
     @Override
     public void postProcess(final Path path) {
-        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
-                     ioService.newDirectoryStream(getParentFolder(path),
-                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
-            directoryStream.forEach((p) -> updateGraphReferences(path,
-                                                                 Paths.convert(p)));
+        final List<Path> graphPaths = graphReferenceIndex.getGraphsReferencing(path);
+        if (graphPaths.isEmpty()) {
+            return;
+        }
+        try {
+            ioService.startBatch(Paths.convert(path).getFileSystem());
+            graphPaths.forEach((graphPath) -> updateGraphReferences(path,
+                                                                    graphPath));
+        } finally {
+            ioService.endBatch();
         }
-    }
-
-    org.uberfire.java.nio.file.Path getParentFolder(final Path path) {
-        org.uberfire.java.nio.file.Path nioFolderPath = Paths.convert(path);
-        return Files.isDirectory(nioFolderPath) ? nioFolderPath : nioFolderPath.getParent();
     }
 
     void updateGraphReferences(final Path path,
@@ -92,5 +89,7 @@ public class GuidedDecisionTableEditorGraphDeleteHelper implements DeleteHelper
         ioService.write(Paths.convert(graphPath),
                         GuidedDTGraphXMLPersistence.getInstance().marshal(dtGraphModel),
                         commentedOptionFactory.makeCommentedOption("File [" + path.toURI() + "] deleted."));
+        graphReferenceIndex.update(graphPath,
+                                   dtGraphModel);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.drools.workbench.screens.guided.dtable.backend.server;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -23,16 +24,12 @@ import javax.inject.Named;
 
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
-import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
-import org.guvnor.common.services.backend.file.FileExtensionFilter;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.ext.editor.commons.backend.service.helper.RenameHelper;
 import org.uberfire.io.IOService;
-import org.uberfire.java.nio.file.DirectoryStream;
-import org.uberfire.java.nio.file.Files;
 
 /**
  * RenameHelper for Guided Decision Tables referenced in Guided Decision Table Graphs
@@ -42,8 +39,8 @@ public class GuidedDecisionTableEditorGraphRenameHelper implements RenameHelper
 
     private IOService ioService;
     private GuidedDTableResourceTypeDefinition dtableType;
-    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
     private GuidedDecisionTableGraphEditorService dtableGraphService;
+    private GuidedDecisionTableGraphReferenceIndex graphReferenceIndex;
     private CommentedOptionFactory commentedOptionFactory;
 
     public GuidedDecisionTableEditorGraphRenameHelper() {
@@ -53,13 +50,13 @@ public class GuidedDecisionTableEditorGraphRenameHelper implements RenameHelper
     @Inject
     public GuidedDecisionTableEditorGraphRenameHelper(final @Named("ioStrategy") IOService ioService,
                                                       final GuidedDTableResourceTypeDefinition dtableType,
-                                                      final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
                                                       final GuidedDecisionTableGraphEditorService dtableGraphService,
+                                                      final GuidedDecisionTableGraphReferenceIndex graphReferenceIndex,
                                                       final CommentedOptionFactory commentedOptionFactory) {
         this.ioService = ioService;
         this.dtableType = dtableType;
-        this.dtableGraphType = dtableGraphType;
         this.dtableGraphService = dtableGraphService;
+        this.graphReferenceIndex = graphReferenceIndex;
         this.commentedOptionFactory = commentedOptionFactory;
     }
 
@@ -71,20 +68,20 @@ public class GuidedDecisionTableEditorGraphRenameHelper implements RenameHelper
     @Override
     public void postProcess(final Path source,
                             final Path destination) {
-        try (DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
-                     ioService.newDirectoryStream(getParentFolder(source),
-                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
-            directoryStream.forEach((path) -> updateGraphElementPath(source,
+        final List<Path> graphPaths = graphReferenceIndex.getGraphsReferencing(source);
+        if (graphPaths.isEmpty()) {
+            return;
+        }
+        try {
+            ioService.startBatch(Paths.convert(source).getFileSystem());
+            graphPaths.forEach((graphPath) -> updateGraphElementPath(source,
                                                                      destination,
-                                                                     Paths.convert(path)));
+                                                                     graphPath));
+        } finally {
+            ioService.endBatch();
         }
     }
 
-    org.uberfire.java.nio.file.Path getParentFolder(final Path path) {
-        org.uberfire.java.nio.file.Path nioFolderPath = Paths.convert(path);
-        return Files.isDirectory(nioFolderPath) ? nioFolderPath : nioFolderPath.getParent();
-    }
-
     void updateGraphElementPath(final Path source,
                                 final Path destination,
                                 final Path graphPath) {
@@ -99,5 +96,7 @@ public class GuidedDecisionTableEditorGraphRenameHelper implements RenameHelper
         ioService.write(Paths.convert(graphPath),
                         GuidedDTGraphXMLPersistence.getInstance().marshal(dtGraphModel),
                         commentedOptionFactory.makeCommentedOption("File [" + source.toURI() + "] renamed to [" + destination.toURI() + "]."));
+        graphReferenceIndex.update(graphPath,
+                                   dtGraphModel);
     }
 }
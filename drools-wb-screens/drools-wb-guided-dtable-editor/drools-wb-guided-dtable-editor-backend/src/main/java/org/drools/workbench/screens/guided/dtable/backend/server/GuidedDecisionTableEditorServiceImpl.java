@@ -29,16 +29,17 @@ import javax.inject.Named;
 
 import org.drools.workbench.models.datamodel.workitems.PortableWorkDefinition;
 import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
-import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.drools.workbench.screens.workitems.service.WorkItemsEditorService;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
-import org.guvnor.common.services.backend.file.FileExtensionFilter;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.guvnor.common.services.backend.validation.GenericValidator;
 import org.guvnor.common.services.project.model.Package;
@@ -62,9 +63,7 @@ import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.version.VersionRecord;
-import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
-import org.uberfire.java.nio.file.Files;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
 
@@ -83,7 +82,8 @@ public class GuidedDecisionTableEditorServiceImpl
     private KieModuleService moduleService;
     private VersionRecordService versionRecordService;
     private GuidedDecisionTableGraphEditorService dtableGraphService;
-    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
+    private GuidedDecisionTableGraphReferenceIndex graphReferenceIndex;
+    private GuidedDecisionTableModelCache modelCache;
     private Event<ResourceOpenedEvent> resourceOpenedEvent;
     private GenericValidator genericValidator;
     private CommentedOptionFactory commentedOptionFactory;
@@ -104,7 +104,8 @@ public class GuidedDecisionTableEditorServiceImpl
                                                 final KieModuleService moduleService,
                                                 final VersionRecordService versionRecordService,
                                                 final GuidedDecisionTableGraphEditorService dtableGraphService,
-                                                final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
+                                                final GuidedDecisionTableGraphReferenceIndex graphReferenceIndex,
+                                                final GuidedDecisionTableModelCache modelCache,
                                                 final Event<ResourceOpenedEvent> resourceOpenedEvent,
                                                 final GenericValidator genericValidator,
                                                 final CommentedOptionFactory commentedOptionFactory,
@@ -119,7 +120,8 @@ public class GuidedDecisionTableEditorServiceImpl
         this.moduleService = moduleService;
         this.versionRecordService = versionRecordService;
         this.dtableGraphService = dtableGraphService;
-        this.dtableGraphType = dtableGraphType;
+        this.graphReferenceIndex = graphReferenceIndex;
+        this.modelCache = modelCache;
         this.resourceOpenedEvent = resourceOpenedEvent;
         this.genericValidator = genericValidator;
         this.commentedOptionFactory = commentedOptionFactory;
@@ -162,9 +164,7 @@ public class GuidedDecisionTableEditorServiceImpl
     @Override
     public GuidedDecisionTable52 load(final Path path) {
         try {
-            final String content = ioService.readAllString(Paths.convert(path));
-
-            return GuidedDTXMLPersistence.getInstance().unmarshal(content);
+            return modelCache.get(Paths.convert(path)).copyModel();
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -178,13 +178,13 @@ public class GuidedDecisionTableEditorServiceImpl
     @Override
     protected GuidedDecisionTableEditorContent constructContent(Path path,
                                                                 Overview overview) {
-        final GuidedDecisionTable52 model = load(path);
+        final GuidedDecisionTableModelCache.CachedModel cachedModel = modelCache.get(Paths.convert(path));
 
         final PackageDataModelOracle oracle = dataModelService.getDataModel(path);
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
 
         //Get FQCN's used by model
-        final GuidedDecisionTableModelVisitor visitor = new GuidedDecisionTableModelVisitor(model);
+        final GuidedDecisionTableModelVisitor visitor = new GuidedDecisionTableModelVisitor(cachedModel.getModel());
         final Set<String> consumedFQCNs = visitor.getConsumedModelClasses();
 
         //Get FQCN's used by Globals
@@ -205,14 +205,41 @@ public class GuidedDecisionTableEditorServiceImpl
 
         final Set<PortableWorkDefinition> workItemDefinitions = workItemsService.loadWorkItemDefinitions(path);
 
+        //Only the first window of rows is sent to the client; the others are loaded on demand
+        final GuidedDecisionTable52 model = cachedModel.copyModel(ROW_WINDOW_SIZE);
+        final int totalRowCount = cachedModel.getModel().getData().size();
+
         //Signal opening to interested parties
         resourceOpenedEvent.fire(new ResourceOpenedEvent(path,
                                                          safeSessionInfo));
 
-        return new GuidedDecisionTableEditorContent(model,
-                                                    workItemDefinitions,
-                                                    overview,
-                                                    dataModel);
+        final GuidedDecisionTableEditorContent content = new GuidedDecisionTableEditorContent(model,
+                                                                                              workItemDefinitions,
+                                                                                              overview,
+                                                                                              dataModel);
+        content.setTotalRowCount(totalRowCount);
+        content.setVersion(cachedModel.getVersion());
+        return content;
+    }
+
+    @Override
+    public List<List<DTCellValue52>> loadRows(final Path path,
+                                              final String version,
+                                              final int startRowIndex,
+                                              final int rowCount) {
+        try {
+            final GuidedDecisionTableModelCache.CachedModel cachedModel = modelCache.get(Paths.convert(path));
+            //Rows of another version would not follow the ones already loaded
+            if (version != null && !cachedModel.getVersion().equals(version)) {
+                throw new GuidedDecisionTableVersionConflictException("Decision Table " + path.toURI() + " has been changed since version " + version + " was loaded.",
+                                                                      path,
+                                                                      getLatestVersionAuthor(path));
+            }
+            return cachedModel.copyRows(startRowIndex,
+                                        rowCount);
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        }
     }
 
     @Override
@@ -237,26 +264,39 @@ public class GuidedDecisionTableEditorServiceImpl
                      final Metadata metadata,
                      final String comment) {
         try {
-            final Package pkg = moduleService.resolvePackage(resource);
-            final String packageName = (pkg == null ? null : pkg.getPackageName());
-            model.setPackageName(packageName);
-
-            Metadata currentMetadata = metadataService.getMetadata(resource);
-            ioService.write(Paths.convert(resource),
-                            GuidedDTXMLPersistence.getInstance().marshal(model),
-                            metadataService.setUpAttributes(resource,
-                                                            metadata),
-                            commentedOptionFactory.makeCommentedOption(comment));
-
-            fireMetadataSocialEvents(resource,
-                                     currentMetadata,
-                                     metadata);
+            write(resource,
+                  model,
+                  metadata,
+                  comment);
             return resource;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
     }
 
+    //Returns the XML written
+    private String write(final Path resource,
+                         final GuidedDecisionTable52 model,
+                         final Metadata metadata,
+                         final String comment) {
+        final Package pkg = moduleService.resolvePackage(resource);
+        final String packageName = (pkg == null ? null : pkg.getPackageName());
+        model.setPackageName(packageName);
+
+        final Metadata currentMetadata = metadataService.getMetadata(resource);
+        final String xml = GuidedDTXMLPersistence.getInstance().marshal(model);
+        ioService.write(Paths.convert(resource),
+                        xml,
+                        metadataService.setUpAttributes(resource,
+                                                        metadata),
+                        commentedOptionFactory.makeCommentedOption(comment));
+
+        fireMetadataSocialEvents(resource,
+                                 currentMetadata,
+                                 metadata);
+        return xml;
+    }
+
     @Override
     public Path saveAndUpdateGraphEntries(final Path resource,
                                           final GuidedDecisionTable52 model,
@@ -281,6 +321,69 @@ public class GuidedDecisionTableEditorServiceImpl
         }
     }
 
+    @Override
+    public String saveCellEdits(final Path resource,
+                                final String baseVersion,
+                                final List<GuidedDecisionTableCellEdit> edits,
+                                final Metadata metadata,
+                                final String comment) {
+        try {
+            //The batch prevents other writes between the version check and the write
+            ioService.startBatch(Paths.convert(resource).getFileSystem());
+
+            final GuidedDecisionTableModelCache.CachedModel cachedModel = modelCache.get(Paths.convert(resource));
+            if (!cachedModel.getVersion().equals(baseVersion)) {
+                throw new GuidedDecisionTableVersionConflictException("Decision Table " + resource.toURI() + " has been changed since version " + baseVersion + " was loaded.",
+                                                                      resource,
+                                                                      getLatestVersionAuthor(resource));
+            }
+
+            final GuidedDecisionTable52 model = cachedModel.copyModel();
+            applyCellEdits(model,
+                           edits);
+
+            final String xml = write(resource,
+                                     model,
+                                     metadata,
+                                     comment);
+
+            updateGraphElementPaths(resource,
+                                    getLatestVersionPath(resource));
+
+            return GuidedDecisionTableContentVersion.of(xml);
+        } catch (Exception e) {
+            throw ExceptionUtilities.handleException(e);
+        } finally {
+            ioService.endBatch();
+        }
+    }
+
+    private void applyCellEdits(final GuidedDecisionTable52 model,
+                                final List<GuidedDecisionTableCellEdit> edits) {
+        final List<List<DTCellValue52>> data = model.getData();
+        for (GuidedDecisionTableCellEdit edit : edits) {
+            final int rowIndex = edit.getRowIndex();
+            if (rowIndex < 0 || rowIndex >= data.size()) {
+                throw new IllegalArgumentException("Row index " + rowIndex + " is out of bounds.");
+            }
+            final List<DTCellValue52> row = data.get(rowIndex);
+            final int columnIndex = edit.getColumnIndex();
+            if (columnIndex < 0 || columnIndex >= row.size()) {
+                throw new IllegalArgumentException("Column index " + columnIndex + " is out of bounds.");
+            }
+            row.set(columnIndex,
+                    edit.getValue());
+        }
+    }
+
+    private String getLatestVersionAuthor(final Path path) {
+        final List<VersionRecord> versions = versionRecordService.load(Paths.convert(path));
+        if (versions == null || versions.isEmpty()) {
+            return null;
+        }
+        return versions.get(versions.size() - 1).author();
+    }
+
     private Path getLatestVersionPath(final Path path) {
         final List<VersionRecord> versions = versionRecordService.load(Paths.convert(path));
         final String versionUri = versions.get(versions.size() - 1).uri();
@@ -291,18 +394,9 @@ public class GuidedDecisionTableEditorServiceImpl
 
     private void updateGraphElementPaths(final Path source,
                                          final Path destination) {
-        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
-                     ioService.newDirectoryStream(getParentFolder(source),
-                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
-            directoryStream.forEach((path) -> updateGraphElementPath(source,
-                                                                     destination,
-                                                                     Paths.convert(path)));
-        }
-    }
-
-    private org.uberfire.java.nio.file.Path getParentFolder(final Path path) {
-        org.uberfire.java.nio.file.Path nioFolderPath = Paths.convert(path);
-        return Files.isDirectory(nioFolderPath) ? nioFolderPath : nioFolderPath.getParent();
+        graphReferenceIndex.getGraphsReferencing(source).forEach((graphPath) -> updateGraphElementPath(source,
+                                                                                                      destination,
+                                                                                                      graphPath));
     }
 
     private void updateGraphElementPath(final Path source,
@@ -314,6 +408,8 @@ public class GuidedDecisionTableEditorServiceImpl
         ioService.write(Paths.convert(graphPath),
                         GuidedDTGraphXMLPersistence.getInstance().marshal(dtGraphModel),
                         commentedOptionFactory.makeCommentedOption("Updated Path version for [" + source.toURI() + "] to [" + destination.toURI() + "]."));
+        graphReferenceIndex.update(graphPath,
+                                   dtGraphModel);
     }
 
     @Override
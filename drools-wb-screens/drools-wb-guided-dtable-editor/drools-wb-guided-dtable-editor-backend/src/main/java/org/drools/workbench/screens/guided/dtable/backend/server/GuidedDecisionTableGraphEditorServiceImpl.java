@@ -18,8 +18,10 @@ package org.drools.workbench.screens.guided.dtable.backend.server;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -27,12 +29,11 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableLinkSignatures;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
@@ -47,7 +48,6 @@ import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
-import org.uberfire.commons.data.Pair;
 import org.uberfire.ext.editor.commons.backend.version.VersionRecordService;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -71,8 +71,9 @@ public class GuidedDecisionTableGraphEditorServiceImpl
     private RenameService renameService;
     private KieModuleService moduleService;
     private VersionRecordService versionRecordService;
-    private GuidedDecisionTableEditorService dtableService;
     private GuidedDecisionTableLinkManager dtableLinkManager;
+    private GuidedDecisionTableGraphReferenceIndex graphReferenceIndex;
+    private GuidedDecisionTableModelCache modelCache;
     private Event<ResourceOpenedEvent> resourceOpenedEvent;
     private CommentedOptionFactory commentedOptionFactory;
     private GuidedDTableResourceTypeDefinition resourceType;
@@ -90,8 +91,9 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                                                      final RenameService renameService,
                                                      final KieModuleService moduleService,
                                                      final VersionRecordService versionRecordService,
-                                                     final GuidedDecisionTableEditorService dtableService,
                                                      final GuidedDecisionTableLinkManager dtableLinkManager,
+                                                     final GuidedDecisionTableGraphReferenceIndex graphReferenceIndex,
+                                                     final GuidedDecisionTableModelCache modelCache,
                                                      final Event<ResourceOpenedEvent> resourceOpenedEvent,
                                                      final CommentedOptionFactory commentedOptionFactory,
                                                      final GuidedDTableResourceTypeDefinition resourceType,
@@ -103,8 +105,9 @@ public class GuidedDecisionTableGraphEditorServiceImpl
         this.renameService = renameService;
         this.moduleService = moduleService;
         this.versionRecordService = versionRecordService;
-        this.dtableService = dtableService;
         this.dtableLinkManager = dtableLinkManager;
+        this.graphReferenceIndex = graphReferenceIndex;
+        this.modelCache = modelCache;
         this.resourceOpenedEvent = resourceOpenedEvent;
         this.commentedOptionFactory = commentedOptionFactory;
         this.resourceType = resourceType;
@@ -132,6 +135,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                             commentedOptionFactory.makeCommentedOption(comment));
 
             final Path newPath = Paths.convert(nioPath);
+            graphReferenceIndex.update(newPath,
+                                       model);
             return newPath;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
@@ -182,6 +187,8 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                             metadataService.setUpAttributes(path,
                                                             metadata),
                             commentedOptionFactory.makeCommentedOption(comment));
+            graphReferenceIndex.update(path,
+                                       model);
 
             fireMetadataSocialEvents(path,
                                      currentMetadata,
@@ -213,6 +220,7 @@ public class GuidedDecisionTableGraphEditorServiceImpl
         try {
             deleteService.delete(path,
                                  comment);
+            graphReferenceIndex.onGraphChanged(path);
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -223,9 +231,12 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                        final String newName,
                        final String comment) {
         try {
-            return renameService.rename(path,
-                                        newName,
-                                        comment);
+            final Path newPath = renameService.rename(path,
+                                                      newName,
+                                                      comment);
+            graphReferenceIndex.onGraphChanged(path);
+            graphReferenceIndex.onGraphChanged(newPath);
+            return newPath;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -236,9 +247,11 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                      final String newName,
                      final String comment) {
         try {
-            return copyService.copy(path,
-                                    newName,
-                                    comment);
+            final Path newPath = copyService.copy(path,
+                                                  newName,
+                                                  comment);
+            graphReferenceIndex.onGraphChanged(newPath);
+            return newPath;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -250,10 +263,12 @@ public class GuidedDecisionTableGraphEditorServiceImpl
                      final Path targetDirectory,
                      final String comment) {
         try {
-            return copyService.copy(path,
-                                    newName,
-                                    targetDirectory,
-                                    comment);
+            final Path newPath = copyService.copy(path,
+                                                  newName,
+                                                  targetDirectory,
+                                                  comment);
+            graphReferenceIndex.onGraphChanged(newPath);
+            return newPath;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
@@ -292,21 +307,23 @@ public class GuidedDecisionTableGraphEditorServiceImpl
 
     private Set<Path> getLinkedDecisionTablesInPackage(final Path context) {
         final Set<Path> linkedDecisionTablePaths = new HashSet<>();
-        final List<Path> allDecisionTablePathsInPackage = listDecisionTablesInPackage(context);
-        final List<Pair<Path, GuidedDecisionTable52>> allDecisionTablesInPackage = new ArrayList<>();
-        allDecisionTablePathsInPackage.forEach((path) -> allDecisionTablesInPackage.add(new Pair<>(path,
-                                                                                                   dtableService.load(path))));
-        allDecisionTablesInPackage.forEach((source) -> {
-            final List<Pair<Path, GuidedDecisionTable52>> otherDecisionTablesInPackage = new ArrayList<>();
-            otherDecisionTablesInPackage.addAll(allDecisionTablesInPackage);
-            otherDecisionTablesInPackage.remove(source);
-            otherDecisionTablesInPackage.forEach((target) -> dtableLinkManager.link(source.getK2(),
-                                                                                    target.getK2(),
-                                                                                    (s, t) -> {
-                                                                                        linkedDecisionTablePaths.add(source.getK1());
-                                                                                        linkedDecisionTablePaths.add(target.getK1());
-                                                                                    }));
-        });
+        final Map<Path, GuidedDecisionTableLinkSignatures> allSignaturesInPackage = new HashMap<>();
+        listDecisionTablesInPackage(context).forEach((path) -> allSignaturesInPackage.put(path,
+                                                                                           dtableLinkManager.getSignatures(modelCache.get(Paths.convert(path)).copyModel())));
+
+        //Index the Decision Tables by the signatures of their actions and look up the signatures of the conditions
+        final Map<String, Set<Path>> actionSignatureProviders = new HashMap<>();
+        allSignaturesInPackage.forEach((path, signatures) -> signatures.getActionSignatures().forEach((signature) -> actionSignatureProviders.computeIfAbsent(signature,
+                                                                                                                                                              (s) -> new HashSet<>()).add(path)));
+        allSignaturesInPackage.forEach((target, signatures) -> signatures.getConditionSignatures().forEach((signature) -> {
+            for (Path source : actionSignatureProviders.getOrDefault(signature,
+                                                                     Collections.emptySet())) {
+                if (!source.equals(target)) {
+                    linkedDecisionTablePaths.add(source);
+                    linkedDecisionTablePaths.add(target);
+                }
+            }
+        }));
 
         return linkedDecisionTablePaths;
     }
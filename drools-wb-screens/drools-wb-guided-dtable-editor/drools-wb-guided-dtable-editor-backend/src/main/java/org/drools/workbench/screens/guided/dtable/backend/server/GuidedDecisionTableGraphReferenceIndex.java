@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
+import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
+import org.guvnor.common.services.backend.file.FileExtensionFilter;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Reverse index of the Guided Decision Table Graphs referencing each Guided Decision Table. A folder is indexed
+ * the first time one of its Decision Tables is looked up; from then on the index is kept up to date with the
+ * changes to the Graphs of the folder.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableGraphReferenceIndex {
+
+    private IOService ioService;
+    private GuidedDTableGraphResourceTypeDefinition dtableGraphType;
+    private GuidedDecisionTableGraphEditorService dtableGraphService;
+
+    private final Map<String, FolderReferences> folders = new ConcurrentHashMap<>();
+
+    public GuidedDecisionTableGraphReferenceIndex() {
+        //CDI proxies
+    }
+
+    @Inject
+    public GuidedDecisionTableGraphReferenceIndex(final @Named("ioStrategy") IOService ioService,
+                                                  final GuidedDTableGraphResourceTypeDefinition dtableGraphType,
+                                                  final GuidedDecisionTableGraphEditorService dtableGraphService) {
+        this.ioService = ioService;
+        this.dtableGraphType = dtableGraphType;
+        this.dtableGraphService = dtableGraphService;
+    }
+
+    /**
+     * Graphs, in the folder of the given Decision Table, that have an entry for it.
+     * @param dtablePath Path of the Decision Table.
+     * @return the Graphs referencing the Decision Table; empty if none.
+     */
+    public List<Path> getGraphsReferencing(final Path dtablePath) {
+        final org.uberfire.java.nio.file.Path folder = getParentFolder(dtablePath);
+        return folders.computeIfAbsent(getKey(folder),
+                                       (key) -> indexFolder(folder)).getGraphs(dtablePath.toURI());
+    }
+
+    /**
+     * Records the entries of a Graph that has just been written.
+     * @param graphPath Path of the Graph.
+     * @param model Content written.
+     */
+    public void update(final Path graphPath,
+                       final GuidedDecisionTableEditorGraphModel model) {
+        final FolderReferences references = folders.get(getKey(Paths.convert(graphPath).getParent()));
+        if (references != null) {
+            references.put(graphPath,
+                           model);
+        }
+    }
+
+    public void onResourceAdded(final @Observes ResourceAddedEvent event) {
+        onGraphChanged(event.getPath());
+    }
+
+    public void onResourceUpdated(final @Observes ResourceUpdatedEvent event) {
+        onGraphChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(final @Observes ResourceDeletedEvent event) {
+        onGraphChanged(event.getPath());
+    }
+
+    public void onResourceRenamed(final @Observes ResourceRenamedEvent event) {
+        onGraphChanged(event.getPath());
+        onGraphChanged(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(final @Observes ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::onGraphChanged);
+    }
+
+    void onGraphChanged(final Path path) {
+        if (path == null || folders.isEmpty() || !dtableGraphType.accept(path)) {
+            return;
+        }
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        final FolderReferences references = folders.get(getKey(nioPath.getParent()));
+        if (references == null) {
+            return;
+        }
+        if (ioService.exists(nioPath)) {
+            references.put(path,
+                           dtableGraphService.load(path));
+        } else {
+            references.remove(path);
+        }
+    }
+
+    org.uberfire.java.nio.file.Path getParentFolder(final Path path) {
+        org.uberfire.java.nio.file.Path nioFolderPath = Paths.convert(path);
+        return Files.isDirectory(nioFolderPath) ? nioFolderPath : nioFolderPath.getParent();
+    }
+
+    private FolderReferences indexFolder(final org.uberfire.java.nio.file.Path folder) {
+        final FolderReferences references = new FolderReferences();
+        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream =
+                     ioService.newDirectoryStream(folder,
+                                                  new FileExtensionFilter(dtableGraphType.getSuffix()))) {
+            directoryStream.forEach((p) -> {
+                final Path graphPath = Paths.convert(p);
+                references.put(graphPath,
+                               dtableGraphService.load(graphPath));
+            });
+        }
+        return references;
+    }
+
+    private String getKey(final org.uberfire.java.nio.file.Path folder) {
+        return folder.toUri().toString();
+    }
+
+    static class FolderReferences {
+
+        private final Map<String, Path> graphs = new HashMap<>();
+        private final Map<String, Set<String>> dtableUrisByGraphUri = new HashMap<>();
+        private final Map<String, Set<String>> graphUrisByDTableUri = new HashMap<>();
+
+        synchronized void put(final Path graphPath,
+                              final GuidedDecisionTableEditorGraphModel model) {
+            remove(graphPath);
+            final String graphUri = graphPath.toURI();
+            final Set<String> dtableUris = new HashSet<>();
+            model.getEntries().stream()
+                    .filter((e) -> e.getPathHead() != null)
+                    .forEach((e) -> dtableUris.add(e.getPathHead().toURI()));
+            graphs.put(graphUri,
+                       graphPath);
+            dtableUrisByGraphUri.put(graphUri,
+                                     dtableUris);
+            dtableUris.forEach((dtableUri) -> graphUrisByDTableUri.computeIfAbsent(dtableUri,
+                                                                                   (key) -> new HashSet<>()).add(graphUri));
+        }
+
+        synchronized void remove(final Path graphPath) {
+            final String graphUri = graphPath.toURI();
+            graphs.remove(graphUri);
+            final Set<String> dtableUris = dtableUrisByGraphUri.remove(graphUri);
+            if (dtableUris == null) {
+                return;
+            }
+            for (String dtableUri : dtableUris) {
+                final Set<String> graphUris = graphUrisByDTableUri.get(dtableUri);
+                graphUris.remove(graphUri);
+                if (graphUris.isEmpty()) {
+                    graphUrisByDTableUri.remove(dtableUri);
+                }
+            }
+        }
+
+        synchronized List<Path> getGraphs(final String dtableUri) {
+            final Set<String> graphUris = graphUrisByDTableUri.get(dtableUri);
+            if (graphUris == null) {
+                return Collections.emptyList();
+            }
+            final List<Path> toReturn = new ArrayList<>();
+            graphUris.forEach((graphUri) -> toReturn.add(graphs.get(graphUri)));
+            return toReturn;
+        }
+    }
+}
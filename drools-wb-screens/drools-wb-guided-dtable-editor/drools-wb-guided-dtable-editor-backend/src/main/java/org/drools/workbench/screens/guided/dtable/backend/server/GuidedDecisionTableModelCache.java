@@ -0,0 +1,359 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Bounded cache of unmarshalled Guided Decision Tables, one entry per file (by URI). An entry is used only if the
+ * file has not changed since it has been created: the last modified time and the size of the file are checked
+ * first, without reading it; when they are not available the content is read and its version, see
+ * {@link GuidedDecisionTableContentVersion}, is compared. The VFS events only release the entries of changed files
+ * earlier. When the cache is full the least recently used entries are removed.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableModelCache {
+
+    /**
+     * System property used to define the maximum number of Decision Tables in the cache
+     */
+    public static final String CACHE_SIZE_PROPERTY = "org.drools.guided.dtable.cache.size";
+
+    /**
+     * System property used to define the maximum estimated memory, in bytes, of the Decision Tables in the cache
+     */
+    public static final String CACHE_MEMORY_PROPERTY = "org.drools.guided.dtable.cache.memory";
+
+    private static final Logger logger = LoggerFactory.getLogger(GuidedDecisionTableModelCache.class);
+
+    private IOService ioService;
+
+    private int maxSize = Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                             100);
+    private long maxMemory = Long.getLong(CACHE_MEMORY_PROPERTY,
+                                          64L * 1024 * 1024);
+
+    //Access order: the first entries are the least recently used. Guarded by this.
+    private final Map<String, CachedModel> entries = new LinkedHashMap<>(16,
+                                                                         0.75f,
+                                                                         true);
+    private long estimatedMemory = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public GuidedDecisionTableModelCache() {
+        //CDI proxies
+    }
+
+    @Inject
+    public GuidedDecisionTableModelCache(final @Named("ioStrategy") IOService ioService) {
+        this.ioService = ioService;
+    }
+
+    GuidedDecisionTableModelCache(final IOService ioService,
+                                  final int maxSize,
+                                  final long maxMemory) {
+        this.ioService = ioService;
+        this.maxSize = maxSize;
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Reads a Decision Table and returns its model, unmarshalled only if it is not in the cache.
+     * @param path Path of the Decision Table; can be the path of one of its versions.
+     * @return
+     */
+    public CachedModel get(final org.uberfire.java.nio.file.Path path) {
+        final String fileStamp = getFileStamp(path);
+        if (fileStamp != null) {
+            synchronized (this) {
+                final CachedModel cached = entries.get(path.toUri().toString());
+                if (cached != null && fileStamp.equals(cached.fileStamp)) {
+                    hitCount.incrementAndGet();
+                    return cached;
+                }
+            }
+        }
+        return get(path,
+                   ioService.readAllString(path),
+                   fileStamp);
+    }
+
+    /**
+     * Returns the model of a Decision Table already read, unmarshalled only if it is not in the cache.
+     * @param path Path of the Decision Table; can be the path of one of its versions.
+     * @param xml Content of the Decision Table.
+     * @return
+     */
+    public CachedModel get(final org.uberfire.java.nio.file.Path path,
+                           final String xml) {
+        return get(path,
+                   xml,
+                   null);
+    }
+
+    private CachedModel get(final org.uberfire.java.nio.file.Path path,
+                            final String xml,
+                            final String fileStamp) {
+        final String uri = path.toUri().toString();
+        final String version = GuidedDecisionTableContentVersion.of(xml);
+        synchronized (this) {
+            final CachedModel cached = entries.get(uri);
+            if (cached != null && cached.getVersion().equals(version)) {
+                hitCount.incrementAndGet();
+                if (fileStamp != null) {
+                    cached.fileStamp = fileStamp;
+                }
+                return cached;
+            }
+        }
+        missCount.incrementAndGet();
+
+        //Unmarshalled outside of the lock: concurrent misses of the same file only do the work twice
+        final CachedModel toReturn = new CachedModel(version,
+                                                     xml);
+        //Read before the content: if the file changes in between the stamp does not match the next look up
+        toReturn.fileStamp = fileStamp;
+        put(uri,
+            toReturn);
+        return toReturn;
+    }
+
+    /**
+     * @return Last modified time and size of the file; null if they are not available.
+     */
+    private String getFileStamp(final org.uberfire.java.nio.file.Path path) {
+        try {
+            final BasicFileAttributes attributes = ioService.readAttributes(path,
+                                                                            BasicFileAttributes.class);
+            if (attributes == null || attributes.lastModifiedTime() == null) {
+                return null;
+            }
+            return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+        } catch (Exception e) {
+            logger.debug("Unable to read the attributes of " + path.toUri() + ": its content is read instead.",
+                         e);
+            return null;
+        }
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        invalidate(event.getPath());
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::invalidate);
+    }
+
+    synchronized void invalidate(final Path path) {
+        if (path == null) {
+            return;
+        }
+        final CachedModel removed = entries.remove(path.toURI());
+        if (removed != null) {
+            estimatedMemory -= removed.getEstimatedMemory();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return Ratio of the look ups that found the model in the cache; 0 if there has been none.
+     */
+    public double getHitRate() {
+        final long hits = hitCount.get();
+        final long lookUps = hits + missCount.get();
+        return lookUps == 0 ? 0 : (double) hits / lookUps;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return Estimated memory, in bytes, of the models in the cache. It is derived from their number of cells and
+     * the size of their columns, see {@link CachedModel#ESTIMATED_CELL_MEMORY}.
+     */
+    public synchronized long getEstimatedMemory() {
+        return estimatedMemory;
+    }
+
+    private synchronized void put(final String uri,
+                                  final CachedModel cachedModel) {
+        if (maxSize < 1 || cachedModel.getEstimatedMemory() > maxMemory) {
+            return;
+        }
+        final CachedModel replaced = entries.put(uri,
+                                                 cachedModel);
+        if (replaced != null) {
+            estimatedMemory -= replaced.getEstimatedMemory();
+        }
+        estimatedMemory += cachedModel.getEstimatedMemory();
+
+        final Iterator<CachedModel> iterator = entries.values().iterator();
+        while (entries.size() > maxSize || estimatedMemory > maxMemory) {
+            estimatedMemory -= iterator.next().getEstimatedMemory();
+            iterator.remove();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Guided Decision Table model cache: {} entries, ~{} bytes, hit rate {}.",
+                         entries.size(),
+                         estimatedMemory,
+                         getHitRate());
+        }
+    }
+
+    /**
+     * A version of a Decision Table and its model. The model is shared by all the users of the cache: it must not
+     * be modified, see {@link #copyModel()}.
+     */
+    public static class CachedModel {
+
+        /**
+         * Estimated memory, in bytes, of one cell: a DTCellValue52, its boxed value and its slot in the row.
+         */
+        static final long ESTIMATED_CELL_MEMORY = 128;
+
+        private final String version;
+        private final GuidedDecisionTable52 model;
+        //The model without its rows: a copy of the rows is faster than unmarshalling them again
+        private final String structureXml;
+        private final long estimatedMemory;
+        //Last modified time and size of the file the model has been read from, if known. Guarded by the cache.
+        private String fileStamp;
+
+        CachedModel(final String version,
+                    final String xml) {
+            this.version = version;
+            this.model = GuidedDTXMLPersistence.getInstance().unmarshal(xml);
+
+            final List<List<DTCellValue52>> data = model.getData();
+            model.setData(new ArrayList<>());
+            this.structureXml = GuidedDTXMLPersistence.getInstance().marshal(model);
+            model.setData(data);
+
+            //The structure XML (two bytes per character) and the columns it describes, of about the same size
+            long cellCount = 0;
+            for (List<DTCellValue52> row : data) {
+                cellCount += row.size();
+            }
+            this.estimatedMemory = 4L * structureXml.length() + ESTIMATED_CELL_MEMORY * cellCount;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * The shared model; read-only.
+         * @return
+         */
+        public GuidedDecisionTable52 getModel() {
+            return model;
+        }
+
+        /**
+         * A copy of the model, with all its rows, that can be modified.
+         * @return
+         */
+        public GuidedDecisionTable52 copyModel() {
+            return copyModel(model.getData().size());
+        }
+
+        /**
+         * A copy of the model, with only its first rows, that can be modified.
+         * @param rowCount Maximum number of rows to copy.
+         * @return
+         */
+        public GuidedDecisionTable52 copyModel(final int rowCount) {
+            final GuidedDecisionTable52 copy = GuidedDTXMLPersistence.getInstance().unmarshal(structureXml);
+            copy.setData(copyRows(0,
+                                  rowCount));
+            return copy;
+        }
+
+        /**
+         * A copy of a window of rows of the model, that can be modified.
+         * @param startRowIndex Index of the first row to copy.
+         * @param rowCount Maximum number of rows to copy.
+         * @return The rows; empty if startRowIndex is beyond the last row.
+         */
+        public List<List<DTCellValue52>> copyRows(final int startRowIndex,
+                                                  final int rowCount) {
+            final List<List<DTCellValue52>> rows = model.getData();
+            final int fromIndex = Math.min(Math.max(startRowIndex,
+                                                    0),
+                                           rows.size());
+            final int toIndex = fromIndex + Math.max(Math.min(rowCount,
+                                                              rows.size() - fromIndex),
+                                                     0);
+            final List<List<DTCellValue52>> copy = new ArrayList<>(toIndex - fromIndex);
+            for (List<DTCellValue52> row : rows.subList(fromIndex,
+                                                        toIndex)) {
+                final List<DTCellValue52> rowCopy = new ArrayList<>(row.size());
+                for (DTCellValue52 cell : row) {
+                    rowCopy.add(cell == null ? null : new DTCellValue52(cell));
+                }
+                copy.add(rowCopy);
+            }
+            return copy;
+        }
+
+        long getEstimatedMemory() {
+            return estimatedMemory;
+        }
+    }
+}
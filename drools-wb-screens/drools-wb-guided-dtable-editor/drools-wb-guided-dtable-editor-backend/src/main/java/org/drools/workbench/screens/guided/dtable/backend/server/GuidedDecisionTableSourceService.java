@@ -32,7 +32,6 @@ import org.drools.compiler.lang.dsl.DSLTokenizedMappingFile;
 import org.drools.compiler.lang.dsl.DefaultExpander;
 import org.drools.workbench.models.guided.dtable.backend.GuidedDTDRLPersistence;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.guvnor.common.services.backend.file.FileDiscoveryService;
 import org.kie.workbench.common.services.backend.file.DSLFileFilter;
@@ -55,26 +54,26 @@ public class GuidedDecisionTableSourceService
 
     private GuidedDTableResourceTypeDefinition resourceType;
 
-    private GuidedDecisionTableEditorService guidedDecisionTableEditorService;
-
     private IOService ioService;
 
     private FileDiscoveryService fileDiscoveryService;
 
+    private GuidedDecisionTableModelCache modelCache;
+
     @Inject
     private KieModuleService moduleService;
 
     @Inject
     public GuidedDecisionTableSourceService(final GuidedDTableResourceTypeDefinition resourceType,
-                                            final GuidedDecisionTableEditorService guidedDecisionTableEditorService,
                                             final @Named("ioStrategy") IOService ioService,
                                             final FileDiscoveryService fileDiscoveryService,
-                                            final KieModuleService moduleService) {
+                                            final KieModuleService moduleService,
+                                            final GuidedDecisionTableModelCache modelCache) {
         this.resourceType = resourceType;
-        this.guidedDecisionTableEditorService = guidedDecisionTableEditorService;
         this.ioService = ioService;
         this.fileDiscoveryService = fileDiscoveryService;
         this.moduleService = moduleService;
+        this.modelCache = modelCache;
     }
 
     @Override
@@ -98,8 +97,9 @@ public class GuidedDecisionTableSourceService
 
     @Override
     public String getSource(final Path path) throws SourceGenerationFailedException {
+        //Marshalling can change the model: the shared instance of the cache must not be used
         return getSource(path,
-                         guidedDecisionTableEditorService.load(Paths.convert(path)));
+                         modelCache.get(path).copyModel());
     }
 
     /**
@@ -19,8 +19,8 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.drools.workbench.models.guided.dtable.backend.GuidedDTDRLPersistence;
-import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.backend.server.GuidedDecisionTableModelCache;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
@@ -38,6 +38,9 @@ public class GuidedDecisionTableFileIndexer extends AbstractDrlFileIndexer {
     @Inject
     protected DataModelService dataModelService;
 
+    @Inject
+    protected GuidedDecisionTableModelCache modelCache;
+
     @Override
     public boolean supportsPath(final Path path) {
         return type.accept(Paths.convert(path));
@@ -46,7 +49,8 @@ public class GuidedDecisionTableFileIndexer extends AbstractDrlFileIndexer {
     @Override
     public IndexBuilder fillIndexBuilder(final Path path) throws Exception {
         final String content = ioService.readAllString(path);
-        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(content);
+        final GuidedDecisionTable52 model = modelCache.get(path,
+                                                           content).copyModel();
         final String drl = GuidedDTDRLPersistence.getInstance().marshal(model);
 
         return fillDrlIndexBuilder(path,
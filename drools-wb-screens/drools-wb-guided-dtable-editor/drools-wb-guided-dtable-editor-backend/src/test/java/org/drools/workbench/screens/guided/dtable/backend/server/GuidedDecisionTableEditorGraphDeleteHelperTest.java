@@ -89,8 +89,10 @@ public class GuidedDecisionTableEditorGraphDeleteHelperTest {
 
         final GuidedDecisionTableEditorGraphDeleteHelper wrapped = new GuidedDecisionTableEditorGraphDeleteHelper( ioService,
                                                                                                                    dtableType,
-                                                                                                                   dtableGraphType,
                                                                                                                    dtableGraphService,
+                                                                                                                   new GuidedDecisionTableGraphReferenceIndex( ioService,
+                                                                                                                                                               dtableGraphType,
+                                                                                                                                                               dtableGraphService ),
                                                                                                                    commentedOptionFactory );
         helper = spy( wrapped );
 
@@ -18,7 +18,9 @@ package org.drools.workbench.screens.guided.dtable.backend.server;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,10 +30,15 @@ import java.util.Set;
 import javax.enterprise.event.Event;
 
 import org.drools.workbench.models.datamodel.workitems.PortableWorkDefinition;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableGraphEditorService;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.drools.workbench.screens.workitems.service.WorkItemsEditorService;
@@ -50,6 +57,7 @@ import org.kie.workbench.common.services.backend.source.SourceService;
 import org.kie.workbench.common.services.backend.source.SourceServices;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
@@ -71,11 +79,14 @@ import org.uberfire.rpc.SessionInfo;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -159,7 +170,10 @@ public class GuidedDecisionTableEditorServiceImplTest {
                                                            moduleService,
                                                            versionRecordService,
                                                            dtableGraphService,
-                                                           dtGraphType,
+                                                           new GuidedDecisionTableGraphReferenceIndex(ioService,
+                                                                                                      dtGraphType,
+                                                                                                      dtableGraphService),
+                                                           new GuidedDecisionTableModelCache(ioService),
                                                            resourceOpenedEvent,
                                                            genericValidator,
                                                            commentedOptionFactory,
@@ -258,6 +272,145 @@ public class GuidedDecisionTableEditorServiceImplTest {
         assertTrue(content.getDataModel().getCollectionTypes().containsKey("java.util.Set"));
     }
 
+    @Test
+    public void checkConstructContentWithMoreRowsThanWindow() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        final int rowCount = GuidedDecisionTableEditorService.ROW_WINDOW_SIZE + 10;
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(rowCount));
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(GuidedDecisionTableEditorService.ROW_WINDOW_SIZE,
+                     content.getModel().getData().size());
+        assertEquals(rowCount,
+                     content.getTotalRowCount());
+        assertEquals("row1",
+                     content.getModel().getData().get(0).get(1).getStringValue());
+    }
+
+    @Test
+    public void checkConstructContentWithFewerRowsThanWindow() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(3));
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(3,
+                     content.getModel().getData().size());
+        assertEquals(3,
+                     content.getTotalRowCount());
+    }
+
+    @Test
+    public void checkConstructContentVersion() {
+        final Path path = mock(Path.class);
+        final Overview overview = mock(Overview.class);
+        final PackageDataModelOracle oracle = mock(PackageDataModelOracle.class);
+        final String xml = makeModelXml(3);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(xml);
+        when(dataModelService.getDataModel(eq(path))).thenReturn(oracle);
+        when(workItemsService.loadWorkItemDefinitions(eq(path))).thenReturn(new HashSet<>());
+
+        final GuidedDecisionTableEditorContent content = service.constructContent(path,
+                                                                                  overview);
+
+        assertEquals(GuidedDecisionTableContentVersion.of(xml),
+                     content.getVersion());
+        assertNotEquals(GuidedDecisionTableContentVersion.of(makeModelXml(4)),
+                        content.getVersion());
+    }
+
+    @Test
+    public void checkLoadRows() {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(10));
+
+        final String version = GuidedDecisionTableContentVersion.of(makeModelXml(10));
+        final List<List<DTCellValue52>> rows = service.loadRows(path,
+                                                                version,
+                                                                8,
+                                                                5);
+
+        assertEquals(2,
+                     rows.size());
+        assertEquals("row9",
+                     rows.get(0).get(1).getStringValue());
+        assertEquals("row10",
+                     rows.get(1).get(1).getStringValue());
+        assertTrue(service.loadRows(path,
+                                    version,
+                                    10,
+                                    5).isEmpty());
+        assertTrue(service.loadRows(path,
+                                    version,
+                                    20,
+                                    5).isEmpty());
+    }
+
+    @Test
+    public void checkLoadRowsWithoutVersion() {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(10));
+
+        assertEquals(5,
+                     service.loadRows(path,
+                                      null,
+                                      0,
+                                      5).size());
+    }
+
+    @Test
+    public void checkLoadRowsWithStaleVersion() {
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(10));
+        when(versionRecordService.load(any(org.uberfire.java.nio.file.Path.class))).thenReturn(Collections.<VersionRecord>singletonList(
+                new PortableVersionRecord("0123456789",
+                                          "manstis",
+                                          "manstis@email.com",
+                                          "comment",
+                                          Calendar.getInstance().getTime(),
+                                          "default://project/src/main/resources/mypackage/dtable.gdst")));
+
+        try {
+            service.loadRows(path,
+                             GuidedDecisionTableContentVersion.of(makeModelXml(12)),
+                             8,
+                             5);
+            fail("Rows of a stale version should be rejected.");
+        } catch (GuidedDecisionTableVersionConflictException e) {
+            //Expected
+            assertEquals(path,
+                         e.getPath());
+            assertEquals("manstis",
+                         e.getAuthor());
+        }
+    }
+
+    private String makeModelXml(final int rowCount) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 1; i <= rowCount; i++) {
+            model.getData().add(new ArrayList<>(Arrays.asList(new DTCellValue52(i),
+                                                              new DTCellValue52("row" + i))));
+        }
+        return GuidedDTXMLPersistence.getInstance().marshal(model);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void checkSave() {
@@ -349,6 +502,100 @@ public class GuidedDecisionTableEditorServiceImplTest {
                      dtGraphModel.getEntries().iterator().next().getPathVersion().toURI());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkSaveCellEdits() {
+        final Path path = mock(Path.class);
+        final Metadata metadata = mock(Metadata.class);
+        final String xml = makeModelXml(3);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(path.getFileName()).thenReturn("dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(xml);
+        when(ioService.newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                          any(FileExtensionFilter.class))).thenReturn(new MockDirectoryStream(new ArrayList<>()));
+        when(versionRecordService.load(any(org.uberfire.java.nio.file.Path.class))).thenReturn(Collections.<VersionRecord>singletonList(
+                new PortableVersionRecord("0123456789",
+                                          "manstis",
+                                          "manstis@email.com",
+                                          "comment",
+                                          Calendar.getInstance().getTime(),
+                                          "default://0123456789@project/src/main/resources/mypackage/dtable.gdst")));
+
+        final String version = service.saveCellEdits(path,
+                                                     GuidedDecisionTableContentVersion.of(xml),
+                                                     Collections.singletonList(new GuidedDecisionTableCellEdit(1,
+                                                                                                               1,
+                                                                                                               new DTCellValue52("edited"))),
+                                                     metadata,
+                                                     "comment");
+
+        final ArgumentCaptor<String> xmlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(ioService,
+               times(1)).startBatch(any(FileSystem.class));
+        verify(ioService,
+               times(1)).write(any(org.uberfire.java.nio.file.Path.class),
+                               xmlCaptor.capture(),
+                               any(Map.class),
+                               any(CommentedOption.class));
+        verify(ioService,
+               times(1)).endBatch();
+
+        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(xmlCaptor.getValue());
+        assertEquals(3,
+                     model.getData().size());
+        assertEquals("row1",
+                     model.getData().get(0).get(1).getStringValue());
+        assertEquals("edited",
+                     model.getData().get(1).get(1).getStringValue());
+        assertEquals("row3",
+                     model.getData().get(2).get(1).getStringValue());
+        assertEquals("mypackage",
+                     model.getPackageName());
+        assertEquals(GuidedDecisionTableContentVersion.of(xmlCaptor.getValue()),
+                     version);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkSaveCellEditsWithStaleBaseVersion() {
+        final Path path = mock(Path.class);
+        final Metadata metadata = mock(Metadata.class);
+        when(path.toURI()).thenReturn("default://project/src/main/resources/mypackage/dtable.gdst");
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenReturn(makeModelXml(4));
+        when(versionRecordService.load(any(org.uberfire.java.nio.file.Path.class))).thenReturn(Collections.<VersionRecord>singletonList(
+                new PortableVersionRecord("0123456789",
+                                          "manstis",
+                                          "manstis@email.com",
+                                          "comment",
+                                          Calendar.getInstance().getTime(),
+                                          "default://project/src/main/resources/mypackage/dtable.gdst")));
+
+        try {
+            service.saveCellEdits(path,
+                                  GuidedDecisionTableContentVersion.of(makeModelXml(3)),
+                                  Collections.singletonList(new GuidedDecisionTableCellEdit(1,
+                                                                                            1,
+                                                                                            new DTCellValue52("edited"))),
+                                  metadata,
+                                  "comment");
+            fail("A stale base version should be rejected.");
+        } catch (GuidedDecisionTableVersionConflictException e) {
+            //Expected
+            assertEquals(path,
+                         e.getPath());
+            assertEquals("manstis",
+                         e.getAuthor());
+        }
+
+        verify(ioService,
+               never()).write(any(org.uberfire.java.nio.file.Path.class),
+                              any(String.class),
+                              any(Map.class),
+                              any(CommentedOption.class));
+        verify(ioService,
+               times(1)).endBatch();
+    }
+
     @Test
     public void checkDelete() {
         final Path path = mock(Path.class);
@@ -27,7 +27,6 @@ import javax.enterprise.event.Event;
 
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphContent;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableGraphResourceTypeDefinition;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
@@ -97,10 +96,13 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
     private VersionRecordService versionRecordService;
 
     @Mock
-    private GuidedDecisionTableEditorService dtableService;
+    private GuidedDecisionTableLinkManager dtableLinkManager;
 
     @Mock
-    private GuidedDecisionTableLinkManager dtableLinkManager;
+    private GuidedDecisionTableGraphReferenceIndex graphReferenceIndex;
+
+    @Mock
+    private GuidedDecisionTableModelCache modelCache;
 
     @Mock
     private Event<ResourceOpenedEvent> resourceOpenedEvent = new EventSourceMock<>();
@@ -136,8 +138,9 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                                                                 renameService,
                                                                 moduleService,
                                                                 versionRecordService,
-                                                                dtableService,
                                                                 dtableLinkManager,
+                                                                graphReferenceIndex,
+                                                                modelCache,
                                                                 resourceOpenedEvent,
                                                                 commentedOptionFactory,
                                                                 dtResourceType,
@@ -176,6 +179,9 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                                any(CommentedOption.class));
 
         assertTrue(p.toURI().contains("src/main/resources/mypackage/filename." + dtGraphResourceType.getSuffix()));
+        verify(graphReferenceIndex,
+               times(1)).update(p,
+                                content);
     }
 
     @Test
@@ -228,6 +234,9 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
                                any(String.class),
                                any(Map.class),
                                any(CommentedOption.class));
+        verify(graphReferenceIndex,
+               times(1)).update(path,
+                                model);
     }
 
     @Test
@@ -241,6 +250,8 @@ public class GuidedDecisionTableGraphEditorServiceImplTest {
         verify(deleteService,
                times(1)).delete(eq(path),
                                 eq(comment));
+        verify(graphReferenceIndex,
+               times(1)).onGraphChanged(path);
     }
 
     @Test
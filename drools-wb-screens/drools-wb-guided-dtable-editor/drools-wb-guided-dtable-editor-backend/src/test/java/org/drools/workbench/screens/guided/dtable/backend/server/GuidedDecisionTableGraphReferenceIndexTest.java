@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorGraphModel;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GuidedDecisionTableGraphReferenceIndexTest {
+
+    private final Path dtable1 = PathFactory.newPath("dtable1.gdst",
+                                                     "default://project/src/main/resources/mypackage/dtable1.gdst");
+    private final Path dtable2 = PathFactory.newPath("dtable2.gdst",
+                                                     "default://project/src/main/resources/mypackage/dtable2.gdst");
+    private final Path graph1 = PathFactory.newPath("graph1.gdst-set",
+                                                    "default://project/src/main/resources/mypackage/graph1.gdst-set");
+    private final Path graph2 = PathFactory.newPath("graph2.gdst-set",
+                                                    "default://project/src/main/resources/mypackage/graph2.gdst-set");
+
+    private GuidedDecisionTableGraphReferenceIndex.FolderReferences references;
+
+    @Before
+    public void setup() {
+        references = new GuidedDecisionTableGraphReferenceIndex.FolderReferences();
+        references.put(graph1,
+                       makeGraph(dtable1,
+                                 dtable2));
+        references.put(graph2,
+                       makeGraph(dtable2));
+    }
+
+    @Test
+    public void checkGraphsReferencingDecisionTable() {
+        assertEquals(1,
+                     references.getGraphs(dtable1.toURI()).size());
+        assertEquals(graph1,
+                     references.getGraphs(dtable1.toURI()).get(0));
+        assertEquals(2,
+                     references.getGraphs(dtable2.toURI()).size());
+        assertTrue(references.getGraphs("default://project/src/main/resources/mypackage/dtable3.gdst").isEmpty());
+    }
+
+    @Test
+    public void checkGraphEntriesReplaced() {
+        references.put(graph1,
+                       makeGraph(dtable2));
+
+        assertTrue(references.getGraphs(dtable1.toURI()).isEmpty());
+        assertEquals(2,
+                     references.getGraphs(dtable2.toURI()).size());
+    }
+
+    @Test
+    public void checkGraphRemoved() {
+        references.remove(graph2);
+
+        assertEquals(1,
+                     references.getGraphs(dtable2.toURI()).size());
+        assertEquals(graph1,
+                     references.getGraphs(dtable2.toURI()).get(0));
+    }
+
+    private GuidedDecisionTableEditorGraphModel makeGraph(final Path... dtablePaths) {
+        final GuidedDecisionTableEditorGraphModel model = new GuidedDecisionTableEditorGraphModel();
+        for (Path dtablePath : dtablePaths) {
+            model.getEntries().add(new GuidedDecisionTableEditorGraphModel.GuidedDecisionTableGraphEntry(dtablePath,
+                                                                                                         dtablePath));
+        }
+        return model;
+    }
+}
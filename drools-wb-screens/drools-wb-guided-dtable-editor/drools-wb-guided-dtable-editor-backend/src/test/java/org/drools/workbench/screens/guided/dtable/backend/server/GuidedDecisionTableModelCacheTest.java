@@ -0,0 +1,318 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.guided.dtable.backend.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.attribute.FileTime;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GuidedDecisionTableModelCacheTest {
+
+    private static final String URI_PREFIX = "default://master@repo/project/src/main/resources/mypackage/";
+
+    @Mock
+    private IOService ioService;
+
+    private GuidedDecisionTableModelCache cache;
+
+    @Before
+    public void setup() {
+        cache = new GuidedDecisionTableModelCache(ioService,
+                                                  2,
+                                                  Long.MAX_VALUE);
+    }
+
+    @Test
+    public void hitWhenContentIsUnchanged() {
+        final Path path = newPath("dtable1.gdst");
+        when(ioService.readAllString(path)).thenReturn(makeModelXml(3));
+
+        final GuidedDecisionTableModelCache.CachedModel first = cache.get(path);
+        final GuidedDecisionTableModelCache.CachedModel second = cache.get(path);
+
+        assertSame(first,
+                   second);
+        assertEquals(1,
+                     cache.getHitCount());
+        assertEquals(1,
+                     cache.getMissCount());
+        assertEquals(0.5,
+                     cache.getHitRate(),
+                     0);
+    }
+
+    @Test
+    public void hitWithoutReadingWhenFileIsUnchanged() {
+        final Path path = newPath("dtable1.gdst");
+        final BasicFileAttributes attributes = mockAttributes(path,
+                                                              1000L,
+                                                              10L);
+        when(ioService.readAllString(path)).thenReturn(makeModelXml(3));
+
+        final GuidedDecisionTableModelCache.CachedModel first = cache.get(path);
+        final GuidedDecisionTableModelCache.CachedModel second = cache.get(path);
+
+        assertSame(first,
+                   second);
+        verify(ioService,
+               times(1)).readAllString(path);
+        assertEquals(1,
+                     cache.getHitCount());
+
+        //A new last modified time: the content is read again, the model is reused if the content is the same
+        final FileTime lastModifiedTime = mock(FileTime.class);
+        when(lastModifiedTime.toMillis()).thenReturn(2000L);
+        when(attributes.lastModifiedTime()).thenReturn(lastModifiedTime);
+        assertSame(first,
+                   cache.get(path));
+        verify(ioService,
+               times(2)).readAllString(path);
+
+        when(ioService.readAllString(path)).thenReturn(makeModelXml(4));
+        when(attributes.size()).thenReturn(11L);
+        final GuidedDecisionTableModelCache.CachedModel changed = cache.get(path);
+        assertNotSame(first,
+                      changed);
+        assertEquals(4,
+                     changed.getModel().getData().size());
+        assertSame(changed,
+                   cache.get(path));
+        verify(ioService,
+               times(3)).readAllString(path);
+    }
+
+    @Test
+    public void missWhenContentIsChanged() {
+        final Path path = newPath("dtable1.gdst");
+
+        final GuidedDecisionTableModelCache.CachedModel first = cache.get(path,
+                                                                          makeModelXml(3));
+        final GuidedDecisionTableModelCache.CachedModel second = cache.get(path,
+                                                                           makeModelXml(4));
+
+        assertNotSame(first,
+                      second);
+        assertEquals(4,
+                     second.getModel().getData().size());
+        assertEquals(GuidedDecisionTableContentVersion.of(makeModelXml(4)),
+                     second.getVersion());
+        assertEquals(0,
+                     cache.getHitCount());
+        assertEquals(2,
+                     cache.getMissCount());
+        assertEquals(1,
+                     cache.getSize());
+    }
+
+    @Test
+    public void copiesAreIndependentOfSharedModel() {
+        final GuidedDecisionTableModelCache.CachedModel cachedModel = cache.get(newPath("dtable1.gdst"),
+                                                                                makeModelXml(3));
+
+        final GuidedDecisionTable52 copy = cachedModel.copyModel();
+        copy.getData().get(0).get(1).setStringValue("changed");
+        copy.getData().remove(2);
+
+        assertEquals(2,
+                     copy.getData().size());
+        assertEquals(3,
+                     cachedModel.getModel().getData().size());
+        assertEquals("row1",
+                     cachedModel.getModel().getData().get(0).get(1).getStringValue());
+    }
+
+    @Test
+    public void copyModelWithFewerRows() {
+        final GuidedDecisionTableModelCache.CachedModel cachedModel = cache.get(newPath("dtable1.gdst"),
+                                                                                makeModelXml(5));
+
+        final GuidedDecisionTable52 copy = cachedModel.copyModel(2);
+
+        assertEquals(2,
+                     copy.getData().size());
+        assertEquals("row2",
+                     copy.getData().get(1).get(1).getStringValue());
+        assertEquals(5,
+                     cachedModel.getModel().getData().size());
+    }
+
+    @Test
+    public void copyRowsIsClamped() {
+        final GuidedDecisionTableModelCache.CachedModel cachedModel = cache.get(newPath("dtable1.gdst"),
+                                                                                makeModelXml(5));
+
+        final List<List<DTCellValue52>> rows = cachedModel.copyRows(3,
+                                                                    10);
+
+        assertEquals(2,
+                     rows.size());
+        assertEquals("row4",
+                     rows.get(0).get(1).getStringValue());
+        assertTrue(cachedModel.copyRows(5,
+                                        10).isEmpty());
+        assertTrue(cachedModel.copyRows(10,
+                                        10).isEmpty());
+    }
+
+    @Test
+    public void invalidatedWhenResourceIsUpdated() {
+        final Path path = newPath("dtable1.gdst");
+        cache.get(path,
+                  makeModelXml(3));
+
+        cache.onResourceUpdated(new ResourceUpdatedEvent(PathFactory.newPath("dtable1.gdst",
+                                                                             URI_PREFIX + "dtable1.gdst"),
+                                                         "",
+                                                         null));
+
+        assertEquals(0,
+                     cache.getSize());
+        assertEquals(0,
+                     cache.getEstimatedMemory());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvictedWhenFull() {
+        final Path path1 = newPath("dtable1.gdst");
+        final Path path2 = newPath("dtable2.gdst");
+        final Path path3 = newPath("dtable3.gdst");
+        final String xml = makeModelXml(3);
+
+        cache.get(path1,
+                  xml);
+        cache.get(path2,
+                  xml);
+        cache.get(path1,
+                  xml);
+        cache.get(path3,
+                  xml);
+
+        assertEquals(2,
+                     cache.getSize());
+        cache.get(path1,
+                  xml);
+        assertEquals(2,
+                     cache.getHitCount());
+        cache.get(path2,
+                  xml);
+        assertEquals(2,
+                     cache.getHitCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvictedWhenOverMemory() {
+        final String xml = makeModelXml(3);
+        final long entryMemory = cache.get(newPath("dtable.gdst"),
+                                           xml).getEstimatedMemory();
+        cache = new GuidedDecisionTableModelCache(ioService,
+                                                  10,
+                                                  entryMemory * 2);
+
+        cache.get(newPath("dtable1.gdst"),
+                  xml);
+        cache.get(newPath("dtable2.gdst"),
+                  xml);
+        cache.get(newPath("dtable3.gdst"),
+                  xml);
+
+        assertEquals(2,
+                     cache.getSize());
+        assertEquals(entryMemory * 2,
+                     cache.getEstimatedMemory());
+    }
+
+    @Test
+    public void estimatedMemoryIsProportionalToCells() {
+        final long memory3Rows = cache.get(newPath("dtable1.gdst"),
+                                           makeModelXml(3)).getEstimatedMemory();
+        final long memory6Rows = cache.get(newPath("dtable2.gdst"),
+                                           makeModelXml(6)).getEstimatedMemory();
+
+        //Three more rows of two cells each, with the same columns
+        assertEquals(6 * GuidedDecisionTableModelCache.CachedModel.ESTIMATED_CELL_MEMORY,
+                     memory6Rows - memory3Rows);
+    }
+
+    @Test
+    public void tooLargeModelIsNotCached() {
+        cache = new GuidedDecisionTableModelCache(ioService,
+                                                  10,
+                                                  1);
+
+        final GuidedDecisionTableModelCache.CachedModel cachedModel = cache.get(newPath("dtable1.gdst"),
+                                                                                makeModelXml(3));
+
+        assertEquals(3,
+                     cachedModel.getModel().getData().size());
+        assertEquals(0,
+                     cache.getSize());
+    }
+
+    private BasicFileAttributes mockAttributes(final Path path,
+                                               final long lastModifiedMillis,
+                                               final long size) {
+        final FileTime lastModifiedTime = mock(FileTime.class);
+        when(lastModifiedTime.toMillis()).thenReturn(lastModifiedMillis);
+        final BasicFileAttributes attributes = mock(BasicFileAttributes.class);
+        when(attributes.lastModifiedTime()).thenReturn(lastModifiedTime);
+        when(attributes.size()).thenReturn(size);
+        when(ioService.readAttributes(path,
+                                      BasicFileAttributes.class)).thenReturn(attributes);
+        return attributes;
+    }
+
+    private Path newPath(final String fileName) {
+        final Path path = mock(Path.class);
+        when(path.toUri()).thenReturn(URI.create(URI_PREFIX + fileName));
+        return path;
+    }
+
+    private String makeModelXml(final int rowCount) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 1; i <= rowCount; i++) {
+            model.getData().add(new ArrayList<>(Arrays.asList(new DTCellValue52(i),
+                                                              new DTCellValue52("row" + i))));
+        }
+        return GuidedDTXMLPersistence.getInstance().marshal(model);
+    }
+}
@@ -30,7 +30,6 @@ import org.drools.workbench.models.guided.dtable.shared.model.DescriptionCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
 import org.drools.workbench.models.guided.dtable.shared.model.RowNumberCol52;
-import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
 import org.guvnor.common.services.backend.file.FileDiscoveryService;
 import org.guvnor.common.services.project.model.Package;
@@ -72,7 +71,7 @@ public class GuidedDecisionTableSourceServiceTest {
     GuidedDTableResourceTypeDefinition resourceTypeDefinition;
 
     @Mock
-    GuidedDecisionTableEditorService guidedDecisionTableEditorService;
+    GuidedDecisionTableModelCache modelCache;
 
     @Mock
     IOService ioService;
@@ -93,10 +92,10 @@ public class GuidedDecisionTableSourceServiceTest {
     @Before
     public void setUp() throws Exception {
         service = new GuidedDecisionTableSourceService(resourceTypeDefinition,
-                                                       guidedDecisionTableEditorService,
                                                        ioService,
                                                        fileDiscoveryService,
-                                                       moduleService);
+                                                       moduleService,
+                                                       modelCache);
 
         // Simulates that no DSL files are present
         when(moduleService.resolvePackage(any())).thenReturn(packageMock);
@@ -19,6 +19,7 @@ import java.util.HashMap;
 
 import javax.enterprise.context.ApplicationScoped;
 
+import org.drools.workbench.screens.guided.dtable.backend.server.GuidedDecisionTableModelCache;
 import org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Applicant;
 import org.drools.workbench.screens.guided.dtable.backend.server.indexing.classes.Mortgage;
 import org.drools.workbench.screens.guided.dtable.type.GuidedDTableResourceTypeDefinition;
@@ -41,6 +42,7 @@ public class TestGuidedDecisionTableFileIndexer extends GuidedDecisionTableFileI
     @Override
     public void setIOService(final IOService ioService) {
         this.ioService = ioService;
+        this.modelCache = new GuidedDecisionTableModelCache(ioService);
     }
 
     @Override
@@ -35,15 +35,19 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDeci
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTablePresenter;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTableView;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.DecisionTableSelectedEvent;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.guvnor.common.services.project.client.context.WorkspaceProjectContext;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.guvnor.messageconsole.client.console.widget.button.AlertsButtonMenuItemBuilder;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.jboss.errai.ioc.client.container.SyncBeanManager;
+import org.jboss.errai.security.shared.api.identity.UserImpl;
 import org.kie.workbench.common.widgets.client.menu.FileMenuBuilder;
 import org.kie.workbench.common.widgets.client.popups.validation.ValidationPopup;
 import org.kie.workbench.common.widgets.client.resources.i18n.CommonConstants;
@@ -55,6 +59,7 @@ import org.kie.workbench.common.widgets.metadata.client.menu.RegisteredDocuments
 import org.kie.workbench.common.widgets.metadata.client.validation.AssetUpdateValidator;
 import org.kie.workbench.common.widgets.metadata.client.widget.OverviewWidgetPresenter;
 import org.uberfire.backend.vfs.ObservablePath;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.client.mvp.PlaceManager;
 import org.uberfire.client.mvp.UpdatedLockStatusEvent;
 import org.uberfire.client.workbench.events.ChangeTitleWidgetEvent;
@@ -71,6 +76,8 @@ import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.workbench.events.NotificationEvent;
 import org.uberfire.workbench.model.menu.MenuItem;
 
+import static org.uberfire.ext.widgets.common.client.common.ConcurrentChangePopup.newConcurrentUpdate;
+
 /**
  * Guided Decision Table Editor Presenter
  */
@@ -419,6 +426,10 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
 
     @Override
     public void onValidate(final GuidedDecisionTableView.Presenter dtPresenter) {
+        dtPresenter.loadRemainingRows(() -> doValidate(dtPresenter));
+    }
+
+    void doValidate(final GuidedDecisionTableView.Presenter dtPresenter) {
         final ObservablePath path = dtPresenter.getCurrentPath();
         final GuidedDecisionTable52 model = dtPresenter.getModel();
 
@@ -443,12 +454,80 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
     @Override
     public void onSave(final GuidedDecisionTableView.Presenter dtPresenter,
                        final String commitMessage) {
+        //Changes limited to the values of cells are saved without sending the whole model
+        final Optional<List<GuidedDecisionTableCellEdit>> cellEdits = dtPresenter.getCellEdits();
+        if (cellEdits.isPresent()) {
+            doSaveCellEdits(dtPresenter,
+                            cellEdits.get(),
+                            commitMessage);
+            return;
+        }
+
+        //Rows that are not loaded yet would be lost otherwise
+        dtPresenter.loadRemainingRows(() -> doSave(dtPresenter,
+                                                   commitMessage));
+    }
+
+    void doSaveCellEdits(final GuidedDecisionTableView.Presenter dtPresenter,
+                         final List<GuidedDecisionTableCellEdit> cellEdits,
+                         final String commitMessage) {
         final ObservablePath path = dtPresenter.getCurrentPath();
         final GuidedDecisionTable52 model = dtPresenter.getModel();
         final Metadata metadata = dtPresenter.getOverview().getMetadata();
+        final RemoteCallback<Path> saveSuccessCallback = getSaveSuccessCallback(dtPresenter,
+                                                                                model.hashCode());
 
-        service.call(getSaveSuccessCallback(dtPresenter,
-                                            model.hashCode()),
+        service.call((String version) -> {
+                         dtPresenter.setContentVersion(version);
+                         saveSuccessCallback.callback(path);
+                     },
+                     new HasBusyIndicatorDefaultErrorCallback(view) {
+                         @Override
+                         public boolean error(final Message message,
+                                              final Throwable throwable) {
+                             if (throwable instanceof GuidedDecisionTableVersionConflictException) {
+                                 view.hideBusyIndicator();
+                                 showVersionConflictPopup(dtPresenter,
+                                                          ((GuidedDecisionTableVersionConflictException) throwable).getAuthor(),
+                                                          commitMessage);
+                                 return false;
+                             }
+                             return super.error(message,
+                                                throwable);
+                         }
+                     }).saveCellEdits(path,
+                                      dtPresenter.getContentVersion(),
+                                      cellEdits,
+                                      metadata,
+                                      commitMessage);
+    }
+
+    //The same choice as for a concurrent update: overwrite the latest version with the whole model, or reload it
+    void showVersionConflictPopup(final GuidedDecisionTableView.Presenter dtPresenter,
+                                  final String author,
+                                  final String commitMessage) {
+        newConcurrentUpdate(dtPresenter.getCurrentPath(),
+                            new UserImpl(author),
+                            () -> dtPresenter.loadRemainingRows(() -> doSave(dtPresenter,
+                                                                             commitMessage)),
+                            () -> {/*Do nothing*/},
+                            () -> refreshDocument(dtPresenter)).show();
+    }
+
+    void doSave(final GuidedDecisionTableView.Presenter dtPresenter,
+                final String commitMessage) {
+        final ObservablePath path = dtPresenter.getCurrentPath();
+        final GuidedDecisionTable52 model = dtPresenter.getModel();
+        final Metadata metadata = dtPresenter.getOverview().getMetadata();
+
+        final RemoteCallback<Path> saveSuccessCallback = getSaveSuccessCallback(dtPresenter,
+                                                                                model.hashCode());
+
+        service.call((Path savedPath) -> {
+                         //The version of the saved model is not known; the next changes are saved as a whole
+                         dtPresenter.setContentVersion(null);
+                         saveSuccessCallback.callback(savedPath);
+                     },
                      new HasBusyIndicatorDefaultErrorCallback(view)).saveAndUpdateGraphEntries(path,
                                                                                                model,
                                                                                                metadata,
@@ -457,6 +536,10 @@ public abstract class BaseGuidedDecisionTableEditorPresenter extends KieMultiple
 
     @Override
     public void onSourceTabSelected(final GuidedDecisionTableView.Presenter dtPresenter) {
+        dtPresenter.loadRemainingRows(() -> doSourceTabSelected(dtPresenter));
+    }
+
+    void doSourceTabSelected(final GuidedDecisionTableView.Presenter dtPresenter) {
         final ObservablePath path = dtPresenter.getCurrentPath();
         final GuidedDecisionTable52 model = dtPresenter.getModel();
 
@@ -218,7 +218,7 @@ public class GuidedDecisionTableEditorPresenter extends BaseGuidedDecisionTableE
                     .addSave(getSaveMenuItem())
                     .addCopy(() -> getActiveDocument().getCurrentPath(),
                              assetUpdateValidator)
-                    .addRename(getSaveAndRenameCommand())
+                    .addRename(getLoadRemainingRowsCommand(getSaveAndRenameCommand()))
                     .addDelete(() -> getActiveDocument().getLatestPath(),
                                assetUpdateValidator);
         }
@@ -236,6 +236,11 @@ public class GuidedDecisionTableEditorPresenter extends BaseGuidedDecisionTableE
         this.menus = fileMenuBuilder.build();
     }
 
+    //The content saved on rename has to include the rows that are not loaded yet
+    Command getLoadRemainingRowsCommand(final Command command) {
+        return () -> getActiveDocument().loadRemainingRows(command::execute);
+    }
+
     protected Command getSaveAndRenameCommand() {
 
         return saveAndRenameCommandBuilder
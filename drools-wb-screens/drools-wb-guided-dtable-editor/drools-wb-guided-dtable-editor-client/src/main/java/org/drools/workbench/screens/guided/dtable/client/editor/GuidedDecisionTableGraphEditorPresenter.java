@@ -392,7 +392,7 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
                     .addSave(getSaveMenuItem())
                     .addCopy(versionRecordManager::getCurrentPath,
                              assetUpdateValidator)
-                    .addRename(getSaveAndRenameCommand())
+                    .addRename(getLoadRemainingRowsCommand(getSaveAndRenameCommand()))
                     .addDelete(versionRecordManager::getPathToLatest,
                                assetUpdateValidator);
         }
@@ -411,6 +411,11 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
         this.menus = fileMenuBuilder.build();
     }
 
+    //The content saved on rename has to include the rows that are not loaded yet
+    Command getLoadRemainingRowsCommand(final Command command) {
+        return () -> modeller.loadRemainingRows(command::execute);
+    }
+
     protected Command getSaveAndRenameCommand() {
 
         return saveAndRenameCommandBuilder
@@ -878,12 +883,23 @@ public class GuidedDecisionTableGraphEditorPresenter extends BaseGuidedDecisionT
         }
 
         private void saveDocumentGraphEntry(final GuidedDecisionTableView.Presenter dtPresenter) {
+            //Rows that are not loaded yet would be lost otherwise
+            dtPresenter.loadRemainingRows(() -> doSaveDocumentGraphEntry(dtPresenter));
+        }
+
+        private void doSaveDocumentGraphEntry(final GuidedDecisionTableView.Presenter dtPresenter) {
             final ObservablePath path = dtPresenter.getCurrentPath();
             final GuidedDecisionTable52 model = dtPresenter.getModel();
             final Metadata metadata = dtPresenter.getOverview().getMetadata();
 
-            service.call(getSaveSuccessCallback(dtPresenter,
-                                                model.hashCode()),
+            final RemoteCallback<Path> saveSuccessCallback = getSaveSuccessCallback(dtPresenter,
+                                                                                    model.hashCode());
+
+            service.call((Path savedPath) -> {
+                             //The version of the saved model is not known; the next changes are saved as a whole
+                             dtPresenter.setContentVersion(null);
+                             saveSuccessCallback.callback(savedPath);
+                         },
                          getSaveErrorCallback()).save(path,
                                                       model,
                                                       metadata,
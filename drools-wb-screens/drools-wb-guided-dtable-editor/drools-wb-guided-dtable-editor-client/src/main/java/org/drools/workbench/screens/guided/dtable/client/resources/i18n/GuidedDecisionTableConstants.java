@@ -330,6 +330,8 @@ public interface GuidedDecisionTableConstants
 
     String DataCopiedToClipboardMessage();
 
+    String DecisionTableReloadedMessage();
+
     String HitPolicy();
 
     String HitPolicyTooltip();
@@ -179,7 +179,7 @@ public class GuidedDecisionTableModellerPresenter implements GuidedDecisionTable
 
         availableDecisionTables.add(dtPresenter);
 
-        updateLinks();
+        updateLinks(dtPresenter);
 
         view.addDecisionTable(dtPresenter.getView());
 
@@ -405,4 +405,48 @@ public class GuidedDecisionTableModellerPresenter implements GuidedDecisionTable
         }
         getView().getGridLayerView().refreshGridWidgetConnectors();
     }
+
+    @Override
+    public void updateLinks(final GuidedDecisionTableView.Presenter dtPresenter) {
+        //Only the links from and to the changed Decision Table need to be re-created
+        final Set<GuidedDecisionTableView.Presenter> changedDecisionTable = Collections.singleton(dtPresenter);
+        dtPresenter.link(getAvailableDecisionTables());
+        for (GuidedDecisionTableView.Presenter otherDtPresenter : getAvailableDecisionTables()) {
+            if (!otherDtPresenter.equals(dtPresenter)) {
+                otherDtPresenter.link(changedDecisionTable);
+            }
+        }
+        getView().getGridLayerView().refreshGridWidgetConnectors();
+    }
+
+    @Override
+    public void loadRowsInView() {
+        //Rows are requested one visible area ahead of the scrolling
+        final Bounds visibleBounds = view.getGridLayerView().getVisibleBounds();
+        final double maxY = visibleBounds.getY() + visibleBounds.getHeight() * 2;
+        for (GuidedDecisionTableView.Presenter dtPresenter : getAvailableDecisionTables()) {
+            final GuidedDecisionTableView dtView = dtPresenter.getView();
+            if (dtPresenter.hasUnloadedRows() && dtView.getY() + dtView.getHeight() < maxY) {
+                dtPresenter.loadNextRows();
+            }
+        }
+    }
+
+    @Override
+    public void loadRemainingRows(final Command command) {
+        final Set<GuidedDecisionTableView.Presenter> dtPresenters = new HashSet<>(getAvailableDecisionTables());
+        if (dtPresenters.isEmpty()) {
+            command.execute();
+            return;
+        }
+        final Set<GuidedDecisionTableView.Presenter> pending = new HashSet<>(dtPresenters);
+        for (GuidedDecisionTableView.Presenter dtPresenter : dtPresenters) {
+            dtPresenter.loadRemainingRows(() -> {
+                pending.remove(dtPresenter);
+                if (pending.isEmpty()) {
+                    command.execute();
+                }
+            });
+        }
+    }
 }
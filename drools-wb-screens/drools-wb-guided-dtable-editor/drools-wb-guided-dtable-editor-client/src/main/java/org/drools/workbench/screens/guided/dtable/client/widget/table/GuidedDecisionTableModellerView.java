@@ -118,5 +118,18 @@ public interface GuidedDecisionTableModellerView extends UberView<GuidedDecision
         void refreshScrollPosition();
 
         void updateLinks();
+
+        void updateLinks(final GuidedDecisionTableView.Presenter dtPresenter);
+
+        /**
+         * Loads the next window of rows of the Decision Tables whose last loaded row is close to the visible area.
+         */
+        void loadRowsInView();
+
+        /**
+         * Loads all the rows of all Decision Tables and then executes the command.
+         * @param command
+         */
+        void loadRemainingRows(final Command command);
     }
 }
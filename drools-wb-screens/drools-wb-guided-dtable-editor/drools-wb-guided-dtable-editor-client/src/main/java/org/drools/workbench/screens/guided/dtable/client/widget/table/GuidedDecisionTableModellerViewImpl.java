@@ -181,7 +181,10 @@ public class GuidedDecisionTableModellerViewImpl extends Composite implements Gu
         mousePanMediator.setBatchDraw(true);
 
         gridPanel.setBounds(getBounds());
-        gridPanel.getScrollPanel().addDomHandler(scrollEvent -> getPresenter().updateRadar(),
+        gridPanel.getScrollPanel().addDomHandler(scrollEvent -> {
+                                                     getPresenter().updateRadar();
+                                                     getPresenter().loadRowsInView();
+                                                 },
                                                  ScrollEvent.getType());
 
         //Wire-up widgets
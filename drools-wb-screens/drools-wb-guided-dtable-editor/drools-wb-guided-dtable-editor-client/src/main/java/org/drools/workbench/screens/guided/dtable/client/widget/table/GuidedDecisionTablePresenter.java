@@ -22,7 +22,9 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
@@ -83,10 +85,15 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.ColumnUtilities;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DependentEnumsUtilities;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.EnumLoaderUtilities;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableLinkSignatures;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.drools.workbench.screens.guided.rule.client.util.GWTDateConverter;
 import org.guvnor.common.services.shared.metadata.model.Overview;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.jboss.errai.ioc.client.container.SyncBeanDef;
@@ -100,12 +107,15 @@ import org.kie.workbench.common.services.verifier.reporting.client.controller.An
 import org.kie.workbench.common.services.verifier.reporting.client.panel.IssueSelectedEvent;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracle;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracleFactory;
+import org.kie.workbench.common.widgets.client.datamodel.ImportAddedEvent;
+import org.kie.workbench.common.widgets.client.datamodel.ImportRemovedEvent;
 import org.kie.workbench.common.widgets.client.resources.i18n.CommonConstants;
 import org.kie.workbench.common.workbench.client.authz.WorkbenchFeatures;
 import org.uberfire.backend.vfs.ObservablePath;
 import org.uberfire.client.callbacks.Callback;
 import org.uberfire.client.mvp.LockTarget;
 import org.uberfire.client.mvp.UpdatedLockStatusEvent;
+import org.uberfire.ext.widgets.common.client.callbacks.DefaultErrorCallback;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
@@ -131,6 +141,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     private final User identity;
     private final GuidedDTableResourceType resourceType;
     private final Caller<RuleNamesService> ruleNameService;
+    private final Caller<GuidedDecisionTableEditorService> dtService;
     private final Event<DecisionTableSelectedEvent> decisionTableSelectedEvent;
     private final Event<DecisionTableColumnSelectedEvent> decisionTableColumnSelectedEvent;
     private final Event<DecisionTableSelectionsChangedEvent> decisionTableSelectionsChangedEvent;
@@ -162,6 +173,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     private DependentEnumsUtilities dependentEnumsUtilities;
     private AnalyzerController analyzerController;
     private GuidedDecisionTable52 model;
+    private GuidedDecisionTableLinkSignatures linkSignatures;
     private Overview overview;
     private AsyncPackageDataModelOracle oracle;
     private GuidedDecisionTableModellerView.Presenter parent;
@@ -175,6 +187,11 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     private ObservablePath currentPath = null;
     private PlaceRequest placeRequest = null;
     private Integer originalHashCode = null;
+    private int totalRowCount = 0;
+    private int loadedRowCount = 0;
+    private boolean isLoadingRows = false;
+    private List<Command> remainingRowsLoadedCommands = new ArrayList<>();
+    private String contentVersion = null;
     private ObservablePath.OnConcurrentUpdateEvent concurrentUpdateSessionInfo = null;
 
     //This EventBus is local to the screen and should be used for local operations, set data, add rows etc
@@ -185,6 +202,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     public GuidedDecisionTablePresenter(final User identity,
                                         final GuidedDTableResourceType resourceType,
                                         final Caller<RuleNamesService> ruleNameService,
+                                        final Caller<GuidedDecisionTableEditorService> dtService,
                                         final Event<DecisionTableSelectedEvent> decisionTableSelectedEvent,
                                         final Event<DecisionTableColumnSelectedEvent> decisionTableColumnSelectedEvent,
                                         final Event<DecisionTableSelectionsChangedEvent> decisionTableSelectionsChangedEvent,
@@ -211,6 +229,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         this.identity = identity;
         this.resourceType = resourceType;
         this.ruleNameService = ruleNameService;
+        this.dtService = dtService;
         this.decisionTableSelectedEvent = decisionTableSelectedEvent;
         this.decisionTableColumnSelectedEvent = decisionTableColumnSelectedEvent;
         this.decisionTableSelectionsChangedEvent = decisionTableSelectionsChangedEvent;
@@ -315,7 +334,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
                           isReadOnly);
 
         if (!isReadOnly()) {
-            analyzerController.initialiseAnalysis();
+            initialiseAnalysis();
         }
     }
 
@@ -330,6 +349,11 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         this.currentPath = path;
         this.placeRequest = placeRequest;
         this.model = model;
+        this.linkSignatures = null;
+        this.totalRowCount = content.getTotalRowCount();
+        this.loadedRowCount = model.getData().size();
+        this.isLoadingRows = false;
+        this.remainingRowsLoadedCommands.clear();
         this.overview = content.getOverview();
         this.oracle = oracleFactory.makeAsyncPackageDataModelOracle(path,
                                                                     model,
@@ -344,6 +368,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         initialiseLockManager();
         initialiseUtilities();
         initialiseModels();
+        setContentVersion(content.getVersion());
         initialiseValidationAndVerification();
         initialiseEventHandlers();
         initialiseAuditLog();
@@ -405,7 +430,8 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
 
             @Override
             public boolean isColumnDraggingEnabled() {
-                return access.isEditable();
+                //A moved column could not be moved in the rows that are not loaded yet
+                return access.isEditable() && !hasUnloadedRows();
             }
 
             @Override
@@ -538,8 +564,8 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         final Set<GuidedDecisionTableView.Presenter> otherDecisionTables = new HashSet<>();
         otherDecisionTables.addAll(dtPresenters);
         otherDecisionTables.remove(this);
-        otherDecisionTables.stream().forEach((e) -> linkManager.link(this.getModel(),
-                                                                     e.getModel(),
+        otherDecisionTables.stream().forEach((e) -> linkManager.link(this.getLinkSignatures(),
+                                                                     e.getLinkSignatures(),
                                                                      (final int sourceColumnIndex,
                                                                       final int targetColumnIndex) -> {
                                                                          final GridData sourceUiModel = GuidedDecisionTablePresenter.this.getView().getModel();
@@ -548,6 +574,14 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
                                                                      }));
     }
 
+    @Override
+    public GuidedDecisionTableLinkSignatures getLinkSignatures() {
+        if (linkSignatures == null) {
+            linkSignatures = linkManager.getSignatures(getModel());
+        }
+        return linkSignatures;
+    }
+
     List<BaseColumnConverter> getConverters() {
         final List<BaseColumnConverter> converters = new ArrayList<BaseColumnConverter>();
         for (SyncBeanDef<BaseColumnConverter> bean : beanManager.lookupBeans(BaseColumnConverter.class)) {
@@ -597,7 +631,8 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
 
     @Override
     public void initialiseAnalysis() {
-        if (analyzerController != null) {
+        //Analysis of a partially loaded table would report issues for rows that are not the last ones
+        if (analyzerController != null && !hasUnloadedRows()) {
             analyzerController.initialiseAnalysis();
         }
     }
@@ -644,6 +679,19 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         refreshMenusEvent.fire(new RefreshMenusEvent());
     }
 
+    //Imports are edited outside of the Decision Table and its synchronizer
+    void onImportAddedEvent(final @Observes ImportAddedEvent event) {
+        if (oracle != null && oracle.equals(event.getDataModelOracle())) {
+            synchronizer.setStructureChanged();
+        }
+    }
+
+    void onImportRemovedEvent(final @Observes ImportRemovedEvent event) {
+        if (oracle != null && oracle.equals(event.getDataModelOracle())) {
+            synchronizer.setStructureChanged();
+        }
+    }
+
     void onIssueSelectedEvent(final @Observes IssueSelectedEvent event) {
         if (event == null) {
             return;
@@ -733,6 +781,7 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     @Override
     public void setParentRuleName(final String parentName) {
         model.setParentName(parentName);
+        synchronizer.setStructureChanged();
     }
 
     @Override
@@ -896,24 +945,47 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
             return;
         }
         try {
-            append.execute();
+            executeOnAllRows(() -> {
+                append.execute();
 
-            refreshView();
+                refreshView();
 
-            //Log addition of column
-            model.getAuditLog().add(new InsertColumnAuditLogEntry(identity.getIdentifier(),
-                                                                  column));
-            callback.execute();
+                //Log addition of column
+                model.getAuditLog().add(new InsertColumnAuditLogEntry(identity.getIdentifier(),
+                                                                      column));
+                callback.execute();
+            });
         } catch (VetoException e) {
             getModellerPresenter().getView().showGenericVetoMessage();
         }
     }
 
+    //Column changes have to reach the rows that are not loaded yet too. When all rows are
+    //loaded the change is executed straight away, so that a veto is thrown to the caller.
+    private void executeOnAllRows(final VetoableColumnCommand command) throws VetoException {
+        if (!hasUnloadedRows()) {
+            command.execute();
+            return;
+        }
+        loadRemainingRows(() -> {
+            try {
+                command.execute();
+            } catch (VetoException e) {
+                getModellerPresenter().getView().showGenericVetoMessage();
+            }
+        });
+    }
+
     @Override
     public void onAppendRow() {
         if (isReadOnly()) {
             return;
         }
+        //The new row has to follow the rows that are not loaded yet
+        loadRemainingRows(this::doAppendRow);
+    }
+
+    void doAppendRow() {
         try {
             synchronizer.appendRow();
 
@@ -928,7 +1000,8 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
     }
 
     void refreshView() {
-        getParent().updateLinks();
+        linkSignatures = null;
+        getParent().updateLinks(this);
         getParent().refreshScrollPosition();
 
         view.getLayer().draw();
@@ -967,14 +1040,16 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         if (isReadOnly()) {
             return;
         }
-        synchronizer.deleteColumn(column);
+        executeOnAllRows(() -> {
+            synchronizer.deleteColumn(column);
 
-        refreshView();
+            refreshView();
 
-        //Log deletion of column
-        model.getAuditLog().add(new DeleteColumnAuditLogEntry(identity.getIdentifier(),
-                                                              column));
-        callback.execute();
+            //Log deletion of column
+            model.getAuditLog().add(new DeleteColumnAuditLogEntry(identity.getIdentifier(),
+                                                                  column));
+            callback.execute();
+        });
     }
 
     @Override
@@ -1043,19 +1118,171 @@ public class GuidedDecisionTablePresenter implements GuidedDecisionTableView.Pre
         if (isReadOnly()) {
             return;
         }
-        final List<BaseColumnFieldDiff> diffs = update.execute();
+        executeOnAllRows(() -> {
+            final List<BaseColumnFieldDiff> diffs = update.execute();
+
+            linkSignatures = null;
+            parent.updateLinks(this);
+
+            //Log change to column definition
+            if (!(diffs == null || diffs.isEmpty())) {
+                view.getLayer().draw();
+                model.getAuditLog().add(new UpdateColumnAuditLogEntry(identity.getIdentifier(),
+                                                                      originalColumn,
+                                                                      editedColumn,
+                                                                      diffs));
+                callback.execute();
+            }
+        });
+    }
 
-        parent.updateLinks();
+    @Override
+    public boolean hasUnloadedRows() {
+        return loadedRowCount < totalRowCount;
+    }
 
-        //Log change to column definition
-        if (!(diffs == null || diffs.isEmpty())) {
-            view.getLayer().draw();
-            model.getAuditLog().add(new UpdateColumnAuditLogEntry(identity.getIdentifier(),
-                                                                  originalColumn,
-                                                                  editedColumn,
-                                                                  diffs));
-            callback.execute();
+    @Override
+    public void loadNextRows() {
+        if (isLoadingRows || !hasUnloadedRows()) {
+            return;
+        }
+        isLoadingRows = true;
+
+        //Content can be refreshed before the rows are returned
+        final GuidedDecisionTable52 requestingModel = model;
+        dtService.call(new RemoteCallback<List<List<DTCellValue52>>>() {
+                           @Override
+                           public void callback(final List<List<DTCellValue52>> rows) {
+                               if (requestingModel != model) {
+                                   return;
+                               }
+                               isLoadingRows = false;
+                               onRowsLoaded(rows);
+                           }
+                       },
+                       new DefaultErrorCallback() {
+                           @Override
+                           public boolean error(final Message message,
+                                                final Throwable throwable) {
+                               if (requestingModel == model) {
+                                   isLoadingRows = false;
+                                   remainingRowsLoadedCommands.clear();
+                                   //Rows of the new version cannot be appended to those already loaded
+                                   if (throwable instanceof GuidedDecisionTableVersionConflictException) {
+                                       reloadContent();
+                                       return false;
+                                   }
+                               }
+                               return super.error(message,
+                                                  throwable);
+                           }
+                       }).loadRows(currentPath,
+                                   contentVersion,
+                                   loadedRowCount,
+                                   GuidedDecisionTableEditorService.ROW_WINDOW_SIZE);
+    }
+
+    void reloadContent() {
+        final ObservablePath path = getLatestPath();
+        final PlaceRequest place = getPlaceRequest();
+        final boolean isReadOnly = isReadOnly();
+        dtService.call((GuidedDecisionTableEditorContent content) -> {
+            getModellerPresenter().refreshDecisionTable(this,
+                                                        path,
+                                                        place,
+                                                        content,
+                                                        isReadOnly);
+            view.showContentReloadedNotificationEvent();
+        }).loadContent(currentPath);
+    }
+
+    @Override
+    public void loadRemainingRows(final Command command) {
+        if (!hasUnloadedRows()) {
+            command.execute();
+            return;
+        }
+        remainingRowsLoadedCommands.add(command);
+        loadNextRows();
+    }
+
+    void onRowsLoaded(final List<List<DTCellValue52>> rows) {
+        //The rows have been removed since the content was loaded
+        if (rows.isEmpty()) {
+            totalRowCount = loadedRowCount;
+        }
+
+        //Rows that are loaded after the content are not a change to the Decision Table
+        final boolean isClean = originalHashCode != null && originalHashCode == model.hashCode();
+        final List<BaseColumn> modelColumns = model.getExpandedColumns();
+        for (List<DTCellValue52> row : rows) {
+            model.getData().add(row);
+            initialiseRow(modelColumns,
+                          row);
+        }
+        loadedRowCount = loadedRowCount + rows.size();
+        if (isClean) {
+            setOriginalHashCode(model.hashCode());
+        }
+
+        getModellerPresenter().refreshScrollPosition();
+        view.getLayer().draw();
+
+        if (hasUnloadedRows()) {
+            if (!remainingRowsLoadedCommands.isEmpty()) {
+                loadNextRows();
+            }
+            return;
+        }
+        onAllRowsLoaded();
+    }
+
+    void onAllRowsLoaded() {
+        //Re-create the analyzer so that it is aware of all rows
+        terminateAnalysis();
+        initialiseValidationAndVerification();
+        if (!isReadOnly() && getModellerPresenter().getActiveDecisionTable().filter(this::equals).isPresent()) {
+            initialiseAnalysis();
+        }
+
+        final List<Command> commands = new ArrayList<>(remainingRowsLoadedCommands);
+        remainingRowsLoadedCommands.clear();
+        commands.forEach(Command::execute);
+    }
+
+    @Override
+    public String getContentVersion() {
+        return contentVersion;
+    }
+
+    @Override
+    public void setContentVersion(final String contentVersion) {
+        this.contentVersion = contentVersion;
+        synchronizer.clearChanges();
+    }
+
+    @Override
+    public Optional<List<GuidedDecisionTableCellEdit>> getCellEdits() {
+        final List<List<DTCellValue52>> data = model.getData();
+        if (contentVersion == null) {
+            return Optional.empty();
+        }
+        //Rows, columns or anything else than the values of cells have been changed; the indexes of the rows may not match the server's
+        if (synchronizer.isStructureChanged()) {
+            return Optional.empty();
+        }
+
+        //All cells of a changed row are sent; a row is small compared to the table
+        final List<GuidedDecisionTableCellEdit> edits = new ArrayList<>();
+        for (int rowIndex : new TreeSet<>(synchronizer.getChangedRowIndexes())) {
+            final List<DTCellValue52> row = data.get(rowIndex);
+            for (int columnIndex = 0; columnIndex < row.size(); columnIndex++) {
+                edits.add(new GuidedDecisionTableCellEdit(rowIndex,
+                                                          columnIndex,
+                                                          row.get(columnIndex)));
+            }
         }
+        return Optional.of(edits);
     }
 
     private void initialiseColumn(final BaseColumn column) {
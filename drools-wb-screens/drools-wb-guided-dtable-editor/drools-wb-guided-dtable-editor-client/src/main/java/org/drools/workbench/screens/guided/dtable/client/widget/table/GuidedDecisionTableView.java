@@ -18,12 +18,14 @@ package org.drools.workbench.screens.guided.dtable.client.widget.table;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.ait.lienzo.client.core.event.INodeXYEvent;
 import com.ait.lienzo.client.core.event.NodeDragMoveHandler;
 import com.ait.lienzo.client.core.event.NodeMouseDoubleClickHandler;
 import com.google.gwt.event.shared.EventBus;
+import com.google.gwt.user.client.Command;
 import org.drools.workbench.models.datamodel.workitems.PortableWorkDefinition;
 import org.drools.workbench.models.guided.dtable.shared.model.ActionCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
@@ -38,7 +40,9 @@ import org.drools.workbench.screens.guided.dtable.client.editor.menu.InsertMenuB
 import org.drools.workbench.screens.guided.dtable.client.editor.menu.ViewMenuBuilder;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.model.synchronizers.ModelSynchronizer.VetoException;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DependentEnumsUtilities;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableLinkSignatures;
 import org.guvnor.common.services.shared.metadata.model.Overview;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracle;
 import org.kie.workbench.common.widgets.client.workitems.IBindingProvider;
@@ -64,6 +68,8 @@ public interface GuidedDecisionTableView extends GridWidget,
 
     void showDataCopiedNotificationEvent();
 
+    void showContentReloadedNotificationEvent();
+
     void registerNodeDragMoveHandler(final NodeDragMoveHandler handler);
 
     void registerNodeMouseDoubleClickHandler(final NodeMouseDoubleClickHandler handler);
@@ -118,6 +124,44 @@ public interface GuidedDecisionTableView extends GridWidget,
 
         void terminateAnalysis();
 
+        /**
+         * Whether the Decision Table has rows that have not been loaded from the server yet
+         * @return
+         */
+        boolean hasUnloadedRows();
+
+        /**
+         * Loads the next window of rows not loaded from the server yet, if any.
+         */
+        void loadNextRows();
+
+        /**
+         * Loads all the rows not loaded from the server yet and then executes the command. Operations
+         * on the whole Decision Table (e.g. save) need all rows.
+         * @param command
+         */
+        void loadRemainingRows(final Command command);
+
+        /**
+         * Version of the Decision Table the cell edits are relative to
+         * @return null if not known
+         */
+        String getContentVersion();
+
+        /**
+         * Sets the version of the Decision Table that corresponds to the current content. The current content
+         * becomes the base of the cell edits.
+         * @param contentVersion null if not known, e.g. after the whole model has been saved.
+         */
+        void setContentVersion(final String contentVersion);
+
+        /**
+         * Changes made to the cells of the Decision Table since its content version.
+         * @return Empty if the changes are not limited to the values of the cells (e.g. columns or rows have been
+         * added or removed) or if the content version is not known. The whole model has to be saved in this case.
+         */
+        Optional<List<GuidedDecisionTableCellEdit>> getCellEdits();
+
         void getPackageParentRuleNames(final ParameterizedCommand<Collection<String>> command);
 
         void setParentRuleName(final String parentName);
@@ -182,6 +226,8 @@ public interface GuidedDecisionTableView extends GridWidget,
 
         void link(final Set<GuidedDecisionTableView.Presenter> dtPresenters);
 
+        GuidedDecisionTableLinkSignatures getLinkSignatures();
+
         boolean hasEditableColumns();
     }
 }
@@ -207,6 +207,12 @@ public class GuidedDecisionTableViewImpl extends BaseGridWidget implements Guide
         notificationEvent.fire(new NotificationEvent(GuidedDecisionTableConstants.INSTANCE.DataCopiedToClipboardMessage()));
     }
 
+    @Override
+    public void showContentReloadedNotificationEvent() {
+        notificationEvent.fire(new NotificationEvent(GuidedDecisionTableConstants.INSTANCE.DecisionTableReloadedMessage(),
+                                                     NotificationEvent.NotificationType.WARNING));
+    }
+
     @Override
     public void showBusyIndicator(final String message) {
         BusyPopup.showMessage(message);
@@ -17,6 +17,7 @@
 package org.drools.workbench.screens.guided.dtable.client.widget.table.model.synchronizers;
 
 import java.util.List;
+import java.util.Set;
 
 import com.google.gwt.event.shared.EventBus;
 import org.drools.workbench.models.guided.dtable.shared.model.BRLRuleModel;
@@ -114,4 +115,22 @@ public interface ModelSynchronizer {
 
     void setCellOtherwiseState(final int rowIndex,
                                final int columnIndex);
+
+    /**
+     * Indexes of the rows with cells changed since the last call to {@link #clearChanges()}.
+     * The indexes are only meaningful while {@link #isStructureChanged()} is false.
+     */
+    Set<Integer> getChangedRowIndexes();
+
+    /**
+     * Whether anything else than the values of cells has been changed since the last call to {@link #clearChanges()}.
+     */
+    boolean isStructureChanged();
+
+    /**
+     * Records a change, made without the synchronizer, to anything else than the values of cells.
+     */
+    void setStructureChanged();
+
+    void clearChanges();
 }
@@ -19,6 +19,7 @@ package org.drools.workbench.screens.guided.dtable.client.widget.table.model.syn
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -85,6 +86,9 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
 
     private final List<Synchronizer<? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData>> synchronizers = new ArrayList<>();
 
+    private final Set<Integer> changedRowIndexes = new HashSet<>();
+    private boolean isStructureChanged = false;
+
     @Override
     public void setSynchronizers(final List<Synchronizer<? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData>> synchronizers) {
         this.synchronizers.clear();
@@ -132,6 +136,8 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
                                                                                                      cellUtilities,
                                                                                                      columnUtilities);
 
+        clearChanges();
+
         for (Synchronizer<? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData, ? extends MetaData> synchronizer : synchronizers) {
             synchronizer.initialise(model,
                                     uiModel,
@@ -162,6 +168,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
                              new DTCellValue52(value.getValue()));
             }
         }
+        setRowsChanged(rowRange);
         final Set<Integer> columnRange = updateDependentEnumerationColumns(rowRange,
                                                                            columnIndex);
         fireValidateEvent(rowRange,
@@ -178,6 +185,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
             final DTCellValue52 modelCell = modelRow.get(columnIndex);
             modelCell.clearValues();
         }
+        setRowsChanged(rowRange);
         final Set<Integer> columnRange = updateDependentEnumerationColumns(rowRange,
                                                                            columnIndex);
         fireValidateEvent(rowRange,
@@ -208,6 +216,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @Override
     @SuppressWarnings("unchecked")
     public void appendColumn(final BaseColumn column) throws VetoException {
+        setStructureChanged();
         final MetaData metaData = new BaseColumnSynchronizer.ColumnMetaDataImpl(column);
         for (Synchronizer synchronizer : synchronizers) {
             if (synchronizer.handlesAppend(metaData)) {
@@ -223,6 +232,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @SuppressWarnings("unchecked")
     public void appendColumn(final Pattern52 pattern,
                              final ConditionCol52 column) throws VetoException {
+        setStructureChanged();
         final PatternConditionMetaData metaData = new PatternConditionMetaData(pattern,
                                                                                column);
         for (Synchronizer synchronizer : synchronizers) {
@@ -237,6 +247,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @Override
     @SuppressWarnings("unchecked")
     public void deleteColumn(final BaseColumn column) throws VetoException {
+        setStructureChanged();
         final int columnIndex = model.getExpandedColumns().indexOf(column);
         final MetaData metaData = new BaseColumnSynchronizer.ColumnMetaDataImpl(column);
         for (Synchronizer synchronizer : synchronizers) {
@@ -254,6 +265,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
                                                   final ConditionCol52 originalColumn,
                                                   final Pattern52 editedPattern,
                                                   final ConditionCol52 editedColumn) throws VetoException {
+        setStructureChanged();
         final PatternConditionMetaData originalMetaData = new PatternConditionMetaData(originalPattern,
                                                                                        originalColumn);
 
@@ -272,6 +284,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @SuppressWarnings("unchecked")
     public List<BaseColumnFieldDiff> updateColumn(final BaseColumn originalColumn,
                                                   final BaseColumn editedColumn) throws VetoException {
+        setStructureChanged();
         final MetaData originalMetaData = new BaseColumnSynchronizer.ColumnMetaDataImpl(originalColumn);
         final MetaData editedMetaData = new BaseColumnSynchronizer.ColumnMetaDataImpl(editedColumn);
         for (Synchronizer synchronizer : synchronizers) {
@@ -294,6 +307,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @Override
     @SuppressWarnings("unchecked")
     public void appendRow() throws VetoException {
+        setStructureChanged();
         final MetaData metaData = new RowSynchronizer.RowMetaDataImpl();
         for (Synchronizer synchronizer : synchronizers) {
             if (synchronizer.handlesAppend(metaData)) {
@@ -308,6 +322,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
 
     @Override
     public void insertRow(final int rowIndex) throws VetoException {
+        setStructureChanged();
         final MetaData metaData = new RowSynchronizer.RowMetaDataImpl(rowIndex);
         for (Synchronizer synchronizer : synchronizers) {
             if (synchronizer.handlesInsert(metaData)) {
@@ -323,6 +338,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
     @Override
     @SuppressWarnings("unchecked")
     public void deleteRow(final int rowIndex) throws VetoException {
+        setStructureChanged();
         final MetaData metaData = new RowSynchronizer.RowMetaDataImpl(rowIndex);
         for (Synchronizer synchronizer : synchronizers) {
             if (synchronizer.handlesDelete(metaData)) {
@@ -364,6 +380,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
             throw new MoveVetoException();
         }
 
+        setStructureChanged();
         for (Synchronizer synchronizer : handlers) {
             synchronizer.moveColumnsTo(metaData);
         }
@@ -400,6 +417,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
             throw new MoveVetoException();
         }
 
+        setStructureChanged();
         handler.moveColumnsTo(metaData);
     }
 
@@ -433,6 +451,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
             throw new MoveVetoException();
         }
 
+        setStructureChanged();
         for (Synchronizer synchronizer : handlers) {
             synchronizer.moveRowsTo(metaData);
         }
@@ -440,6 +459,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
 
     @Override
     public void updateSystemControlledColumnValues() {
+        setStructureChanged();
         systemControlledColumnValuesSynchronizer.updateSystemControlledColumnValues();
     }
 
@@ -450,6 +470,7 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
         final DTCellValue52 modelCell = model.getData().get(rowIndex).get(columnIndex);
         modelCell.clearValues();
         modelCell.setOtherwise(true);
+        changedRowIndexes.add(rowIndex);
 
         //BaseGridData is sparsely populated; only add values if needed.
         if (modelCell.hasValue()) {
@@ -463,6 +484,33 @@ public class ModelSynchronizerImpl implements ModelSynchronizer {
         uiModel.indexColumn(columnIndex);
     }
 
+    @Override
+    public Set<Integer> getChangedRowIndexes() {
+        return Collections.unmodifiableSet(changedRowIndexes);
+    }
+
+    @Override
+    public boolean isStructureChanged() {
+        return isStructureChanged;
+    }
+
+    @Override
+    public void setStructureChanged() {
+        this.isStructureChanged = true;
+    }
+
+    @Override
+    public void clearChanges() {
+        this.changedRowIndexes.clear();
+        this.isStructureChanged = false;
+    }
+
+    private void setRowsChanged(final GridData.Range rowRange) {
+        for (int rowIndex = rowRange.getMinRowIndex(); rowIndex <= rowRange.getMaxRowIndex(); rowIndex++) {
+            changedRowIndexes.add(rowIndex);
+        }
+    }
+
     protected void fireAfterColumnInsertedEvent(final BaseColumn column) {
         eventBus.fireEvent(new AfterColumnInserted(column));
     }
@@ -23,12 +23,15 @@ import java.util.List;
 import java.util.Optional;
 
 import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.screens.guided.dtable.client.type.GuidedDTableResourceType;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTablePresenter;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.GuidedDecisionTableView;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.DecisionTableSelectedEvent;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.guvnor.common.services.project.categories.Decision;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.guvnor.common.services.shared.metadata.model.Overview;
@@ -535,6 +538,7 @@ public class BaseGuidedDecisionTableEditorPresenterTest extends BaseGuidedDecisi
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void checkOnSave() {
         final String commitMessage = "message";
         final ObservablePath path = mock(ObservablePath.class);
@@ -562,6 +566,91 @@ public class BaseGuidedDecisionTableEditorPresenterTest extends BaseGuidedDecisi
         assertNotNull(metadataCaptor.getValue());
         assertEquals(dtPresenter.getOverview().getMetadata(),
                      metadataCaptor.getValue());
+        verify(dtService,
+               never()).saveCellEdits(any(Path.class),
+                                      any(String.class),
+                                      any(List.class),
+                                      any(Metadata.class),
+                                      any(String.class));
+        verify(dtPresenter,
+               times(1)).setContentVersion(null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkOnSaveCellEdits() {
+        final String commitMessage = "message";
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContent();
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        final List<GuidedDecisionTableCellEdit> cellEdits = Collections.singletonList(new GuidedDecisionTableCellEdit(0,
+                                                                                                                     1,
+                                                                                                                     new DTCellValue52("edited")));
+        when(dtPresenter.getCellEdits()).thenReturn(Optional.of(cellEdits));
+        when(dtPresenter.getContentVersion()).thenReturn("version1");
+        when(dtService.saveCellEdits(any(Path.class),
+                                     any(String.class),
+                                     any(List.class),
+                                     any(Metadata.class),
+                                     any(String.class))).thenReturn("version2");
+
+        presenter.onSave(dtPresenter,
+                         commitMessage);
+
+        verify(dtService,
+               times(1)).saveCellEdits(eq(path),
+                                       eq("version1"),
+                                       eq(cellEdits),
+                                       eq(dtPresenter.getOverview().getMetadata()),
+                                       eq(commitMessage));
+        verify(dtService,
+               never()).saveAndUpdateGraphEntries(any(Path.class),
+                                                  any(GuidedDecisionTable52.class),
+                                                  any(Metadata.class),
+                                                  any(String.class));
+        verify(dtPresenter,
+               never()).loadRemainingRows(any(com.google.gwt.user.client.Command.class));
+        verify(dtPresenter,
+               times(1)).setContentVersion(eq("version2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkOnSaveCellEditsWithVersionConflict() {
+        final String commitMessage = "message";
+        final ObservablePath path = mock(ObservablePath.class);
+        final PlaceRequest placeRequest = mock(PlaceRequest.class);
+        final GuidedDecisionTableEditorContent content = makeDecisionTableContent();
+        final GuidedDecisionTableView.Presenter dtPresenter = makeDecisionTable(path,
+                                                                                path,
+                                                                                placeRequest,
+                                                                                content);
+        when(dtPresenter.getCellEdits()).thenReturn(Optional.of(Collections.emptyList()));
+        when(dtPresenter.getContentVersion()).thenReturn("version1");
+        when(dtService.saveCellEdits(any(Path.class),
+                                     any(String.class),
+                                     any(List.class),
+                                     any(Metadata.class),
+                                     any(String.class))).thenThrow(new GuidedDecisionTableVersionConflictException("Decision Table has been changed.",
+                                                                                                                   path,
+                                                                                                                   "author"));
+        doNothing().when(presenter).showVersionConflictPopup(any(GuidedDecisionTableView.Presenter.class),
+                                                             any(String.class),
+                                                             any(String.class));
+
+        presenter.onSave(dtPresenter,
+                         commitMessage);
+
+        verify(presenter,
+               times(1)).showVersionConflictPopup(eq(dtPresenter),
+                                                  eq("author"),
+                                                  eq(commitMessage));
+        verify(dtPresenter,
+               never()).setContentVersion(any(String.class));
     }
 
     @Test
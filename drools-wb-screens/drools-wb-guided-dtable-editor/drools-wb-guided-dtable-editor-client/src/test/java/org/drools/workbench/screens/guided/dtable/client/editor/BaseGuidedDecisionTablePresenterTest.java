@@ -87,6 +87,7 @@ import org.uberfire.workbench.model.menu.MenuItem;
 
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -327,6 +328,11 @@ public abstract class BaseGuidedDecisionTablePresenterTest<P extends BaseGuidedD
         when(dtPresenter.getOverview()).thenReturn(overview);
         when(dtPresenter.getAccess()).thenReturn(access);
         when(dtPresenter.getView()).thenReturn(mock(GuidedDecisionTableView.class));
+        doAnswer((invocation) -> {
+            ((com.google.gwt.user.client.Command) invocation.getArguments()[0]).execute();
+            return null;
+        }).when(dtPresenter).loadRemainingRows(any(com.google.gwt.user.client.Command.class));
+        when(dtPresenter.getCellEdits()).thenReturn(Optional.empty());
         when(overview.getMetadata()).thenReturn(mock(Metadata.class));
 
         return dtPresenter;
@@ -1106,6 +1106,11 @@ public class GuidedDecisionTableGraphEditorPresenterTest extends BaseGuidedDecis
                times(1)).setConcurrentUpdateSessionInfo(eq(null));
         verify(dtPresenter2,
                times(1)).setConcurrentUpdateSessionInfo(eq(null));
+        //Whole models are saved: their versions are no longer known
+        verify(dtPresenter1,
+               times(1)).setContentVersion(eq(null));
+        verify(dtPresenter2,
+               times(1)).setContentVersion(eq(null));
         assertNull(presenter.concurrentUpdateSessionInfo);
     }
 
@@ -82,6 +82,7 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.model.sync
 import org.drools.workbench.screens.guided.dtable.client.widget.table.themes.GuidedDecisionTableRenderer;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.EnumLoaderUtilities;
 import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager;
 import org.drools.workbench.screens.guided.dtable.shared.DefaultGuidedDecisionTableLinkManager;
 import org.guvnor.common.services.shared.metadata.model.Overview;
@@ -126,6 +127,10 @@ public abstract class BaseGuidedDecisionTablePresenterTest {
     protected RuleNamesService ruleNameService;
     protected Caller<RuleNamesService> ruleNameServiceCaller;
 
+    @Mock
+    protected GuidedDecisionTableEditorService dtService;
+    protected Caller<GuidedDecisionTableEditorService> dtServiceCaller;
+
     @Mock
     protected EnumDropdownService enumDropdownService;
     protected Caller<EnumDropdownService> enumDropdownServiceCaller;
@@ -303,6 +308,7 @@ public abstract class BaseGuidedDecisionTablePresenterTest {
 
     private void setupServices() {
         ruleNameServiceCaller = new CallerMock<>(ruleNameService);
+        dtServiceCaller = new CallerMock<>(dtService);
         enumDropdownServiceCaller = new CallerMock<>(enumDropdownService);
         enumLoaderUtilities = new EnumLoaderUtilities(enumDropdownServiceCaller);
         linkManager = spy(new DefaultGuidedDecisionTableLinkManager());
@@ -312,6 +318,7 @@ public abstract class BaseGuidedDecisionTablePresenterTest {
         final GuidedDecisionTablePresenter wrapped = new GuidedDecisionTablePresenter(identity,
                                                                                       resourceType,
                                                                                       ruleNameServiceCaller,
+                                                                                      dtServiceCaller,
                                                                                       decisionTableSelectedEvent,
                                                                                       decisionTableColumnSelectedEvent,
                                                                                       decisionTableSelectionsChangedEvent,
@@ -16,6 +16,7 @@
 
 package org.drools.workbench.screens.guided.dtable.client.widget.table;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
@@ -66,6 +67,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -210,7 +212,7 @@ public class GuidedDecisionTableModellerPresenterTest {
                                    null);
 
         verify(presenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(any(GuidedDecisionTableView.Presenter.class));
         verify(gridLayer,
                times(1)).refreshGridWidgetConnectors();
         verify(view,
@@ -638,6 +640,31 @@ public class GuidedDecisionTableModellerPresenterTest {
                times(1)).refreshGridWidgetConnectors();
     }
 
+    @Test
+    public void updateLinksOfOneDecisionTable() {
+        final GuidedDecisionTableView.Presenter dtPresenter1 = makeDecisionTable();
+        final GuidedDecisionTableView.Presenter dtPresenter2 = makeDecisionTable();
+        final GuidedDecisionTableView.Presenter dtPresenter3 = makeDecisionTable();
+        final Set<GuidedDecisionTableView.Presenter> availableDecisionTables = new HashSet<GuidedDecisionTableView.Presenter>() {{
+            add(dtPresenter1);
+            add(dtPresenter2);
+            add(dtPresenter3);
+        }};
+
+        when(presenter.getAvailableDecisionTables()).thenReturn(availableDecisionTables);
+
+        presenter.updateLinks(dtPresenter1);
+
+        verify(dtPresenter1,
+               times(1)).link(eq(availableDecisionTables));
+        verify(dtPresenter2,
+               times(1)).link(eq(Collections.singleton(dtPresenter1)));
+        verify(dtPresenter3,
+               times(1)).link(eq(Collections.singleton(dtPresenter1)));
+        verify(gridLayer,
+               times(1)).refreshGridWidgetConnectors();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void checkRemoveLinksPreservesOtherTables() {
@@ -685,4 +712,64 @@ public class GuidedDecisionTableModellerPresenterTest {
         verify(dtPresenter2Column2,
                never()).setLink(any());
     }
+
+    @Test
+    public void loadRowsInView() {
+        final GuidedDecisionTableView.Presenter dtPresenter1 = makeDecisionTable();
+        final GuidedDecisionTableView.Presenter dtPresenter2 = makeDecisionTable();
+        final GuidedDecisionTableView.Presenter dtPresenter3 = makeDecisionTable();
+        when(gridLayer.getVisibleBounds()).thenReturn(new BaseBounds(0,
+                                                                     0,
+                                                                     1000,
+                                                                     1000));
+        //Bottom of the Decision Table within the prefetched area
+        when(dtPresenter1.hasUnloadedRows()).thenReturn(true);
+        when(dtPresenter1.getView().getY()).thenReturn(500.0);
+        when(dtPresenter1.getView().getHeight()).thenReturn(1000.0);
+        //Bottom of the Decision Table beyond the prefetched area
+        when(dtPresenter2.hasUnloadedRows()).thenReturn(true);
+        when(dtPresenter2.getView().getY()).thenReturn(500.0);
+        when(dtPresenter2.getView().getHeight()).thenReturn(5000.0);
+        //All rows loaded
+        when(dtPresenter3.hasUnloadedRows()).thenReturn(false);
+        doReturn(new HashSet<>(Arrays.asList(dtPresenter1,
+                                             dtPresenter2,
+                                             dtPresenter3))).when(presenter).getAvailableDecisionTables();
+
+        presenter.loadRowsInView();
+
+        verify(dtPresenter1,
+               times(1)).loadNextRows();
+        verify(dtPresenter2,
+               never()).loadNextRows();
+        verify(dtPresenter3,
+               never()).loadNextRows();
+    }
+
+    @Test
+    public void loadRemainingRows() {
+        final GuidedDecisionTableView.Presenter dtPresenter1 = makeDecisionTable();
+        final GuidedDecisionTableView.Presenter dtPresenter2 = makeDecisionTable();
+        final ArgumentCaptor<Command> dtPresenter2CommandCaptor = ArgumentCaptor.forClass(Command.class);
+        final Command command = mock(Command.class);
+        doAnswer((invocation) -> {
+            ((Command) invocation.getArguments()[0]).execute();
+            return null;
+        }).when(dtPresenter1).loadRemainingRows(any(Command.class));
+        doReturn(new HashSet<>(Arrays.asList(dtPresenter1,
+                                             dtPresenter2))).when(presenter).getAvailableDecisionTables();
+
+        presenter.loadRemainingRows(command);
+
+        verify(dtPresenter2,
+               times(1)).loadRemainingRows(dtPresenter2CommandCaptor.capture());
+        verify(command,
+               never()).execute();
+
+        //Rows of the second Decision Table loaded
+        dtPresenter2CommandCaptor.getValue().execute();
+
+        verify(command,
+               times(1)).execute();
+    }
 }
@@ -85,7 +85,7 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
         verify(refreshAttributesPanelEvent,
                times(1)).fire(any(RefreshAttributesPanelEvent.class));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -102,7 +102,7 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
         verify(refreshMetaDataPanelEvent,
                times(1)).fire(any(RefreshMetaDataPanelEvent.class));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -117,7 +117,7 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
         verify(synchronizer,
                times(1)).deleteColumn(eq(column));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -132,7 +132,7 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
         verify(synchronizer,
                times(1)).deleteColumn(eq(column));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -152,7 +152,7 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
                times(1)).updateColumn(eq(column),
                                       eq(update));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -172,6 +172,6 @@ public class GuidedDecisionTablePresenterAttributesAndMetadataTest extends BaseG
                times(1)).updateColumn(eq(column),
                                       eq(update));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 }
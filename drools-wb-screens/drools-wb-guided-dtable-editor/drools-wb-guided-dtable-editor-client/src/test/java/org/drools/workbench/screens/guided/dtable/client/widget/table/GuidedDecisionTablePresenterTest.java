@@ -16,11 +16,14 @@
 
 package org.drools.workbench.screens.guided.dtable.client.widget.table;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.ait.lienzo.client.core.event.NodeDragMoveEvent;
@@ -42,6 +45,7 @@ import org.drools.workbench.models.guided.dtable.shared.model.BRLActionVariableC
 import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.BaseColumn;
 import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
 import org.drools.workbench.models.guided.dtable.shared.model.MetadataCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
@@ -53,21 +57,32 @@ import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.RefreshConditionsPanelEvent;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.RefreshMenusEvent;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.events.cdi.RefreshMetaDataPanelEvent;
+import org.drools.workbench.screens.guided.dtable.client.widget.table.model.GuidedDecisionTableUiCell;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.model.synchronizers.ModelSynchronizer.VetoException;
 import org.drools.workbench.screens.guided.dtable.client.widget.table.utilities.DependentEnumsUtilities;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableCellEdit;
+import org.drools.workbench.screens.guided.dtable.model.GuidedDecisionTableEditorContent;
+import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableEditorService;
 import org.drools.workbench.screens.guided.dtable.service.GuidedDecisionTableLinkManager.LinkFoundCallback;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableLinkSignatures;
+import org.drools.workbench.screens.guided.dtable.shared.GuidedDecisionTableVersionConflictException;
 import org.drools.workbench.screens.guided.rule.client.widget.attribute.RuleAttributeWidget;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.soup.project.datamodel.imports.Import;
 import org.kie.soup.project.datamodel.oracle.DataType;
 import org.kie.soup.project.datamodel.oracle.DropDownData;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleBaselinePayload;
 import org.kie.workbench.common.services.verifier.reporting.client.panel.IssueSelectedEvent;
+import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracle;
+import org.kie.workbench.common.widgets.client.datamodel.ImportAddedEvent;
+import org.kie.workbench.common.widgets.client.datamodel.ImportRemovedEvent;
 import org.kie.workbench.common.workbench.client.authz.WorkbenchFeatures;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.uberfire.backend.vfs.ObservablePath;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.client.callbacks.Callback;
@@ -93,6 +108,7 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -440,22 +456,48 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
                 add(dtPresenter3);
             }
         };
+        final GuidedDecisionTableLinkSignatures signatures2 = new GuidedDecisionTableLinkSignatures();
+        final GuidedDecisionTableLinkSignatures signatures3 = new GuidedDecisionTableLinkSignatures();
         when(dtPresenter.getModel()).thenReturn(model1);
-        when(dtPresenter2.getModel()).thenReturn(model2);
-        when(dtPresenter3.getModel()).thenReturn(model3);
+        when(dtPresenter2.getLinkSignatures()).thenReturn(signatures2);
+        when(dtPresenter3.getLinkSignatures()).thenReturn(signatures3);
 
         dtPresenter.link(dtPresenters);
 
+        final GuidedDecisionTableLinkSignatures signatures1 = dtPresenter.getLinkSignatures();
+        verify(linkManager,
+               times(1)).getSignatures(eq(model1));
         verify(linkManager,
-               times(1)).link(eq(model1),
-                              eq(model2),
+               times(1)).link(eq(signatures1),
+                              eq(signatures2),
                               any(LinkFoundCallback.class));
         verify(linkManager,
-               times(1)).link(eq(model1),
-                              eq(model3),
+               times(1)).link(eq(signatures1),
+                              eq(signatures3),
                               any(LinkFoundCallback.class));
     }
 
+    @Test
+    public void linkSignaturesRebuiltAfterChange() {
+        final GuidedDecisionTableModellerView.Presenter parent = mock(GuidedDecisionTableModellerView.Presenter.class);
+        final Layer layer = mock(Layer.class);
+        doReturn(parent).when(dtPresenter).getParent();
+        doReturn(layer).when(view).getLayer();
+        when(dtPresenter.getModel()).thenReturn(model1);
+
+        dtPresenter.getLinkSignatures();
+        dtPresenter.getLinkSignatures();
+
+        verify(linkManager,
+               times(1)).getSignatures(eq(model1));
+
+        dtPresenter.refreshView();
+        dtPresenter.getLinkSignatures();
+
+        verify(linkManager,
+               times(2)).getSignatures(eq(model1));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void linkMultipleRelatedTables() {
@@ -1039,7 +1081,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(refreshConditionsPanelEvent,
                times(1)).fire(any(RefreshConditionsPanelEvent.class));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1057,7 +1099,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(refreshConditionsPanelEvent,
                times(1)).fire(any(RefreshConditionsPanelEvent.class));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1078,7 +1120,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(refreshActionsPanelEvent,
                times(1)).fire(any(RefreshActionsPanelEvent.class));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1091,7 +1133,359 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(synchronizer,
                times(1)).appendRow();
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
+    }
+
+    @Test
+    public void loadNextRows() {
+        setPartiallyLoadedContent(1,
+                                  3);
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                eq(GuidedDecisionTableEditorService.ROW_WINDOW_SIZE))).thenReturn(Arrays.asList(makeRow(2),
+                                                                                                                 makeRow(3)));
+
+        assertTrue(dtPresenter.hasUnloadedRows());
+
+        dtPresenter.loadNextRows();
+
+        assertFalse(dtPresenter.hasUnloadedRows());
+        assertEquals(3,
+                     dtPresenter.getModel().getData().size());
+        assertEquals(3,
+                     dtPresenter.getUiModel().getRowCount());
+        assertEquals("row3",
+                     dtPresenter.getModel().getData().get(2).get(1).getStringValue());
+        //Loaded rows are not a change to the Decision Table
+        assertEquals(dtPresenter.getModel().hashCode(),
+                     (int) dtPresenter.getOriginalHashCode());
+    }
+
+    @Test
+    public void loadNextRowsOfContentVersion() {
+        setVersionedContent(1,
+                            2);
+        when(dtService.loadRows(eq(dtPath),
+                                eq("version1"),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+
+        dtPresenter.loadNextRows();
+
+        assertFalse(dtPresenter.hasUnloadedRows());
+        assertEquals(2,
+                     dtPresenter.getModel().getData().size());
+    }
+
+    @Test
+    public void loadNextRowsWithVersionConflict() {
+        final GuidedDecisionTableEditorContent content = mock(GuidedDecisionTableEditorContent.class);
+        setVersionedContent(1,
+                            3);
+        when(dtService.loadRows(eq(dtPath),
+                                eq("version1"),
+                                eq(1),
+                                anyInt())).thenThrow(new GuidedDecisionTableVersionConflictException("Decision Table has been changed.",
+                                                                                                     dtPath,
+                                                                                                     "manstis"));
+        when(dtService.loadContent(eq(dtPath))).thenReturn(content);
+
+        dtPresenter.loadNextRows();
+
+        //Rows of the new version are not appended; the content is reloaded instead
+        assertEquals(1,
+                     dtPresenter.getModel().getData().size());
+        verify(modellerPresenter,
+               times(1)).refreshDecisionTable(eq(dtPresenter),
+                                              eq(dtPath),
+                                              eq(dtPlaceRequest),
+                                              eq(content),
+                                              eq(false));
+        verify(view,
+               times(1)).showContentReloadedNotificationEvent();
+    }
+
+    @Test
+    public void loadRemainingRows() {
+        final Command command = mock(Command.class);
+        setPartiallyLoadedContent(1,
+                                  3);
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(2),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(3)));
+
+        dtPresenter.loadRemainingRows(command);
+
+        assertFalse(dtPresenter.hasUnloadedRows());
+        assertEquals(3,
+                     dtPresenter.getModel().getData().size());
+        verify(command,
+               times(1)).execute();
+    }
+
+    @Test
+    public void loadRemainingRowsWhenAllRowsAreLoaded() {
+        final Command command = mock(Command.class);
+
+        dtPresenter.loadRemainingRows(command);
+
+        verify(dtService,
+               never()).loadRows(any(Path.class),
+                                 any(String.class),
+                                 anyInt(),
+                                 anyInt());
+        verify(command,
+               times(1)).execute();
+    }
+
+    @Test
+    public void appendRowAfterRemainingRowsLoaded() throws VetoException {
+        setPartiallyLoadedContent(1,
+                                  2);
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+
+        dtPresenter.onAppendRow();
+
+        final InOrder inOrder = inOrder(dtService,
+                                        synchronizer);
+        inOrder.verify(dtService,
+                       times(1)).loadRows(eq(dtPath),
+                                          any(String.class),
+                                          eq(1),
+                                          anyInt());
+        inOrder.verify(synchronizer,
+                       times(1)).appendRow();
+        assertEquals(3,
+                     dtPresenter.getModel().getData().size());
+    }
+
+    @Test
+    public void appendColumnAfterRemainingRowsLoaded() throws VetoException {
+        setPartiallyLoadedContent(1,
+                                  3);
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(2),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(3)));
+        final AttributeCol52 column = new AttributeCol52();
+        column.setAttribute("salience");
+
+        dtPresenter.appendColumn(column);
+
+        final InOrder inOrder = inOrder(dtService,
+                                        synchronizer);
+        inOrder.verify(dtService,
+                       times(1)).loadRows(eq(dtPath),
+                                          any(String.class),
+                                          eq(2),
+                                          anyInt());
+        inOrder.verify(synchronizer,
+                       times(1)).appendColumn(eq(column));
+        assertFalse(dtPresenter.hasUnloadedRows());
+        //Every row, loaded before or after the change, has a cell for the new column
+        assertEquals(3,
+                     dtPresenter.getModel().getData().size());
+        dtPresenter.getModel().getData().forEach(row -> assertEquals(3,
+                                                                     row.size()));
+    }
+
+    @Test
+    public void columnDraggingDisabledWhileRowsAreUnloaded() {
+        setPartiallyLoadedContent(1,
+                                  2);
+
+        assertFalse(dtPresenter.getUiModel().isColumnDraggingEnabled());
+
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+        dtPresenter.loadNextRows();
+
+        assertTrue(dtPresenter.getUiModel().isColumnDraggingEnabled());
+    }
+
+    @Test
+    public void cellEditsWhenCellsAreChanged() {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.getUiModel().setCellValue(1,
+                                              1,
+                                              new GuidedDecisionTableUiCell<>("edited"));
+
+        final Optional<List<GuidedDecisionTableCellEdit>> edits = dtPresenter.getCellEdits();
+
+        assertTrue(edits.isPresent());
+        assertEquals(2,
+                     edits.get().size());
+        assertEquals(1,
+                     edits.get().get(1).getRowIndex());
+        assertEquals(1,
+                     edits.get().get(1).getColumnIndex());
+        assertEquals("edited",
+                     edits.get().get(1).getValue().getStringValue());
+    }
+
+    @Test
+    public void cellEditsWhenNothingIsChanged() {
+        setVersionedContent(3,
+                            3);
+
+        final Optional<List<GuidedDecisionTableCellEdit>> edits = dtPresenter.getCellEdits();
+
+        assertTrue(edits.isPresent());
+        assertTrue(edits.get().isEmpty());
+    }
+
+    @Test
+    public void cellEditsWhenRowsAreAdded() throws VetoException {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.onAppendRow();
+
+        assertFalse(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsWhenColumnsAreChanged() throws VetoException {
+        setVersionedContent(3,
+                            3);
+        final AttributeCol52 column = new AttributeCol52();
+        column.setAttribute("salience");
+        dtPresenter.appendColumn(column);
+
+        assertFalse(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsWhenParentRuleNameIsChanged() {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.setParentRuleName("parent");
+
+        assertFalse(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsWhenImportsAreChanged() {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.onImportAddedEvent(new ImportAddedEvent(oracle,
+                                                            new Import("org.smurf.Pupa")));
+
+        assertFalse(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsWhenImportsOfAnotherDecisionTableAreChanged() {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.onImportRemovedEvent(new ImportRemovedEvent(mock(AsyncPackageDataModelOracle.class),
+                                                                new Import("org.smurf.Pupa")));
+
+        assertTrue(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsWithoutContentVersion() {
+        setPartiallyLoadedContent(3,
+                                  3);
+        dtPresenter.getUiModel().setCellValue(1,
+                                              1,
+                                              new GuidedDecisionTableUiCell<>("edited"));
+
+        assertFalse(dtPresenter.getCellEdits().isPresent());
+    }
+
+    @Test
+    public void cellEditsAfterRowsAreLoaded() {
+        setVersionedContent(1,
+                            2);
+        when(dtService.loadRows(eq(dtPath),
+                                any(String.class),
+                                eq(1),
+                                anyInt())).thenReturn(Collections.singletonList(makeRow(2)));
+        dtPresenter.loadNextRows();
+        dtPresenter.getUiModel().setCellValue(1,
+                                              1,
+                                              new GuidedDecisionTableUiCell<>("edited"));
+
+        final Optional<List<GuidedDecisionTableCellEdit>> edits = dtPresenter.getCellEdits();
+
+        assertTrue(edits.isPresent());
+        assertEquals(2,
+                     edits.get().size());
+        assertEquals(1,
+                     edits.get().get(0).getRowIndex());
+    }
+
+    @Test
+    public void cellEditsAfterContentVersionIsSet() {
+        setVersionedContent(3,
+                            3);
+        dtPresenter.getUiModel().setCellValue(1,
+                                              1,
+                                              new GuidedDecisionTableUiCell<>("edited"));
+
+        dtPresenter.setContentVersion("version2");
+
+        assertEquals("version2",
+                     dtPresenter.getContentVersion());
+        assertTrue(dtPresenter.getCellEdits().get().isEmpty());
+    }
+
+    private void setPartiallyLoadedContent(final int loadedRowCount,
+                                           final int totalRowCount) {
+        setVersionedContent(loadedRowCount,
+                            totalRowCount,
+                            null);
+    }
+
+    private void setVersionedContent(final int loadedRowCount,
+                                     final int totalRowCount) {
+        setVersionedContent(loadedRowCount,
+                            totalRowCount,
+                            "version1");
+    }
+
+    private void setVersionedContent(final int loadedRowCount,
+                                     final int totalRowCount,
+                                     final String version) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        for (int i = 1; i <= loadedRowCount; i++) {
+            model.getData().add(makeRow(i));
+        }
+        final GuidedDecisionTableEditorContent content = new GuidedDecisionTableEditorContent(model,
+                                                                                              Collections.emptySet(),
+                                                                                              dtContent.getOverview(),
+                                                                                              dtContent.getDataModel());
+        content.setTotalRowCount(totalRowCount);
+        content.setVersion(version);
+        when(modellerPresenter.getActiveDecisionTable()).thenReturn(Optional.empty());
+
+        dtPresenter.setContent(dtPath,
+                               dtPlaceRequest,
+                               content,
+                               modellerPresenter,
+                               false);
+    }
+
+    private List<DTCellValue52> makeRow(final int rowNumber) {
+        return new ArrayList<>(Arrays.asList(new DTCellValue52(rowNumber),
+                                             new DTCellValue52("row" + rowNumber)));
     }
 
     @Test
@@ -1110,7 +1504,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(synchronizer,
                times(1)).deleteColumn(eq(condition));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
         checkDTSelectionsChangedEventFired(1);
     }
 
@@ -1130,7 +1524,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(synchronizer,
                times(1)).deleteColumn(eq(column));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
         checkDTSelectionsChangedEventFired(1);
     }
 
@@ -1146,7 +1540,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
         verify(synchronizer,
                times(1)).deleteColumn(eq(column));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
 
         verify(refreshAttributesPanelEvent,
                times(2)).fire(any(RefreshAttributesPanelEvent.class));
@@ -1183,7 +1577,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
                                       eq(updatePattern),
                                       eq(updateCondition));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1208,7 +1602,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
                times(1)).updateColumn(eq(condition),
                                       eq(updateCondition));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1236,7 +1630,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
                times(1)).updateColumn(eq(column),
                                       eq(update));
         verify(modellerPresenter,
-               times(1)).updateLinks();
+               times(1)).updateLinks(dtPresenter);
     }
 
     @Test
@@ -1624,7 +2018,7 @@ public class GuidedDecisionTablePresenterTest extends BaseGuidedDecisionTablePre
 
         dtPresenter.refreshView();
 
-        verify(parent).updateLinks();
+        verify(parent).updateLinks(dtPresenter);
         verify(parent).refreshScrollPosition();
         verify(layer).draw();
     }
@@ -164,6 +164,7 @@ public class GuidedDecisionTablePresenter_AuditLogTest {
                                                        null,
                                                        null,
                                                        null,
+                                                       null,
                                                        refreshAttributesPanelEvent,
                                                        refreshMetaDataPanelEvent,
                                                        refreshConditionsPanelEvent,
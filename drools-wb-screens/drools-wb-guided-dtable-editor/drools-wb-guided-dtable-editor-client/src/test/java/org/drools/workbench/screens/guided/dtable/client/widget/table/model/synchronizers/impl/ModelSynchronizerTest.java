@@ -16,6 +16,10 @@
 
 package org.drools.workbench.screens.guided.dtable.client.widget.table.model.synchronizers.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
 import org.drools.workbench.models.guided.dtable.shared.model.AttributeCol52;
 import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
 import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
@@ -100,6 +104,46 @@ public class ModelSynchronizerTest extends BaseSynchronizerTest {
                                               2).getValue().getValue());
     }
 
+    @Test
+    public void testChangedRowsAreTracked() throws VetoException {
+        modelSynchronizer.appendRow();
+        modelSynchronizer.appendRow();
+        modelSynchronizer.clearChanges();
+
+        uiModel.setCellValue(1,
+                             1,
+                             new BaseGridCellValue<String>("value"));
+
+        assertFalse(modelSynchronizer.isStructureChanged());
+        assertEquals(Collections.singleton(1),
+                     modelSynchronizer.getChangedRowIndexes());
+
+        uiModel.deleteCell(0,
+                           1);
+
+        assertFalse(modelSynchronizer.isStructureChanged());
+        assertEquals(new HashSet<>(Arrays.asList(0,
+                                                 1)),
+                     modelSynchronizer.getChangedRowIndexes());
+    }
+
+    @Test
+    public void testStructureChangesAreTracked() throws VetoException {
+        modelSynchronizer.appendRow();
+        assertTrue(modelSynchronizer.isStructureChanged());
+
+        modelSynchronizer.clearChanges();
+        assertFalse(modelSynchronizer.isStructureChanged());
+
+        setupBooleanColumn((c) -> {/*Nothing*/ });
+        assertTrue(modelSynchronizer.isStructureChanged());
+
+        modelSynchronizer.clearChanges();
+        modelSynchronizer.deleteRow(0);
+        assertTrue(modelSynchronizer.isStructureChanged());
+        assertTrue(modelSynchronizer.getChangedRowIndexes().isEmpty());
+    }
+
     private void setupBooleanColumn(final ParameterizedCommand<AttributeCol52> cmdInit) throws VetoException {
         final AttributeCol52 booleanColumn = new AttributeCol52();
         booleanColumn.setAttribute(GuidedDecisionTable52.ENABLED_ATTR);
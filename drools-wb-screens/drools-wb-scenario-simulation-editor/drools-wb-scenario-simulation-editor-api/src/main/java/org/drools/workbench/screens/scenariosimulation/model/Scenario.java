@@ -18,7 +18,9 @@ package org.drools.workbench.screens.scenariosimulation.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
@@ -37,6 +39,11 @@ public class Scenario {
      */
     private final List<FactMappingValue> factMappingValues = new ArrayList<>();
 
+    /**
+     * FactMappingValues by (FactIdentifier, ExpressionIdentifier). It is not persisted: it is lazily rebuilt when null
+     */
+    private transient Map<FactIdentifier, Map<ExpressionIdentifier, FactMappingValue>> valueIndex;
+
     private SimulationDescriptor simulationDescriptor = new SimulationDescriptor();
 
     public Scenario() {
@@ -60,11 +67,13 @@ public class Scenario {
     }
 
     public void removeFactMappingValueByIdentifiers(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier) {
-        getFactMappingValue(factIdentifier, expressionIdentifier).ifPresent(factMappingValues::remove);
+        getFactMappingValue(factIdentifier, expressionIdentifier).ifPresent(this::removeFactMappingValue);
     }
 
     public void removeFactMappingValue(FactMappingValue toRemove) {
-        factMappingValues.remove(toRemove);
+        if (factMappingValues.remove(toRemove)) {
+            valueIndex = null;
+        }
     }
 
     public FactMappingValue addMappingValue(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier, Object value) {
@@ -76,6 +85,7 @@ public class Scenario {
         }
         FactMappingValue factMappingValue = new FactMappingValue(factIdentifier, expressionIdentifier, value);
         factMappingValues.add(factMappingValue);
+        indexValue(factMappingValue);
         return factMappingValue;
     }
 
@@ -87,8 +97,8 @@ public class Scenario {
     }
 
     public Optional<FactMappingValue> getFactMappingValue(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier) {
-        return factMappingValues.stream().filter(e -> e.getFactIdentifier().equals(factIdentifier) &&
-                e.getExpressionIdentifier().equals(expressionIdentifier)).findFirst();
+        Map<ExpressionIdentifier, FactMappingValue> valuesByExpression = getValueIndex().get(factIdentifier);
+        return valuesByExpression == null ? Optional.empty() : Optional.ofNullable(valuesByExpression.get(expressionIdentifier));
     }
 
     public Optional<FactMappingValue> getFactMappingValueByIndex(int index) {
@@ -111,12 +121,10 @@ public class Scenario {
     }
 
     public String getDescription() {
-        return factMappingValues.stream()
-                .filter(e -> e.getExpressionIdentifier().equals(ExpressionIdentifier.DESCRIPTION) &&
-                        e.getFactIdentifier().equals(FactIdentifier.DESCRIPTION) &&
-                        e.getRawValue() != null)
+        return getFactMappingValue(FactIdentifier.DESCRIPTION, ExpressionIdentifier.DESCRIPTION)
+                .filter(e -> e.getRawValue() != null)
                 .map(e -> (String) e.getRawValue())
-                .findFirst().orElse("");
+                .orElse("");
     }
 
     public Collection<String> getFactNames() {
@@ -124,11 +132,10 @@ public class Scenario {
     }
 
     public void sort() {
-        factMappingValues.sort((a, b) -> {
-            Integer aIndex = simulationDescriptor.getIndexByIdentifier(a.getFactIdentifier(), a.getExpressionIdentifier());
-            Integer bIndex = simulationDescriptor.getIndexByIdentifier(b.getFactIdentifier(), b.getExpressionIdentifier());
-            return aIndex.compareTo(bIndex);
-        });
+        // positions are resolved once per value instead of twice per comparison
+        Map<FactMappingValue, Integer> positions = new HashMap<>();
+        factMappingValues.forEach(e -> positions.put(e, simulationDescriptor.getIndexByIdentifier(e.getFactIdentifier(), e.getExpressionIdentifier())));
+        factMappingValues.sort((a, b) -> positions.get(a).compareTo(positions.get(b)));
     }
 
     public void resetErrors() {
@@ -140,4 +147,21 @@ public class Scenario {
         cloned.factMappingValues.addAll(factMappingValues.stream().map(FactMappingValue::cloneFactMappingValue).collect(toList()));
         return cloned;
     }
+
+    private Map<FactIdentifier, Map<ExpressionIdentifier, FactMappingValue>> getValueIndex() {
+        if (valueIndex == null) {
+            valueIndex = new HashMap<>();
+            factMappingValues.forEach(this::indexValue);
+        }
+        return valueIndex;
+    }
+
+    private void indexValue(FactMappingValue factMappingValue) {
+        if (valueIndex == null) {
+            return;
+        }
+        // first match wins like a linear scan
+        valueIndex.computeIfAbsent(factMappingValue.getFactIdentifier(), key -> new HashMap<>())
+                .putIfAbsent(factMappingValue.getExpressionIdentifier(), factMappingValue);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Where the execution time of a scenario has been spent. Times are in nanoseconds
+ */
+@Portable
+public class ScenarioProfile {
+
+    private int scenarioIndex = -1;
+
+    private String description;
+
+    /**
+     * Time to build the GIVEN beans and to extract the EXPECT values
+     */
+    private long givenTime;
+
+    /**
+     * Time spent to insert the facts and in fireAllRules
+     */
+    private long fireTime;
+
+    /**
+     * Time spent to check the EXPECT values, on new facts and on GIVEN ones
+     */
+    private long verifyTime;
+
+    private int ruleFirings;
+
+    /**
+     * Rules that fired the most, with their number of firings
+     */
+    private Map<String, Integer> topRules = new HashMap<>();
+
+    public ScenarioProfile() {
+    }
+
+    public int getScenarioIndex() {
+        return scenarioIndex;
+    }
+
+    public void setScenarioIndex(int scenarioIndex) {
+        this.scenarioIndex = scenarioIndex;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getGivenTime() {
+        return givenTime;
+    }
+
+    public void setGivenTime(long givenTime) {
+        this.givenTime = givenTime;
+    }
+
+    public long getFireTime() {
+        return fireTime;
+    }
+
+    public void setFireTime(long fireTime) {
+        this.fireTime = fireTime;
+    }
+
+    public long getVerifyTime() {
+        return verifyTime;
+    }
+
+    public void addVerifyTime(long verifyTime) {
+        this.verifyTime += verifyTime;
+    }
+
+    public long getTotalTime() {
+        return givenTime + fireTime + verifyTime;
+    }
+
+    public int getRuleFirings() {
+        return ruleFirings;
+    }
+
+    public void setRuleFirings(int ruleFirings) {
+        this.ruleFirings = ruleFirings;
+    }
+
+    public Map<String, Integer> getTopRules() {
+        return topRules;
+    }
+
+    public void setTopRules(Map<String, Integer> topRules) {
+        this.topRules = topRules;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Event fired during an asynchronous run of a simulation: one event for each executed scenario and a last one when
+ * the run is completed or cancelled
+ */
+@Portable
+public class ScenarioRunEvent {
+
+    @Portable
+    public enum Status {
+        SUCCESS,
+        FAILURE,
+        // unexpected error during the execution of the scenario
+        ERROR,
+        // terminal statuses
+        COMPLETED,
+        CANCELLED
+    }
+
+    private String runId;
+
+    private Path path;
+
+    private Status status;
+
+    private int scenarioIndex = -1;
+
+    private Scenario scenario;
+
+    private String message;
+
+    private ScenarioProfile profile;
+
+    private String sessionId;
+
+    public ScenarioRunEvent() {
+    }
+
+    public ScenarioRunEvent(String runId, Path path, Status status) {
+        this.runId = runId;
+        this.path = path;
+        this.status = status;
+    }
+
+    public ScenarioRunEvent(String runId, Path path, Status status, int scenarioIndex, Scenario scenario, String message) {
+        this(runId, path, status);
+        this.scenarioIndex = scenarioIndex;
+        this.scenario = scenario;
+        this.message = message;
+    }
+
+    public ScenarioRunEvent(String runId, Path path, Status status, int scenarioIndex, Scenario scenario, String message, ScenarioProfile profile) {
+        this(runId, path, status, scenarioIndex, scenario, message);
+        this.profile = profile;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return index of the executed scenario or -1 for terminal events
+     */
+    public int getScenarioIndex() {
+        return scenarioIndex;
+    }
+
+    /**
+     * @return executed scenario, with the error flag of its values updated, or null for terminal events
+     */
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return where the execution time of the scenario has been spent, null if not available or for terminal events
+     */
+    public ScenarioProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return identifier of the session that requested the run: the editors of the other sessions ignore the event
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public boolean isTerminal() {
+        return Status.COMPLETED.equals(status) || Status.CANCELLED.equals(status);
+    }
+}
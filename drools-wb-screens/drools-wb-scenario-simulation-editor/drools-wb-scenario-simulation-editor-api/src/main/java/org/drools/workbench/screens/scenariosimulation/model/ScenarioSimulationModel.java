@@ -62,6 +62,14 @@ public class ScenarioSimulationModel
         this.simulation = simulation;
     }
 
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
     public Simulation getSimulation() {
         return simulation;
     }
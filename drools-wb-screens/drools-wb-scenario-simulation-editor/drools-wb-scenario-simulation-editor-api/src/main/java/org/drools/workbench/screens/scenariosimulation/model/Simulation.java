@@ -15,8 +15,8 @@
  */
 package org.drools.workbench.screens.scenariosimulation.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
@@ -30,11 +30,23 @@ public class Simulation {
     /**
      * Describes structure of the simulation
      */
-    private final SimulationDescriptor simulationDescriptor = new SimulationDescriptor();
+    private final SimulationDescriptor simulationDescriptor;
     /**
-     * Contains list of scenarios to test
+     * Contains list of scenarios to test. Scenarios are accessed by row index, so the list has to be random access
      */
-    private final List<Scenario> scenarios = new LinkedList<>();
+    private final List<Scenario> scenarios = new ArrayList<>();
+
+    public Simulation() {
+        this(new SimulationDescriptor());
+    }
+
+    /**
+     * Simulation with the given structure and without scenarios
+     * @param simulationDescriptor
+     */
+    public Simulation(SimulationDescriptor simulationDescriptor) {
+        this.simulationDescriptor = simulationDescriptor;
+    }
 
     /**
      * Returns an <b>unmodifiable</b> list wrapping the backed one
@@ -52,6 +64,20 @@ public class Simulation {
         scenarios.remove(toRemove);
     }
 
+    /**
+     * Remove a block of consecutive scenarios
+     * @param index
+     * @param count
+     * @return the removed scenarios, in order
+     */
+    public List<Scenario> removeScenarios(int index, int count) {
+        checkRange(index, count);
+        List<Scenario> toRemove = scenarios.subList(index, index + count);
+        List<Scenario> toReturn = new ArrayList<>(toRemove);
+        toRemove.clear();
+        return toReturn;
+    }
+
     public SimulationDescriptor getSimulationDescriptor() {
         return simulationDescriptor;
     }
@@ -73,6 +99,18 @@ public class Simulation {
         return scenario;
     }
 
+    /**
+     * Insert the given scenarios, i.e. the ones previously removed or cloned, starting from the given index
+     * @param index
+     * @param toAdd
+     */
+    public void addScenarios(int index, List<Scenario> toAdd) {
+        if (index < 0 || index > scenarios.size()) {
+            throw new IllegalArgumentException(new StringBuilder().append("Index out of range ").append(index).toString());
+        }
+        scenarios.addAll(index, toAdd);
+    }
+
     public void removeFactMappingByIndex(int index) {
         cleanScenarios(simulationDescriptor.getFactMappingByIndex(index));
         simulationDescriptor.removeFactMappingByIndex(index);
@@ -96,6 +134,19 @@ public class Simulation {
         return clonedScenario;
     }
 
+    /**
+     * Clone a block of consecutive scenarios. Clones are <b>not</b> added to the simulation
+     * @param sourceIndex
+     * @param count
+     * @return
+     */
+    public List<Scenario> cloneScenarios(int sourceIndex, int count) {
+        checkRange(sourceIndex, count);
+        List<Scenario> toReturn = new ArrayList<>();
+        scenarios.subList(sourceIndex, sourceIndex + count).forEach(scenario -> toReturn.add(scenario.cloneScenario()));
+        return toReturn;
+    }
+
     public void clear() {
         simulationDescriptor.clear();
         scenarios.clear();
@@ -109,7 +160,28 @@ public class Simulation {
         scenarios.forEach(Scenario::resetErrors);
     }
 
+    private void checkRange(int index, int count) {
+        if (index < 0 || count < 0 || index + count > scenarios.size()) {
+            throw new IllegalArgumentException(new StringBuilder().append("Range out of bounds ").append(index)
+                                                       .append("-").append(index + count).toString());
+        }
+    }
+
     private void cleanScenarios(FactMapping toRemove) {
         scenarios.forEach(e -> e.removeFactMappingValueByIdentifiers(toRemove.getFactIdentifier(), toRemove.getExpressionIdentifier()));
     }
+
+    /**
+     * Files saved when scenarios were kept in a linked list declare it as the type of the list: the simulation read
+     * from them is copied to a random access one
+     * @return
+     */
+    private Object readResolve() {
+        if (scenarios instanceof ArrayList) {
+            return this;
+        }
+        Simulation toReturn = new Simulation(simulationDescriptor);
+        toReturn.scenarios.addAll(scenarios);
+        return toReturn;
+    }
 }
\ No newline at end of file
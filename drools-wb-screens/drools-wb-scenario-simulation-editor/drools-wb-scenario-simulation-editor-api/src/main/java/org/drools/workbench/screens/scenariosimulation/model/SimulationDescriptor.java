@@ -17,12 +17,13 @@ package org.drools.workbench.screens.scenariosimulation.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 
@@ -34,6 +35,19 @@ public class SimulationDescriptor {
 
     private final List<FactMapping> factMappings = new ArrayList<>();
 
+    /**
+     * Position of each FactMapping by (FactIdentifier, ExpressionIdentifier). It is not persisted: it is lazily
+     * rebuilt when null (i.e. after unmarshalling or after a change of the FactMappings). A built index is never
+     * modified, so it can be read by concurrent scenario executions
+     */
+    private transient volatile Map<FactIdentifier, Map<ExpressionIdentifier, Integer>> positionIndex;
+
+    /**
+     * Name of a CSV file, in the same folder of the simulation, with the rows to run. When set the values of the
+     * GIVEN/EXPECT columns are read from that file instead of the scenarios of the simulation
+     */
+    private String dataFile;
+
     /**
      * Returns an <b>unmodifiable</b> list wrapping the backed one
      * @return
@@ -42,6 +56,18 @@ public class SimulationDescriptor {
         return Collections.unmodifiableList(factMappings);
     }
 
+    public String getDataFile() {
+        return dataFile;
+    }
+
+    public void setDataFile(String dataFile) {
+        this.dataFile = dataFile;
+    }
+
+    public boolean isDataDriven() {
+        return dataFile != null && !dataFile.isEmpty();
+    }
+
     public Set<FactIdentifier> getFactIdentifiers() {
         return factMappings.stream().map(FactMapping::getFactIdentifier).collect(Collectors.toSet());
     }
@@ -58,6 +84,7 @@ public class SimulationDescriptor {
         FactMapping factMapping = factMappings.get(oldIndex);
         factMappings.remove(oldIndex);
         factMappings.add(newIndex, factMapping);
+        invalidateIndex();
     }
 
     public FactMapping getFactMappingByIndex(int index) {
@@ -66,20 +93,23 @@ public class SimulationDescriptor {
 
     void removeFactMappingByIndex(int index) {
         factMappings.remove(index);
+        invalidateIndex();
     }
 
     void removeFactMapping(FactMapping toRemove) {
-        factMappings.remove(toRemove);
+        if (factMappings.remove(toRemove)) {
+            invalidateIndex();
+        }
     }
 
     public int getIndexByIdentifier(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier) {
-        return IntStream.range(0, factMappings.size()).filter(index -> {
-            FactMapping factMapping = factMappings.get(index);
-            return factMapping.getExpressionIdentifier().equals(expressionIdentifier) &&
-                    factMapping.getFactIdentifier().equals(factIdentifier);
-        }).findFirst().orElseThrow(() -> new IllegalArgumentException(
-                new StringBuilder().append("Impossible to find a FactMapping with factIdentifier '").append(factIdentifier.getName())
-                        .append("' and expressionIdentifier '").append(expressionIdentifier.getName()).append("'").toString()));
+        Integer index = getPosition(factIdentifier, expressionIdentifier);
+        if (index == null) {
+            throw new IllegalArgumentException(
+                    new StringBuilder().append("Impossible to find a FactMapping with factIdentifier '").append(factIdentifier.getName())
+                            .append("' and expressionIdentifier '").append(expressionIdentifier.getName()).append("'").toString());
+        }
+        return index;
     }
 
     public List<FactMapping> getFactMappingsByFactName(String factName) {
@@ -87,9 +117,8 @@ public class SimulationDescriptor {
     }
 
     public Optional<FactMapping> getFactMapping(FactIdentifier factIdentifier, ExpressionIdentifier ei) {
-        List<FactMapping> factMappings = internalFilter(e -> e.getExpressionIdentifier().equals(ei) &&
-                e.getFactIdentifier().equals(factIdentifier));
-        return factMappings.stream().findFirst();
+        Integer index = getPosition(factIdentifier, ei);
+        return index == null ? Optional.empty() : Optional.of(factMappings.get(index));
     }
 
     public FactMapping addFactMapping(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier) {
@@ -117,11 +146,39 @@ public class SimulationDescriptor {
         }
         FactMapping factMapping = new FactMapping(factAlias, factIdentifier, expressionIdentifier);
         factMappings.add(index, factMapping);
+        invalidateIndex();
         return factMapping;
     }
 
     public void clear() {
         factMappings.clear();
+        invalidateIndex();
+    }
+
+    private Integer getPosition(FactIdentifier factIdentifier, ExpressionIdentifier expressionIdentifier) {
+        Map<FactIdentifier, Map<ExpressionIdentifier, Integer>> index = positionIndex;
+        if (index == null) {
+            // concurrent readers can build it twice: each one publishes a complete index
+            index = buildPositionIndex();
+            positionIndex = index;
+        }
+        Map<ExpressionIdentifier, Integer> positionsByExpression = index.get(factIdentifier);
+        return positionsByExpression == null ? null : positionsByExpression.get(expressionIdentifier);
+    }
+
+    private Map<FactIdentifier, Map<ExpressionIdentifier, Integer>> buildPositionIndex() {
+        Map<FactIdentifier, Map<ExpressionIdentifier, Integer>> index = new HashMap<>();
+        for (int i = 0; i < factMappings.size(); i++) {
+            FactMapping factMapping = factMappings.get(i);
+            // first match wins like a linear scan
+            index.computeIfAbsent(factMapping.getFactIdentifier(), key -> new HashMap<>())
+                    .putIfAbsent(factMapping.getExpressionIdentifier(), i);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private void invalidateIndex() {
+        positionIndex = null;
     }
 
     private List<FactMapping> internalFilter(Predicate<FactMapping> predicate) {
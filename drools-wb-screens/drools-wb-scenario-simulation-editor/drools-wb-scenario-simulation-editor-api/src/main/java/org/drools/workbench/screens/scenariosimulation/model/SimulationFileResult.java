@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.model;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Outcome of the run of a single .scesim file, part of a module wide run
+ */
+@Portable
+public class SimulationFileResult {
+
+    private Path path;
+
+    private int runCount;
+
+    private int failureCount;
+
+    /**
+     * Time spent running the simulation, in milliseconds
+     */
+    private long runTime;
+
+    /**
+     * Why the simulation has not been run, null if it has been run
+     */
+    private String skipReason;
+
+    /**
+     * True if the result is the verdict of a previous run with the same inputs
+     */
+    private boolean cached;
+
+    public SimulationFileResult() {
+    }
+
+    public SimulationFileResult(Path path, String skipReason) {
+        this.path = path;
+        this.skipReason = skipReason;
+    }
+
+    public SimulationFileResult(Path path, int runCount, int failureCount, long runTime) {
+        this.path = path;
+        this.runCount = runCount;
+        this.failureCount = failureCount;
+        this.runTime = runTime;
+    }
+
+    public SimulationFileResult(Path path, int runCount, int failureCount, long runTime, boolean cached) {
+        this(path, runCount, failureCount, runTime);
+        this.cached = cached;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public long getRunTime() {
+        return runTime;
+    }
+
+    public String getSkipReason() {
+        return skipReason;
+    }
+
+    public boolean isSkipped() {
+        return skipReason != null;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public boolean isSuccessful() {
+        return failureCount == 0;
+    }
+}
@@ -15,7 +15,10 @@
  */
 package org.drools.workbench.screens.scenariosimulation.service;
 
+import java.util.List;
+
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationFileResult;
 import org.guvnor.common.services.shared.test.TestService;
 import org.uberfire.backend.vfs.Path;
 
@@ -23,4 +26,52 @@ public interface ScenarioRunnerService
         extends TestService {
 
     ScenarioSimulationModel runTest(final String identifier, final Path path, final ScenarioSimulationModel model);
+
+    /**
+     * Start the run of the given simulation and return immediately. The outcome of each scenario is fired as a
+     * ScenarioRunEvent while the run continues, aggregated results are fired as a TestResultMessage at the end
+     * @param identifier
+     * @param path
+     * @param model
+     * @return identifier of the run, to be used to cancel it
+     */
+    String runTestAsync(final String identifier, final Path path, final ScenarioSimulationModel model);
+
+    /**
+     * Request the cancellation of a run started with {@link #runTestAsync(String, Path, ScenarioSimulationModel)}.
+     * The scenario under execution is completed, the remaining ones are skipped
+     * @param runId
+     * @return false if the run is already finished or unknown
+     */
+    boolean cancelRun(final String runId);
+
+    /**
+     * Run all the simulations of the module that contains the given path. Aggregated results are fired as a
+     * TestResultMessage. Simulations whose inputs did not change since a previous run (the simulation, the assets
+     * that reference its facts, the compiled module and its dependencies) return the cached verdict of that run
+     * @param identifier
+     * @param path
+     * @return result of each simulation file
+     */
+    List<SimulationFileResult> runAllSimulations(final String identifier, final Path path);
+
+    /**
+     * Same as {@link #runAllSimulations(String, Path)}
+     * @param identifier
+     * @param path
+     * @param forceRerun if true cached verdicts are ignored: all the simulations are run and their verdicts replace
+     * the cached ones
+     * @return result of each simulation file
+     */
+    List<SimulationFileResult> runAllSimulations(final String identifier, final Path path, final boolean forceRerun);
+
+    /**
+     * Run only the simulations of the module that can be affected by the changes done since their last successful
+     * run: a simulation is skipped if neither its file nor the assets that reference its facts changed and the module
+     * has been built with the same pom.xml and kmodule.xml
+     * @param identifier
+     * @param path
+     * @return result of each simulation file, skipped ones report the reason
+     */
+    List<SimulationFileResult> runImpactedSimulations(final String identifier, final Path path);
 }
@@ -39,4 +39,8 @@ public interface ScenarioSimulationService
     ScenarioSimulationModelContent loadContent(final Path path);
 
     ScenarioSimulationModel runScenario(final Path path, final ScenarioSimulationModel model);
+
+    String runScenarioAsync(final Path path, final ScenarioSimulationModel model);
+
+    boolean cancelRunScenario(final String runId);
 }
@@ -121,6 +121,36 @@ public class SimulationDescriptorTest {
         assertEquals(factMappings.get(2), factMapping1);
     }
 
+    @Test
+    public void getFactMappingAfterChangesTest() {
+        ExpressionIdentifier expressionIdentifier2 = ExpressionIdentifier.create("Test expression 2", FactMappingType.GIVEN);
+        ExpressionIdentifier expressionIdentifier3 = ExpressionIdentifier.create("Test expression 3", FactMappingType.GIVEN);
+        FactMapping factMapping1 = simulationDescriptor.addFactMapping(factIdentifier, expressionIdentifier);
+        FactMapping factMapping2 = simulationDescriptor.addFactMapping(factIdentifier, expressionIdentifier2);
+        FactMapping factMapping3 = simulationDescriptor.addFactMapping(0, factIdentifier, expressionIdentifier3);
+
+        assertEquals(0, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier3));
+        assertEquals(1, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier));
+        assertEquals(2, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier2));
+
+        simulationDescriptor.moveFactMapping(0, 2);
+
+        assertEquals(2, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier3));
+        assertEquals(0, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier));
+        assertEquals(1, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier2));
+
+        simulationDescriptor.removeFactMapping(factMapping1);
+
+        assertFalse(simulationDescriptor.getFactMapping(factIdentifier, expressionIdentifier).isPresent());
+        assertEquals(factMapping2, simulationDescriptor.getFactMapping(factIdentifier, expressionIdentifier2).get());
+        assertEquals(factMapping3, simulationDescriptor.getFactMapping(factIdentifier, expressionIdentifier3).get());
+        assertEquals(1, simulationDescriptor.getIndexByIdentifier(factIdentifier, expressionIdentifier3));
+
+        simulationDescriptor.clear();
+
+        assertFalse(simulationDescriptor.getFactMapping(factIdentifier, expressionIdentifier2).isPresent());
+    }
+
     @Test
     public void moveFactMappingOldFailTest() {
         ExpressionIdentifier expressionIdentifier2 = ExpressionIdentifier.create("Test expression 2", FactMappingType.GIVEN);
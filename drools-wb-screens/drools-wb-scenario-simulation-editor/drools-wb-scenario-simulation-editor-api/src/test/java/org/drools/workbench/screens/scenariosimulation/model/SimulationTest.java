@@ -16,6 +16,8 @@
 
 package org.drools.workbench.screens.scenariosimulation.model;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -97,6 +99,37 @@ public class SimulationTest {
                       IllegalArgumentException.class);
     }
 
+    @Test
+    public void scenarioBlocks() {
+        Scenario secondScenario = simulation.addScenario();
+
+        List<Scenario> clones = simulation.cloneScenarios(0, 2);
+        assertEquals(2, clones.size());
+        assertEquals(2, simulation.getUnmodifiableScenarios().size());
+        assertEquals(originalScenario.getDescription(), clones.get(0).getDescription());
+
+        simulation.addScenarios(1, clones);
+        assertEquals(4, simulation.getUnmodifiableScenarios().size());
+        assertEquals(clones.get(0), simulation.getScenarioByIndex(1));
+        assertEquals(secondScenario, simulation.getScenarioByIndex(3));
+
+        List<Scenario> removed = simulation.removeScenarios(1, 2);
+        assertEquals(clones, removed);
+        assertEquals(2, simulation.getUnmodifiableScenarios().size());
+        assertEquals(secondScenario, simulation.getScenarioByIndex(1));
+
+        muteException(() -> {
+                          simulation.removeScenarios(1, 2);
+                          fail();
+                      },
+                      IllegalArgumentException.class);
+        muteException(() -> {
+                          simulation.addScenarios(3, clones);
+                          fail();
+                      },
+                      IllegalArgumentException.class);
+    }
+
     @Test
     public void removeFactMappingByIndex() {
         assertEquals(2, simulation.getUnmodifiableScenarios().get(0).getUnmodifiableFactMappingValues().size());
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.runner.ScenarioJunitActivator;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Modules (by root URI) whose pom already has the scenario dependencies and whose test sources already have the
+ * junit activator. A module is checked again only after a change to one of its pom.xml or activator files
+ */
+@ApplicationScoped
+public class ScenarioModuleSetupCache {
+
+    static final String POM_FILE_NAME = "pom.xml";
+
+    static final String ACTIVATOR_FILE_NAME = ScenarioJunitActivator.ACTIVATOR_CLASS_NAME + ".java";
+
+    private final Set<String> setUpModules = ConcurrentHashMap.newKeySet();
+
+    public boolean isSetUp(final KieModule kieModule) {
+        return setUpModules.contains(getKey(kieModule));
+    }
+
+    public void setUp(final KieModule kieModule) {
+        setUpModules.add(getKey(kieModule));
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        invalidate(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        invalidate(event.getPath());
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::invalidate);
+    }
+
+    void invalidate(final Path path) {
+        if (path == null || setUpModules.isEmpty() || !isSetupFile(path)) {
+            return;
+        }
+        final String uri = path.toURI();
+        setUpModules.removeIf(uri::startsWith);
+    }
+
+    private boolean isSetupFile(final Path path) {
+        return POM_FILE_NAME.equals(path.getFileName()) || ACTIVATOR_FILE_NAME.equals(path.getFileName());
+    }
+
+    private String getKey(final KieModule kieModule) {
+        final String rootUri = kieModule.getRootPath().toURI();
+        // the trailing separator avoids that a change in "module1" invalidates "module10" too
+        return rootUri.endsWith("/") ? rootUri : rootUri + "/";
+    }
+}
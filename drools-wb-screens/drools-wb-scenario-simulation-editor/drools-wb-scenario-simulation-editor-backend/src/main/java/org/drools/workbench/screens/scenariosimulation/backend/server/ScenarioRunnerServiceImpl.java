@@ -16,28 +16,59 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
+import javax.inject.Named;
 
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.CachedSimulationResult;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.ScenarioSimulationImpactAnalyzer;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultCache;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultsRecord;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultsRecordStore;
+import org.drools.workbench.screens.scenariosimulation.backend.server.runner.ScenarioRunEventListener;
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.ScenarioRunnerImpl;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
 import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationFileResult;
 import org.drools.workbench.screens.scenariosimulation.service.ScenarioRunnerService;
+import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.shared.test.Failure;
 import org.guvnor.common.services.shared.test.TestResultMessage;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 import org.kie.api.runtime.KieContainer;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
 
 import static org.drools.workbench.screens.scenariosimulation.backend.server.util.JunitRunnerHelper.runWithJunit;
 
@@ -46,40 +77,237 @@ import static org.drools.workbench.screens.scenariosimulation.backend.server.uti
 public class ScenarioRunnerServiceImpl
         implements ScenarioRunnerService {
 
+    /**
+     * System property used to define the maximum number of asynchronous runs executed at the same time; the other
+     * ones wait in a queue
+     */
+    public static final String ASYNC_RUNS_PROPERTY = "org.drools.scenariosimulation.async.runs";
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioRunnerServiceImpl.class);
+
+    static final String SKIP_REASON = "Not run: the simulation, its fact types and the assets using them did not change since its last successful run";
+
     @Inject
     private Event<TestResultMessage> defaultTestResultMessageEvent;
 
+    @Inject
+    private Event<ScenarioRunEvent> scenarioRunEvent;
+
     @Inject
     private KieModuleService moduleService;
 
     @Inject
     private BuildInfoService buildInfoService;
 
+    @Inject
+    private ScenarioSimulationLoader simulationLoader;
+
+    @Inject
+    private ScenarioSimulationImpactAnalyzer impactAnalyzer;
+
+    @Inject
+    private SimulationResultCache resultCache;
+
+    @Inject
+    private SimulationResultsRecordStore resultsRecordStore;
+
+    @Inject
+    @Named("ioStrategy")
+    private IOService ioService;
+
+    @Inject
+    private SessionInfo sessionInfo;
+
     private BiFunction<KieContainer, Simulation, Runner> runnerSupplier = ScenarioRunnerImpl::new;
 
+    /**
+     * Notifiers of the asynchronous runs not finished yet, by run id: stopping a notifier cancels its run
+     */
+    private final Map<String, RunNotifier> runningSimulations = new ConcurrentHashMap<>();
+
+    private ExecutorService executorService = newExecutorService(Integer.getInteger(ASYNC_RUNS_PROPERTY, 4));
+
+    @PreDestroy
+    public void destroy() {
+        runningSimulations.values().forEach(RunNotifier::pleaseStop);
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Bounded pool of daemon threads, released when idle
+     * @param maxRuns
+     * @return
+     */
+    static ExecutorService newExecutorService(int maxRuns) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxRuns,
+                                                                   maxRuns,
+                                                                   60,
+                                                                   TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(),
+                                                                   runnable -> {
+                                                                       Thread thread = new Thread(runnable, "scenario-simulation-run-" + threadCount.incrementAndGet());
+                                                                       thread.setDaemon(true);
+                                                                       return thread;
+                                                                   });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public void runAllTests(final String identifier,
                             final Path path) {
-
-        defaultTestResultMessageEvent.fire(
-                new TestResultMessage(
-                        identifier,
-                        1,
-                        1,
-                        new ArrayList<>()));
+        runAllTests(identifier,
+                    path,
+                    defaultTestResultMessageEvent);
     }
 
     @Override
     public void runAllTests(final String identifier,
                             final Path path,
                             final Event<TestResultMessage> customTestResultEvent) {
+        runAllSimulations(identifier,
+                          path,
+                          customTestResultEvent);
+    }
+
+    @Override
+    public List<SimulationFileResult> runAllSimulations(final String identifier,
+                                                        final Path path) {
+        return runAllSimulations(identifier,
+                                 path,
+                                 false);
+    }
+
+    @Override
+    public List<SimulationFileResult> runAllSimulations(final String identifier,
+                                                        final Path path,
+                                                        final boolean forceRerun) {
+        return runSimulations(identifier,
+                              path,
+                              defaultTestResultMessageEvent,
+                              false,
+                              !forceRerun);
+    }
+
+    @Override
+    public List<SimulationFileResult> runImpactedSimulations(final String identifier,
+                                                             final Path path) {
+        return runSimulations(identifier,
+                              path,
+                              defaultTestResultMessageEvent,
+                              true,
+                              true);
+    }
 
-        customTestResultEvent.fire(
+    protected List<SimulationFileResult> runAllSimulations(final String identifier,
+                                                           final Path path,
+                                                           final Event<TestResultMessage> testResultMessageEvent) {
+        return runSimulations(identifier,
+                              path,
+                              testResultMessageEvent,
+                              false,
+                              true);
+    }
+
+    /**
+     * Run the simulations of the module and record the successful ones
+     * @param identifier
+     * @param path
+     * @param testResultMessageEvent
+     * @param skipUnchanged if true simulations that passed with the same fingerprint are not run
+     * @param useCachedResults if true simulations with a cached verdict for the same inputs are not run and the cached
+     * verdict is returned. Verdicts of the simulations that are run are always cached
+     * @return
+     */
+    protected List<SimulationFileResult> runSimulations(final String identifier,
+                                                        final Path path,
+                                                        final Event<TestResultMessage> testResultMessageEvent,
+                                                        final boolean skipUnchanged,
+                                                        final boolean useCachedResults) {
+        KieModule kieModule = getKieModule(path);
+        // the container is resolved once and shared by all the simulations of the module
+        KieContainer kieContainer = getKieContainer(kieModule);
+
+        final String buildFingerprint = impactAnalyzer.getBuildFingerprint(kieModule);
+        final String ruleBaseFingerprint = impactAnalyzer.getRuleBaseFingerprint(getCompiledModule(kieModule));
+        final SimulationResultsRecord lastResults = resultsRecordStore.load(kieModule);
+        final SimulationResultsRecord newResults = new SimulationResultsRecord(buildFingerprint);
+
+        final List<Failure> failures = new ArrayList<>();
+        final List<SimulationFileResult> fileResults = new ArrayList<>();
+        int runCount = 0;
+        long runTime = 0;
+
+        for (Path simulationPath : simulationLoader.loadSimulationPaths(kieModule.getRootPath())) {
+            final List<Failure> fileFailures = new ArrayList<>();
+            final List<Failure> failureDetails = new ArrayList<>();
+            final long startTime = System.currentTimeMillis();
+            final String simulationUri = simulationPath.toURI();
+            String fingerprint = null;
+            String cacheKey = null;
+            int fileRunCount = 0;
+            try {
+                ScenarioSimulationModel model = simulationLoader.load(simulationPath);
+                fingerprint = impactAnalyzer.getFingerprint(kieModule, kieContainer.getClassLoader(), simulationPath, model);
+                if (skipUnchanged && lastResults.isUnchangedSuccess(buildFingerprint, simulationUri, fingerprint)) {
+                    newResults.addSuccess(simulationUri, fingerprint);
+                    fileResults.add(new SimulationFileResult(simulationPath, SKIP_REASON));
+                    continue;
+                }
+                cacheKey = impactAnalyzer.getCacheKey(ruleBaseFingerprint, buildFingerprint, fingerprint);
+                final Optional<CachedSimulationResult> cachedResult = useCachedResults && cacheKey != null ?
+                        resultCache.get(cacheKey) :
+                        Optional.empty();
+                if (cachedResult.isPresent()) {
+                    final CachedSimulationResult cached = cachedResult.get();
+                    if (cached.getFailures().isEmpty()) {
+                        newResults.addSuccess(simulationUri, fingerprint);
+                    }
+                    fileResults.add(cached.toFileResult(simulationPath));
+                    failures.addAll(cached.getFailures());
+                    runCount += cached.getRunCount();
+                    // the time the verdict took when it was computed: the report is the same of a run
+                    runTime += cached.getRunTime();
+                    continue;
+                }
+                Runner scenarioRunner = newRunner(kieContainer, simulationPath, model.getSimulation());
+                fileRunCount = runWithJunit(scenarioRunner, fileFailures, failureDetails).getRunCount();
+            } catch (Exception e) {
+                // a broken simulation must not prevent the execution of the others
+                fileFailures.add(new Failure(simulationPath.getFileName(), e.getMessage()));
+                // the error can be unrelated to the inputs of the simulation (i.e. an I/O error): it is not cached
+                cacheKey = null;
+            }
+            final long fileRunTime = System.currentTimeMillis() - startTime;
+
+            if (fileFailures.isEmpty() && fingerprint != null) {
+                newResults.addSuccess(simulationUri, fingerprint);
+            }
+            if (cacheKey != null) {
+                resultCache.put(cacheKey, new CachedSimulationResult(fileRunCount, fileRunTime, fileFailures));
+            }
+            fileResults.add(new SimulationFileResult(simulationPath, fileRunCount, fileFailures.size(), fileRunTime));
+            failures.addAll(fileFailures);
+            runCount += fileRunCount;
+            runTime += fileRunTime;
+        }
+
+        try {
+            resultsRecordStore.store(kieModule, newResults);
+        } catch (Exception e) {
+            // without the record the next impacted run executes all the simulations: results are still valid
+            logger.warn("Unable to store the results record of module " + kieModule.getRootPath().toURI(), e);
+        }
+
+        testResultMessageEvent.fire(
                 new TestResultMessage(
                         identifier,
-                        1,
-                        1,
-                        new ArrayList<>()));
+                        runCount,
+                        runTime,
+                        failures));
+
+        return fileResults;
     }
 
     @Override
@@ -89,7 +317,7 @@ public class ScenarioRunnerServiceImpl
 
         KieModule kieModule = getKieModule(path);
         KieContainer kieContainer = getKieContainer(kieModule);
-        Runner scenarioRunner = getRunnerSupplier().apply(kieContainer, model.getSimulation());
+        Runner scenarioRunner = newRunner(kieContainer, path, model.getSimulation());
 
         final List<Failure> failures = new ArrayList<>();
 
@@ -107,6 +335,112 @@ public class ScenarioRunnerServiceImpl
         return model;
     }
 
+    @Override
+    public String runTestAsync(final String identifier,
+                               final Path path,
+                               final ScenarioSimulationModel model) {
+        final String runId = UUID.randomUUID().toString();
+        // the session has to be resolved by the thread of the request
+        final String sessionId = new SafeSessionInfo(sessionInfo).getId();
+        final RunNotifier notifier = new RunNotifier();
+        runningSimulations.put(runId, notifier);
+        executorService.execute(() -> {
+            try {
+                runTestAndNotify(runId, sessionId, identifier, path, model, notifier);
+            } finally {
+                runningSimulations.remove(runId);
+            }
+        });
+        return runId;
+    }
+
+    @Override
+    public boolean cancelRun(final String runId) {
+        RunNotifier notifier = runningSimulations.get(runId);
+        if (notifier == null) {
+            return false;
+        }
+        notifier.pleaseStop();
+        return true;
+    }
+
+    /**
+     * Run the simulation and fire its events for the session that requested the run
+     * @param runId
+     * @param sessionId
+     * @param identifier
+     * @param path
+     * @param model
+     * @param notifier
+     */
+    protected void runTestAndNotify(final String runId,
+                                    final String sessionId,
+                                    final String identifier,
+                                    final Path path,
+                                    final ScenarioSimulationModel model,
+                                    final RunNotifier notifier) {
+        final List<Failure> failures = new ArrayList<>();
+        final List<Failure> failureDetails = new ArrayList<>();
+        final Consumer<ScenarioRunEvent> eventConsumer = event -> {
+            event.setSessionId(sessionId);
+            scenarioRunEvent.fire(event);
+        };
+        final ScenarioRunEventListener listener = new ScenarioRunEventListener(runId,
+                                                                               path,
+                                                                               model.getSimulation(),
+                                                                               eventConsumer);
+        final long startTime = System.currentTimeMillis();
+        ScenarioRunEvent.Status status = ScenarioRunEvent.Status.COMPLETED;
+        String message = null;
+
+        notifier.addListener(listener);
+        try {
+            KieModule kieModule = getKieModule(path);
+            KieContainer kieContainer = getKieContainer(kieModule);
+            Runner scenarioRunner = newRunner(kieContainer, path, model.getSimulation());
+            if (scenarioRunner instanceof ScenarioRunnerImpl) {
+                listener.setProfileProvider(((ScenarioRunnerImpl) scenarioRunner)::getProfile);
+            }
+            runWithJunit(scenarioRunner, notifier, failures, failureDetails);
+        } catch (StoppedByUserException e) {
+            status = ScenarioRunEvent.Status.CANCELLED;
+        } catch (Exception e) {
+            // i.e. the module cannot be built: the run is completed without results
+            failures.add(new Failure(path.getFileName(), e.getMessage()));
+            message = e.getMessage();
+        } finally {
+            notifier.removeListener(listener);
+        }
+
+        defaultTestResultMessageEvent.fire(
+                new TestResultMessage(
+                        identifier,
+                        listener.getRunCount(),
+                        System.currentTimeMillis() - startTime,
+                        failures));
+
+        eventConsumer.accept(new ScenarioRunEvent(runId, path, status, -1, null, message));
+    }
+
+    /**
+     * When the simulation is bound to a data file its rows are streamed from the file, stored in the same folder of
+     * the simulation, instead of running the scenarios of the model
+     * @param kieContainer
+     * @param path
+     * @param simulation
+     * @return
+     */
+    protected Runner newRunner(KieContainer kieContainer, Path path, Simulation simulation) {
+        final SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
+        if (simulationDescriptor == null || !simulationDescriptor.isDataDriven()) {
+            return getRunnerSupplier().apply(kieContainer, simulation);
+        }
+        final org.uberfire.java.nio.file.Path dataPath = Paths.convert(path).resolveSibling(simulationDescriptor.getDataFile());
+        return new ScenarioRunnerImpl(kieContainer,
+                                      simulationDescriptor,
+                                      () -> new InputStreamReader(ioService.newInputStream(dataPath), StandardCharsets.UTF_8));
+    }
+
     protected KieModule getKieModule(Path path) {
         return moduleService.resolveModule(path);
     }
@@ -115,6 +449,10 @@ public class ScenarioRunnerServiceImpl
         return buildInfoService.getBuildInfo(kieModule).getKieContainer();
     }
 
+    protected org.kie.api.builder.KieModule getCompiledModule(KieModule kieModule) {
+        return buildInfoService.getBuildInfo(kieModule).getKieModuleIgnoringErrors();
+    }
+
     public BiFunction<KieContainer, Simulation, Runner> getRunnerSupplier() {
         return runnerSupplier;
     }
@@ -122,4 +460,8 @@ public class ScenarioRunnerServiceImpl
     public void setRunnerSupplier(BiFunction<KieContainer, Simulation, Runner> runnerSupplier) {
         this.runnerSupplier = runnerSupplier;
     }
+
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
+import org.guvnor.common.services.backend.file.LinkedFilter;
+import org.guvnor.common.services.backend.file.LinkedMetaInfFolderFilter;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+
+/**
+ * Retrieves the .scesim files of a module
+ */
+@ApplicationScoped
+public class ScenarioSimulationLoader {
+
+    @Inject
+    @Named("ioStrategy")
+    private IOService ioService;
+
+    @Inject
+    private ScenarioSimulationResourceTypeDefinition resourceTypeDefinition;
+
+    public List<Path> loadSimulationPaths(final Path rootPath) {
+        final List<Path> items = new ArrayList<>();
+        final org.uberfire.java.nio.file.Path nioRootPath = Paths.convert(rootPath);
+        if (!Files.exists(nioRootPath)) {
+            return items;
+        }
+
+        LinkedFilter filter = new LinkedDotFileFilter();
+        filter.setNextFilter(new LinkedMetaInfFolderFilter());
+
+        collectSimulationPaths(nioRootPath, filter, items);
+        return items;
+    }
+
+    public ScenarioSimulationModel load(final Path path) {
+        // the file is parsed while it is read: its content is never loaded as a whole
+        try (Reader reader = new InputStreamReader(ioService.newInputStream(Paths.convert(path)), StandardCharsets.UTF_8)) {
+            return ScenarioSimulationXMLPersistence.getInstance().unmarshal(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void collectSimulationPaths(final org.uberfire.java.nio.file.Path folder,
+                                        final LinkedFilter filter,
+                                        final List<Path> items) {
+        try (final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = ioService.newDirectoryStream(folder)) {
+            for (final org.uberfire.java.nio.file.Path p : directoryStream) {
+                if (!filter.accept(p)) {
+                    continue;
+                }
+                if (Files.isDirectory(p)) {
+                    collectSimulationPaths(p, filter, items);
+                } else if (resourceTypeDefinition.accept(Paths.convert(p))) {
+                    items.add(Paths.convert(p));
+                }
+            }
+        }
+    }
+}
@@ -113,6 +113,9 @@ public class ScenarioSimulationServiceImpl
     @Inject
     private KieModuleService kieModuleService;
 
+    @Inject
+    private ScenarioModuleSetupCache moduleSetupCache;
+
     private SafeSessionInfo safeSessionInfo;
 
     private Properties props = new Properties();
@@ -149,6 +152,19 @@ public class ScenarioSimulationServiceImpl
                                              model);
     }
 
+    @Override
+    public String runScenarioAsync(final Path path,
+                                   final ScenarioSimulationModel model) {
+        return scenarioRunnerService.runTestAsync(user.getIdentifier(),
+                                                  path,
+                                                  model);
+    }
+
+    @Override
+    public boolean cancelRunScenario(final String runId) {
+        return scenarioRunnerService.cancelRun(runId);
+    }
+
     @Override
     public Path create(final Path context,
                        final String fileName,
@@ -162,11 +178,17 @@ public class ScenarioSimulationServiceImpl
                 throw new FileAlreadyExistsException(nioPath.toString());
             }
 
-            ioService.write(nioPath,
-                            ScenarioSimulationXMLPersistence.getInstance().marshal(content),
-                            commentedOptionFactory.makeCommentedOption(comment));
+            // the setup of the module, if needed, is committed together with the new simulation
+            ioService.startBatch(nioPath.getFileSystem());
+            try {
+                ioService.write(nioPath,
+                                ScenarioSimulationXMLPersistence.getInstance().marshal(content),
+                                commentedOptionFactory.makeCommentedOption(comment));
 
-            createActivatorIfNotExist(context);
+                createActivatorIfNotExist(context);
+            } finally {
+                ioService.endBatch();
+            }
 
             return newPath;
         } catch (Exception e) {
@@ -226,17 +248,24 @@ public class ScenarioSimulationServiceImpl
                      final String comment) {
         try {
             final Metadata currentMetadata = metadataService.getMetadata(resource);
-            ioService.write(Paths.convert(resource),
-                            ScenarioSimulationXMLPersistence.getInstance().marshal(content),
-                            metadataService.setUpAttributes(resource,
-                                                            metadata),
-                            commentedOptionFactory.makeCommentedOption(comment));
+            // the setup of the module, if needed, is committed together with the simulation
+            ioService.startBatch(Paths.convert(resource).getFileSystem());
+            try {
+                ioService.write(Paths.convert(resource),
+                                ScenarioSimulationXMLPersistence.getInstance().marshal(content),
+                                metadataService.setUpAttributes(resource,
+                                                                metadata),
+                                commentedOptionFactory.makeCommentedOption(comment));
+
+                createActivatorIfNotExist(resource);
+            } finally {
+                ioService.endBatch();
+            }
 
             fireMetadataSocialEvents(resource,
                                      currentMetadata,
                                      metadata);
 
-            createActivatorIfNotExist(resource);
             return resource;
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
@@ -304,8 +333,16 @@ public class ScenarioSimulationServiceImpl
         return saveAndRenameService.saveAndRename(path, newFileName, metadata, content, comment);
     }
 
+    /**
+     * Adds the junit activator and the scenario dependencies to the module of the given path if they are missing.
+     * The check is skipped for the modules already set up, until their pom or activator change
+     * @param context
+     */
     void createActivatorIfNotExist(Path context) {
         KieModule kieModule = kieModuleService.resolveModule(context);
+        if (moduleSetupCache.isSetUp(kieModule)) {
+            return;
+        }
         String groupId = kieModule.getPom().getGav().getGroupId();
         Optional<Package> packageFound = kieModuleService.resolvePackages(kieModule).stream()
                 .filter(elem -> groupId.equals(elem.getPackageName()))
@@ -323,6 +360,7 @@ public class ScenarioSimulationServiceImpl
         }
 
         ensureDependencies(kieModule);
+        moduleSetupCache.setUp(kieModule);
     }
 
     void ensureDependencies(KieModule module) {
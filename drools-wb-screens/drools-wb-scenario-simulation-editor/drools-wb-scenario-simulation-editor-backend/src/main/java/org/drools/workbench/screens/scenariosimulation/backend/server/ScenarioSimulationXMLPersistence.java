@@ -16,8 +16,24 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.io.xml.DomDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.StaxDriver;
 import org.drools.workbench.screens.scenariosimulation.model.ExpressionElement;
 import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
 import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
@@ -31,17 +47,40 @@ import org.drools.workbench.screens.scenariosimulation.model.Simulation;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
 import org.kie.soup.commons.xstream.XStreamUtils;
 import org.kie.soup.project.datamodel.imports.Import;
+import org.kie.soup.project.datamodel.imports.Imports;
 
+/**
+ * Reads and writes .scesim files. XML is parsed with StAX so the model is built while the file is read, without an
+ * intermediate DOM, and written with the same pretty printer used by XStream DOM driver so files are unchanged.
+ * Files of previous versions are migrated to {@link #CURRENT_VERSION} when loaded
+ */
 public class ScenarioSimulationXMLPersistence {
 
+    public static final String CURRENT_VERSION = "1.0";
+
+    private static final String VERSION_ATTRIBUTE = "version";
+    private static final String SIMULATION_NODE = "simulation";
+    private static final String SIMULATION_DESCRIPTOR_NODE = "simulationDescriptor";
+    private static final String IMPORTS_NODE = "imports";
+
     private XStream xt;
+    private final ScenarioSimulationXMLDriver driver = new ScenarioSimulationXMLDriver();
+    /**
+     * Migrations by the version they apply to: each one updates the model to the next version and returns it
+     */
+    private final Map<String, Function<ScenarioSimulationModel, String>> migrations = new HashMap<>();
     private static final ScenarioSimulationXMLPersistence INSTANCE = new ScenarioSimulationXMLPersistence();
 
     private ScenarioSimulationXMLPersistence() {
-        xt = XStreamUtils.createTrustingXStream(new DomDriver());
+        xt = XStreamUtils.createTrustingXStream(driver);
 
         xt.autodetectAnnotations(true);
 
+        // field names of the header nodes: used only to read them on their own (see unmarshalHeader). Declared
+        // before the class aliases because the last alias of a class is the one used for writing
+        xt.alias(SIMULATION_DESCRIPTOR_NODE, SimulationDescriptor.class);
+        xt.alias(IMPORTS_NODE, Imports.class);
+
         xt.alias("ExpressionElement", ExpressionElement.class);
         xt.alias("ExpressionIdentifier", ExpressionIdentifier.class);
         xt.alias("FactIdentifier", FactIdentifier.class);
@@ -55,14 +94,46 @@ public class ScenarioSimulationXMLPersistence {
         xt.alias("SimulationDescriptor", SimulationDescriptor.class);
 
         xt.alias("Import", Import.class);
+
+        // files created before the version attribute have the same structure of 1.0
+        migrations.put(null, model -> "1.0");
     }
 
     public static ScenarioSimulationXMLPersistence getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Skip the leading blanks of the given reader: an empty or blank input is an empty model, as for the String methods
+     * @param reader
+     * @return a reader positioned at the first non blank character or <code>null</code> if there is none
+     */
+    static Reader skipBlank(final Reader reader) {
+        try {
+            final PushbackReader pushbackReader = new PushbackReader(reader);
+            int c;
+            do {
+                c = pushbackReader.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            if (c == -1) {
+                return null;
+            }
+            pushbackReader.unread(c);
+            return pushbackReader;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public String marshal(final ScenarioSimulationModel sc) {
-        return xt.toXML(sc);
+        StringWriter writer = new StringWriter();
+        marshal(sc, writer);
+        return writer.toString();
+    }
+
+    public void marshal(final ScenarioSimulationModel sc,
+                        final Writer writer) {
+        xt.toXML(sc, writer);
     }
 
     public ScenarioSimulationModel unmarshal(final String xml) {
@@ -72,8 +143,102 @@ public class ScenarioSimulationXMLPersistence {
         if (xml.trim().equals("")) {
             return new ScenarioSimulationModel();
         }
-        Object o = xt.fromXML(xml);
+        return unmarshal(new StringReader(xml));
+    }
+
+    public ScenarioSimulationModel unmarshal(final Reader reader) {
+        final Reader content = skipBlank(reader);
+        if (content == null) {
+            return new ScenarioSimulationModel();
+        }
+        Object o = xt.fromXML(content);
+
+        return migrate((ScenarioSimulationModel) o);
+    }
+
+    /**
+     * Load only the header of the file: version, {@link SimulationDescriptor} and imports. Scenarios are skipped
+     * while reading so the returned model has no scenarios and its memory does not depend on their number
+     * @param xml
+     * @return
+     */
+    public ScenarioSimulationModel unmarshalHeader(final String xml) {
+        if (xml == null || xml.trim().equals("")) {
+            return new ScenarioSimulationModel();
+        }
+        return unmarshalHeader(new StringReader(xml));
+    }
+
+    public ScenarioSimulationModel unmarshalHeader(final Reader xml) {
+        final Reader content = skipBlank(xml);
+        if (content == null) {
+            return new ScenarioSimulationModel();
+        }
+        final HierarchicalStreamReader reader = driver.createReader(content);
+        try {
+            SimulationDescriptor simulationDescriptor = new SimulationDescriptor();
+            Imports imports = new Imports();
+            String version = reader.getAttribute(VERSION_ATTRIBUTE);
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                if (SIMULATION_NODE.equals(reader.getNodeName())) {
+                    simulationDescriptor = unmarshalSimulationDescriptor(reader, simulationDescriptor);
+                } else if (IMPORTS_NODE.equals(reader.getNodeName())) {
+                    imports = (Imports) xt.unmarshal(reader);
+                }
+                reader.moveUp();
+            }
+            ScenarioSimulationModel model = new ScenarioSimulationModel(new Simulation(simulationDescriptor));
+            model.setImports(imports);
+            model.setVersion(version);
+            return migrate(model);
+        } finally {
+            reader.close();
+        }
+    }
+
+    ScenarioSimulationModel migrate(final ScenarioSimulationModel model) {
+        String version = model.getVersion();
+        while (!CURRENT_VERSION.equals(version)) {
+            Function<ScenarioSimulationModel, String> migration = migrations.get(version);
+            if (migration == null) {
+                throw new IllegalArgumentException(new StringBuilder().append("Version ").append(version)
+                                                           .append(" of scenario simulation file is not supported").toString());
+            }
+            version = migration.apply(model);
+        }
+        model.setVersion(version);
+        return model;
+    }
+
+    private SimulationDescriptor unmarshalSimulationDescriptor(final HierarchicalStreamReader reader,
+                                                               final SimulationDescriptor defaultValue) {
+        SimulationDescriptor toReturn = defaultValue;
+        // the descriptor is the first child of the simulation: scenarios that follow are not read
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            if (SIMULATION_DESCRIPTOR_NODE.equals(reader.getNodeName())) {
+                toReturn = (SimulationDescriptor) xt.unmarshal(reader);
+            }
+            reader.moveUp();
+        }
+        return toReturn;
+    }
 
-        return (ScenarioSimulationModel) o;
+    /**
+     * StAX reader with the writer of the DOM driver: writers never build a tree but StaxWriter output has no
+     * indentation and starts with the XML declaration
+     */
+    static class ScenarioSimulationXMLDriver extends StaxDriver {
+
+        @Override
+        public HierarchicalStreamWriter createWriter(Writer out) {
+            return new PrettyPrintWriter(out, getNameCoder());
+        }
+
+        @Override
+        public HierarchicalStreamWriter createWriter(OutputStream out) {
+            return createWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
     }
 }
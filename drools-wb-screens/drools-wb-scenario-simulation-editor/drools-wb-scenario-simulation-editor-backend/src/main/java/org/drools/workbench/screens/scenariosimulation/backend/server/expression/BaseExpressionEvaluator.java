@@ -15,23 +15,31 @@
  */
 package org.drools.workbench.screens.scenariosimulation.backend.server.expression;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil.loadClass;
+
+/**
+ * Expressions are compiled the first time they are used and cached by raw text, so the same instance should be
+ * reused for all the scenarios of a run
+ */
 public class BaseExpressionEvaluator implements ExpressionEvaluator {
 
     private final ClassLoader classLoader;
+    private final Map<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
 
     public BaseExpressionEvaluator(ClassLoader classLoader) {
         this.classLoader = classLoader;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean evaluate(Object raw, Object resultValue) {
         if (!(raw instanceof String)) {
             return BaseExpressionOperator.EQUALS.eval(raw, resultValue, classLoader);
         }
 
-        String rawValue = (String) raw;
-        return BaseExpressionOperator.findOperator(rawValue).eval(rawValue, resultValue, classLoader);
+        return getCompiledExpression((String) raw).evaluate(resultValue);
     }
 
     @Override
@@ -39,7 +47,15 @@ public class BaseExpressionEvaluator implements ExpressionEvaluator {
         if (!(raw instanceof String)) {
             return raw;
         }
-        String rawValue = (String) raw;
-        return BaseExpressionOperator.findOperator(rawValue).getValueForGiven(className, rawValue, classLoader);
+        return getCompiledExpression((String) raw).getValueForGiven(loadClass(className, classLoader));
+    }
+
+    CompiledExpression getCompiledExpression(String rawValue) {
+        CompiledExpression compiledExpression = compiledExpressions.get(rawValue);
+        if (compiledExpression == null) {
+            compiledExpression = BaseExpressionOperator.compileExpression(rawValue);
+            compiledExpressions.putIfAbsent(rawValue, compiledExpression);
+        }
+        return compiledExpression;
     }
 }
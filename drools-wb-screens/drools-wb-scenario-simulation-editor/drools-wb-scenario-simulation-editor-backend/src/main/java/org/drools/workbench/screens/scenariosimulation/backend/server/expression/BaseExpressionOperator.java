@@ -16,15 +16,14 @@
 package org.drools.workbench.screens.scenariosimulation.backend.server.expression;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.util.Comparator.comparingInt;
 import static org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil.convertValue;
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil.loadClass;
 
 public enum BaseExpressionOperator {
 
@@ -39,51 +38,93 @@ public enum BaseExpressionOperator {
             if (!(raw instanceof String) || !match((String) raw).isPresent()) {
                 return false;
             }
-            String rawValue = (String) raw;
-            List<Boolean> results = Arrays.stream(rawValue.split(symbols.get(0)))
-                    .map(elem -> findOperator(elem.trim()).eval(elem.trim(), resultValue, classLoader))
-                    .collect(Collectors.toList());
-            return results.stream().allMatch(a -> a);
+            return compile((String) raw).evaluate(resultValue);
+        }
+
+        @Override
+        protected CompiledExpression compile(String rawValue) {
+            CompiledExpression[] conditions = Arrays.stream(rawValue.split(symbols.get(0)))
+                    .map(elem -> compileExpression(elem.trim()))
+                    .toArray(CompiledExpression[]::new);
+            return resultValue -> {
+                // all the conditions are evaluated to report errors also after the first not satisfied condition
+                boolean result = true;
+                for (CompiledExpression condition : conditions) {
+                    result &= condition.evaluate(resultValue);
+                }
+                return result;
+            };
         }
     },
     LIST_OF_VALUES(1, "[") {
         @Override
-        public boolean eval(Object rawValue, Object resultValue, ClassLoader classLoader) {
-            List<Boolean> results = getValues(rawValue).stream().map(e -> EQUALS.eval(e, resultValue, classLoader)).collect(Collectors.toList());
-            return results.stream().anyMatch(a -> a);
-        }
-
-        private List<String> getValues(Object raw) {
+        public boolean eval(Object raw, Object resultValue, ClassLoader classLoader) {
             if (!(raw instanceof String) || !match((String) raw).isPresent()) {
-                return Collections.emptyList();
+                return false;
             }
-            String rawValue = ((String) raw).trim();
+            return compile((String) raw).evaluate(resultValue);
+        }
+
+        @Override
+        protected CompiledExpression compile(String raw) {
+            String rawValue = raw.trim();
             if (!rawValue.endsWith("]")) {
                 throw new IllegalArgumentException(new StringBuilder().append("Malformed expression: ").append(rawValue).toString());
             }
-            return Stream.of(rawValue.substring(1, ((String) raw).length() - 1).split(","))
-                    .map(String::trim)
-                    .collect(Collectors.toList());
+            CompiledExpression[] values = Arrays.stream(rawValue.substring(1, rawValue.length() - 1).split(","))
+                    .map(elem -> EQUALS.compile(elem.trim()))
+                    .toArray(CompiledExpression[]::new);
+            return resultValue -> {
+                boolean result = false;
+                for (CompiledExpression value : values) {
+                    result |= value.evaluate(resultValue);
+                }
+                return result;
+            };
         }
     },
     EQUALS(2, "=") {
         @Override
         protected Object getValueForGiven(String className, String value, ClassLoader classLoader) {
-            String returnValue = removeOperator(value);
-
-            // empty string is equivalent to null only if there is no operator symbol
-            returnValue = "".equals(returnValue) && !match(value).isPresent() ? null : returnValue;
-
-            return convertValue(className, returnValue, classLoader);
+            return compile(value).getValueForGiven(loadClass(className, classLoader));
         }
 
         @SuppressWarnings("unchecked")
         @Override
         public boolean eval(Object rawValue, Object resultValue, ClassLoader classLoader) {
-            Object parsedResults = rawValue;
-            if (parsedResults instanceof String) {
-                parsedResults = getValueForGiven(resultValue.getClass().getCanonicalName(), (String) rawValue, classLoader);
+            if (rawValue instanceof String) {
+                return compile((String) rawValue).evaluate(resultValue);
             }
+            return areEquals(rawValue, resultValue);
+        }
+
+        @Override
+        protected CompiledExpression compile(String value) {
+            String operandValue = removeOperator(value);
+
+            // empty string is equivalent to null only if there is no operator symbol
+            ExpressionOperand operand = "".equals(operandValue) && !match(value).isPresent() ? null : new ExpressionOperand(operandValue);
+
+            return new CompiledExpression() {
+                @Override
+                public boolean evaluate(Object resultValue) {
+                    if (operand == null || resultValue == null) {
+                        return operand == null && resultValue == null;
+                    }
+                    return areEquals(operand.getConvertedValue(resultValue.getClass()), resultValue);
+                }
+
+                @Override
+                public Object getValueForGiven(Class<?> clazz) {
+                    return operand == null ?
+                            convertValue(clazz, null) :
+                            operand.getNewConvertedValue(clazz);
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean areEquals(Object parsedResults, Object resultValue) {
             if (parsedResults == null) {
                 return resultValue == null;
             }
@@ -94,19 +135,19 @@ public enum BaseExpressionOperator {
         }
     },
     NOT_EQUALS(3, "!", "!=", "<>") {
-        @SuppressWarnings("unchecked")
         @Override
         public boolean eval(Object rawValue, Object resultValue, ClassLoader classLoader) {
-            Object valueToTest = rawValue;
-            BaseExpressionOperator operator = EQUALS;
-            // remove symbol to reuse EQUALS.eval
-            if (valueToTest instanceof String) {
-                String rawStringValue = (String) valueToTest;
-                valueToTest = removeOperator(rawStringValue);
-                operator = findOperator((String) valueToTest);
+            if (rawValue instanceof String) {
+                return compile((String) rawValue).evaluate(resultValue);
             }
+            return !EQUALS.eval(rawValue, resultValue, classLoader);
+        }
 
-            return !operator.eval(valueToTest, resultValue, classLoader);
+        @Override
+        protected CompiledExpression compile(String rawValue) {
+            // remove symbol to reuse the operator of the remaining expression
+            CompiledExpression expression = compileExpression(removeOperator(rawValue));
+            return resultValue -> !expression.evaluate(resultValue);
         }
     },
     RANGE(4, "<", ">", "<=", ">=") {
@@ -115,31 +156,45 @@ public enum BaseExpressionOperator {
             if (!(raw instanceof String) || !match((String) raw).isPresent()) {
                 return false;
             }
+            return compile((String) raw).evaluate(resultValue);
+        }
 
-            String rawValue = (String) raw;
-            String operator = match(rawValue).get();
-            String cleanValue = removeOperator(rawValue);
-            Object stepValue = convertValue(resultValue.getClass().getCanonicalName(), cleanValue, classLoader);
-            if (!areComparable(stepValue, resultValue)) {
-                return false;
-            }
-            Comparable a = (Comparable) resultValue;
-            Comparable b = (Comparable) stepValue;
-            switch (operator) {
-                case "<":
-                    return a.compareTo(b) < 0;
-                case ">":
-                    return a.compareTo(b) > 0;
-                case "<=":
-                    return a.compareTo(b) <= 0;
-                case ">=":
-                    return a.compareTo(b) >= 0;
-                default:
-                    throw new IllegalStateException(new StringBuilder().append("This should not happen ").append(operator).toString());
-            }
+        @SuppressWarnings("unchecked")
+        @Override
+        protected CompiledExpression compile(String rawValue) {
+            String operator = match(rawValue)
+                    .orElseThrow(() -> new IllegalArgumentException(new StringBuilder().append("Malformed expression: ").append(rawValue).toString()));
+            ExpressionOperand operand = new ExpressionOperand(removeOperator(rawValue));
+            return resultValue -> {
+                if (resultValue == null) {
+                    return false;
+                }
+                Object stepValue = operand.getConvertedValue(resultValue.getClass());
+                if (!areComparable(stepValue, resultValue)) {
+                    return false;
+                }
+                Comparable a = (Comparable) resultValue;
+                Comparable b = (Comparable) stepValue;
+                switch (operator) {
+                    case "<":
+                        return a.compareTo(b) < 0;
+                    case ">":
+                        return a.compareTo(b) > 0;
+                    case "<=":
+                        return a.compareTo(b) <= 0;
+                    case ">=":
+                        return a.compareTo(b) >= 0;
+                    default:
+                        throw new IllegalStateException(new StringBuilder().append("This should not happen ").append(operator).toString());
+                }
+            };
         }
     };
 
+    private static final List<BaseExpressionOperator> sortedOperators = Arrays.stream(values())
+            .sorted(comparingInt(BaseExpressionOperator::getPrecedence))
+            .collect(Collectors.toList());
+
     final List<String> symbols;
     final int precedence;
 
@@ -152,8 +207,6 @@ public enum BaseExpressionOperator {
 
     public static BaseExpressionOperator findOperator(String rawValue) {
         String value = rawValue.trim();
-        List<BaseExpressionOperator> sortedOperators = Arrays.stream(values()).sorted(comparingInt(BaseExpressionOperator::getPrecedence))
-                .collect(Collectors.toList());
         for (BaseExpressionOperator factMappingValueOperator : sortedOperators) {
             if (factMappingValueOperator.match(value).isPresent()) {
                 return factMappingValueOperator;
@@ -164,8 +217,19 @@ public enum BaseExpressionOperator {
         return BaseExpressionOperator.EQUALS;
     }
 
+    /**
+     * Parse a raw expression once: the result can be evaluated many times without parsing it again
+     * @param rawValue
+     * @return
+     */
+    public static CompiledExpression compileExpression(String rawValue) {
+        return findOperator(rawValue).compile(rawValue);
+    }
+
     protected abstract boolean eval(Object rawValue, Object resultValue, ClassLoader classLoader);
 
+    protected abstract CompiledExpression compile(String rawValue);
+
     protected Object getValueForGiven(String className, String value, ClassLoader classLoader) {
         throw new IllegalStateException("This operator cannot be used into a Given clause");
     }
@@ -193,4 +257,4 @@ public enum BaseExpressionOperator {
     private int getPrecedence() {
         return precedence;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.expression;
+
+/**
+ * Immutable form of a raw expression, parsed once by {@link BaseExpressionOperator#compileExpression(String)} and
+ * reusable (also concurrently) for every value to test
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+
+    boolean evaluate(Object resultValue);
+
+    default Object getValueForGiven(Class<?> clazz) {
+        throw new IllegalStateException("This operator cannot be used into a Given clause");
+    }
+}
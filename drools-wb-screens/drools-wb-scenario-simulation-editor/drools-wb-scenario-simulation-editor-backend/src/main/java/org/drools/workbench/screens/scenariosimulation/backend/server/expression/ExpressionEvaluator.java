@@ -16,6 +16,10 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.expression;
 
+/**
+ * Evaluator of the raw values of a scenario. The same instance is used for all the scenarios of a simulation, also
+ * concurrently, so implementations have to be thread safe
+ */
 public interface ExpressionEvaluator {
 
     boolean evaluate(Object rawExpression, Object resultValue);
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.expression;
+
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil.convertValue;
+
+/**
+ * Operand of a compiled expression. The last conversion is kept because the values to test are almost always of
+ * the same type
+ */
+class ExpressionOperand {
+
+    private final String value;
+
+    private volatile Map.Entry<Class<?>, Object> lastConversion;
+
+    ExpressionOperand(String value) {
+        this.value = value;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * Conversions used only to compare values so it is safe to share them
+     * @param clazz
+     * @return
+     */
+    Object getConvertedValue(Class<?> clazz) {
+        Map.Entry<Class<?>, Object> conversion = lastConversion;
+        if (conversion != null && conversion.getKey() == clazz) {
+            return conversion.getValue();
+        }
+        Object converted = convertValue(clazz, value);
+        lastConversion = new AbstractMap.SimpleImmutableEntry<>(clazz, converted);
+        return converted;
+    }
+
+    /**
+     * Conversions used for given facts are always new instances because they will be part of a bean
+     * @param clazz
+     * @return
+     */
+    Object getNewConvertedValue(Class<?> clazz) {
+        return convertValue(clazz, value);
+    }
+}
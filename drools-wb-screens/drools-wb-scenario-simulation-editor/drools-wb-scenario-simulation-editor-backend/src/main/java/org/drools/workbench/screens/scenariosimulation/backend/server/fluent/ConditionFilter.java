@@ -28,6 +28,10 @@ public class ConditionFilter implements ObjectFilter {
         this.factToCheck = factToCheck;
     }
 
+    public List<FactCheckerHandle> getFactToCheck() {
+        return factToCheck;
+    }
+
     @Override
     public boolean accept(Object object) {
         return factToCheck.stream()
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups of FactCheckerHandle (one group for each expected fact) indexed by the class they check. The groups that
+ * can apply to an object, i.e. the ones whose classes are the class of the object or one of its supertypes, are
+ * resolved once for each concrete class found in working memory
+ */
+public class FactCheckerIndex {
+
+    private final Map<Class<?>, List<ConditionFilter>> filtersByCheckedClass = new LinkedHashMap<>();
+
+    private final Map<Class<?>, List<ConditionFilter>> filtersByObjectClass = new HashMap<>();
+
+    private final List<ConditionFilter> filters = new ArrayList<>();
+
+    public FactCheckerIndex(Collection<List<FactCheckerHandle>> factsToCheck) {
+        for (List<FactCheckerHandle> factToCheck : factsToCheck) {
+            if (factToCheck.isEmpty()) {
+                continue;
+            }
+            ConditionFilter filter = new ConditionFilter(factToCheck);
+            filters.add(filter);
+            // all the handles of a group check the same fact, so the first one is enough to index it
+            filtersByCheckedClass.computeIfAbsent(factToCheck.get(0).getClazz(), key -> new ArrayList<>())
+                    .add(filter);
+        }
+    }
+
+    /**
+     * @param objectClass
+     * @return filters of the groups that can apply to an instance of objectClass
+     */
+    public List<ConditionFilter> getApplicableFilters(Class<?> objectClass) {
+        return filtersByObjectClass.computeIfAbsent(objectClass, this::resolveApplicableFilters);
+    }
+
+    public List<ConditionFilter> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    private List<ConditionFilter> resolveApplicableFilters(Class<?> objectClass) {
+        List<ConditionFilter> toReturn = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<ConditionFilter>> entry : filtersByCheckedClass.entrySet()) {
+            if (entry.getKey().isAssignableFrom(objectClass)) {
+                toReturn.addAll(entry.getValue());
+            }
+        }
+        return toReturn.isEmpty() ? Collections.emptyList() : toReturn;
+    }
+}
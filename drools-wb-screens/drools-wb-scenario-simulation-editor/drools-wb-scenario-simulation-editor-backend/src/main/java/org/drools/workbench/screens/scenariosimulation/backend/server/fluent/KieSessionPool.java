@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.BeliefSystemTypeOption;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionPseudoClock;
+
+/**
+ * Pool of KieSessions reused across scenario executions. Sessions are grouped by KieContainer (identity), session name
+ * and clock type and are reset before being handed out again: a session that cannot be cleanly reset is disposed and
+ * replaced by a fresh one
+ */
+public class KieSessionPool {
+
+    /**
+     * System property used to define the maximum number of idle sessions kept for each container/session/clock
+     */
+    public static final String MAX_IDLE_PROPERTY = "org.drools.scenariosimulation.sessionPool.maxIdle";
+
+    /**
+     * System property used to define the maximum number of containers with pooled sessions: a new build creates a new
+     * KieContainer so pools of old containers have to be evicted
+     */
+    public static final String MAX_CONTAINERS_PROPERTY = "org.drools.scenariosimulation.sessionPool.maxContainers";
+
+    public static final String PSEUDO_CLOCK = "pseudo";
+
+    private static final KieSessionPool INSTANCE = new KieSessionPool(Integer.getInteger(MAX_IDLE_PROPERTY, 8),
+                                                                      Integer.getInteger(MAX_CONTAINERS_PROPERTY, 4));
+
+    private final int maxIdle;
+    private final Map<PoolKey, Pool> pools;
+
+    public KieSessionPool(int maxIdle, int maxContainers) {
+        this.maxIdle = maxIdle;
+        this.pools = new LinkedHashMap<PoolKey, Pool>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PoolKey, Pool> eldest) {
+                if (size() > maxContainers) {
+                    eldest.getValue().clear();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static KieSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieve a clean session: an idle one if available, otherwise a new one
+     * @param kieContainer
+     * @param sessionName name of the KieSession, null means default session
+     * @param clockType
+     * @return
+     */
+    public KieSession borrowSession(KieContainer kieContainer, String sessionName, String clockType) {
+        Pool pool = getPool(new PoolKey(kieContainer, sessionName, clockType));
+        KieSession kieSession = pool.idleSessions.pollFirst();
+        if (kieSession == null) {
+            return newKieSession(kieContainer, sessionName, clockType);
+        }
+        pool.idleCount.decrementAndGet();
+        return kieSession;
+    }
+
+    /**
+     * Give back a session obtained with {@link #borrowSession(KieContainer, String, String)}. The session is reset and
+     * kept only if the reset leaves it with no facts and (pseudo) clock at zero, otherwise it is disposed
+     * @param kieContainer
+     * @param sessionName
+     * @param clockType
+     * @param kieSession
+     */
+    public void releaseSession(KieContainer kieContainer, String sessionName, String clockType, KieSession kieSession) {
+        Pool pool = getPool(new PoolKey(kieContainer, sessionName, clockType));
+        if (!reset(kieSession)) {
+            kieSession.dispose();
+            return;
+        }
+        if (pool.idleCount.incrementAndGet() > maxIdle) {
+            pool.idleCount.decrementAndGet();
+            kieSession.dispose();
+            return;
+        }
+        pool.idleSessions.offerFirst(kieSession);
+    }
+
+    /**
+     * Dispose all the idle sessions
+     */
+    public synchronized void clear() {
+        pools.values().forEach(Pool::clear);
+        pools.clear();
+    }
+
+    int getIdleSessions(KieContainer kieContainer, String sessionName, String clockType) {
+        return getPool(new PoolKey(kieContainer, sessionName, clockType)).idleCount.get();
+    }
+
+    protected KieSession newKieSession(KieContainer kieContainer, String sessionName, String clockType) {
+        // the configuration returned by the container is cached and shared with its other users: the clock type is
+        // set on a copy of it
+        KieSessionConfiguration containerConfiguration = sessionName == null ?
+                kieContainer.getKieSessionConfiguration() :
+                kieContainer.getKieSessionConfiguration(sessionName);
+        KieSessionConfiguration sessionConfiguration = newKieSessionConfiguration(kieContainer, getProperties(containerConfiguration));
+        sessionConfiguration.setOption(ClockTypeOption.get(clockType));
+        return sessionName == null ?
+                kieContainer.newKieSession(sessionConfiguration) :
+                kieContainer.newKieSession(sessionName, sessionConfiguration);
+    }
+
+    protected KieSessionConfiguration newKieSessionConfiguration(KieContainer kieContainer, Properties properties) {
+        return KieServices.get().newKieSessionConfiguration(properties, kieContainer.getClassLoader());
+    }
+
+    /**
+     * Properties the container sets on its session configurations from the kmodule session model
+     */
+    static Properties getProperties(KieSessionConfiguration sessionConfiguration) {
+        Properties properties = new Properties();
+        if (sessionConfiguration == null) {
+            return properties;
+        }
+        for (String name : new String[]{ClockTypeOption.PROPERTY_NAME, BeliefSystemTypeOption.PROPERTY_NAME}) {
+            String value = sessionConfiguration.getProperty(name);
+            if (value != null) {
+                properties.setProperty(name, value);
+            }
+        }
+        return properties;
+    }
+
+    protected boolean reset(KieSession kieSession) {
+        if (!(kieSession instanceof StatefulKnowledgeSessionImpl)) {
+            return false;
+        }
+        try {
+            // retract all facts, clear the agenda and restart the timer service
+            ((StatefulKnowledgeSessionImpl) kieSession).reset();
+            if (kieSession.getFactCount() != 0) {
+                return false;
+            }
+            Object clock = kieSession.getSessionClock();
+            return !(clock instanceof SessionPseudoClock) || ((SessionPseudoClock) clock).getCurrentTime() == 0;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private synchronized Pool getPool(PoolKey key) {
+        return pools.computeIfAbsent(key, k -> new Pool());
+    }
+
+    private static class Pool {
+
+        private final Deque<KieSession> idleSessions = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        private void clear() {
+            KieSession kieSession;
+            while ((kieSession = idleSessions.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                kieSession.dispose();
+            }
+        }
+    }
+
+    private static class PoolKey {
+
+        private final KieContainer kieContainer;
+        private final String sessionName;
+        private final String clockType;
+
+        private PoolKey(KieContainer kieContainer, String sessionName, String clockType) {
+            this.kieContainer = kieContainer;
+            this.sessionName = sessionName;
+            this.clockType = clockType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PoolKey poolKey = (PoolKey) o;
+            // containers are compared by identity: a rebuilt module has a different container
+            return kieContainer == poolKey.kieContainer &&
+                    Objects.equals(sessionName, poolKey.sessionName) &&
+                    Objects.equals(clockType, poolKey.clockType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(kieContainer), sessionName, clockType);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+
+/**
+ * Counts the firings of each rule of a session
+ */
+public class RuleFiringCounter extends DefaultAgendaEventListener {
+
+    private final Map<String, Integer> firingsByRule = new HashMap<>();
+
+    private int firings = 0;
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        firings++;
+        firingsByRule.merge(event.getMatch().getRule().getName(), 1, Integer::sum);
+    }
+
+    public int getFirings() {
+        return firings;
+    }
+
+    /**
+     * @param size
+     * @return at most size rules with their number of firings, from the one that fired the most. Rules with the same
+     * number of firings are sorted by name
+     */
+    public Map<String, Integer> getTopRules(int size) {
+        Map<String, Integer> toReturn = new LinkedHashMap<>();
+        firingsByRule.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .forEach(entry -> toReturn.put(entry.getKey(), entry.getValue()));
+        return toReturn;
+    }
+}
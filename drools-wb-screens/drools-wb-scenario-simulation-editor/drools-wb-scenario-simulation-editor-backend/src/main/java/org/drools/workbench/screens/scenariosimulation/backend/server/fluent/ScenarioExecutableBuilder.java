@@ -20,53 +20,46 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.ScenarioResult;
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.SingleFactValueResult;
 import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
-import org.kie.api.builder.model.KieSessionModel;
-import org.kie.api.runtime.ExecutableRunner;
 import org.kie.api.runtime.KieContainer;
-import org.kie.api.runtime.RequestContext;
-import org.kie.api.runtime.builder.ExecutableBuilder;
-import org.kie.api.runtime.builder.KieSessionFluent;
-import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.runtime.KieSession;
 
 public class ScenarioExecutableBuilder {
 
-    public static String DEFAULT_APPLICATION = "defaultApplication";
-
-    private final KieSessionFluent kieSessionFluent;
-    private final ExecutableBuilder executableBuilder;
+    private final KieContainer kieContainer;
+    private final String sessionName;
+    private final KieSessionPool sessionPool;
+    private final List<Object> elementsToInsert = new ArrayList<>();
     private final Map<FactIdentifier, List<FactCheckerHandle>> internalConditions = new HashMap<>();
-
-    private static BiFunction<String, KieContainer, KieContainer> forcePseudoClock = (sessionName, kc) -> {
-        KieSessionModel kieSessionModel = kc.getKieSessionModel(sessionName);
-        kieSessionModel.setClockType(ClockTypeOption.get("pseudo"));
-        return kc;
-    };
-
-    private ScenarioExecutableBuilder(KieContainer kieContainer, String name) {
-        executableBuilder = ExecutableBuilder.create();
-
-        kieSessionFluent = executableBuilder.newApplicationContext(name)
-                .setKieContainer(kieContainer)
-                .newSessionCustomized(null, forcePseudoClock);
+    private final RuleFiringCounter ruleFiringCounter = new RuleFiringCounter();
+    private long fireTime;
+    private long validationTime;
+
+    private ScenarioExecutableBuilder(KieContainer kieContainer, String sessionName, KieSessionPool sessionPool) {
+        this.kieContainer = kieContainer;
+        this.sessionName = sessionName;
+        this.sessionPool = sessionPool;
     }
 
-    private ScenarioExecutableBuilder(KieContainer kieContainer) {
-        this(kieContainer, DEFAULT_APPLICATION);
+    /**
+     * @param kieContainer
+     * @param sessionName name of the KieSession to use, null means default session
+     * @return
+     */
+    public static ScenarioExecutableBuilder createBuilder(KieContainer kieContainer, String sessionName) {
+        return createBuilder(kieContainer, sessionName, KieSessionPool.getInstance());
     }
 
-    public static ScenarioExecutableBuilder createBuilder(KieContainer kieContainer, String name) {
-        return new ScenarioExecutableBuilder(kieContainer, name);
+    public static ScenarioExecutableBuilder createBuilder(KieContainer kieContainer, String sessionName, KieSessionPool sessionPool) {
+        return new ScenarioExecutableBuilder(kieContainer, sessionName, sessionPool);
     }
 
     public static ScenarioExecutableBuilder createBuilder(KieContainer kieContainer) {
-        return new ScenarioExecutableBuilder(kieContainer);
+        return createBuilder(kieContainer, null);
     }
 
     public void addInternalCondition(Class<?> clazz,
@@ -77,18 +70,48 @@ public class ScenarioExecutableBuilder {
     }
 
     public void insert(Object element) {
-        kieSessionFluent.insert(element);
+        elementsToInsert.add(element);
     }
 
-    public RequestContext run() {
-        Objects.requireNonNull(executableBuilder, "Executable builder is null, please invoke create(KieContainer, )");
+    /**
+     * Execute the scenario on a (pseudo clock) session borrowed from the pool. The session is given back at the end
+     * of the execution, also in case of error, so that it can be reset and reused
+     */
+    public void run() {
+        KieSession kieSession = sessionPool.borrowSession(kieContainer, sessionName, KieSessionPool.PSEUDO_CLOCK);
+        kieSession.addEventListener(ruleFiringCounter);
+        try {
+            long startTime = System.nanoTime();
+            elementsToInsert.forEach(kieSession::insert);
+            kieSession.fireAllRules();
+            fireTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            // all the expected facts are verified together, scanning working memory once
+            kieSession.execute(new ValidateFactCommand(new FactCheckerIndex(internalConditions.values())));
+            validationTime = System.nanoTime() - startTime;
+        } finally {
+            // the session is reused: listeners of this execution must not survive it
+            kieSession.removeEventListener(ruleFiringCounter);
+            sessionPool.releaseSession(kieContainer, sessionName, KieSessionPool.PSEUDO_CLOCK, kieSession);
+        }
+    }
 
-        kieSessionFluent.fireAllRules();
-        internalConditions.values()
-                .forEach(factToCheck -> kieSessionFluent.addCommand(new ValidateFactCommand(factToCheck)));
+    /**
+     * @return nanoseconds spent to insert the facts and in fireAllRules during {@link #run()}
+     */
+    public long getFireTime() {
+        return fireTime;
+    }
 
-        kieSessionFluent.dispose().end();
+    /**
+     * @return nanoseconds spent to validate the expected facts during {@link #run()}
+     */
+    public long getValidationTime() {
+        return validationTime;
+    }
 
-        return ExecutableRunner.create().execute(executableBuilder.getExecutable());
+    public RuleFiringCounter getRuleFiringCounter() {
+        return ruleFiringCounter;
     }
 }
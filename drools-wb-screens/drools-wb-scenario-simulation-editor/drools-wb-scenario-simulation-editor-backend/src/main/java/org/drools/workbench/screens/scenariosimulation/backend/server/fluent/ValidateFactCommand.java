@@ -16,31 +16,56 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
 
-import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.drools.core.command.impl.RegistryContext;
 import org.kie.api.command.ExecutableCommand;
 import org.kie.api.runtime.Context;
 import org.kie.api.runtime.KieSession;
 
+/**
+ * Verify the expected facts with a single pass on working memory: each object is tested only against the groups
+ * of checks that can apply to its class and the scan stops as soon as every expected fact has been found
+ */
 public class ValidateFactCommand implements ExecutableCommand<Void> {
 
-    private final List<FactCheckerHandle> factToCheck;
+    private final FactCheckerIndex factCheckerIndex;
 
     public ValidateFactCommand(List<FactCheckerHandle> factToCheck) {
-        this.factToCheck = factToCheck;
+        this(new FactCheckerIndex(Collections.singletonList(factToCheck)));
+    }
+
+    public ValidateFactCommand(FactCheckerIndex factCheckerIndex) {
+        this.factCheckerIndex = factCheckerIndex;
     }
 
     @Override
     public Void execute(Context context) {
         KieSession ksession = ((RegistryContext)context).lookup(KieSession.class);
-        Collection<?> objects = ksession.getObjects(new ConditionFilter(factToCheck));
-        if(objects.size() > 0) {
-            factToCheck.forEach(fact -> fact.getScenarioResult().setResult(true));
+        List<ConditionFilter> filters = factCheckerIndex.getFilters();
+        Set<ConditionFilter> satisfied = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!filters.isEmpty()) {
+            for (Object object : ksession.getObjects()) {
+                for (ConditionFilter filter : factCheckerIndex.getApplicableFilters(object.getClass())) {
+                    if (!satisfied.contains(filter) && filter.accept(object)) {
+                        satisfied.add(filter);
+                    }
+                }
+                if (satisfied.size() == filters.size()) {
+                    break;
+                }
+            }
         }
-        else {
-            factToCheck.forEach(fact -> fact.getScenarioResult().getFactMappingValue().setError(true));
+        for (ConditionFilter filter : filters) {
+            if (satisfied.contains(filter)) {
+                filter.getFactToCheck().forEach(fact -> fact.getScenarioResult().setResult(true));
+            }
+            else {
+                filter.getFactToCheck().forEach(fact -> fact.getScenarioResult().getFactMappingValue().setError(true));
+            }
         }
         return null;
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.workbench.screens.scenariosimulation.model.SimulationFileResult;
+import org.guvnor.common.services.shared.test.Failure;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Verdict of the run of a simulation file, as stored in the {@link SimulationResultCache}
+ */
+public class CachedSimulationResult {
+
+    private final int runCount;
+
+    private final long runTime;
+
+    private final List<Failure> failures;
+
+    public CachedSimulationResult(int runCount, long runTime, List<Failure> failures) {
+        this.runCount = runCount;
+        this.runTime = runTime;
+        this.failures = new ArrayList<>(failures);
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @return time spent by the run that produced the verdict, in milliseconds
+     */
+    public long getRunTime() {
+        return runTime;
+    }
+
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public SimulationFileResult toFileResult(Path path) {
+        return new SimulationFileResult(path, runCount, failures.size(), runTime, true);
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionElement;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.kie.api.builder.ReleaseId;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourceReferencesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Files;
+
+/**
+ * Computes the fingerprints used to decide if a simulation can be affected by the changes done since its last
+ * successful run.
+ * The fingerprint of a simulation covers its own file, its data file, the compiled classes of its fact types and of
+ * the types along its expressions and all the assets of the module that the index reports as referencing these types
+ * (rules, decision tables, ...).
+ */
+@ApplicationScoped
+public class ScenarioSimulationImpactAnalyzer {
+
+    @Inject
+    @Named("ioStrategy")
+    private IOService ioService;
+
+    @Inject
+    private RefactoringQueryService queryService;
+
+    @Inject
+    private ScenarioSimulationResourceTypeDefinition resourceTypeDefinition;
+
+    /**
+     * Fingerprints of the compiled modules. Each build produces a new compiled module, so its kjar and dependencies
+     * are hashed once per build; the entries of the old builds are released with them
+     */
+    private final Map<InternalKieModule, String> ruleBaseFingerprints = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Fingerprint of the build configuration of the module: a change of dependencies or of the KieBase/KieSession
+     * definitions can affect any simulation
+     * @param kieModule
+     * @return
+     */
+    public String getBuildFingerprint(final KieModule kieModule) {
+        final MessageDigest digest = newDigest();
+        update(digest, kieModule.getPomXMLPath());
+        update(digest, kieModule.getKModuleXMLPath());
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Fingerprint of the compiled module: its resources and classes, the coordinates of its dependencies and the
+     * content of the kjars among them
+     * @param compiledModule
+     * @return null if the compiled module is not available
+     */
+    public String getRuleBaseFingerprint(final org.kie.api.builder.KieModule compiledModule) {
+        if (!(compiledModule instanceof InternalKieModule)) {
+            return null;
+        }
+        return ruleBaseFingerprints.computeIfAbsent((InternalKieModule) compiledModule,
+                                                    this::computeRuleBaseFingerprint);
+    }
+
+    private String computeRuleBaseFingerprint(final InternalKieModule internalKieModule) {
+        final MessageDigest digest = newDigest();
+        update(digest, internalKieModule);
+        if (internalKieModule.getPomModel() != null) {
+            for (String dependency : toExternalForms(internalKieModule.getPomModel().getDependencies())) {
+                digest.update(dependency.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        final Map<ReleaseId, InternalKieModule> kieDependencies = internalKieModule.getKieDependencies();
+        if (kieDependencies != null) {
+            final List<Map.Entry<ReleaseId, InternalKieModule>> entries = new ArrayList<>(kieDependencies.entrySet());
+            entries.sort(Comparator.comparing(entry -> entry.getKey().toExternalForm()));
+            for (Map.Entry<ReleaseId, InternalKieModule> entry : entries) {
+                digest.update(entry.getKey().toExternalForm().getBytes(StandardCharsets.UTF_8));
+                update(digest, entry.getValue());
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Key of the verdict of a simulation in the {@link SimulationResultCache}
+     * @param ruleBaseFingerprint
+     * @param buildFingerprint
+     * @param fingerprint
+     * @return null if one of the fingerprints is not available: the verdict cannot be cached
+     */
+    public String getCacheKey(final String ruleBaseFingerprint,
+                              final String buildFingerprint,
+                              final String fingerprint) {
+        if (ruleBaseFingerprint == null || buildFingerprint == null || fingerprint == null) {
+            return null;
+        }
+        final MessageDigest digest = newDigest();
+        digest.update(ruleBaseFingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update(buildFingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Fingerprint of everything that can change the outcome of the given simulation, in the given module
+     * @param kieModule
+     * @param classLoader class loader of the built module, used to resolve and read the classes of the fact types
+     * @param simulationPath
+     * @param model
+     * @return
+     */
+    public String getFingerprint(final KieModule kieModule,
+                                 final ClassLoader classLoader,
+                                 final Path simulationPath,
+                                 final ScenarioSimulationModel model) {
+        final MessageDigest digest = newDigest();
+        update(digest, simulationPath);
+        // the rows of a data driven simulation are in its data file
+        final SimulationDescriptor simulationDescriptor = model.getSimulation() != null ?
+                model.getSimulation().getSimulationDescriptor() :
+                null;
+        if (simulationDescriptor != null && simulationDescriptor.isDataDriven()) {
+            digest.update(simulationDescriptor.getDataFile().getBytes(StandardCharsets.UTF_8));
+            update(digest, Paths.convert(simulationPath).resolveSibling(simulationDescriptor.getDataFile()));
+        }
+        final SortedSet<String> types = getReferencedTypes(model, classLoader);
+        for (String className : types) {
+            digest.update(className.getBytes(StandardCharsets.UTF_8));
+            update(digest, classLoader, className);
+        }
+        for (String uri : getReferencingAssets(kieModule, types)) {
+            digest.update(uri.getBytes(StandardCharsets.UTF_8));
+            update(digest, ioService.get(URI.create(uri)));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Fact types used by the GIVEN and EXPECT columns of the simulation, together with the types of the steps of their
+     * expressions: i.e. for person.address.street the types of person, address and street
+     * @param model
+     * @param classLoader
+     * @return
+     */
+    SortedSet<String> getReferencedTypes(final ScenarioSimulationModel model,
+                                         final ClassLoader classLoader) {
+        final SortedSet<String> types = new TreeSet<>();
+        if (model.getSimulation() == null) {
+            return types;
+        }
+        for (FactMapping factMapping : model.getSimulation().getSimulationDescriptor().getUnmodifiableFactMappings()) {
+            final FactIdentifier factIdentifier = factMapping.getFactIdentifier();
+            if (factIdentifier == null ||
+                    FactIdentifier.EMPTY.equals(factIdentifier) ||
+                    factMapping.getExpressionIdentifier() == null ||
+                    FactMappingType.OTHER.equals(factMapping.getExpressionIdentifier().getType()) ||
+                    factIdentifier.getClassName() == null) {
+                continue;
+            }
+            types.add(factIdentifier.getClassName());
+            Class<?> stepClass = loadClass(classLoader, factIdentifier.getClassName());
+            for (ExpressionElement expressionElement : factMapping.getExpressionElements()) {
+                if (stepClass == null) {
+                    // the type of the step is unknown so the following steps cannot be resolved
+                    break;
+                }
+                stepClass = getFieldType(stepClass, expressionElement.getStep());
+                if (stepClass != null && !stepClass.isPrimitive() && !stepClass.isArray()) {
+                    types.add(stepClass.getName());
+                }
+            }
+            // when the steps cannot be resolved only the type of the last one is known
+            if (stepClass == null && factMapping.getClassName() != null && !ScenarioBeanUtil.isPrimitive(factMapping.getClassName())) {
+                types.add(factMapping.getClassName());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * URIs of the assets of the module (other simulations excluded) that reference at least one of the given types
+     * @param kieModule
+     * @param types
+     * @return
+     */
+    SortedSet<String> getReferencingAssets(final KieModule kieModule,
+                                           final Set<String> types) {
+        final SortedSet<String> uris = new TreeSet<>();
+        final String rootUri = kieModule.getRootPath().toURI();
+        for (String type : types) {
+            final Set<ValueIndexTerm> queryTerms = new HashSet<>(
+                    Collections.singletonList(new ValueReferenceIndexTerm(type, ResourceType.JAVA)));
+            for (RefactoringPageRow row : queryService.query(FindResourceReferencesQuery.NAME, queryTerms)) {
+                final Path assetPath = (Path) row.getValue();
+                if (assetPath.toURI().startsWith(rootUri) && !resourceTypeDefinition.accept(assetPath)) {
+                    uris.add(assetPath.toURI());
+                }
+            }
+        }
+        return uris;
+    }
+
+    private static Class<?> loadClass(final ClassLoader classLoader,
+                                      final String className) {
+        if (classLoader == null) {
+            return null;
+        }
+        try {
+            return classLoader.loadClass(className);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Class<?> getFieldType(final Class<?> clazz,
+                                         final String fieldName) {
+        // same lookup of the runner, see ScenarioBeanUtil
+        try {
+            return clazz.getDeclaredField(fieldName).getType();
+        } catch (NoSuchFieldException | SecurityException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private void update(final MessageDigest digest,
+                        final Path path) {
+        if (path != null) {
+            update(digest, Paths.convert(path));
+        }
+    }
+
+    private void update(final MessageDigest digest,
+                        final org.uberfire.java.nio.file.Path path) {
+        // a missing file has to produce a different fingerprint than an empty one
+        if (path != null && Files.exists(path)) {
+            digest.update((byte) 1);
+            digest.update(ioService.readAllBytes(path));
+        } else {
+            digest.update((byte) 0);
+        }
+    }
+
+    private void update(final MessageDigest digest,
+                        final ClassLoader classLoader,
+                        final String className) {
+        // the compiled class: project types are part of the built module, the others come from its dependencies
+        final InputStream classStream = classLoader != null ?
+                classLoader.getResourceAsStream(className.replace('.', '/') + ".class") :
+                null;
+        if (classStream == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        digest.update((byte) 1);
+        try (InputStream toRead = classStream) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = toRead.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the class " + className, e);
+        }
+    }
+
+    private void update(final MessageDigest digest,
+                        final InternalKieModule internalKieModule) {
+        if (internalKieModule == null) {
+            return;
+        }
+        for (String fileName : new TreeSet<>(internalKieModule.getFileNames())) {
+            digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+            final byte[] bytes = internalKieModule.getBytes(fileName);
+            if (bytes != null) {
+                digest.update(bytes);
+            }
+        }
+    }
+
+    private static SortedSet<String> toExternalForms(final Collection<ReleaseId> releaseIds) {
+        final SortedSet<String> toReturn = new TreeSet<>();
+        if (releaseIds != null) {
+            releaseIds.forEach(releaseId -> toReturn.add(releaseId.toExternalForm()));
+        }
+        return toReturn;
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
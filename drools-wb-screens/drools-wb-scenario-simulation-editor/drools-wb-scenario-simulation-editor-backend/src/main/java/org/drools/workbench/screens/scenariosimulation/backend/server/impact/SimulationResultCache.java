@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.guvnor.common.services.shared.test.Failure;
+
+/**
+ * Bounded cache, on the local disk, of the verdicts of simulation runs. Each verdict is a file named by the key of
+ * the run, see {@link ScenarioSimulationImpactAnalyzer#getCacheKey(String, String, String)}. When the cache is full
+ * the least recently used verdicts are removed. The cache is local to the server: it is not part of the repositories
+ */
+@ApplicationScoped
+public class SimulationResultCache {
+
+    /**
+     * System property used to define the folder of the cache, by default a folder in the temporary directory
+     */
+    public static final String CACHE_DIR_PROPERTY = "org.drools.scenariosimulation.cache.dir";
+
+    /**
+     * System property used to define the maximum number of verdicts in the cache
+     */
+    public static final String CACHE_SIZE_PROPERTY = "org.drools.scenariosimulation.cache.size";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String RUN_COUNT_KEY = "runCount";
+    private static final String RUN_TIME_KEY = "runTime";
+    private static final String FAILURE_COUNT_KEY = "failureCount";
+    private static final String FAILURE_NAME_KEY = "failure.%d.name";
+    private static final String FAILURE_MESSAGE_KEY = "failure.%d.message";
+
+    private Path cacheDir = Paths.get(System.getProperty(CACHE_DIR_PROPERTY,
+                                                         Paths.get(System.getProperty("java.io.tmpdir"), "scesim-cache").toString()));
+
+    private int maxSize = Integer.getInteger(CACHE_SIZE_PROPERTY, 1000);
+
+    public SimulationResultCache() {
+    }
+
+    public SimulationResultCache(Path cacheDir, int maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param key
+     * @return verdict stored with the given key, if any. Errors reading the cache are like a missing verdict
+     */
+    public Optional<CachedSimulationResult> get(String key) {
+        Path entry = cacheDir.resolve(key);
+        if (!Files.exists(entry)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(entry, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            CachedSimulationResult toReturn = unmarshal(properties);
+            // last modified time is the last use: the eviction removes the oldest ones
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(toReturn);
+        } catch (IOException | RuntimeException e) {
+            // i.e. removed by a concurrent eviction or truncated
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store the verdict with the given key, removing the least recently used ones if the cache is full. Errors are
+     * ignored: a verdict not cached is simply computed again
+     * @param key
+     * @param result
+     */
+    public void put(String key, CachedSimulationResult result) {
+        if (maxSize < 1) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDir);
+            // written aside and moved so a concurrent get never reads a partial verdict
+            Path tempPath = Files.createTempFile(cacheDir, key, TEMP_SUFFIX);
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                    marshal(result).store(writer, null);
+                }
+                Files.move(tempPath, cacheDir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+            evict();
+        } catch (IOException | RuntimeException ignored) {
+            // see javadoc
+        }
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            // files still being written by other puts are not verdicts
+            entries = stream.filter(entry -> !entry.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        entries.sort(Comparator.comparing(SimulationResultCache::getLastModifiedTime));
+        for (Path entry : entries.subList(0, entries.size() - maxSize)) {
+            Files.deleteIfExists(entry);
+        }
+    }
+
+    private static long getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            // already removed: first to be evicted
+            return Long.MIN_VALUE;
+        }
+    }
+
+    static Properties marshal(CachedSimulationResult result) {
+        Properties properties = new Properties();
+        properties.setProperty(RUN_COUNT_KEY, String.valueOf(result.getRunCount()));
+        properties.setProperty(RUN_TIME_KEY, String.valueOf(result.getRunTime()));
+        properties.setProperty(FAILURE_COUNT_KEY, String.valueOf(result.getFailures().size()));
+        for (int i = 0; i < result.getFailures().size(); i++) {
+            Failure failure = result.getFailures().get(i);
+            properties.setProperty(String.format(FAILURE_NAME_KEY, i), nullToEmpty(failure.getDisplayName()));
+            properties.setProperty(String.format(FAILURE_MESSAGE_KEY, i), nullToEmpty(failure.getMessage()));
+        }
+        return properties;
+    }
+
+    static CachedSimulationResult unmarshal(Properties properties) {
+        int failureCount = Integer.parseInt(properties.getProperty(FAILURE_COUNT_KEY));
+        List<Failure> failures = new ArrayList<>();
+        for (int i = 0; i < failureCount; i++) {
+            failures.add(new Failure(properties.getProperty(String.format(FAILURE_NAME_KEY, i)),
+                                     properties.getProperty(String.format(FAILURE_MESSAGE_KEY, i))));
+        }
+        return new CachedSimulationResult(Integer.parseInt(properties.getProperty(RUN_COUNT_KEY)),
+                                          Long.parseLong(properties.getProperty(RUN_TIME_KEY)),
+                                          failures);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Last successful results of the simulations of a module: for each simulation (by URI) the fingerprint it had when it
+ * passed. The record is valid only for the build fingerprint it has been created with
+ */
+public class SimulationResultsRecord {
+
+    static final String BUILD_FINGERPRINT_KEY = "#build";
+
+    private final String buildFingerprint;
+
+    private final Map<String, String> successfulFingerprints = new HashMap<>();
+
+    public SimulationResultsRecord(String buildFingerprint) {
+        this.buildFingerprint = buildFingerprint;
+    }
+
+    public String getBuildFingerprint() {
+        return buildFingerprint;
+    }
+
+    public void addSuccess(String simulationUri, String fingerprint) {
+        successfulFingerprints.put(simulationUri, fingerprint);
+    }
+
+    /**
+     * @param buildFingerprint
+     * @param simulationUri
+     * @param fingerprint
+     * @return true if the simulation passed with the same fingerprint and the same build
+     */
+    public boolean isUnchangedSuccess(String buildFingerprint, String simulationUri, String fingerprint) {
+        return this.buildFingerprint != null &&
+                this.buildFingerprint.equals(buildFingerprint) &&
+                fingerprint != null &&
+                fingerprint.equals(successfulFingerprints.get(simulationUri));
+    }
+
+    public String marshal() {
+        Properties properties = new Properties();
+        properties.putAll(successfulFingerprints);
+        if (buildFingerprint != null) {
+            properties.setProperty(BUILD_FINGERPRINT_KEY, buildFingerprint);
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            properties.store(writer, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        // without the timestamp comment and with sorted entries the same record always has the same content
+        return Arrays.stream(writer.toString().split("\\R"))
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .sorted()
+                .collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    public static SimulationResultsRecord unmarshal(String content) {
+        Properties properties = new Properties();
+        if (content != null) {
+            try {
+                properties.load(new StringReader(content));
+            } catch (IOException | IllegalArgumentException e) {
+                // a malformed record is like no record: all the simulations will be run
+                return new SimulationResultsRecord(null);
+            }
+        }
+        SimulationResultsRecord record = new SimulationResultsRecord(properties.getProperty(BUILD_FINGERPRINT_KEY));
+        for (String key : properties.stringPropertyNames()) {
+            if (!BUILD_FINGERPRINT_KEY.equals(key)) {
+                record.addSuccess(key, properties.getProperty(key));
+            }
+        }
+        return record;
+    }
+}
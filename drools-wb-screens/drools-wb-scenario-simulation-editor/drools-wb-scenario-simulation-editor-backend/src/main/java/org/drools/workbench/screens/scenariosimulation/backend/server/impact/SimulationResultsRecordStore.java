@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.kie.workbench.common.services.shared.project.KieModule;
+
+/**
+ * Store, on the local disk, of the {@link SimulationResultsRecord} of each module. Each record is a file named by the
+ * hash of the URI of the module root, so branches and forks of a module have their own record. Like the
+ * {@link SimulationResultCache} the store is local to the server: runs do not change the repositories
+ */
+@ApplicationScoped
+public class SimulationResultsRecordStore {
+
+    /**
+     * System property used to define the folder of the records, by default a folder in the temporary directory
+     */
+    public static final String RECORDS_DIR_PROPERTY = "org.drools.scenariosimulation.records.dir";
+
+    private Path recordsDir = Paths.get(System.getProperty(RECORDS_DIR_PROPERTY,
+                                                           Paths.get(System.getProperty("java.io.tmpdir"), "scesim-records").toString()));
+
+    public SimulationResultsRecordStore() {
+    }
+
+    public SimulationResultsRecordStore(Path recordsDir) {
+        this.recordsDir = recordsDir;
+    }
+
+    /**
+     * @param kieModule
+     * @return last record stored for the module. A missing or unreadable record is an empty one: all the simulations
+     * will be run
+     */
+    public SimulationResultsRecord load(final KieModule kieModule) {
+        final Path recordPath = getRecordPath(kieModule);
+        if (!Files.exists(recordPath)) {
+            return new SimulationResultsRecord(null);
+        }
+        try {
+            return SimulationResultsRecord.unmarshal(new String(Files.readAllBytes(recordPath), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return new SimulationResultsRecord(null);
+        }
+    }
+
+    /**
+     * Store the record of the module. Nothing is written if the stored record is the same
+     * @param kieModule
+     * @param record
+     * @throws IOException
+     */
+    public void store(final KieModule kieModule,
+                      final SimulationResultsRecord record) throws IOException {
+        final byte[] content = record.marshal().getBytes(StandardCharsets.UTF_8);
+        final Path recordPath = getRecordPath(kieModule);
+        if (Files.exists(recordPath) && MessageDigest.isEqual(content, Files.readAllBytes(recordPath))) {
+            return;
+        }
+        Files.createDirectories(recordsDir);
+        // written aside and moved so concurrent runs of the same module never read a partial record
+        final Path tempPath = Files.createTempFile(recordsDir, recordPath.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempPath, content);
+            Files.move(tempPath, recordPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    Path getRecordPath(final KieModule kieModule) {
+        final MessageDigest digest = ScenarioSimulationImpactAnalyzer.newDigest();
+        digest.update(kieModule.getRootPath().toURI().getBytes(StandardCharsets.UTF_8));
+        return recordsDir.resolve(ScenarioSimulationImpactAnalyzer.toHex(digest.digest()));
+    }
+}
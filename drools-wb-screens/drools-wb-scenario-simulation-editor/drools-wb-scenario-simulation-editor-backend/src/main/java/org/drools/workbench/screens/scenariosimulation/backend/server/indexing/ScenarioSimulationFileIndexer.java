@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.indexing;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.ScenarioSimulationXMLPersistence;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.guvnor.common.services.project.model.Module;
+import org.guvnor.common.services.project.model.Package;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.java.nio.file.Path;
+
+@ApplicationScoped
+public class ScenarioSimulationFileIndexer extends AbstractFileIndexer {
+
+    @Inject
+    protected ScenarioSimulationResourceTypeDefinition type;
+    @Inject
+    private DataModelService dataModelService;
+
+    @Override
+    public boolean supportsPath(final Path path) {
+        return type.accept(Paths.convert(path));
+    }
+
+    @Override
+    public DefaultIndexBuilder fillIndexBuilder(final Path path) throws Exception {
+        final String content = ioService.readAllString(path);
+        // only the structure of the simulation references the types of the module: scenario rows are not needed
+        final ScenarioSimulationModel model = ScenarioSimulationXMLPersistence.getInstance().unmarshalHeader(content);
+
+        final ModuleDataModelOracle dmo = getModuleDataModelOracle(path);
+        final Module project = moduleService.resolveModule(Paths.convert(path));
+        final Package pkg = moduleService.resolvePackage(Paths.convert(path));
+
+        final DefaultIndexBuilder builder = new DefaultIndexBuilder(Paths.convert(path).getFileName(),
+                                                                    project,
+                                                                    pkg);
+        final ScenarioSimulationIndexVisitor visitor = new ScenarioSimulationIndexVisitor(dmo,
+                                                                                          builder,
+                                                                                          model);
+        visitor.visit();
+
+        addReferencedResourcesToIndexBuilder(builder,
+                                             visitor);
+
+        return builder;
+    }
+
+    //Delegate resolution of DMO to method to assist testing
+    protected ModuleDataModelOracle getModuleDataModelOracle(final Path path) {
+        return dataModelService.getModuleDataModel(Paths.convert(path));
+    }
+}
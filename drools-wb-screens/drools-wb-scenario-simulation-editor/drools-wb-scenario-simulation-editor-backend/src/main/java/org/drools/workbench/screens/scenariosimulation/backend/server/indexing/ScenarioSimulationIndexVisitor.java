@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.indexing;
+
+import java.util.Set;
+
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionElement;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.refactoring.ResourceReference;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.ext.metadata.model.KProperty;
+
+/**
+ * Visitor to extract index information from a ScenarioSimulationModel: the type of each fact, the fields used by
+ * each expression (following the steps through the DMO) and the type of the last step
+ */
+public class ScenarioSimulationIndexVisitor extends ResourceReferenceCollector {
+
+    private final ModuleDataModelOracle dmo;
+    private final DefaultIndexBuilder builder;
+    private final ScenarioSimulationModel model;
+
+    public ScenarioSimulationIndexVisitor(final ModuleDataModelOracle dmo,
+                                          final DefaultIndexBuilder builder,
+                                          final ScenarioSimulationModel model) {
+        this.dmo = PortablePreconditions.checkNotNull("dmo",
+                                                      dmo);
+        this.builder = PortablePreconditions.checkNotNull("builder",
+                                                          builder);
+        this.model = PortablePreconditions.checkNotNull("model",
+                                                        model);
+    }
+
+    public Set<KProperty<?>> visit() {
+        if (model.getSimulation() != null) {
+            visit(model.getSimulation());
+        }
+        return builder.build();
+    }
+
+    private void visit(final Simulation simulation) {
+        for (FactMapping factMapping : simulation.getSimulationDescriptor().getUnmodifiableFactMappings()) {
+            visit(factMapping);
+        }
+    }
+
+    private void visit(final FactMapping factMapping) {
+        final FactIdentifier factIdentifier = factMapping.getFactIdentifier();
+        // descriptive and empty columns do not reference any type of the module
+        if (factIdentifier == null ||
+                FactIdentifier.EMPTY.equals(factIdentifier) ||
+                factMapping.getExpressionIdentifier() == null ||
+                FactMappingType.OTHER.equals(factMapping.getExpressionIdentifier().getType())) {
+            return;
+        }
+
+        String currentClassName = factIdentifier.getClassName();
+        if (currentClassName == null) {
+            return;
+        }
+
+        for (ExpressionElement expressionElement : factMapping.getExpressionElements()) {
+            final String fieldName = expressionElement.getStep();
+            final ResourceReference resRef = addResourceReference(currentClassName,
+                                                                  ResourceType.JAVA);
+            resRef.addPartReference(fieldName,
+                                    PartType.FIELD);
+            currentClassName = getFieldFullyQualifiedClassName(currentClassName,
+                                                               fieldName);
+            // the type of the step is unknown so the following steps cannot be resolved
+            if (currentClassName == null) {
+                break;
+            }
+        }
+
+        if (currentClassName != null) {
+            addResourceReference(currentClassName,
+                                 ResourceType.JAVA);
+        }
+        if (factMapping.getClassName() != null) {
+            addResourceReference(factMapping.getClassName(),
+                                 ResourceType.JAVA);
+        }
+    }
+
+    private String getFieldFullyQualifiedClassName(final String fullyQualifiedClassName,
+                                                   final String fieldName) {
+        final ModelField[] mfs = dmo.getModuleModelFields().get(fullyQualifiedClassName);
+        if (mfs == null) {
+            return null;
+        }
+        for (ModelField mf : mfs) {
+            if (mf.getName().equals(fieldName)) {
+                return mf.getClassName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * RunNotifier that records the events of a single scenario instead of dispatching them, so that a scenario can be
+ * executed on a worker thread and its events replayed later, in order, on the real notifier
+ */
+public class BufferedRunNotifier extends RunNotifier {
+
+    private final List<Consumer<RunNotifier>> events = new ArrayList<>();
+
+    @Override
+    public void fireTestStarted(Description description) {
+        events.add(notifier -> notifier.fireTestStarted(description));
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+        events.add(notifier -> notifier.fireTestFailure(failure));
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+        events.add(notifier -> notifier.fireTestAssumptionFailed(failure));
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+        events.add(notifier -> notifier.fireTestIgnored(description));
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+        events.add(notifier -> notifier.fireTestFinished(description));
+    }
+
+    /**
+     * Dispatch all the recorded events to the given notifier, in the same order they were fired
+     * @param target notifier that receives the events
+     */
+    public void replay(RunNotifier target) {
+        events.forEach(event -> event.accept(target));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+
+/**
+ * Reads the rows of a CSV data file one at a time, each one as a {@link Scenario} of the given descriptor.
+ * The first row is the header: every cell is bound to a GIVEN/EXPECT column using its
+ * <code>factAlias.expressionAlias</code> or the name of its expression identifier. A column named as
+ * {@link FactIdentifier#DESCRIPTION} sets the description of the scenario. Empty cells are skipped.
+ * Values follow RFC 4180: they can be quoted with <code>"</code> to contain separators, quotes (doubled) and new lines
+ */
+public class CsvScenarioReader implements Iterator<Scenario>,
+                                          Closeable {
+
+    private static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+
+    private final SimulationDescriptor simulationDescriptor;
+
+    /**
+     * FactMapping bound to each column, null for the description one
+     */
+    private final List<FactMapping> columns = new ArrayList<>();
+
+    private int descriptionColumn = -1;
+
+    private int lineNumber = 0;
+
+    private int rowNumber = 0;
+
+    private List<String> nextRow;
+
+    public CsvScenarioReader(Reader reader, SimulationDescriptor simulationDescriptor) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.simulationDescriptor = simulationDescriptor;
+        List<String> header = readRow();
+        if (header == null) {
+            throw new ScenarioException("Data file is empty: a header row is required");
+        }
+        bindColumns(header);
+        nextRow = readRow();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRow != null;
+    }
+
+    @Override
+    public Scenario next() {
+        if (nextRow == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> row = nextRow;
+        rowNumber++;
+        if (row.size() != columns.size()) {
+            throw new ScenarioException(new StringBuilder().append("Row ").append(rowNumber).append(" of data file has ")
+                                                .append(row.size()).append(" values but header has ")
+                                                .append(columns.size()).toString());
+        }
+        Scenario scenario = new Scenario(simulationDescriptor);
+        scenario.setDescription("Row " + rowNumber);
+        for (int i = 0; i < row.size(); i++) {
+            String value = row.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (i == descriptionColumn) {
+                scenario.setDescription(value);
+            } else {
+                FactMapping factMapping = columns.get(i);
+                scenario.addMappingValue(factMapping.getFactIdentifier(), factMapping.getExpressionIdentifier(), value);
+            }
+        }
+        nextRow = readRow();
+        return scenario;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void bindColumns(List<String> header) {
+        Map<String, FactMapping> factMappingsByName = new HashMap<>();
+        for (FactMapping factMapping : simulationDescriptor.getUnmodifiableFactMappings()) {
+            FactMappingType type = factMapping.getExpressionIdentifier().getType();
+            if (!FactMappingType.GIVEN.equals(type) && !FactMappingType.EXPECT.equals(type)) {
+                continue;
+            }
+            factMappingsByName.put(factMapping.getFactAlias() + "." + factMapping.getExpressionAlias(), factMapping);
+            factMappingsByName.putIfAbsent(factMapping.getExpressionIdentifier().getName(), factMapping);
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (FactIdentifier.DESCRIPTION.getName().equals(name)) {
+                descriptionColumn = i;
+                columns.add(null);
+                continue;
+            }
+            FactMapping factMapping = factMappingsByName.get(name);
+            if (factMapping == null) {
+                throw new ScenarioException(new StringBuilder().append("Column '").append(name)
+                                                    .append("' of data file is not a GIVEN/EXPECT column of the simulation").toString());
+            }
+            columns.add(factMapping);
+        }
+    }
+
+    /**
+     * @return values of the next row or null at the end of the file. Blank lines are ignored
+     */
+    private List<String> readRow() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // a quoted value continues on the next line
+                    int startLine = lineNumber;
+                    line = reader.readLine();
+                    lineNumber++;
+                    if (line == null) {
+                        throw new ScenarioException("Unterminated quoted value starting at line " + startLine + " of data file");
+                    }
+                    value.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == QUOTE && i < line.length() && line.charAt(i) == QUOTE) {
+                        value.append(QUOTE);
+                        i++;
+                    } else if (c == QUOTE) {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == QUOTE) {
+                    quoted = true;
+                } else if (c == SEPARATOR) {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        } catch (IOException e) {
+            throw new ScenarioException("Impossible to read data file", e);
+        }
+    }
+}
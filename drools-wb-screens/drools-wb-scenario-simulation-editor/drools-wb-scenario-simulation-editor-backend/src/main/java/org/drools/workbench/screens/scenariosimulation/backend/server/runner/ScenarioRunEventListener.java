@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
+import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Listener that converts the outcome of each scenario to a {@link ScenarioRunEvent}. Scenarios are notified in
+ * order (also when executed in parallel) so the index of the scenario is the number of started tests
+ */
+public class ScenarioRunEventListener extends RunListener {
+
+    private final String runId;
+    private final Path path;
+    private final Simulation simulation;
+    private final Consumer<ScenarioRunEvent> eventConsumer;
+
+    private int scenarioIndex = -1;
+    private int runCount = 0;
+    private ScenarioRunEvent.Status status;
+    private String message;
+    private Function<Scenario, ScenarioProfile> profileProvider = scenario -> null;
+
+    public ScenarioRunEventListener(String runId, Path path, Simulation simulation, Consumer<ScenarioRunEvent> eventConsumer) {
+        this.runId = runId;
+        this.path = path;
+        this.simulation = simulation;
+        this.eventConsumer = eventConsumer;
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        scenarioIndex++;
+        status = ScenarioRunEvent.Status.SUCCESS;
+        message = null;
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        status = failure.getException() instanceof ScenarioException ?
+                ScenarioRunEvent.Status.FAILURE :
+                ScenarioRunEvent.Status.ERROR;
+        message = failure.getMessage();
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        runCount++;
+        if (simulation.getSimulationDescriptor().isDataDriven()) {
+            // rows of a data file are not part of the model: only failing ones are notified, by row index
+            if (!ScenarioRunEvent.Status.SUCCESS.equals(status)) {
+                eventConsumer.accept(new ScenarioRunEvent(runId,
+                                                          path,
+                                                          status,
+                                                          scenarioIndex,
+                                                          null,
+                                                          message));
+            }
+            return;
+        }
+        Scenario scenario = simulation.getScenarioByIndex(scenarioIndex);
+        ScenarioProfile profile = profileProvider.apply(scenario);
+        if (profile != null) {
+            profile.setScenarioIndex(scenarioIndex);
+        }
+        eventConsumer.accept(new ScenarioRunEvent(runId,
+                                                  path,
+                                                  status,
+                                                  scenarioIndex,
+                                                  scenario,
+                                                  message,
+                                                  profile));
+    }
+
+    /**
+     * @param profileProvider source of the profile of each executed scenario, available when it is finished
+     */
+    public void setProfileProvider(Function<Scenario, ScenarioProfile> profileProvider) {
+        this.profileProvider = profileProvider;
+    }
+
+    /**
+     * @return number of scenarios finished so far
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+}
@@ -40,10 +40,10 @@ import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
 import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
 import org.drools.workbench.screens.scenariosimulation.model.FactMappingValue;
 import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
 import org.junit.internal.runners.model.EachTestNotifier;
 import org.kie.api.runtime.KieContainer;
-import org.kie.api.runtime.RequestContext;
 
 import static java.util.stream.Collectors.toList;
 import static org.drools.workbench.screens.scenariosimulation.backend.server.fluent.ScenarioExecutableBuilder.createBuilder;
@@ -53,6 +53,11 @@ import static org.drools.workbench.screens.scenariosimulation.backend.server.uti
 
 public class ScenarioRunnerHelper {
 
+    /**
+     * Number of rules, by number of firings, reported in the profile of a scenario
+     */
+    public static final int PROFILE_TOP_RULES = 5;
+
     private ScenarioRunnerHelper() {
 
     }
@@ -106,10 +111,10 @@ public class ScenarioRunnerHelper {
         return scenarioOutput;
     }
 
-    public static RequestContext executeScenario(KieContainer kieContainer,
-                                                 ScenarioRunnerData scenarioRunnerData,
-                                                 ExpressionEvaluator expressionEvaluator,
-                                                 SimulationDescriptor simulationDescriptor) {
+    public static void executeScenario(KieContainer kieContainer,
+                                       ScenarioRunnerData scenarioRunnerData,
+                                       ExpressionEvaluator expressionEvaluator,
+                                       SimulationDescriptor simulationDescriptor) {
         ScenarioExecutableBuilder scenarioExecutableBuilder = createBuilder(kieContainer);
         scenarioRunnerData.getInputData().stream().map(ScenarioInput::getValue).forEach(scenarioExecutableBuilder::insert);
         scenarioRunnerData.getOutputData().stream()
@@ -124,7 +129,13 @@ public class ScenarioRunnerHelper {
                                                                    scenarioResult);
                 });
 
-        return scenarioExecutableBuilder.run();
+        scenarioExecutableBuilder.run();
+
+        ScenarioProfile profile = scenarioRunnerData.getProfile();
+        profile.setFireTime(scenarioExecutableBuilder.getFireTime());
+        profile.addVerifyTime(scenarioExecutableBuilder.getValidationTime());
+        profile.setRuleFirings(scenarioExecutableBuilder.getRuleFiringCounter().getFirings());
+        profile.setTopRules(scenarioExecutableBuilder.getRuleFiringCounter().getTopRules(PROFILE_TOP_RULES));
     }
 
     public static void verifyConditions(SimulationDescriptor simulationDescriptor,
@@ -242,14 +253,16 @@ public class ScenarioRunnerHelper {
     public static Function<Object, SingleFactValueResult> createExtractorFunction(ExpressionEvaluator expressionEvaluator,
                                                                                   FactMappingValue expectedResult,
                                                                                   SimulationDescriptor simulationDescriptor) {
-        return objectToCheck -> {
+        // mapping and path are resolved once: the function is applied to every candidate object
+        ExpressionIdentifier expressionIdentifier = expectedResult.getExpressionIdentifier();
 
-            ExpressionIdentifier expressionIdentifier = expectedResult.getExpressionIdentifier();
+        FactMapping factMapping = simulationDescriptor.getFactMapping(expectedResult.getFactIdentifier(), expressionIdentifier)
+                .orElseThrow(() -> new IllegalStateException("Wrong expression, this should not happen"));
 
-            FactMapping factMapping = simulationDescriptor.getFactMapping(expectedResult.getFactIdentifier(), expressionIdentifier)
-                    .orElseThrow(() -> new IllegalStateException("Wrong expression, this should not happen"));
+        List<String> pathToValue = factMapping.getExpressionElements().stream().map(ExpressionElement::getStep).collect(toList());
+
+        return objectToCheck -> {
 
-            List<String> pathToValue = factMapping.getExpressionElements().stream().map(ExpressionElement::getStep).collect(toList());
             Object resultValue = ScenarioBeanUtil.navigateToObject(objectToCheck, pathToValue, false);
 
             try {
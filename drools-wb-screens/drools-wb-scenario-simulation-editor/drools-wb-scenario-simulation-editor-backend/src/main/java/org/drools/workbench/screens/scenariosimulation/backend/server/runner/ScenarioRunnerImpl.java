@@ -16,14 +16,29 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.drools.workbench.screens.scenariosimulation.backend.server.expression.BaseExpressionEvaluator;
 import org.drools.workbench.screens.scenariosimulation.backend.server.expression.ExpressionEvaluator;
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.ScenarioResult;
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.ScenarioRunnerData;
 import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.drools.workbench.screens.scenariosimulation.model.Simulation;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
 import org.junit.internal.runners.model.EachTestNotifier;
@@ -40,12 +55,25 @@ import static org.drools.workbench.screens.scenariosimulation.backend.server.run
 
 public class ScenarioRunnerImpl extends Runner {
 
+    /**
+     * System property used to define the default number of scenarios executed concurrently
+     */
+    public static final String PARALLELISM_PROPERTY = "org.drools.scenariosimulation.parallelism";
+
     private final ClassLoader classLoader;
     private Function<ClassLoader, ExpressionEvaluator> expressionEvaluatorFactory = BaseExpressionEvaluator::new;
+    private ExpressionEvaluator expressionEvaluator;
     private final Description desc;
     private final KieContainer kieContainer;
     private final SimulationDescriptor simulationDescriptor;
     private List<Scenario> scenarios;
+    private Supplier<Reader> dataSupplier;
+    /**
+     * Profiles of the executed scenarios (rows of a data file excluded), by scenario instance
+     */
+    private final Map<Scenario, ScenarioProfile> profiles = Collections.synchronizedMap(new IdentityHashMap<>());
+    private int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, 1);
+    private ExecutorService executorService;
 
     public ScenarioRunnerImpl(KieContainer kieContainer, Simulation simulation) {
         this(kieContainer, simulation.getSimulationDescriptor(), simulation.getUnmodifiableScenarios());
@@ -59,14 +87,120 @@ public class ScenarioRunnerImpl extends Runner {
         this.classLoader = kieContainer.getClassLoader();
     }
 
+    /**
+     * Data driven runner: scenarios are the rows of the CSV data file opened by dataSupplier (see
+     * {@link CsvScenarioReader}). Rows are read, executed and discarded one at a time so memory does not depend on
+     * the size of the file
+     * @param kieContainer
+     * @param simulationDescriptor
+     * @param dataSupplier
+     */
+    public ScenarioRunnerImpl(KieContainer kieContainer, SimulationDescriptor simulationDescriptor, Supplier<Reader> dataSupplier) {
+        this(kieContainer, simulationDescriptor, new ArrayList<>());
+        this.dataSupplier = dataSupplier;
+    }
+
     @Override
     public void run(RunNotifier notifier) {
+        // the same evaluator is shared by all the scenarios to reuse compiled expressions
+        expressionEvaluator = createExpressionEvaluator();
+
+        if (dataSupplier != null) {
+            runDataFile(notifier);
+            return;
+        }
+
+        if (parallelism > 1 && scenarios.size() > 1) {
+            runInParallel(notifier);
+            return;
+        }
 
         for (Scenario scenario : scenarios) {
             internalRunScenario(scenario, getSingleNotifier(notifier, scenario));
         }
     }
 
+    /**
+     * Scenarios are executed by at most parallelism workers of the executor, each scenario with its own session.
+     * Events of each scenario are buffered and replayed on the real notifier following the scenario order, so
+     * reporting stays deterministic. When the notifier is stopped (it is detected when the next scenario is replayed)
+     * the scenarios not started yet are skipped and the running ones are interrupted
+     * @param notifier
+     */
+    protected void runInParallel(RunNotifier notifier) {
+        List<BufferedRunNotifier> bufferedNotifiers = new ArrayList<>();
+        List<EachTestNotifier> singleNotifiers = new ArrayList<>();
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            BufferedRunNotifier bufferedNotifier = new BufferedRunNotifier();
+            bufferedNotifiers.add(bufferedNotifier);
+            // descriptions are created on the calling thread because Description is not thread safe
+            singleNotifiers.add(getSingleNotifier(bufferedNotifier, scenario));
+            completions.add(new CompletableFuture<>());
+        }
+
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Runnable worker = () -> {
+            int index;
+            while (!stopped.get() && (index = nextIndex.getAndIncrement()) < scenarios.size()) {
+                runScenarioSafely(scenarios.get(index), singleNotifiers.get(index));
+                completions.get(index).complete(null);
+            }
+        };
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(parallelism, scenarios.size()); i++) {
+                workers.add(getExecutorService().submit(worker));
+            }
+            for (int i = 0; i < completions.size(); i++) {
+                completions.get(i).get();
+                bufferedNotifiers.get(i).replay(notifier);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScenarioException("Scenario execution has been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ScenarioException("Unexpected error during scenario execution", e.getCause());
+        } finally {
+            // no-op if all the scenarios have been executed
+            stopped.set(true);
+            workers.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * An unexpected error of a scenario is reported as its failure so that the other scenarios are still reported
+     * @param scenario
+     * @param singleNotifier
+     */
+    private void runScenarioSafely(Scenario scenario, EachTestNotifier singleNotifier) {
+        try {
+            internalRunScenario(scenario, singleNotifier);
+        } catch (Throwable e) {
+            singleNotifier.addFailure(e);
+            singleNotifier.fireTestFinished();
+        }
+    }
+
+    /**
+     * Rows are executed sequentially and their descriptions are not kept as children of the suite one: only failing
+     * rows are retained by the notifier listeners (together with the run count and time)
+     * @param notifier
+     */
+    protected void runDataFile(RunNotifier notifier) {
+        try (CsvScenarioReader reader = new CsvScenarioReader(dataSupplier.get(), simulationDescriptor)) {
+            while (reader.hasNext()) {
+                Scenario scenario = reader.next();
+                Description rowDescription = Description.createTestDescription(getClass(),
+                                                                               scenario.getDescription());
+                internalRunScenario(scenario, new EachTestNotifier(notifier, rowDescription));
+            }
+        } catch (IOException e) {
+            throw new ScenarioException("Impossible to close data file", e);
+        }
+    }
+
     @Override
     public Description getDescription() {
         return this.desc;
@@ -82,25 +216,35 @@ public class ScenarioRunnerImpl extends Runner {
     protected List<ScenarioResult> internalRunScenario(Scenario scenario, EachTestNotifier singleNotifier) {
         ScenarioRunnerData scenarioRunnerData = new ScenarioRunnerData();
 
+        ScenarioProfile profile = scenarioRunnerData.getProfile();
+        profile.setDescription(scenario.getDescription());
+
         singleNotifier.fireTestStarted();
 
         try {
-            ExpressionEvaluator expressionEvaluator = createExpressionEvaluator();
+            ExpressionEvaluator expressionEvaluator = getExpressionEvaluator();
+            long startTime = System.nanoTime();
             extractGivenValues(simulationDescriptor, scenario.getUnmodifiableFactMappingValues(), classLoader, expressionEvaluator)
                     .forEach(scenarioRunnerData::addInput);
             extractExpectedValues(scenario.getUnmodifiableFactMappingValues()).forEach(scenarioRunnerData::addOutput);
+            profile.setGivenTime(System.nanoTime() - startTime);
 
             executeScenario(kieContainer,
                             scenarioRunnerData,
                             expressionEvaluator,
                             simulationDescriptor);
 
-            verifyConditions(simulationDescriptor,
-                             scenarioRunnerData,
-                             expressionEvaluator);
-            validateAssertion(scenarioRunnerData.getResultData(),
-                              scenario,
-                              singleNotifier);
+            startTime = System.nanoTime();
+            try {
+                verifyConditions(simulationDescriptor,
+                                 scenarioRunnerData,
+                                 expressionEvaluator);
+                validateAssertion(scenarioRunnerData.getResultData(),
+                                  scenario,
+                                  singleNotifier);
+            } finally {
+                profile.addVerifyTime(System.nanoTime() - startTime);
+            }
         } catch (ScenarioException e) {
             singleNotifier.addFailure(e);
         } catch (Throwable e) {
@@ -108,19 +252,80 @@ public class ScenarioRunnerImpl extends Runner {
                                                                         .append(scenario.getDescription()).append("'").toString(), e));
         }
 
+        // rows of a data file are discarded once executed: keeping their profiles would make memory grow with the file
+        if (dataSupplier == null) {
+            profiles.put(scenario, profile);
+        }
+        // the profile has to be available to the listeners of the notifier when the scenario is finished
         singleNotifier.fireTestFinished();
         return scenarioRunnerData.getResultData();
     }
 
+    /**
+     * @param scenario
+     * @return profile of the execution of the given scenario or null if it has not been executed by this runner
+     */
+    public ScenarioProfile getProfile(Scenario scenario) {
+        return profiles.get(scenario);
+    }
+
     public ExpressionEvaluator createExpressionEvaluator() {
         return expressionEvaluatorFactory.apply(classLoader);
     }
 
+    protected ExpressionEvaluator getExpressionEvaluator() {
+        if (expressionEvaluator == null) {
+            expressionEvaluator = createExpressionEvaluator();
+        }
+        return expressionEvaluator;
+    }
+
     public void setExpressionEvaluatorFactory(Function<ClassLoader, ExpressionEvaluator> expressionEvaluatorFactory) {
         this.expressionEvaluatorFactory = expressionEvaluatorFactory;
+        this.expressionEvaluator = null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of scenarios executed concurrently. A value lower than 2 means sequential execution
+     * @param parallelism
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return executor of the parallel runs: if not set, the one shared by all the runners
+     */
+    public ExecutorService getExecutorService() {
+        return executorService != null ? executorService : SharedExecutorHolder.EXECUTOR;
+    }
+
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
     }
 
     public static Description getDescriptionForSimulationDescriptor(SimulationDescriptor simulationDescriptor) {
         return Description.createSuiteDescription("Test Scenarios (Preview) tests");
     }
+
+    /**
+     * Pool shared by the parallel runs of all the runners, created on first use. Each run uses at most parallelism
+     * of its threads; daemon threads do not prevent the JVM from exiting
+     */
+    private static class SharedExecutorHolder {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(Runtime.getRuntime().availableProcessors(), Integer.getInteger(PARALLELISM_PROPERTY, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "scenario-runner-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 }
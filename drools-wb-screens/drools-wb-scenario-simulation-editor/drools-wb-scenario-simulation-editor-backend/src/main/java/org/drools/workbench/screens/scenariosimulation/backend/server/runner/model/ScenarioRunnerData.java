@@ -20,11 +20,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
+
 public class ScenarioRunnerData {
 
     private final List<ScenarioInput> inputData = new ArrayList<>();
     private final List<ScenarioOutput> outputData = new ArrayList<>();
     private final List<ScenarioResult> resultData = new ArrayList<>();
+    private final ScenarioProfile profile = new ScenarioProfile();
 
     public void addInput(ScenarioInput input) {
         inputData.add(input);
@@ -49,4 +52,8 @@ public class ScenarioRunnerData {
     public List<ScenarioResult> getResultData() {
         return Collections.unmodifiableList(resultData);
     }
+
+    public ScenarioProfile getProfile() {
+        return profile;
+    }
 }
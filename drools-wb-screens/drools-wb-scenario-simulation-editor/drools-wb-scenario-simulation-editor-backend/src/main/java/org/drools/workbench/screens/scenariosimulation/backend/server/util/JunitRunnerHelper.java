@@ -24,18 +24,15 @@ import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 
 public class JunitRunnerHelper {
 
     public static Result runWithJunit(Runner runner, List<Failure> failures, List<Failure> failureDetails) {
         JUnitCore jUnitCore = new JUnitCore();
 
-        jUnitCore.addListener(new RunListener() {
-            @Override
-            public void testAssumptionFailure(org.junit.runner.notification.Failure failure) {
-                failureDetails.add(failureToFailure(failure));
-            }
-        });
+        jUnitCore.addListener(createAssumptionFailureListener(failureDetails));
 
         Result result = jUnitCore.run(runner);
         failures.addAll(failuresToFailures(result.getFailures()));
@@ -43,6 +40,39 @@ public class JunitRunnerHelper {
         return result;
     }
 
+    /**
+     * Same as {@link #runWithJunit(Runner, List, List)} but using the given notifier, so that the caller can register
+     * its own listeners and stop the run with {@link RunNotifier#pleaseStop()}. In that case a
+     * {@link StoppedByUserException} is thrown and the failures collected so far are available
+     */
+    public static Result runWithJunit(Runner runner, RunNotifier notifier, List<Failure> failures, List<Failure> failureDetails) {
+        Result result = new Result();
+        RunListener resultListener = result.createListener();
+        RunListener assumptionFailureListener = createAssumptionFailureListener(failureDetails);
+        notifier.addFirstListener(resultListener);
+        notifier.addListener(assumptionFailureListener);
+        try {
+            notifier.fireTestRunStarted(runner.getDescription());
+            runner.run(notifier);
+            notifier.fireTestRunFinished(result);
+        } finally {
+            notifier.removeListener(resultListener);
+            notifier.removeListener(assumptionFailureListener);
+            failures.addAll(failuresToFailures(result.getFailures()));
+        }
+
+        return result;
+    }
+
+    private static RunListener createAssumptionFailureListener(List<Failure> failureDetails) {
+        return new RunListener() {
+            @Override
+            public void testAssumptionFailure(org.junit.runner.notification.Failure failure) {
+                failureDetails.add(failureToFailure(failure));
+            }
+        };
+    }
+
     static List<org.guvnor.common.services.shared.test.Failure> failuresToFailures(List<org.junit.runner.notification.Failure> failures) {
         List<org.guvnor.common.services.shared.test.Failure> result = new ArrayList<>();
 
@@ -16,11 +16,15 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.util;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.drools.workbench.screens.scenariosimulation.backend.server.runner.ScenarioException;
 
@@ -28,12 +32,45 @@ public class ScenarioBeanUtil {
 
     private static final Map<String, Class<?>> primitiveMap = new HashMap<>();
 
+    /**
+     * Accessors are cached per class (and so per ClassLoader): ClassValue does not prevent classes to be unloaded
+     */
+    private static final ClassValue<Map<String, FieldAccessor>> fieldAccessors = new ClassValue<Map<String, FieldAccessor>>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<Map<List<String>, FieldAccessor[]>> pathAccessors = new ClassValue<Map<List<String>, FieldAccessor[]>>() {
+        @Override
+        protected Map<List<String>, FieldAccessor[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<Optional<Constructor<?>>> emptyConstructors = new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return Optional.of(constructor);
+            } catch (ReflectiveOperationException | SecurityException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
     static {
         primitiveMap.put("boolean", boolean.class);
         primitiveMap.put("int", int.class);
         primitiveMap.put("long", long.class);
         primitiveMap.put("double", double.class);
         primitiveMap.put("float", float.class);
+        primitiveMap.put("short", short.class);
+        primitiveMap.put("byte", byte.class);
+        primitiveMap.put("char", char.class);
     }
 
     private ScenarioBeanUtil() {
@@ -73,9 +110,7 @@ public class ScenarioBeanUtil {
             currentObject = navigateToObject(beanToFill, pathToProperty, true);
         }
 
-        Field last = currentObject.getClass().getDeclaredField(lastStep);
-        last.setAccessible(true);
-        last.set(currentObject, propertyValue);
+        getFieldAccessor(currentObject.getClass(), lastStep).set(currentObject, propertyValue);
     }
 
     public static Object navigateToObject(Object rootObject, List<String> steps) {
@@ -87,48 +122,90 @@ public class ScenarioBeanUtil {
             throw new ScenarioException(new StringBuilder().append("Invalid path to a property, no steps provided").toString());
         }
 
-        Class<?> currentClass = rootObject.getClass();
+        FieldAccessor[] accessors = getPathAccessors(rootObject.getClass(), steps);
         Object currentObject = rootObject;
 
-        for (String step : steps) {
-            Field declaredField = null;
-            try {
-                if (currentObject == null) {
-                    throw new ScenarioException(new StringBuilder().append("Impossible to reach field ")
-                                                        .append(step).append(" because a step is not instantiated")
-                                                        .toString());
-                }
-                declaredField = currentClass.getDeclaredField(step);
-            } catch (NoSuchFieldException e) {
-                throw new ScenarioException(new StringBuilder().append("Impossible to find field with name '")
-                                                    .append(step).append("' in class ")
-                                                    .append(currentClass.getCanonicalName()).toString(), e);
+        for (FieldAccessor accessor : accessors) {
+            if (currentObject == null) {
+                throw new ScenarioException(new StringBuilder().append("Impossible to reach field ")
+                                                    .append(accessor.getName()).append(" because a step is not instantiated")
+                                                    .toString());
             }
-            declaredField.setAccessible(true);
-            currentClass = declaredField.getType();
             try {
-                currentObject = getFieldValue(declaredField, currentObject, createIfNull);
+                currentObject = getFieldValue(accessor, currentObject, createIfNull);
             } catch (ReflectiveOperationException e) {
                 throw new ScenarioException(new StringBuilder().append("Impossible to get or create class ")
-                                                    .append(currentClass.getCanonicalName()).toString());
+                                                    .append(accessor.getType().getCanonicalName()).toString());
             }
         }
 
         return currentObject;
     }
 
-    private static Object getFieldValue(Field declaredField, Object currentObject, boolean createIfNull) throws ReflectiveOperationException {
-        Object value = declaredField.get(currentObject);
+    /**
+     * Resolve the chain of accessors of a path once per root class: the chain follows the declared type of each step
+     * @param rootClass
+     * @param steps
+     * @return
+     */
+    static FieldAccessor[] getPathAccessors(Class<?> rootClass, List<String> steps) {
+        Map<List<String>, FieldAccessor[]> accessorsByPath = pathAccessors.get(rootClass);
+        FieldAccessor[] accessors = accessorsByPath.get(steps);
+        if (accessors != null) {
+            return accessors;
+        }
+
+        accessors = new FieldAccessor[steps.size()];
+        Class<?> currentClass = rootClass;
+        for (int i = 0; i < steps.size(); i++) {
+            String step = steps.get(i);
+            try {
+                accessors[i] = getFieldAccessor(currentClass, step);
+            } catch (NoSuchFieldException e) {
+                throw new ScenarioException(new StringBuilder().append("Impossible to find field with name '")
+                                                    .append(step).append("' in class ")
+                                                    .append(currentClass.getCanonicalName()).toString(), e);
+            }
+            currentClass = accessors[i].getType();
+        }
+        // defensive copy of the key: the provided list could be a view or could be modified later
+        accessorsByPath.putIfAbsent(new ArrayList<>(steps), accessors);
+        return accessors;
+    }
+
+    static FieldAccessor getFieldAccessor(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        Map<String, FieldAccessor> accessorsByName = fieldAccessors.get(clazz);
+        FieldAccessor accessor = accessorsByName.get(fieldName);
+        if (accessor != null) {
+            return accessor;
+        }
+        Field declaredField = clazz.getDeclaredField(fieldName);
+        try {
+            accessor = FieldAccessor.of(declaredField);
+        } catch (IllegalAccessException e) {
+            throw new ScenarioException(new StringBuilder().append("Impossible to access field with name '")
+                                                .append(fieldName).append("' in class ")
+                                                .append(clazz.getCanonicalName()).toString(), e);
+        }
+        FieldAccessor existing = accessorsByName.putIfAbsent(fieldName, accessor);
+        return existing != null ? existing : accessor;
+    }
+
+    private static Object getFieldValue(FieldAccessor accessor, Object currentObject, boolean createIfNull) throws ReflectiveOperationException {
+        Object value = accessor.get(currentObject);
         if (value == null && createIfNull) {
-            value = newInstance(declaredField.getType());
-            declaredField.set(currentObject, value);
+            value = newInstance(accessor.getType());
+            accessor.set(currentObject, value);
         }
         return value;
     }
 
+    @SuppressWarnings("unchecked")
     private static <T> T newInstance(Class<T> clazz) {
         try {
-            return clazz.newInstance();
+            Constructor<?> constructor = emptyConstructors.get(clazz)
+                    .orElseThrow(() -> new NoSuchMethodException(clazz.getCanonicalName() + ".<init>()"));
+            return (T) constructor.newInstance();
         } catch (ReflectiveOperationException e) {
             throw new ScenarioException(new StringBuilder().append("Class ").append(clazz.getCanonicalName())
                                                 .append(" has no empty constructor").toString(), e);
@@ -136,37 +213,34 @@ public class ScenarioBeanUtil {
     }
 
     public static Object convertValue(String className, Object cleanValue, ClassLoader classLoader) {
-        Class<?> clazz = loadClass(className, classLoader);
+        return convertValue(loadClass(className, classLoader), cleanValue);
+    }
 
+    public static Object convertValue(Class<?> clazz, Object cleanValue) {
         // if it is not a String, it has to be an instance of the desired type
         if (!(cleanValue instanceof String)) {
             if (clazz.isInstance(cleanValue)) {
                 return cleanValue;
             }
-            if (!isPrimitive(className) && cleanValue == null) {
+            if (!clazz.isPrimitive() && cleanValue == null) {
                 return null;
             }
             throw new IllegalArgumentException(new StringBuilder().append("Object ").append(cleanValue)
-                                                       .append(" is not a String or an instance of ").append(className).toString());
+                                                       .append(" is not a String or an instance of ").append(clazz.getCanonicalName()).toString());
         }
 
         String value = (String) cleanValue;
 
+        Optional<Function<String, ?>> converter = ValueConverterRegistry.getConverter(clazz);
+        if (converter.isPresent()) {
+            return converter.get().apply(value);
+        }
+        // i.e. Object or CharSequence
         if (clazz.isAssignableFrom(String.class)) {
             return value;
-        } else if (clazz.isAssignableFrom(Boolean.class) || clazz.isAssignableFrom(boolean.class)) {
-            return parseBoolean(value);
-        } else if (clazz.isAssignableFrom(Integer.class) || clazz.isAssignableFrom(int.class)) {
-            return Integer.parseInt(value);
-        } else if (clazz.isAssignableFrom(Long.class) || clazz.isAssignableFrom(long.class)) {
-            return Long.parseLong(value);
-        } else if (clazz.isAssignableFrom(Double.class) || clazz.isAssignableFrom(double.class)) {
-            return Double.parseDouble(value);
-        } else if (clazz.isAssignableFrom(Float.class) || clazz.isAssignableFrom(float.class)) {
-            return Float.parseFloat(value);
-        }
-
-        throw new IllegalArgumentException(new StringBuilder().append("Class ").append(className)
+        }
+
+        throw new IllegalArgumentException(new StringBuilder().append("Class ").append(clazz.getCanonicalName())
                                                    .append(" is not supported").toString());
     }
 
@@ -182,17 +256,7 @@ public class ScenarioBeanUtil {
         }
     }
 
-    private static boolean isPrimitive(String className) {
+    public static boolean isPrimitive(String className) {
         return primitiveMap.containsKey(className);
     }
-
-    private static boolean parseBoolean(String value) {
-        if ("true".equalsIgnoreCase(value)) {
-            return true;
-        } else if ("false".equalsIgnoreCase(value)) {
-            return false;
-        } else {
-            throw new IllegalArgumentException("Impossible to parse as boolean " + value);
-        }
-    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Registry of the functions used to convert a raw String value to an instance of the target type.
+ * Custom converters are stored with their class (see {@link ClassValue}), so they do not prevent the classes of a
+ * module to be unloaded after a rebuild
+ */
+public class ValueConverterRegistry {
+
+    /**
+     * Converters of the JDK types. The order matters: a target type without its own converter (i.e. Object, Number or
+     * an interface) uses the first converter of a type assignable to it
+     */
+    private static final Map<Class<?>, Function<String, ?>> defaultConverters;
+
+    private static final ClassValue<AtomicReference<Function<String, ?>>> customConverters = new ClassValue<AtomicReference<Function<String, ?>>>() {
+        @Override
+        protected AtomicReference<Function<String, ?>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private static final ClassValue<Optional<Function<String, ?>>> resolvedDefaultConverters = new ClassValue<Optional<Function<String, ?>>>() {
+        @Override
+        protected Optional<Function<String, ?>> computeValue(Class<?> type) {
+            return resolveDefaultConverter(type);
+        }
+    };
+
+    static {
+        Map<Class<?>, Function<String, ?>> converters = new LinkedHashMap<>();
+        converters.put(String.class, value -> value);
+        converters.put(Boolean.class, ValueConverterRegistry::parseBoolean);
+        converters.put(boolean.class, ValueConverterRegistry::parseBoolean);
+        converters.put(Integer.class, Integer::parseInt);
+        converters.put(int.class, Integer::parseInt);
+        converters.put(Long.class, Long::parseLong);
+        converters.put(long.class, Long::parseLong);
+        converters.put(Double.class, Double::parseDouble);
+        converters.put(double.class, Double::parseDouble);
+        converters.put(Float.class, Float::parseFloat);
+        converters.put(float.class, Float::parseFloat);
+        converters.put(Short.class, Short::parseShort);
+        converters.put(short.class, Short::parseShort);
+        converters.put(Byte.class, Byte::parseByte);
+        converters.put(byte.class, Byte::parseByte);
+        converters.put(Character.class, ValueConverterRegistry::parseChar);
+        converters.put(char.class, ValueConverterRegistry::parseChar);
+        converters.put(BigDecimal.class, BigDecimal::new);
+        converters.put(BigInteger.class, BigInteger::new);
+        converters.put(LocalDate.class, LocalDate::parse);
+        converters.put(LocalDateTime.class, LocalDateTime::parse);
+        converters.put(LocalTime.class, LocalTime::parse);
+        defaultConverters = Collections.unmodifiableMap(converters);
+    }
+
+    private ValueConverterRegistry() {
+    }
+
+    /**
+     * Register (or replace) the converter used for the given type. A custom converter is used only for its exact type
+     * and takes precedence over the default ones
+     * @param clazz target type
+     * @param converter function that converts a raw String to an instance of clazz
+     */
+    public static <T> void registerConverter(Class<T> clazz, Function<String, T> converter) {
+        customConverters.get(clazz).set(converter);
+    }
+
+    /**
+     * Remove the custom converter of the given type, if any: the default one is used again
+     * @param clazz target type
+     */
+    public static void unregisterConverter(Class<?> clazz) {
+        customConverters.get(clazz).set(null);
+    }
+
+    /**
+     * Retrieve the converter for the given type: the custom one, the default one or, if none, the first default one
+     * of a type assignable to it. Enums are supported out of the box using constant names
+     * @param clazz target type
+     * @return converter if the type is supported
+     */
+    public static Optional<Function<String, ?>> getConverter(Class<?> clazz) {
+        Function<String, ?> converter = customConverters.get(clazz).get();
+        if (converter != null) {
+            return Optional.of(converter);
+        }
+        return resolvedDefaultConverters.get(clazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Function<String, ?>> resolveDefaultConverter(Class<?> clazz) {
+        Function<String, ?> converter = defaultConverters.get(clazz);
+        if (converter != null) {
+            return Optional.of(converter);
+        }
+        if (clazz.isEnum()) {
+            return Optional.of(value -> Enum.valueOf((Class<? extends Enum>) clazz, value));
+        }
+        for (Map.Entry<Class<?>, Function<String, ?>> entry : defaultConverters.entrySet()) {
+            if (clazz.isAssignableFrom(entry.getKey())) {
+                return Optional.of(entry.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return false;
+        } else {
+            throw new IllegalArgumentException("Impossible to parse as boolean " + value);
+        }
+    }
+
+    private static char parseChar(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Impossible to parse as char " + value);
+        }
+        return value.charAt(0);
+    }
+}
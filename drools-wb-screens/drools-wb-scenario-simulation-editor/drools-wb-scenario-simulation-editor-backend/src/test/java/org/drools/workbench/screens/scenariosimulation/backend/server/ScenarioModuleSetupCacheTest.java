@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScenarioModuleSetupCacheTest {
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private KieModule otherModule;
+
+    private ScenarioModuleSetupCache cache;
+
+    @Before
+    public void setup() {
+        cache = new ScenarioModuleSetupCache();
+        when(module.getRootPath()).thenReturn(PathFactory.newPath("module1", "default://master@repo/module1"));
+        when(otherModule.getRootPath()).thenReturn(PathFactory.newPath("module10", "default://master@repo/module10"));
+        cache.setUp(module);
+        cache.setUp(otherModule);
+    }
+
+    @Test
+    public void setUp() {
+        assertTrue(cache.isSetUp(module));
+        assertTrue(cache.isSetUp(otherModule));
+    }
+
+    @Test
+    public void invalidateByPom() {
+        cache.onResourceUpdated(new ResourceUpdatedEvent(newPath("module1/pom.xml"), "", null));
+
+        assertFalse(cache.isSetUp(module));
+        assertTrue(cache.isSetUp(otherModule));
+    }
+
+    @Test
+    public void invalidateByActivator() {
+        cache.onResourceBatchChanges(new ResourceBatchChangesEvent(
+                Collections.<Path, Collection<ResourceChange>>singletonMap(newPath("module10/src/test/java/com/" + ScenarioModuleSetupCache.ACTIVATOR_FILE_NAME),
+                                         Collections.emptyList()),
+                "",
+                null));
+
+        assertTrue(cache.isSetUp(module));
+        assertFalse(cache.isSetUp(otherModule));
+    }
+
+    @Test
+    public void otherResourcesDoNotInvalidate() {
+        cache.onResourceUpdated(new ResourceUpdatedEvent(newPath("module1/src/main/resources/rules.drl"), "", null));
+
+        assertTrue(cache.isSetUp(module));
+    }
+
+    private Path newPath(final String relativePath) {
+        return PathFactory.newPath(relativePath.substring(relativePath.lastIndexOf('/') + 1),
+                                   "default://master@repo/" + relativePath);
+    }
+}
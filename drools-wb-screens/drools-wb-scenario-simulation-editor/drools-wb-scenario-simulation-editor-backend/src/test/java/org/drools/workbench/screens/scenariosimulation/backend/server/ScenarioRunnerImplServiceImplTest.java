@@ -15,27 +15,53 @@
  */
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.CachedSimulationResult;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.ScenarioSimulationImpactAnalyzer;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultCache;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultsRecord;
+import org.drools.workbench.screens.scenariosimulation.backend.server.impact.SimulationResultsRecordStore;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
 import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationFileResult;
+import org.guvnor.common.services.shared.test.Failure;
 import org.guvnor.common.services.shared.test.TestResultMessage;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.Description;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
 import org.kie.api.runtime.KieContainer;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.backend.project.ModuleClassLoaderHelper;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.mocks.EventSourceMock;
+import org.uberfire.rpc.SessionInfo;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +71,9 @@ public class ScenarioRunnerImplServiceImplTest {
     @Mock
     private EventSourceMock<TestResultMessage> defaultTestResultMessageEvent;
 
+    @Mock
+    private EventSourceMock<ScenarioRunEvent> scenarioRunEvent;
+
     @Mock
     private Runner runnerMock;
 
@@ -60,15 +89,42 @@ public class ScenarioRunnerImplServiceImplTest {
     @Mock
     private KieContainer kieContainer;
 
+    private ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
     @Mock
     private ModuleClassLoaderHelper classLoaderHelper;
 
+    @Mock
+    private ScenarioSimulationLoader simulationLoader;
+
+    @Mock
+    private KieModule kieModule;
+
+    @Mock
+    private ScenarioSimulationImpactAnalyzer impactAnalyzer;
+
+    @Mock
+    private SimulationResultCache resultCache;
+
+    @Mock
+    private SimulationResultsRecordStore resultsRecordStore;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
     @InjectMocks
     private ScenarioRunnerServiceImpl scenarioRunnerService = new ScenarioRunnerServiceImpl();
 
     @Before
     public void setup() {
         when(classLoaderHelper.getModuleClassLoader(any())).thenReturn(ClassLoader.getSystemClassLoader());
+        when(moduleService.resolveModule(any())).thenReturn(kieModule);
+        when(buildInfoService.getBuildInfo(any())).thenReturn(buildInfo);
+        when(buildInfo.getKieContainer()).thenReturn(kieContainer);
+        when(kieContainer.getClassLoader()).thenReturn(classLoader);
+        when(resultsRecordStore.load(any())).thenReturn(new SimulationResultsRecord(null));
+        when(resultCache.get(any())).thenReturn(Optional.empty());
+        when(sessionInfo.getId()).thenReturn("sessionId");
     }
 
     @Test
@@ -78,10 +134,109 @@ public class ScenarioRunnerImplServiceImplTest {
         verify(defaultTestResultMessageEvent).fire(any());
     }
 
+    @Test
+    public void runAllSimulations() throws Exception {
+        final Path simulationPath = mock(Path.class);
+        when(simulationPath.getFileName()).thenReturn("broken.scesim");
+        when(simulationLoader.loadSimulationPaths(any())).thenReturn(Collections.singletonList(simulationPath));
+        when(simulationLoader.load(simulationPath)).thenThrow(new IllegalStateException("Broken file"));
+
+        List<SimulationFileResult> results = scenarioRunnerService.runAllSimulations("test", mock(Path.class));
+
+        assertEquals(1, results.size());
+        assertEquals(simulationPath, results.get(0).getPath());
+        assertEquals(1, results.get(0).getFailureCount());
+        assertFalse(results.get(0).isSuccessful());
+        verify(buildInfoService, times(1)).getBuildInfo(kieModule);
+        verify(defaultTestResultMessageEvent).fire(any());
+    }
+
+    @Test
+    public void runImpactedSimulations() throws Exception {
+        final Path unchangedPath = mock(Path.class);
+        when(unchangedPath.toURI()).thenReturn("default://master@repo/module/unchanged.scesim");
+        final Path changedPath = mock(Path.class);
+        when(changedPath.toURI()).thenReturn("default://master@repo/module/changed.scesim");
+        when(simulationLoader.loadSimulationPaths(any())).thenReturn(Arrays.asList(unchangedPath, changedPath));
+        final ScenarioSimulationModel model = mock(ScenarioSimulationModel.class);
+        when(model.getSimulation()).thenReturn(mock(Simulation.class));
+        when(simulationLoader.load(any())).thenReturn(model);
+        when(impactAnalyzer.getBuildFingerprint(kieModule)).thenReturn("build");
+        when(impactAnalyzer.getFingerprint(kieModule, classLoader, unchangedPath, model)).thenReturn("unchanged");
+        when(impactAnalyzer.getFingerprint(kieModule, classLoader, changedPath, model)).thenReturn("changed");
+        final SimulationResultsRecord lastResults = new SimulationResultsRecord("build");
+        lastResults.addSuccess(unchangedPath.toURI(), "unchanged");
+        lastResults.addSuccess(changedPath.toURI(), "changedBefore");
+        when(resultsRecordStore.load(kieModule)).thenReturn(lastResults);
+        scenarioRunnerService.setRunnerSupplier((kieContainer, simulation) -> emptyRunner());
+
+        List<SimulationFileResult> results = scenarioRunnerService.runImpactedSimulations("test", mock(Path.class));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSkipped());
+        assertEquals(ScenarioRunnerServiceImpl.SKIP_REASON, results.get(0).getSkipReason());
+        assertFalse(results.get(1).isSkipped());
+        assertTrue(results.get(1).isSuccessful());
+
+        ArgumentCaptor<SimulationResultsRecord> recordCaptor = ArgumentCaptor.forClass(SimulationResultsRecord.class);
+        verify(resultsRecordStore).store(eq(kieModule), recordCaptor.capture());
+        assertTrue(recordCaptor.getValue().isUnchangedSuccess("build", unchangedPath.toURI(), "unchanged"));
+        assertTrue(recordCaptor.getValue().isUnchangedSuccess("build", changedPath.toURI(), "changed"));
+        verify(defaultTestResultMessageEvent).fire(any());
+
+        // a full run does not skip anything
+        results = scenarioRunnerService.runAllSimulations("test", mock(Path.class));
+        assertFalse(results.get(0).isSkipped());
+        assertFalse(results.get(1).isSkipped());
+    }
+
+    @Test
+    public void runAllSimulationsCached() throws Exception {
+        final Path cachedPath = mock(Path.class);
+        when(cachedPath.toURI()).thenReturn("default://master@repo/module/cached.scesim");
+        final Path newPath = mock(Path.class);
+        when(newPath.toURI()).thenReturn("default://master@repo/module/new.scesim");
+        when(simulationLoader.loadSimulationPaths(any())).thenReturn(Arrays.asList(cachedPath, newPath));
+        final ScenarioSimulationModel model = mock(ScenarioSimulationModel.class);
+        when(model.getSimulation()).thenReturn(mock(Simulation.class));
+        when(simulationLoader.load(any())).thenReturn(model);
+        when(impactAnalyzer.getBuildFingerprint(kieModule)).thenReturn("build");
+        when(impactAnalyzer.getRuleBaseFingerprint(any())).thenReturn("ruleBase");
+        when(impactAnalyzer.getFingerprint(kieModule, classLoader, cachedPath, model)).thenReturn("cached");
+        when(impactAnalyzer.getFingerprint(kieModule, classLoader, newPath, model)).thenReturn("new");
+        when(impactAnalyzer.getCacheKey("ruleBase", "build", "cached")).thenReturn("cachedKey");
+        when(impactAnalyzer.getCacheKey("ruleBase", "build", "new")).thenReturn("newKey");
+        final CachedSimulationResult cachedResult = new CachedSimulationResult(
+                3, 10, Collections.singletonList(new Failure("Scenario 1", "Wrong value")));
+        when(resultCache.get("cachedKey")).thenReturn(Optional.of(cachedResult));
+        scenarioRunnerService.setRunnerSupplier((kieContainer, simulation) -> emptyRunner());
+
+        List<SimulationFileResult> results = scenarioRunnerService.runAllSimulations("test", mock(Path.class));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isCached());
+        assertEquals(3, results.get(0).getRunCount());
+        assertEquals(1, results.get(0).getFailureCount());
+        assertFalse(results.get(1).isCached());
+        assertTrue(results.get(1).isSuccessful());
+        verify(resultCache, never()).put(eq("cachedKey"), any());
+        verify(resultCache).put(eq("newKey"), any());
+        ArgumentCaptor<TestResultMessage> messageCaptor = ArgumentCaptor.forClass(TestResultMessage.class);
+        verify(defaultTestResultMessageEvent).fire(messageCaptor.capture());
+        assertEquals(3, messageCaptor.getValue().getRunCount());
+        assertEquals(1, messageCaptor.getValue().getFailures().size());
+        // the cached verdict reports the time of the run it comes from
+        assertTrue(messageCaptor.getValue().getRunTime() >= 10);
+
+        // forcing the rerun ignores the cached verdict and replaces it
+        results = scenarioRunnerService.runAllSimulations("test", mock(Path.class), true);
+        assertFalse(results.get(0).isCached());
+        assertTrue(results.get(0).isSuccessful());
+        verify(resultCache).put(eq("cachedKey"), any());
+    }
+
     @Test
     public void runTest() throws Exception {
-        when(buildInfoService.getBuildInfo(any())).thenReturn(buildInfo);
-        when(buildInfo.getKieContainer()).thenReturn(kieContainer);
         final ScenarioSimulationModel scenarioSimulationModel = mock(ScenarioSimulationModel.class);
         when(scenarioSimulationModel.getSimulation()).thenReturn(mock(Simulation.class));
         scenarioRunnerService.runTest("test", mock(Path.class), scenarioSimulationModel);
@@ -100,4 +255,66 @@ public class ScenarioRunnerImplServiceImplTest {
         verify(defaultTestResultMessageEvent, never()).fire(any());
         verify(customTestResultEvent).fire(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void runTestAsync() throws Exception {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        scenarioRunnerService.setExecutorService(executorService);
+        scenarioRunnerService.setRunnerSupplier((kieContainer, simulation) -> runnerMock);
+        final ScenarioSimulationModel scenarioSimulationModel = mock(ScenarioSimulationModel.class);
+        when(scenarioSimulationModel.getSimulation()).thenReturn(mock(Simulation.class));
+
+        String runId = scenarioRunnerService.runTestAsync("test", mock(Path.class), scenarioSimulationModel);
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        verify(defaultTestResultMessageEvent).fire(any());
+        ArgumentCaptor<ScenarioRunEvent> eventCaptor = ArgumentCaptor.forClass(ScenarioRunEvent.class);
+        verify(scenarioRunEvent).fire(eventCaptor.capture());
+        assertEquals(runId, eventCaptor.getValue().getRunId());
+        assertEquals(ScenarioRunEvent.Status.COMPLETED, eventCaptor.getValue().getStatus());
+        assertEquals("sessionId", eventCaptor.getValue().getSessionId());
+        // the run is finished
+        assertFalse(scenarioRunnerService.cancelRun(runId));
+    }
+
+    private Runner emptyRunner() {
+        return new Runner() {
+            @Override
+            public Description getDescription() {
+                return Description.createSuiteDescription("Test");
+            }
+
+            @Override
+            public void run(RunNotifier notifier) {
+            }
+        };
+    }
+
+    @Test
+    public void cancelRun() throws Exception {
+        scenarioRunnerService.setRunnerSupplier((kieContainer, simulation) -> new Runner() {
+            @Override
+            public Description getDescription() {
+                return Description.createSuiteDescription("Test");
+            }
+
+            @Override
+            public void run(RunNotifier notifier) {
+                notifier.fireTestStarted(Description.createTestDescription(getClass(), "Scenario"));
+            }
+        });
+        final ScenarioSimulationModel scenarioSimulationModel = mock(ScenarioSimulationModel.class);
+        when(scenarioSimulationModel.getSimulation()).thenReturn(mock(Simulation.class));
+        final RunNotifier notifier = new RunNotifier();
+        notifier.pleaseStop();
+
+        scenarioRunnerService.runTestAndNotify("runId", "sessionId", "test", mock(Path.class), scenarioSimulationModel, notifier);
+
+        verify(defaultTestResultMessageEvent).fire(any());
+        ArgumentCaptor<ScenarioRunEvent> eventCaptor = ArgumentCaptor.forClass(ScenarioRunEvent.class);
+        verify(scenarioRunEvent).fire(eventCaptor.capture());
+        assertEquals(ScenarioRunEvent.Status.CANCELLED, eventCaptor.getValue().getStatus());
+        assertFalse(scenarioRunnerService.cancelRun("unknown"));
+    }
+}
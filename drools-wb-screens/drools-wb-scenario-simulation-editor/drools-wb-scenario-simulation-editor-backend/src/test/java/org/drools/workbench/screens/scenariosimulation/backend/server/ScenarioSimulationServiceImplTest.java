@@ -53,8 +53,10 @@ import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.options.CommentedOption;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
+import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.OpenOption;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -62,6 +64,7 @@ import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -128,6 +131,9 @@ public class ScenarioSimulationServiceImplTest {
     @Mock
     private Package mockedPackage;
 
+    @Mock
+    private ScenarioModuleSetupCache moduleSetupCache;
+
     @InjectMocks
     private ScenarioSimulationServiceImpl service = new ScenarioSimulationServiceImpl(mock(SafeSessionInfo.class));
 
@@ -223,10 +229,13 @@ public class ScenarioSimulationServiceImplTest {
                                              "Commit comment");
 
         assertNotNull(returnPath);
+        verify(ioService).startBatch(any(FileSystem.class));
         verify(ioService).write(any(org.uberfire.java.nio.file.Path.class),
                                 anyString(),
                                 anyMap(),
                                 any(CommentedOption.class));
+        verify(ioService).endBatch();
+        verify(moduleSetupCache).setUp(module);
     }
 
     @Test
@@ -243,6 +252,8 @@ public class ScenarioSimulationServiceImplTest {
         verify(ioService, times(2)).write(any(org.uberfire.java.nio.file.Path.class),
                                           anyString(),
                                           any(CommentedOption.class));
+        verify(ioService).startBatch(any(FileSystem.class));
+        verify(ioService).endBatch();
     }
 
     @Test(expected = FileAlreadyExistsException.class)
@@ -269,6 +280,23 @@ public class ScenarioSimulationServiceImplTest {
                                               model);
     }
 
+    @Test
+    public void runScenarioAsync() throws Exception {
+        doReturn("test user").when(user).getIdentifier();
+        doReturn("runId").when(scenarioRunnerService).runTestAsync(any(), any(), any());
+
+        final Path path = mock(Path.class);
+        final ScenarioSimulationModel model = new ScenarioSimulationModel();
+
+        assertEquals("runId", service.runScenarioAsync(path, model));
+        verify(scenarioRunnerService).runTestAsync("test user",
+                                                   path,
+                                                   model);
+
+        service.cancelRunScenario("runId");
+        verify(scenarioRunnerService).cancelRun("runId");
+    }
+
     @Test
     public void createActivatorIfNotExistTest() {
         service.createActivatorIfNotExist(path);
@@ -284,6 +312,23 @@ public class ScenarioSimulationServiceImplTest {
                 .hasMessage("Impossible to retrieve package information from path: file:///contextpath");
     }
 
+    @Test
+    public void createActivatorIfNotExistAlreadySetUp() {
+        when(moduleSetupCache.isSetUp(module)).thenReturn(true);
+
+        service.createActivatorIfNotExist(path);
+
+        verify(kieModuleService, never()).resolvePackages(any(KieModule.class));
+        verify(ioService, never())
+                .write(any(org.uberfire.java.nio.file.Path.class),
+                       anyString(),
+                       any(OpenOption.class));
+        verify(pomService, never()).save(any(Path.class),
+                                         any(POM.class),
+                                         any(Metadata.class),
+                                         anyString());
+    }
+
     @Test
     public void ensureDependenciesTest() {
         service.ensureDependencies(module);
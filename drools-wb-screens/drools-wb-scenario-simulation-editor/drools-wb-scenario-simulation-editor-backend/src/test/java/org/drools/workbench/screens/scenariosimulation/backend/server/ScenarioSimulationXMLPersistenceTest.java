@@ -15,11 +15,30 @@
  */
 package org.drools.workbench.screens.scenariosimulation.backend.server;
 
+import java.io.StringReader;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.DomDriver;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionElement;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingValue;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
 import org.junit.Test;
+import org.kie.soup.commons.xstream.XStreamUtils;
 import org.kie.soup.project.datamodel.imports.Import;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class ScenarioSimulationXMLPersistenceTest {
@@ -40,4 +59,112 @@ public class ScenarioSimulationXMLPersistenceTest {
         final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(new ScenarioSimulationModel());
         assertTrue(xml.startsWith("<ScenarioSimulationModel version=\"1.0\">"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void marshalSameAsDomDriver() throws Exception {
+        final ScenarioSimulationModel simulationModel = createModel(3);
+
+        final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(simulationModel);
+
+        assertEquals(createDomXStream().toXML(simulationModel), xml);
+        // a file loaded and saved again does not change
+        assertEquals(xml, ScenarioSimulationXMLPersistence.getInstance().marshal(
+                ScenarioSimulationXMLPersistence.getInstance().unmarshal(new StringReader(xml))));
+    }
+
+    @Test
+    public void unmarshalHeader() throws Exception {
+        final ScenarioSimulationModel simulationModel = createModel(3);
+        final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(simulationModel);
+
+        final ScenarioSimulationModel header = ScenarioSimulationXMLPersistence.getInstance().unmarshalHeader(xml);
+
+        assertEquals(ScenarioSimulationXMLPersistence.CURRENT_VERSION, header.getVersion());
+        assertTrue(header.getSimulation().getUnmodifiableScenarios().isEmpty());
+        final SimulationDescriptor simulationDescriptor = header.getSimulation().getSimulationDescriptor();
+        assertEquals(simulationModel.getSimulation().getSimulationDescriptor().getUnmodifiableFactMappings().size(),
+                     simulationDescriptor.getUnmodifiableFactMappings().size());
+        assertEquals("Person", simulationDescriptor.getFactMappingByIndex(4).getFactAlias());
+        assertEquals(1, header.getImports().getImports().size());
+        assertEquals("org.test.Test", header.getImports().getImports().get(0).getType());
+    }
+
+    @Test
+    public void unmarshalEmptyReader() throws Exception {
+        final ScenarioSimulationModel empty = ScenarioSimulationXMLPersistence.getInstance().unmarshal(new StringReader(""));
+        assertNotNull(empty.getSimulation());
+        final ScenarioSimulationModel blank = ScenarioSimulationXMLPersistence.getInstance().unmarshal(new StringReader(" \n "));
+        assertNotNull(blank.getSimulation());
+        final ScenarioSimulationModel header = ScenarioSimulationXMLPersistence.getInstance().unmarshalHeader(new StringReader(""));
+        assertNotNull(header.getSimulation());
+    }
+
+    @Test
+    public void unmarshalReaderWithLeadingBlanks() throws Exception {
+        final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(createModel(2));
+        final ScenarioSimulationModel model = ScenarioSimulationXMLPersistence.getInstance().unmarshal(new StringReader("\n" + xml));
+        // the scenario created with the model and the two added ones
+        assertEquals(3, model.getSimulation().getUnmodifiableScenarios().size());
+    }
+
+    @Test
+    public void migrate() throws Exception {
+        final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(createModel(1));
+
+        final ScenarioSimulationModel unversioned = ScenarioSimulationXMLPersistence.getInstance()
+                .unmarshal(xml.replace(" version=\"1.0\"", ""));
+        assertEquals(ScenarioSimulationXMLPersistence.CURRENT_VERSION, unversioned.getVersion());
+        assertEquals(1, unversioned.getSimulation().getUnmodifiableScenarios().size());
+
+        assertThatThrownBy(() -> ScenarioSimulationXMLPersistence.getInstance().unmarshal(xml.replace(" version=\"1.0\"", " version=\"9.9\"")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Version 9.9 of scenario simulation file is not supported");
+    }
+
+    @Test
+    public void unmarshalLinkedListScenarios() throws Exception {
+        final String xml = ScenarioSimulationXMLPersistence.getInstance().marshal(createModel(2));
+        assertFalse(xml.contains("linked-list"));
+
+        final ScenarioSimulationModel legacy = ScenarioSimulationXMLPersistence.getInstance()
+                .unmarshal(xml.replace("<scenarios>", "<scenarios class=\"linked-list\">"));
+        final List<Scenario> scenarios = legacy.getSimulation().getUnmodifiableScenarios();
+        assertEquals(2, scenarios.size());
+        assertEquals("Scenario 1", scenarios.get(1).getDescription());
+        assertTrue(scenarios instanceof RandomAccess);
+        assertEquals(xml, ScenarioSimulationXMLPersistence.getInstance().marshal(legacy));
+    }
+
+    private ScenarioSimulationModel createModel(int scenarios) {
+        final ScenarioSimulationModel simulationModel = new ScenarioSimulationModel();
+        simulationModel.getImports().addImport(new Import("org.test.Test"));
+        final Simulation simulation = simulationModel.getSimulation();
+        final FactIdentifier factIdentifier = FactIdentifier.create("Person", "org.test.Person");
+        final ExpressionIdentifier expressionIdentifier = ExpressionIdentifier.create("0|3", FactMappingType.GIVEN);
+        final FactMapping factMapping = simulation.getSimulationDescriptor().addFactMapping("Person", factIdentifier, expressionIdentifier);
+        factMapping.addExpressionElement("Person", "org.test.Person");
+        factMapping.addExpressionElement("name", "java.lang.String");
+        for (int i = 0; i < scenarios; i++) {
+            final Scenario scenario = simulation.addScenario();
+            scenario.setDescription("Scenario " + i);
+            scenario.addMappingValue(factIdentifier, expressionIdentifier, "Name " + i);
+        }
+        return simulationModel;
+    }
+
+    private XStream createDomXStream() {
+        final XStream xStream = XStreamUtils.createTrustingXStream(new DomDriver());
+        xStream.autodetectAnnotations(true);
+        xStream.alias("ExpressionElement", ExpressionElement.class);
+        xStream.alias("ExpressionIdentifier", ExpressionIdentifier.class);
+        xStream.alias("FactIdentifier", FactIdentifier.class);
+        xStream.alias("FactMapping", FactMapping.class);
+        xStream.alias("FactMappingValue", FactMappingValue.class);
+        xStream.alias("Scenario", Scenario.class);
+        xStream.alias("ScenarioSimulationModel", ScenarioSimulationModel.class);
+        xStream.alias("Simulation", Simulation.class);
+        xStream.alias("SimulationDescriptor", SimulationDescriptor.class);
+        xStream.alias("Import", Import.class);
+        return xStream;
+    }
+}
@@ -19,7 +19,10 @@ package org.drools.workbench.screens.scenariosimulation.backend.server.expressio
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class BaseExpressionEvaluatorTest {
 
@@ -40,4 +43,15 @@ public class BaseExpressionEvaluatorTest {
 
         assertNull(baseExpressionEvaluator.getValueForGiven(String.class.getCanonicalName(), null, classLoader));
     }
+
+    @Test
+    public void getCompiledExpressionTest() {
+        BaseExpressionEvaluator baseExpressionEvaluator = new BaseExpressionEvaluator(classLoader);
+
+        CompiledExpression compiledExpression = baseExpressionEvaluator.getCompiledExpression("<> 1");
+
+        assertSame(compiledExpression, baseExpressionEvaluator.getCompiledExpression("<> 1"));
+        assertTrue(baseExpressionEvaluator.evaluate("<> 1", 2));
+        assertFalse(baseExpressionEvaluator.evaluate("<> 1", 1));
+    }
 }
@@ -124,6 +124,21 @@ public class BaseExpressionOperatorTest {
         assertTrue(BaseExpressionOperator.LIST_OF_CONDITION.eval("=1; ![2, 3]; <10", 1, classLoader));
     }
 
+    @Test
+    public void compileExpressionTest() {
+        CompiledExpression compiledExpression = BaseExpressionOperator.compileExpression("![1, 2]; <10");
+
+        assertTrue(compiledExpression.evaluate(3));
+        assertFalse(compiledExpression.evaluate(2));
+        assertFalse(compiledExpression.evaluate(10));
+        assertTrue(compiledExpression.evaluate(3L));
+
+        assertEquals("Test", BaseExpressionOperator.compileExpression("= Test").getValueForGiven(String.class));
+        assertThatThrownBy(() -> BaseExpressionOperator.compileExpression("> 1").getValueForGiven(Integer.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("This operator cannot be used into a Given clause");
+    }
+
     private class MyTestClass {
 
     }
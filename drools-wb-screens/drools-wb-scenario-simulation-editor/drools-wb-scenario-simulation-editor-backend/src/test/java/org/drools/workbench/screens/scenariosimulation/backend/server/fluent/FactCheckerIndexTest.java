@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.ScenarioResult;
+import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.SingleFactValueResult;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class FactCheckerIndexTest {
+
+    private final Function<Object, SingleFactValueResult> alwaysMatchFunction = SingleFactValueResult::createResult;
+
+    @Test
+    public void getApplicableFiltersTest() {
+        FactCheckerIndex factCheckerIndex = new FactCheckerIndex(asList(
+                asList(new FactCheckerHandle(String.class, alwaysMatchFunction, mock(ScenarioResult.class))),
+                asList(new FactCheckerHandle(CharSequence.class, alwaysMatchFunction, mock(ScenarioResult.class))),
+                asList(new FactCheckerHandle(Integer.class, alwaysMatchFunction, mock(ScenarioResult.class))),
+                Collections.emptyList()));
+
+        assertEquals(3, factCheckerIndex.getFilters().size());
+
+        // supertypes are matched too
+        List<ConditionFilter> stringFilters = factCheckerIndex.getApplicableFilters(String.class);
+        assertEquals(2, stringFilters.size());
+        assertEquals(String.class, stringFilters.get(0).getFactToCheck().get(0).getClazz());
+        assertEquals(CharSequence.class, stringFilters.get(1).getFactToCheck().get(0).getClazz());
+
+        assertEquals(1, factCheckerIndex.getApplicableFilters(StringBuilder.class).size());
+        assertEquals(1, factCheckerIndex.getApplicableFilters(Integer.class).size());
+        assertTrue(factCheckerIndex.getApplicableFilters(Long.class).isEmpty());
+
+        // resolved once for each class
+        assertSame(stringFilters, factCheckerIndex.getApplicableFilters(String.class));
+    }
+}
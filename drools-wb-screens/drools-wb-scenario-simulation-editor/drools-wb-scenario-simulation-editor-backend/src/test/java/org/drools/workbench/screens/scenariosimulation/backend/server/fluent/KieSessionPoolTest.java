@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.Properties;
+
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.BeliefSystemTypeOption;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.drools.workbench.screens.scenariosimulation.backend.server.fluent.KieSessionPool.PSEUDO_CLOCK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieSessionPoolTest {
+
+    @Mock
+    private KieContainer kieContainer;
+
+    @Mock
+    private KieSessionConfiguration containerConfiguration;
+
+    @Mock
+    private KieSessionConfiguration kieSessionConfiguration;
+
+    private Properties copiedProperties;
+
+    private KieSessionPool kieSessionPool;
+
+    @Before
+    public void setup() {
+        kieSessionPool = new KieSessionPool(1, 1) {
+            @Override
+            protected KieSessionConfiguration newKieSessionConfiguration(KieContainer kieContainer, Properties properties) {
+                copiedProperties = properties;
+                return kieSessionConfiguration;
+            }
+        };
+        when(kieContainer.getKieSessionConfiguration()).thenReturn(containerConfiguration);
+        when(containerConfiguration.getProperty(BeliefSystemTypeOption.PROPERTY_NAME)).thenReturn("simple");
+        when(kieContainer.newKieSession(any(KieSessionConfiguration.class)))
+                .thenAnswer(invocation -> mock(StatefulKnowledgeSessionImpl.class));
+    }
+
+    @Test
+    public void borrowSessionTest() {
+        KieSession kieSession = kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK);
+        verify(kieSessionConfiguration, times(1)).setOption(any());
+        verify(containerConfiguration, never()).setOption(any());
+        verify(kieContainer, times(1)).newKieSession(kieSessionConfiguration);
+        assertEquals("simple", copiedProperties.getProperty(BeliefSystemTypeOption.PROPERTY_NAME));
+        assertNull(copiedProperties.getProperty(ClockTypeOption.PROPERTY_NAME));
+
+        kieSessionPool.releaseSession(kieContainer, null, PSEUDO_CLOCK, kieSession);
+        verify((StatefulKnowledgeSessionImpl) kieSession, times(1)).reset();
+        verify(kieSession, never()).dispose();
+        assertEquals(1, kieSessionPool.getIdleSessions(kieContainer, null, PSEUDO_CLOCK));
+
+        assertSame(kieSession, kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK));
+        assertEquals(0, kieSessionPool.getIdleSessions(kieContainer, null, PSEUDO_CLOCK));
+        verify(kieContainer, times(1)).newKieSession(kieSessionConfiguration);
+
+        assertNotSame(kieSession, kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK));
+        verify(kieContainer, times(2)).newKieSession(kieSessionConfiguration);
+    }
+
+    @Test
+    public void releaseSessionTest() {
+        KieSession first = kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK);
+        KieSession second = kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK);
+
+        kieSessionPool.releaseSession(kieContainer, null, PSEUDO_CLOCK, first);
+        // max idle reached
+        kieSessionPool.releaseSession(kieContainer, null, PSEUDO_CLOCK, second);
+        verify(first, never()).dispose();
+        verify(second, times(1)).dispose();
+
+        // not resettable session
+        KieSession notResettable = mock(KieSession.class);
+        kieSessionPool.releaseSession(kieContainer, "session", PSEUDO_CLOCK, notResettable);
+        verify(notResettable, times(1)).dispose();
+
+        // reset does not remove all the facts
+        KieSession dirty = mock(StatefulKnowledgeSessionImpl.class);
+        when(dirty.getFactCount()).thenReturn(1L);
+        kieSessionPool.releaseSession(kieContainer, "session", PSEUDO_CLOCK, dirty);
+        verify(dirty, times(1)).dispose();
+        assertEquals(0, kieSessionPool.getIdleSessions(kieContainer, "session", PSEUDO_CLOCK));
+    }
+
+    @Test
+    public void evictionTest() {
+        KieSession kieSession = kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK);
+        kieSessionPool.releaseSession(kieContainer, null, PSEUDO_CLOCK, kieSession);
+
+        // only one container/session/clock is allowed so idle sessions of the previous one are disposed
+        kieSessionPool.getIdleSessions(mock(KieContainer.class), null, PSEUDO_CLOCK);
+        verify(kieSession, times(1)).dispose();
+        assertEquals(0, kieSessionPool.getIdleSessions(kieContainer, null, PSEUDO_CLOCK));
+    }
+
+    @Test
+    public void clearTest() {
+        KieSession kieSession = kieSessionPool.borrowSession(kieContainer, null, PSEUDO_CLOCK);
+        kieSessionPool.releaseSession(kieContainer, null, PSEUDO_CLOCK, kieSession);
+
+        kieSessionPool.clear();
+        verify(kieSession, times(1)).dispose();
+        assertEquals(0, kieSessionPool.getIdleSessions(kieContainer, null, PSEUDO_CLOCK));
+    }
+}
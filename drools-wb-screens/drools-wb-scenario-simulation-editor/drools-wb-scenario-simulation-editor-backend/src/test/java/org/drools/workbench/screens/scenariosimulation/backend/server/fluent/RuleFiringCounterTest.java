@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.runtime.rule.Match;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RuleFiringCounterTest {
+
+    @Test
+    public void countFirings() {
+        RuleFiringCounter ruleFiringCounter = new RuleFiringCounter();
+        for (String ruleName : Arrays.asList("rule B", "rule A", "rule C", "rule A", "rule B", "rule A")) {
+            ruleFiringCounter.afterMatchFired(createEvent(ruleName));
+        }
+
+        assertEquals(6, ruleFiringCounter.getFirings());
+
+        Map<String, Integer> topRules = ruleFiringCounter.getTopRules(2);
+        assertEquals(Arrays.asList("rule A", "rule B"), new ArrayList<>(topRules.keySet()));
+        assertEquals(Integer.valueOf(3), topRules.get("rule A"));
+        assertEquals(Integer.valueOf(2), topRules.get("rule B"));
+
+        assertEquals(3, ruleFiringCounter.getTopRules(10).size());
+    }
+
+    private AfterMatchFiredEvent createEvent(String ruleName) {
+        Rule rule = mock(Rule.class);
+        when(rule.getName()).thenReturn(ruleName);
+        Match match = mock(Match.class);
+        when(match.getRule()).thenReturn(rule);
+        AfterMatchFiredEvent event = mock(AfterMatchFiredEvent.class);
+        when(event.getMatch()).thenReturn(match);
+        return event;
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.fluent;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.function.Function;
 
@@ -27,13 +28,13 @@ import org.drools.workbench.screens.scenariosimulation.model.FactMappingValue;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.api.runtime.KieSession;
-import org.kie.api.runtime.ObjectFilter;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static java.util.Arrays.asList;
-import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -60,17 +61,44 @@ public class ValidateFactCommandTest {
         RegistryContext registryContext = new RequestContextImpl();
         registryContext.register(KieSession.class, kieSession);
 
-        when(kieSession.getObjects(any(ObjectFilter.class))).thenReturn(Collections.singleton(null));
+        when(kieSession.getObjects()).thenReturn((Collection) Collections.singleton("String"));
         validateFactCommand.execute(registryContext);
         verify(scenarioResult, times(1)).setResult(anyBoolean());
 
         reset(scenarioResult);
 
         boolean expectedResult = true;
-        when(kieSession.getObjects(any(ObjectFilter.class))).thenReturn(Collections.emptyList());
+        when(kieSession.getObjects()).thenReturn(Collections.emptyList());
         when(scenarioResult.getFactMappingValue()).thenReturn(factMappingValue);
         when(factMappingValue.isError()).thenReturn(expectedResult);
         validateFactCommand.execute(registryContext);
         verify(scenarioResult, times(0)).setResult(expectedResult);
     }
+
+    @Test
+    public void executeIndexedTest() {
+        Function<Object, SingleFactValueResult> alwaysMatchFunction = SingleFactValueResult::createResult;
+        Function<Object, SingleFactValueResult> notCalledFunction = object -> {
+            throw new IllegalStateException("Only checks of the class of the object have to be applied");
+        };
+        ScenarioResult numberResult = mock(ScenarioResult.class);
+        ScenarioResult missingResult = mock(ScenarioResult.class);
+        when(missingResult.getFactMappingValue()).thenReturn(factMappingValue);
+
+        FactCheckerIndex factCheckerIndex = new FactCheckerIndex(asList(
+                asList(new FactCheckerHandle(CharSequence.class, alwaysMatchFunction, scenarioResult)),
+                asList(new FactCheckerHandle(Number.class, alwaysMatchFunction, numberResult)),
+                asList(new FactCheckerHandle(Boolean.class, notCalledFunction, missingResult))));
+
+        RegistryContext registryContext = new RequestContextImpl();
+        registryContext.register(KieSession.class, kieSession);
+        when(kieSession.getObjects()).thenReturn((Collection) asList("String", 1));
+
+        new ValidateFactCommand(factCheckerIndex).execute(registryContext);
+
+        verify(scenarioResult, times(1)).setResult(true);
+        verify(numberResult, times(1)).setResult(true);
+        verify(missingResult, never()).setResult(anyBoolean());
+        verify(factMappingValue, times(1)).setError(true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.SortedSet;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScenarioSimulationImpactAnalyzerTest {
+
+    private static final String ROOT_URI = "default://master@repo/module/";
+
+    @Mock
+    private RefactoringQueryService queryService;
+
+    @Mock
+    private ScenarioSimulationResourceTypeDefinition resourceTypeDefinition;
+
+    @Mock
+    private KieModule kieModule;
+
+    @Mock
+    private IOService ioService;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @InjectMocks
+    private ScenarioSimulationImpactAnalyzer impactAnalyzer = new ScenarioSimulationImpactAnalyzer();
+
+    @Before
+    public void setup() {
+        Path rootPath = mock(Path.class);
+        when(rootPath.toURI()).thenReturn(ROOT_URI);
+        when(kieModule.getRootPath()).thenReturn(rootPath);
+    }
+
+    @Test
+    public void getReferencedTypes() {
+        ScenarioSimulationModel model = new ScenarioSimulationModel();
+        model.getSimulation().getSimulationDescriptor()
+                .addFactMapping(FactIdentifier.create("Person", "com.Person"), ExpressionIdentifier.create("1", FactMappingType.GIVEN));
+        model.getSimulation().getSimulationDescriptor()
+                .addFactMapping(FactIdentifier.create("Car", "com.Car"), ExpressionIdentifier.create("2", FactMappingType.EXPECT));
+
+        // index, description and empty columns are ignored
+        assertEquals(new HashSet<>(Arrays.asList("com.Car", "com.Person")), impactAnalyzer.getReferencedTypes(model, null));
+    }
+
+    @Test
+    public void getReferencedTypesAlongExpressions() {
+        ScenarioSimulationModel model = new ScenarioSimulationModel();
+        FactMapping street = model.getSimulation().getSimulationDescriptor()
+                .addFactMapping(FactIdentifier.create("Person", Person.class.getName()), ExpressionIdentifier.create("1", FactMappingType.GIVEN));
+        street.addExpressionElement("address", Address.class.getName());
+        street.addExpressionElement("street", String.class.getName());
+        FactMapping age = model.getSimulation().getSimulationDescriptor()
+                .addFactMapping(FactIdentifier.create("Person", Person.class.getName()), ExpressionIdentifier.create("2", FactMappingType.EXPECT));
+        age.addExpressionElement("age", int.class.getName());
+
+        SortedSet<String> types = impactAnalyzer.getReferencedTypes(model, getClass().getClassLoader());
+
+        // primitive types have no class to follow
+        assertEquals(new HashSet<>(Arrays.asList(Person.class.getName(), Address.class.getName(), String.class.getName())),
+                     types);
+    }
+
+    @Test
+    public void getReferencingAssets() {
+        RefactoringPageRow rule = rowOf(ROOT_URI + "src/main/resources/com/rule.drl", false);
+        RefactoringPageRow simulation = rowOf(ROOT_URI + "src/test/resources/com/other.scesim", true);
+        RefactoringPageRow otherModule = rowOf("default://master@repo/otherModule/src/main/resources/com/rule.drl", false);
+        when(queryService.query(anyString(), anySet())).thenReturn(Arrays.asList(rule, simulation, otherModule));
+
+        SortedSet<String> assets = impactAnalyzer.getReferencingAssets(kieModule, Collections.singleton("com.Person"));
+
+        assertEquals(Collections.singleton(ROOT_URI + "src/main/resources/com/rule.drl"), assets);
+    }
+
+    @Test
+    public void getFingerprintOfDataDrivenSimulation() throws Exception {
+        File folder = temporaryFolder.newFolder();
+        File simulationFile = new File(folder, "test.scesim");
+        Files.write(simulationFile.toPath(), "simulation".getBytes());
+        File dataFile = new File(folder, "test.csv");
+        Files.write(dataFile.toPath(), "1,2".getBytes());
+        Path simulationPath = PathFactory.newPath(simulationFile.getName(), simulationFile.toURI().toString());
+        when(ioService.readAllBytes(any(org.uberfire.java.nio.file.Path.class))).thenAnswer(
+                invocation -> Files.readAllBytes(Paths.get(((org.uberfire.java.nio.file.Path) invocation.getArguments()[0]).toUri())));
+        ScenarioSimulationModel model = new ScenarioSimulationModel();
+        model.getSimulation().getSimulationDescriptor().setDataFile("test.csv");
+
+        String fingerprint = impactAnalyzer.getFingerprint(kieModule, null, simulationPath, model);
+        assertEquals(fingerprint, impactAnalyzer.getFingerprint(kieModule, null, simulationPath, model));
+
+        // only the rows changed: the simulation is impacted
+        Files.write(dataFile.toPath(), "1,3".getBytes());
+        assertNotEquals(fingerprint, impactAnalyzer.getFingerprint(kieModule, null, simulationPath, model));
+    }
+
+    @Test
+    public void getFingerprintOfChangedFactType() throws Exception {
+        File simulationFile = temporaryFolder.newFile("test.scesim");
+        Files.write(simulationFile.toPath(), "simulation".getBytes());
+        Path simulationPath = PathFactory.newPath(simulationFile.getName(), simulationFile.toURI().toString());
+        when(ioService.readAllBytes(any(org.uberfire.java.nio.file.Path.class))).thenAnswer(
+                invocation -> Files.readAllBytes(Paths.get(((org.uberfire.java.nio.file.Path) invocation.getArguments()[0]).toUri())));
+        ScenarioSimulationModel model = new ScenarioSimulationModel();
+        model.getSimulation().getSimulationDescriptor()
+                .addFactMapping(FactIdentifier.create("Person", "com.Person"), ExpressionIdentifier.create("1", FactMappingType.GIVEN));
+        Map<String, byte[]> classes = new HashMap<>();
+        classes.put("com/Person.class", "person".getBytes());
+        ClassLoader classLoader = new ClassLoader(null) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                return classes.containsKey(name) ? new ByteArrayInputStream(classes.get(name)) : null;
+            }
+        };
+
+        String fingerprint = impactAnalyzer.getFingerprint(kieModule, classLoader, simulationPath, model);
+        assertEquals(fingerprint, impactAnalyzer.getFingerprint(kieModule, classLoader, simulationPath, model));
+
+        // the fact type has been rebuilt with a change: the simulation is impacted
+        classes.put("com/Person.class", "changedPerson".getBytes());
+        assertNotEquals(fingerprint, impactAnalyzer.getFingerprint(kieModule, classLoader, simulationPath, model));
+    }
+
+    @Test
+    public void getRuleBaseFingerprintOncePerBuild() {
+        InternalKieModule compiledModule = mock(InternalKieModule.class);
+        when(compiledModule.getFileNames()).thenReturn(Collections.singletonList("com/rule.drl"));
+        when(compiledModule.getBytes("com/rule.drl")).thenReturn("rule".getBytes());
+
+        String fingerprint = impactAnalyzer.getRuleBaseFingerprint(compiledModule);
+
+        assertEquals(fingerprint, impactAnalyzer.getRuleBaseFingerprint(compiledModule));
+        verify(compiledModule, times(1)).getFileNames();
+
+        // a new build is hashed again
+        InternalKieModule newCompiledModule = mock(InternalKieModule.class);
+        when(newCompiledModule.getFileNames()).thenReturn(Collections.singletonList("com/rule.drl"));
+        when(newCompiledModule.getBytes("com/rule.drl")).thenReturn("changedRule".getBytes());
+        assertNotEquals(fingerprint, impactAnalyzer.getRuleBaseFingerprint(newCompiledModule));
+    }
+
+    public static class Person {
+
+        private Address address;
+        private int age;
+    }
+
+    public static class Address {
+
+        private String street;
+    }
+
+    private RefactoringPageRow rowOf(String uri, boolean isSimulation) {
+        Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(uri);
+        when(resourceTypeDefinition.accept(path)).thenReturn(isSimulation);
+        RefactoringPageRow row = mock(RefactoringPageRow.class);
+        when(row.getValue()).thenReturn(path);
+        return row;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.guvnor.common.services.shared.test.Failure;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationResultCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDir;
+
+    private SimulationResultCache cache;
+
+    @Before
+    public void setup() throws Exception {
+        cacheDir = temporaryFolder.newFolder().toPath();
+        cache = new SimulationResultCache(cacheDir, 2);
+    }
+
+    @Test
+    public void putGet() {
+        assertFalse(cache.get("key").isPresent());
+
+        cache.put("key", new CachedSimulationResult(2, 15, Collections.singletonList(new Failure("Scenario 1", "Wrong value"))));
+
+        Optional<CachedSimulationResult> result = cache.get("key");
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().getRunCount());
+        assertEquals(15, result.get().getRunTime());
+        assertEquals(1, result.get().getFailures().size());
+        assertEquals("Scenario 1", result.get().getFailures().get(0).getDisplayName());
+        assertEquals("Wrong value", result.get().getFailures().get(0).getMessage());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws Exception {
+        cache.put("first", new CachedSimulationResult(1, 1, Collections.emptyList()));
+        cache.put("second", new CachedSimulationResult(1, 1, Collections.emptyList()));
+        Files.setLastModifiedTime(cacheDir.resolve("first"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(cacheDir.resolve("second"), FileTime.fromMillis(2000));
+
+        cache.put("third", new CachedSimulationResult(1, 1, Collections.emptyList()));
+
+        assertFalse(cache.get("first").isPresent());
+        assertTrue(cache.get("second").isPresent());
+        assertTrue(cache.get("third").isPresent());
+    }
+
+    @Test
+    public void putReplacesWithoutLeftovers() throws Exception {
+        cache.put("key", new CachedSimulationResult(1, 1, Collections.emptyList()));
+        cache.put("key", new CachedSimulationResult(3, 4, Collections.emptyList()));
+
+        assertEquals(3, cache.get("key").get().getRunCount());
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    public void evictIgnoresFilesBeingWritten() throws Exception {
+        Path inProgress = Files.createTempFile(cacheDir, "other", ".tmp");
+        cache.put("first", new CachedSimulationResult(1, 1, Collections.emptyList()));
+        cache.put("second", new CachedSimulationResult(1, 1, Collections.emptyList()));
+
+        assertTrue(Files.exists(inProgress));
+        assertTrue(cache.get("first").isPresent());
+        assertTrue(cache.get("second").isPresent());
+    }
+
+    @Test
+    public void getMalformed() throws Exception {
+        Files.write(cacheDir.resolve("key"), "runCount=a".getBytes());
+
+        assertFalse(cache.get("key").isPresent());
+    }
+}
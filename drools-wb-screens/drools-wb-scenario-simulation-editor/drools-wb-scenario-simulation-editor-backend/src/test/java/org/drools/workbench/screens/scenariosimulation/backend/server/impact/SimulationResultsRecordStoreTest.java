@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.shared.project.KieModule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SimulationResultsRecordStoreTest {
+
+    private static final String SIMULATION_URI = "default://master@repo/module/src/test/resources/test.scesim";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SimulationResultsRecordStore store;
+
+    private KieModule kieModule;
+
+    @Before
+    public void setup() throws Exception {
+        store = new SimulationResultsRecordStore(temporaryFolder.newFolder().toPath());
+        kieModule = mockModule("default://master@repo/module");
+    }
+
+    @Test
+    public void loadMissing() {
+        assertNull(store.load(kieModule).getBuildFingerprint());
+    }
+
+    @Test
+    public void storeLoad() throws Exception {
+        SimulationResultsRecord record = new SimulationResultsRecord("build");
+        record.addSuccess(SIMULATION_URI, "fingerprint");
+
+        store.store(kieModule, record);
+
+        assertTrue(store.load(kieModule).isUnchangedSuccess("build", SIMULATION_URI, "fingerprint"));
+        assertNull(store.load(mockModule("default://branch@repo/module")).getBuildFingerprint());
+    }
+
+    @Test
+    public void storeOnlyChanges() throws Exception {
+        SimulationResultsRecord record = new SimulationResultsRecord("build");
+        record.addSuccess(SIMULATION_URI, "fingerprint");
+        store.store(kieModule, record);
+        Path recordPath = store.getRecordPath(kieModule);
+        Files.setLastModifiedTime(recordPath, FileTime.fromMillis(1000));
+
+        SimulationResultsRecord sameRecord = new SimulationResultsRecord("build");
+        sameRecord.addSuccess(SIMULATION_URI, "fingerprint");
+        store.store(kieModule, sameRecord);
+
+        assertEquals(1000, Files.getLastModifiedTime(recordPath).toMillis());
+
+        store.store(kieModule, new SimulationResultsRecord("otherBuild"));
+
+        assertNotEquals(1000, Files.getLastModifiedTime(recordPath).toMillis());
+        assertFalse(store.load(kieModule).isUnchangedSuccess("build", SIMULATION_URI, "fingerprint"));
+    }
+
+    private static KieModule mockModule(String rootUri) {
+        KieModule kieModule = mock(KieModule.class);
+        org.uberfire.backend.vfs.Path rootPath = mock(org.uberfire.backend.vfs.Path.class);
+        when(rootPath.toURI()).thenReturn(rootUri);
+        when(kieModule.getRootPath()).thenReturn(rootPath);
+        return kieModule;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.impact;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationResultsRecordTest {
+
+    private static final String SIMULATION_URI = "default://master@repo/module/src/test/resources/test.scesim";
+
+    @Test
+    public void isUnchangedSuccess() {
+        SimulationResultsRecord record = new SimulationResultsRecord("build");
+        record.addSuccess(SIMULATION_URI, "fingerprint");
+
+        assertTrue(record.isUnchangedSuccess("build", SIMULATION_URI, "fingerprint"));
+        assertFalse(record.isUnchangedSuccess("otherBuild", SIMULATION_URI, "fingerprint"));
+        assertFalse(record.isUnchangedSuccess("build", SIMULATION_URI, "otherFingerprint"));
+        assertFalse(record.isUnchangedSuccess("build", "default://master@repo/module/other.scesim", "fingerprint"));
+        assertFalse(new SimulationResultsRecord(null).isUnchangedSuccess(null, SIMULATION_URI, null));
+    }
+
+    @Test
+    public void marshalUnmarshal() {
+        SimulationResultsRecord record = new SimulationResultsRecord("build");
+        record.addSuccess(SIMULATION_URI, "fingerprint");
+
+        SimulationResultsRecord restored = SimulationResultsRecord.unmarshal(record.marshal());
+
+        assertTrue(restored.isUnchangedSuccess("build", SIMULATION_URI, "fingerprint"));
+    }
+
+    @Test
+    public void marshalIsStable() {
+        SimulationResultsRecord record = new SimulationResultsRecord("build");
+        record.addSuccess(SIMULATION_URI, "fingerprint");
+        record.addSuccess("default://master@repo/module/other.scesim", "otherFingerprint");
+        SimulationResultsRecord sameRecord = new SimulationResultsRecord("build");
+        sameRecord.addSuccess("default://master@repo/module/other.scesim", "otherFingerprint");
+        sameRecord.addSuccess(SIMULATION_URI, "fingerprint");
+
+        String content = record.marshal();
+
+        assertFalse(content.contains("#build"));
+        assertFalse(content.startsWith("#"));
+        assertEquals(content, sameRecord.marshal());
+    }
+
+    @Test
+    public void unmarshalMalformed() {
+        assertNull(SimulationResultsRecord.unmarshal("\\u00").getBuildFingerprint());
+        assertNull(SimulationResultsRecord.unmarshal(null).getBuildFingerprint());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.indexing;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.search.Query;
+import org.drools.workbench.screens.scenariosimulation.backend.server.ScenarioSimulationXMLPersistence;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+import org.drools.workbench.screens.scenariosimulation.type.ScenarioSimulationResourceTypeDefinition;
+import org.guvnor.common.services.project.categories.Model;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.query.builder.SingleTermQueryBuilder;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValuePartReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.ext.metadata.io.KObjectUtil;
+import org.uberfire.java.nio.file.Path;
+
+public class IndexScenarioSimulationTest extends BaseIndexingTest<ScenarioSimulationResourceTypeDefinition> {
+
+    private static final String CLASSES_PACKAGE = "org.drools.workbench.screens.scenariosimulation.backend.server.indexing.classes.";
+
+    @Test
+    public void testIndexScenarioSimulation() throws IOException, InterruptedException {
+        //Add test files
+        final Path path1 = basePath.resolve("simulation1.scesim");
+        final ScenarioSimulationModel model1 = new ScenarioSimulationModel();
+        addFactMapping(model1, "Applicant", FactMappingType.GIVEN, "java.lang.String", "address", "street");
+        addFactMapping(model1, "Mortgage", FactMappingType.EXPECT, "java.lang.Boolean", "approved");
+        ioService().write(path1,
+                          ScenarioSimulationXMLPersistence.getInstance().marshal(model1));
+
+        final Path path2 = basePath.resolve("simulation2.scesim");
+        final ScenarioSimulationModel model2 = new ScenarioSimulationModel();
+        addFactMapping(model2, "Applicant", FactMappingType.GIVEN, "java.lang.Integer", "age");
+        ioService().write(path2,
+                          ScenarioSimulationXMLPersistence.getInstance().marshal(model2));
+
+        final Path path3 = basePath.resolve("simulation3.scesim");
+        ioService().write(path3,
+                          ScenarioSimulationXMLPersistence.getInstance().marshal(new ScenarioSimulationModel()));
+
+        Thread.sleep(5000); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        List<String> index = Arrays.asList(KObjectUtil.toKCluster(basePath).getClusterId());
+
+        //Simulations using Applicant
+        {
+            final Query query = new SingleTermQueryBuilder(new ValueReferenceIndexTerm(CLASSES_PACKAGE + "Applicant", ResourceType.JAVA))
+                    .build();
+            searchFor(index, query, 2, path1, path2);
+        }
+
+        //Simulations using Mortgage
+        {
+            final Query query = new SingleTermQueryBuilder(new ValueReferenceIndexTerm(CLASSES_PACKAGE + "Mortgage", ResourceType.JAVA))
+                    .build();
+            searchFor(index, query, 1, path1);
+        }
+
+        //Simulations using Applicant#age
+        {
+            final Query query = new SingleTermQueryBuilder(new ValuePartReferenceIndexTerm(CLASSES_PACKAGE + "Applicant", "age", PartType.FIELD))
+                    .build();
+            searchFor(index, query, 1, path2);
+        }
+
+        //Simulations using Address#street (reached through Applicant#address)
+        {
+            final Query query = new SingleTermQueryBuilder(new ValuePartReferenceIndexTerm(CLASSES_PACKAGE + "Address", "street", PartType.FIELD))
+                    .build();
+            searchFor(index, query, 1, path1);
+        }
+
+        //Simulations using java.lang.Boolean
+        {
+            final Query query = new SingleTermQueryBuilder(new ValueReferenceIndexTerm("java.lang.Boolean", ResourceType.JAVA))
+                    .build();
+            searchFor(index, query, 1, path1);
+        }
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestScenarioSimulationFileIndexer();
+    }
+
+    @Override
+    protected ScenarioSimulationResourceTypeDefinition getResourceTypeDefinition() {
+        return new ScenarioSimulationResourceTypeDefinition(new Model());
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+    private void addFactMapping(ScenarioSimulationModel model, String factName, FactMappingType type, String className, String... steps) {
+        final SimulationDescriptor simulationDescriptor = model.getSimulation().getSimulationDescriptor();
+        final FactIdentifier factIdentifier = FactIdentifier.create(factName, CLASSES_PACKAGE + factName);
+        final ExpressionIdentifier expressionIdentifier = ExpressionIdentifier.create(factName + "|" + steps.length, type);
+        final FactMapping factMapping = simulationDescriptor.addFactMapping(factIdentifier, expressionIdentifier);
+        for (String step : steps) {
+            factMapping.addExpressionElement(step, className);
+        }
+    }
+}
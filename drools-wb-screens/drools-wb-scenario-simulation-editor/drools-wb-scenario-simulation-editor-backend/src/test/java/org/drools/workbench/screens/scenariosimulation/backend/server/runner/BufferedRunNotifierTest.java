@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class BufferedRunNotifierTest {
+
+    @Test
+    public void replayTest() {
+        RunNotifier target = mock(RunNotifier.class);
+        Description description = Description.createTestDescription(BufferedRunNotifierTest.class, "test");
+        Failure failure = new Failure(description, new IllegalStateException());
+
+        BufferedRunNotifier bufferedRunNotifier = new BufferedRunNotifier();
+        bufferedRunNotifier.fireTestStarted(description);
+        bufferedRunNotifier.fireTestAssumptionFailed(failure);
+        bufferedRunNotifier.fireTestFailure(failure);
+        bufferedRunNotifier.fireTestFinished(description);
+
+        verifyZeroInteractions(target);
+
+        bufferedRunNotifier.replay(target);
+
+        InOrder inOrder = inOrder(target);
+        inOrder.verify(target).fireTestStarted(description);
+        inOrder.verify(target).fireTestAssumptionFailed(failure);
+        inOrder.verify(target).fireTestFailure(failure);
+        inOrder.verify(target).fireTestFinished(description);
+    }
+}
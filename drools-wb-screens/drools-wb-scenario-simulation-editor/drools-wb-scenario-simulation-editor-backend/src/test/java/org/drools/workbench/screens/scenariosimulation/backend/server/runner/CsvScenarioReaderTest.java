@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.io.StringReader;
+
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingType;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingValue;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CsvScenarioReaderTest {
+
+    private SimulationDescriptor simulationDescriptor;
+    private FactIdentifier personFactIdentifier;
+    private ExpressionIdentifier nameExpressionIdentifier;
+    private ExpressionIdentifier approvedExpressionIdentifier;
+
+    @Before
+    public void setup() {
+        simulationDescriptor = new SimulationDescriptor();
+        simulationDescriptor.addFactMapping(FactIdentifier.DESCRIPTION, ExpressionIdentifier.DESCRIPTION);
+        personFactIdentifier = FactIdentifier.create("Person", String.class.getCanonicalName());
+        nameExpressionIdentifier = ExpressionIdentifier.create("GIVEN 1", FactMappingType.GIVEN);
+        approvedExpressionIdentifier = ExpressionIdentifier.create("EXPECT 1", FactMappingType.EXPECT);
+        FactMapping nameFactMapping = simulationDescriptor.addFactMapping("Person", personFactIdentifier, nameExpressionIdentifier);
+        nameFactMapping.setExpressionAlias("name");
+        FactMapping approvedFactMapping = simulationDescriptor.addFactMapping("Person", personFactIdentifier, approvedExpressionIdentifier);
+        approvedFactMapping.setExpressionAlias("approved");
+    }
+
+    @Test
+    public void readRows() throws Exception {
+        String data = "Scenario description,Person.name,EXPECT 1\n" +
+                "first,John,true\n" +
+                "\n" +
+                ",\"Doe, \"\"Jane\"\"\nJr\",\n";
+
+        try (CsvScenarioReader reader = new CsvScenarioReader(new StringReader(data), simulationDescriptor)) {
+            assertTrue(reader.hasNext());
+            Scenario first = reader.next();
+            assertEquals("first", first.getDescription());
+            assertEquals("John", getRawValue(first, nameExpressionIdentifier));
+            assertEquals("true", getRawValue(first, approvedExpressionIdentifier));
+
+            assertTrue(reader.hasNext());
+            Scenario second = reader.next();
+            assertEquals(2, reader.getRowNumber());
+            assertEquals("Row 2", second.getDescription());
+            assertEquals("Doe, \"Jane\"\nJr", getRawValue(second, nameExpressionIdentifier));
+            assertFalse(second.getFactMappingValue(personFactIdentifier, approvedExpressionIdentifier).isPresent());
+
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void readErrors() {
+        assertThatThrownBy(() -> new CsvScenarioReader(new StringReader(""), simulationDescriptor))
+                .isInstanceOf(ScenarioException.class)
+                .hasMessage("Data file is empty: a header row is required");
+
+        assertThatThrownBy(() -> new CsvScenarioReader(new StringReader("Person.age\n1"), simulationDescriptor))
+                .isInstanceOf(ScenarioException.class)
+                .hasMessage("Column 'Person.age' of data file is not a GIVEN/EXPECT column of the simulation");
+
+        CsvScenarioReader reader = new CsvScenarioReader(new StringReader("Person.name,Person.approved\nJohn"), simulationDescriptor);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(ScenarioException.class)
+                .hasMessage("Row 1 of data file has 1 values but header has 2");
+
+        assertThatThrownBy(() -> new CsvScenarioReader(new StringReader("Person.name\n\"John"), simulationDescriptor))
+                .isInstanceOf(ScenarioException.class)
+                .hasMessage("Unterminated quoted value starting at line 2 of data file");
+    }
+
+    private Object getRawValue(Scenario scenario, ExpressionIdentifier expressionIdentifier) {
+        return scenario.getFactMappingValue(personFactIdentifier, expressionIdentifier)
+                .map(FactMappingValue::getRawValue)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
+import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class ScenarioRunEventListenerTest {
+
+    @Test
+    public void eventsTest() {
+        Simulation simulation = new Simulation();
+        simulation.addScenario();
+        simulation.addScenario();
+        simulation.addScenario();
+        List<ScenarioRunEvent> events = new ArrayList<>();
+        Description description = Description.createTestDescription(ScenarioRunEventListenerTest.class, "test");
+
+        ScenarioRunEventListener listener = new ScenarioRunEventListener("runId", mock(Path.class), simulation, events::add);
+
+        listener.testStarted(description);
+        listener.testFinished(description);
+
+        listener.testStarted(description);
+        listener.testFailure(new Failure(description, new ScenarioException("Scenario failed")));
+        listener.testFinished(description);
+
+        listener.testStarted(description);
+        listener.testFailure(new Failure(description, new IllegalStateException("Unexpected error")));
+        listener.testFinished(description);
+
+        assertEquals(3, listener.getRunCount());
+        assertEquals(3, events.size());
+
+        assertEquals("runId", events.get(0).getRunId());
+        assertEquals(ScenarioRunEvent.Status.SUCCESS, events.get(0).getStatus());
+        assertEquals(0, events.get(0).getScenarioIndex());
+        assertEquals(simulation.getScenarioByIndex(0), events.get(0).getScenario());
+        assertNull(events.get(0).getMessage());
+
+        assertEquals(ScenarioRunEvent.Status.FAILURE, events.get(1).getStatus());
+        assertEquals(1, events.get(1).getScenarioIndex());
+        assertEquals("Scenario failed", events.get(1).getMessage());
+
+        assertEquals(ScenarioRunEvent.Status.ERROR, events.get(2).getStatus());
+        assertEquals(2, events.get(2).getScenarioIndex());
+        assertEquals("Unexpected error", events.get(2).getMessage());
+    }
+
+    @Test
+    public void profileTest() {
+        Simulation simulation = new Simulation();
+        simulation.addScenario();
+        simulation.addScenario();
+        ScenarioProfile profile = new ScenarioProfile();
+        List<ScenarioRunEvent> events = new ArrayList<>();
+        Description description = Description.createTestDescription(ScenarioRunEventListenerTest.class, "test");
+
+        ScenarioRunEventListener listener = new ScenarioRunEventListener("runId", mock(Path.class), simulation, events::add);
+        listener.setProfileProvider(scenario -> scenario == simulation.getScenarioByIndex(1) ? profile : null);
+
+        listener.testStarted(description);
+        listener.testFinished(description);
+        listener.testStarted(description);
+        listener.testFinished(description);
+
+        assertNull(events.get(0).getProfile());
+        assertEquals(profile, events.get(1).getProfile());
+        assertEquals(1, profile.getScenarioIndex());
+    }
+
+    @Test
+    public void dataDrivenEventsTest() {
+        Simulation simulation = new Simulation();
+        simulation.getSimulationDescriptor().setDataFile("data.csv");
+        List<ScenarioRunEvent> events = new ArrayList<>();
+        Description description = Description.createTestDescription(ScenarioRunEventListenerTest.class, "test");
+
+        ScenarioRunEventListener listener = new ScenarioRunEventListener("runId", mock(Path.class), simulation, events::add);
+
+        listener.testStarted(description);
+        listener.testFinished(description);
+
+        listener.testStarted(description);
+        listener.testFailure(new Failure(description, new ScenarioException("Row failed")));
+        listener.testFinished(description);
+
+        assertEquals(2, listener.getRunCount());
+        assertEquals(1, events.size());
+        assertEquals(ScenarioRunEvent.Status.FAILURE, events.get(0).getStatus());
+        assertEquals(1, events.get(0).getScenarioIndex());
+        assertNull(events.get(0).getScenario());
+        assertEquals("Row failed", events.get(0).getMessage());
+    }
+}
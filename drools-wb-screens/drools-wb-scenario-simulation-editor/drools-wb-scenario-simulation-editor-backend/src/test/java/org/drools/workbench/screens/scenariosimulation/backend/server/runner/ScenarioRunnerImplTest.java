@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.runner.model.ScenarioResult;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.Simulation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.internal.runners.model.EachTestNotifier;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.kie.api.runtime.KieContainer;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class ScenarioRunnerImplTest {
+
+    private static final int TIMEOUT_SECONDS = 10;
+
+    private ExecutorService executorService;
+    private Simulation simulation;
+    private RunNotifier notifier;
+    private List<String> events;
+
+    @Before
+    public void init() {
+        executorService = Executors.newFixedThreadPool(4);
+        simulation = new Simulation();
+        for (int i = 0; i < 4; i++) {
+            simulation.addScenario().setDescription("scenario" + i);
+        }
+        events = Collections.synchronizedList(new ArrayList<>());
+        notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started " + description.getMethodName());
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                events.add("failed " + failure.getDescription().getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished " + description.getMethodName());
+            }
+        });
+    }
+
+    @After
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void runInParallelKeepsScenarioOrderTest() {
+        CountDownLatch lastScenarioDone = new CountDownLatch(1);
+        ScenarioRunnerImpl runner = newRunner(4, (scenario, singleNotifier) -> {
+            // the first scenario finishes after the last one
+            if ("scenario0".equals(scenario.getDescription())) {
+                await(lastScenarioDone);
+            } else if ("scenario3".equals(scenario.getDescription())) {
+                lastScenarioDone.countDown();
+            }
+        });
+
+        runner.run(notifier);
+
+        assertEquals(asList("started scenario0", "finished scenario0",
+                            "started scenario1", "finished scenario1",
+                            "started scenario2", "finished scenario2",
+                            "started scenario3", "finished scenario3"),
+                     events);
+    }
+
+    @Test
+    public void runInParallelWithFailingScenarioTest() {
+        ScenarioRunnerImpl runner = newRunner(4, (scenario, singleNotifier) -> {
+            if ("scenario1".equals(scenario.getDescription())) {
+                throw new IllegalStateException("Unexpected error");
+            }
+        });
+
+        runner.run(notifier);
+
+        assertEquals(asList("started scenario0", "finished scenario0",
+                            "started scenario1", "failed scenario1", "finished scenario1",
+                            "started scenario2", "finished scenario2",
+                            "started scenario3", "finished scenario3"),
+                     events);
+    }
+
+    @Test
+    public void runInParallelStoppedTest() throws InterruptedException {
+        CountDownLatch scenario2Started = new CountDownLatch(1);
+        CountDownLatch scenario2Interrupted = new CountDownLatch(1);
+        ScenarioRunnerImpl runner = newRunner(2, (scenario, singleNotifier) -> {
+            if ("scenario1".equals(scenario.getDescription())) {
+                await(scenario2Started);
+            } else if ("scenario2".equals(scenario.getDescription())) {
+                scenario2Started.countDown();
+                try {
+                    new CountDownLatch(1).await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    scenario2Interrupted.countDown();
+                }
+            }
+        });
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                notifier.pleaseStop();
+            }
+        });
+
+        try {
+            runner.run(notifier);
+            fail();
+        } catch (StoppedByUserException e) {
+            // expected
+        }
+
+        assertTrue(scenario2Interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(asList("started scenario0", "finished scenario0"),
+                     events);
+    }
+
+    private ScenarioRunnerImpl newRunner(int parallelism, BiConsumer<Scenario, EachTestNotifier> execution) {
+        ScenarioRunnerImpl runner = new ScenarioRunnerImpl(mock(KieContainer.class), simulation) {
+            @Override
+            protected List<ScenarioResult> internalRunScenario(Scenario scenario, EachTestNotifier singleNotifier) {
+                singleNotifier.fireTestStarted();
+                execution.accept(scenario, singleNotifier);
+                singleNotifier.fireTestFinished();
+                return Collections.emptyList();
+            }
+        };
+        runner.setParallelism(parallelism);
+        runner.setExecutorService(executorService);
+        return runner;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.drools.workbench.screens.scenariosimulation.backend.server.util;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +37,7 @@ import static org.drools.workbench.screens.scenariosimulation.backend.server.uti
 import static org.drools.workbench.screens.scenariosimulation.backend.server.util.ScenarioBeanUtil.loadClass;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ScenarioBeanUtilTest {
@@ -138,6 +141,18 @@ public class ScenarioBeanUtilTest {
                 .hasMessage(message);
     }
 
+    @Test
+    public void getPathAccessorsTest() {
+        List<String> pathToProperty = Arrays.asList("creator", "firstName");
+
+        FieldAccessor[] accessors = ScenarioBeanUtil.getPathAccessors(Dispute.class, pathToProperty);
+
+        assertEquals(2, accessors.length);
+        assertEquals(Person.class, accessors[0].getType());
+        assertEquals(String.class, accessors[1].getType());
+        assertSame(accessors, ScenarioBeanUtil.getPathAccessors(Dispute.class, new ArrayList<>(pathToProperty)));
+    }
+
     @Test
     public void convertValueTest() {
         assertEquals("Test", convertValue(String.class.getCanonicalName(), "Test", classLoader));
@@ -152,6 +167,8 @@ public class ScenarioBeanUtilTest {
         assertEquals(1.0F, convertValue(float.class.getCanonicalName(), "1.0", classLoader));
         assertEquals(1.0F, convertValue(Float.class.getCanonicalName(), "1.0", classLoader));
         assertNull(convertValue(Float.class.getCanonicalName(), null, classLoader));
+        assertEquals(new BigDecimal("1.50"), convertValue(BigDecimal.class.getCanonicalName(), "1.50", classLoader));
+        assertEquals(LocalDate.of(2018, 1, 2), convertValue(LocalDate.class.getCanonicalName(), "2018-01-02", classLoader));
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.backend.server.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.workbench.screens.scenariosimulation.backend.server.model.Person;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueConverterRegistryTest {
+
+    @After
+    public void cleanUp() {
+        ValueConverterRegistry.unregisterConverter(Person.class);
+    }
+
+    @Test
+    public void getConverterTest() {
+        assertEquals(new BigDecimal("1.50"), ValueConverterRegistry.getConverter(BigDecimal.class).get().apply("1.50"));
+        assertEquals(LocalDate.of(2018, 1, 2), ValueConverterRegistry.getConverter(LocalDate.class).get().apply("2018-01-02"));
+        assertEquals('a', ValueConverterRegistry.getConverter(char.class).get().apply("a"));
+        assertEquals(TimeUnit.SECONDS, ValueConverterRegistry.getConverter(TimeUnit.class).get().apply("SECONDS"));
+        assertFalse(ValueConverterRegistry.getConverter(Person.class).isPresent());
+    }
+
+    @Test
+    public void getConverterAssignableTest() {
+        assertEquals("value", ValueConverterRegistry.getConverter(Object.class).get().apply("value"));
+        assertEquals("value", ValueConverterRegistry.getConverter(CharSequence.class).get().apply("value"));
+        assertEquals(1, ValueConverterRegistry.getConverter(Number.class).get().apply("1"));
+        assertFalse(ValueConverterRegistry.getConverter(Runnable.class).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getConverterFailBooleanTest() {
+        ValueConverterRegistry.getConverter(Boolean.class).get().apply("notABoolean");
+    }
+
+    @Test
+    public void registerConverterTest() {
+        ValueConverterRegistry.registerConverter(Person.class, value -> {
+            Person person = new Person();
+            person.setFirstName(value);
+            return person;
+        });
+
+        assertTrue(ValueConverterRegistry.getConverter(Person.class).isPresent());
+        assertEquals("Name", ((Person) ValueConverterRegistry.getConverter(Person.class).get().apply("Name")).getFirstName());
+
+        ValueConverterRegistry.unregisterConverter(Person.class);
+
+        assertFalse(ValueConverterRegistry.getConverter(Person.class).isPresent());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
+
+/**
+ * <b>Abstract</b> <code>UndoableCommand</code> that restores the revision of the <code>ScenarioGridModel</code>
+ * together with its content: undoing all the changes done after a save leaves the editor not dirty
+ */
+public abstract class AbstractUndoableCommand implements UndoableCommand {
+
+    protected ScenarioGridModel model;
+
+    private Integer revisionBefore;
+
+    private Integer revisionAfter;
+
+    public AbstractUndoableCommand() {
+    }
+
+    public AbstractUndoableCommand(ScenarioGridModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public void execute() {
+        if (revisionAfter == null) {
+            revisionBefore = model.getRevision();
+            internalExecute();
+            revisionAfter = model.getRevision();
+        } else {
+            // redo: the model is back to the state reached by the first execution
+            internalExecute();
+            model.restoreRevision(revisionAfter);
+        }
+    }
+
+    @Override
+    public void undo() {
+        internalUndo();
+        model.restoreRevision(revisionBefore);
+    }
+
+    protected abstract void internalExecute();
+
+    protected abstract void internalUndo();
+}
@@ -18,6 +18,7 @@ package org.drools.workbench.screens.scenariosimulation.client.commands;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.Dependent;
@@ -30,39 +31,52 @@ import org.drools.workbench.screens.scenariosimulation.client.events.AppendColum
 import org.drools.workbench.screens.scenariosimulation.client.events.AppendRowEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DeleteColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DisableRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.EnableRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.InsertColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.PasteRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.PrependColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.PrependRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.RedoEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.ReloadRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.ScenarioGridReloadEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.ScenarioNotificationEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetInstanceHeaderEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetPropertyHeaderEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.UndoEvent;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.AppendColumnEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.AppendRowEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.DeleteColumnEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.DeleteRowEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.DeleteRowsEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.DisableRightPanelEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.DuplicateRowEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.DuplicateRowsEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.EnableRightPanelEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.InsertColumnEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.InsertRowEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.InsertRowsEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.PasteRowsEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.PrependColumnEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.PrependRowEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.RedoEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ReloadRightPanelEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioGridReloadEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioNotificationEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.SetInstanceHeaderEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.SetPropertyHeaderEventHandler;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.UndoEventHandler;
 import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
 import org.drools.workbench.screens.scenariosimulation.client.popup.DeletePopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.popup.PreserveDeletePopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.RightPanelView;
+import org.drools.workbench.screens.scenariosimulation.client.utils.ScenarioSimulationUtils;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridColumn;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridLayer;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridPanel;
@@ -80,18 +94,24 @@ public class CommandExecutor implements AppendColumnEventHandler,
                                         AppendRowEventHandler,
                                         DeleteColumnEventHandler,
                                         DeleteRowEventHandler,
+                                        DeleteRowsEventHandler,
                                         DisableRightPanelEventHandler,
                                         DuplicateRowEventHandler,
+                                        DuplicateRowsEventHandler,
                                         EnableRightPanelEventHandler,
                                         InsertColumnEventHandler,
                                         InsertRowEventHandler,
+                                        InsertRowsEventHandler,
+                                        PasteRowsEventHandler,
                                         PrependColumnEventHandler,
                                         PrependRowEventHandler,
+                                        RedoEventHandler,
                                         ReloadRightPanelEventHandler,
                                         ScenarioGridReloadEventHandler,
                                         ScenarioNotificationEventHandler,
                                         SetInstanceHeaderEventHandler,
-                                        SetPropertyHeaderEventHandler {
+                                        SetPropertyHeaderEventHandler,
+                                        UndoEventHandler {
 
     protected ScenarioGridModel model;
     protected ScenarioGridPanel scenarioGridPanel;
@@ -107,6 +127,8 @@ public class CommandExecutor implements AppendColumnEventHandler,
 
     protected Event<NotificationEvent> notificationEvent;
 
+    protected CommandHistory commandHistory = new CommandHistory();
+
     public CommandExecutor() {
         // CDI
     }
@@ -178,6 +200,11 @@ public class CommandExecutor implements AppendColumnEventHandler,
         commonExecute(new DeleteRowCommand(model, event.getRowIndex()));
     }
 
+    @Override
+    public void onEvent(DeleteRowsEvent event) {
+        commonExecute(new DeleteRowsCommand(model, event.getRowIndex(), event.getRowCount()));
+    }
+
     @Override
     public void onEvent(DisableRightPanelEvent event) {
         if (rightPanelPresenter != null) {
@@ -190,6 +217,11 @@ public class CommandExecutor implements AppendColumnEventHandler,
         commonExecute(new DuplicateRowCommand(model, event.getRowIndex()));
     }
 
+    @Override
+    public void onEvent(DuplicateRowsEvent event) {
+        commonExecute(new DuplicateRowsCommand(model, event.getRowIndex(), event.getRowCount()));
+    }
+
     @Override
     public void onEvent(EnableRightPanelEvent event) {
         if (scenarioSimulationEditorPresenter != null) {
@@ -208,6 +240,25 @@ public class CommandExecutor implements AppendColumnEventHandler,
         commonExecute(new InsertRowCommand(model, event.getRowIndex()));
     }
 
+    @Override
+    public void onEvent(InsertRowsEvent event) {
+        commonExecute(new InsertRowsCommand(model, event.getRowIndex(), event.getRowCount()));
+    }
+
+    @Override
+    public void onEvent(PasteRowsEvent event) {
+        if (event.getValues() == null) {
+            readClipboard(text -> {
+                final List<List<String>> values = ScenarioSimulationUtils.getClipboardRows(text);
+                if (!values.isEmpty()) {
+                    onEvent(new PasteRowsEvent(event.getRowIndex(), event.getColumnIndex(), values));
+                }
+            });
+            return;
+        }
+        commonExecute(new PasteRowsCommand(model, event.getRowIndex(), event.getColumnIndex(), event.getValues()));
+    }
+
     @Override
     public void onEvent(PrependColumnEvent event) {
         commonExecute(new PrependColumnCommand(model, String.valueOf(new Date().getTime()), event.getColumnGroup(), scenarioGridPanel, scenarioGridLayer));
@@ -218,6 +269,13 @@ public class CommandExecutor implements AppendColumnEventHandler,
         commonExecute(new PrependRowCommand(model));
     }
 
+    @Override
+    public void onEvent(RedoEvent event) {
+        if (commandHistory.redo()) {
+            refreshGrid();
+        }
+    }
+
     @Override
     public void onEvent(ReloadRightPanelEvent event) {
         commonExecute(new ReloadRightPanelCommand(scenarioSimulationEditorPresenter, event.isDisable(), event.isOpenDock()));
@@ -291,8 +349,37 @@ public class CommandExecutor implements AppendColumnEventHandler,
         }
     }
 
+    @Override
+    public void onEvent(UndoEvent event) {
+        if (commandHistory.undo()) {
+            refreshGrid();
+        }
+    }
+
+    /**
+     * To be called when a new content is bound to the grid: the recorded changes would not apply to it
+     */
+    public void clearHistory() {
+        commandHistory.clear();
+    }
+
+    void readClipboard(Consumer<String> callback) {
+        ScenarioSimulationUtils.readClipboardText(callback);
+    }
+
     void commonExecute(Command toExecute) {
+        final int revision = model.getRevision();
         toExecute.execute();
+        if (toExecute instanceof UndoableCommand) {
+            commandHistory.add((UndoableCommand) toExecute);
+        } else if (model.getRevision() != revision) {
+            // recorded changes could not apply to the modified grid
+            commandHistory.clear();
+        }
+        refreshGrid();
+    }
+
+    void refreshGrid() {
         scenarioGridPanel.onResize();
         scenarioGridPanel.select();
     }
@@ -302,17 +389,23 @@ public class CommandExecutor implements AppendColumnEventHandler,
         handlerRegistrationList.add(eventBus.addHandler(AppendRowEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(DeleteColumnEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(DeleteRowEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(DeleteRowsEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(DisableRightPanelEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(DuplicateRowEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(DuplicateRowsEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(EnableRightPanelEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(InsertColumnEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(InsertRowEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(InsertRowsEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(PasteRowsEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(PrependColumnEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(PrependRowEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(RedoEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(ReloadRightPanelEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(ScenarioGridReloadEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(ScenarioNotificationEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(SetInstanceHeaderEvent.TYPE, this));
         handlerRegistrationList.add(eventBus.addHandler(SetPropertyHeaderEvent.TYPE, this));
+        handlerRegistrationList.add(eventBus.addHandler(UndoEvent.TYPE, this));
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.LinkedList;
+
+/**
+ * Undo/redo stacks of the <code>UndoableCommand</code>s executed on a grid. The oldest commands are dropped when
+ * the undo stack is full
+ */
+public class CommandHistory {
+
+    public static final int DEFAULT_MAX_SIZE = 50;
+
+    private final LinkedList<UndoableCommand> undoStack = new LinkedList<>();
+
+    private final LinkedList<UndoableCommand> redoStack = new LinkedList<>();
+
+    private final int maxSize;
+
+    public CommandHistory() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public CommandHistory(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * To be called after the given command has been executed: commands previously undone cannot be redone anymore
+     * @param executed
+     */
+    public void add(UndoableCommand executed) {
+        undoStack.push(executed);
+        if (undoStack.size() > maxSize) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Revert the last executed command, if any
+     * @return <code>true</code> if a command has been reverted
+     */
+    public boolean undo() {
+        if (undoStack.isEmpty()) {
+            return false;
+        }
+        UndoableCommand toUndo = undoStack.pop();
+        toUndo.undo();
+        redoStack.push(toUndo);
+        return true;
+    }
+
+    /**
+     * Execute again the last reverted command, if any
+     * @return <code>true</code> if a command has been executed
+     */
+    public boolean redo() {
+        if (redoStack.isEmpty()) {
+            return false;
+        }
+        UndoableCommand toRedo = redoStack.pop();
+        toRedo.execute();
+        undoStack.push(toRedo);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * To be called when the grid is changed by a command that cannot be reverted: the recorded changes would not
+     * apply anymore
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+
+import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+
+/**
+ * <code>UndoableCommand</code> to <b>delete</b> a block of rows. The removed scenarios are kept to insert them back
+ * on <code>undo</code>
+ */
+@Dependent
+public class DeleteRowsCommand extends AbstractUndoableCommand {
+
+    private int rowIndex;
+    private int rowCount;
+    private List<Scenario> removedScenarios;
+
+    public DeleteRowsCommand() {
+    }
+
+    /**
+     * @param model
+     * @param rowIndex
+     * @param rowCount
+     */
+    public DeleteRowsCommand(ScenarioGridModel model, int rowIndex, int rowCount) {
+        super(model);
+        this.rowIndex = rowIndex;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    protected void internalExecute() {
+        removedScenarios = model.deleteRows(rowIndex, rowCount);
+    }
+
+    @Override
+    protected void internalUndo() {
+        model.insertRows(rowIndex, removedScenarios);
+        removedScenarios = null;
+    }
+}
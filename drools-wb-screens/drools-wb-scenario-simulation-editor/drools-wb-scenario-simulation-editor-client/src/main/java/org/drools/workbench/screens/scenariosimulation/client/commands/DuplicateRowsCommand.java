@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+
+import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+
+/**
+ * <code>UndoableCommand</code> to <b>duplicate</b> a block of rows: the copies are inserted just below the original ones
+ */
+@Dependent
+public class DuplicateRowsCommand extends InsertRowsCommand {
+
+    public DuplicateRowsCommand() {
+    }
+
+    /**
+     * @param model
+     * @param rowIndex index of the first row to duplicate
+     * @param rowCount
+     */
+    public DuplicateRowsCommand(ScenarioGridModel model, int rowIndex, int rowCount) {
+        super(model, rowIndex, rowCount);
+    }
+
+    @Override
+    protected int getInsertionIndex() {
+        return rowIndex + rowCount;
+    }
+
+    @Override
+    protected List<Scenario> createScenarios() {
+        return model.getSimulation()
+                .orElseThrow(() -> new IllegalStateException("Bind a simulation to the ScenarioGridModel to use it"))
+                .cloneScenarios(rowIndex, rowCount);
+    }
+}
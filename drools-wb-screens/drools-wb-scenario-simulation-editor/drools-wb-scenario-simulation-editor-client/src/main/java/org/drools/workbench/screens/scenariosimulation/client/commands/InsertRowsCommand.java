@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.enterprise.context.Dependent;
+
+import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+
+/**
+ * <code>UndoableCommand</code> to <b>insert</b> a block of empty rows.
+ * <p>
+ * The inserted scenarios are created at the first execution and kept: they are removed by <code>undo</code> and
+ * inserted back by a following <code>execute</code>
+ */
+@Dependent
+public class InsertRowsCommand extends AbstractUndoableCommand {
+
+    protected int rowIndex;
+    protected int rowCount;
+    protected List<Scenario> insertedScenarios;
+
+    public InsertRowsCommand() {
+    }
+
+    /**
+     * @param model
+     * @param rowIndex
+     * @param rowCount
+     */
+    public InsertRowsCommand(ScenarioGridModel model, int rowIndex, int rowCount) {
+        super(model);
+        this.rowIndex = rowIndex;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    protected void internalExecute() {
+        if (insertedScenarios == null) {
+            insertedScenarios = createScenarios();
+        }
+        model.insertRows(getInsertionIndex(), insertedScenarios);
+    }
+
+    @Override
+    protected void internalUndo() {
+        model.deleteRows(getInsertionIndex(), insertedScenarios.size());
+    }
+
+    protected int getInsertionIndex() {
+        return rowIndex;
+    }
+
+    protected List<Scenario> createScenarios() {
+        return IntStream.range(0, rowCount)
+                .mapToObj(index -> model.createScenario())
+                .collect(Collectors.toList());
+    }
+}
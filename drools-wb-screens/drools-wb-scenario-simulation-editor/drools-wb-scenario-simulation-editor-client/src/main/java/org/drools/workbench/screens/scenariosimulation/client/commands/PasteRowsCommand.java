@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+
+import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
+
+/**
+ * <code>UndoableCommand</code> to <b>paste</b> a block of values, i.e. copied from a spreadsheet, as new rows.
+ * <p>
+ * Each list of values fills a new row starting from the given column: values beyond the last column and values for
+ * the index column are ignored
+ */
+@Dependent
+public class PasteRowsCommand extends InsertRowsCommand {
+
+    private int columnIndex;
+    private List<List<String>> values;
+
+    public PasteRowsCommand() {
+    }
+
+    /**
+     * @param model
+     * @param rowIndex
+     * @param columnIndex
+     * @param values
+     */
+    public PasteRowsCommand(ScenarioGridModel model, int rowIndex, int columnIndex, List<List<String>> values) {
+        super(model, rowIndex, values.size());
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    @Override
+    protected List<Scenario> createScenarios() {
+        final SimulationDescriptor simulationDescriptor = model.getSimulation()
+                .orElseThrow(() -> new IllegalStateException("Bind a simulation to the ScenarioGridModel to use it"))
+                .getSimulationDescriptor();
+        final List<Scenario> toReturn = new ArrayList<>();
+        for (List<String> rowValues : values) {
+            final Scenario scenario = model.createScenario();
+            for (int offset = 0; offset < rowValues.size(); offset++) {
+                final int currentColumnIndex = columnIndex + offset;
+                if (currentColumnIndex >= model.getColumnCount()) {
+                    break;
+                }
+                if (currentColumnIndex < 1) { // index column
+                    continue;
+                }
+                final FactMapping factMappingByIndex = simulationDescriptor.getFactMappingByIndex(currentColumnIndex);
+                final String value = rowValues.get(offset);
+                scenario.addOrUpdateMappingValue(factMappingByIndex.getFactIdentifier(),
+                                                 factMappingByIndex.getExpressionIdentifier(),
+                                                 (value == null || value.trim().isEmpty()) ? null : value);
+            }
+            toReturn.add(scenario);
+        }
+        return toReturn;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import org.uberfire.mvp.Command;
+
+/**
+ * <code>Command</code> that can be reverted. Implementations keep only what is needed to revert their own change,
+ * i.e. the rows they removed, never a copy of the whole model.
+ * <p>
+ * After <code>undo</code>, <code>execute</code> must apply the same change again
+ */
+public interface UndoableCommand extends Command {
+
+    void undo();
+}
@@ -32,13 +32,20 @@ import javax.inject.Inject;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.IsWidget;
 import org.drools.workbench.screens.scenariosimulation.client.commands.CommandExecutor;
+import org.drools.workbench.screens.scenariosimulation.client.events.RedoEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.UndoEvent;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationDocksHandler;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
+import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTreeLoader;
 import org.drools.workbench.screens.scenariosimulation.client.producers.ScenarioSimulationProducer;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.RightPanelPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.RightPanelView;
 import org.drools.workbench.screens.scenariosimulation.client.type.ScenarioSimulationResourceType;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridPanel;
+import org.drools.workbench.screens.scenariosimulation.model.FactMappingValue;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModelContent;
 import org.drools.workbench.screens.scenariosimulation.model.SimulationDescriptor;
@@ -46,10 +53,11 @@ import org.drools.workbench.screens.scenariosimulation.service.ScenarioSimulatio
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
-import org.jboss.errai.enterprise.client.jaxrs.MarshallingWrapper;
 import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracle;
 import org.kie.workbench.common.widgets.client.datamodel.AsyncPackageDataModelOracleFactory;
+import org.kie.workbench.common.widgets.client.datamodel.ImportAddedEvent;
+import org.kie.workbench.common.widgets.client.datamodel.ImportRemovedEvent;
 import org.kie.workbench.common.widgets.client.menu.FileMenuBuilder;
 import org.kie.workbench.common.widgets.configresource.client.widget.bound.ImportsWidgetPresenter;
 import org.kie.workbench.common.widgets.metadata.client.KieEditor;
@@ -60,7 +68,6 @@ import org.uberfire.client.annotations.WorkbenchMenu;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchPartTitleDecoration;
 import org.uberfire.client.annotations.WorkbenchPartView;
-import org.uberfire.client.callbacks.Callback;
 import org.uberfire.client.mvp.AbstractWorkbenchActivity;
 import org.uberfire.client.mvp.PlaceManager;
 import org.uberfire.client.mvp.PlaceStatus;
@@ -78,6 +85,7 @@ import org.uberfire.mvp.Command;
 import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
 import org.uberfire.mvp.impl.PathPlaceRequest;
+import org.uberfire.rpc.SessionInfo;
 import org.uberfire.workbench.model.menu.Menus;
 
 import static org.drools.workbench.screens.scenariosimulation.client.editor.ScenarioSimulationEditorPresenter.IDENTIFIER;
@@ -122,6 +130,25 @@ public class ScenarioSimulationEditorPresenter
 
     private ScenarioSimulationDocksHandler scenarioSimulationDocksHandler;
 
+    private SessionInfo sessionInfo;
+
+    /**
+     * Identifier of the asynchronous run in progress, null until the server returns it
+     */
+    private String currentRunId;
+
+    private boolean runInProgress = false;
+
+    /**
+     * Events received before the identifier of the run: events and RPC response are not ordered
+     */
+    private final List<ScenarioRunEvent> pendingRunEvents = new ArrayList<>();
+
+    /**
+     * Profiles of the scenarios executed by the current run, shown in the right panel when the run ends
+     */
+    private final List<ScenarioProfile> runProfiles = new ArrayList<>();
+
     public ScenarioSimulationEditorPresenter() {
         //Zero-parameter constructor for CDI proxies
     }
@@ -134,8 +161,10 @@ public class ScenarioSimulationEditorPresenter
                                              final AsyncPackageDataModelOracleFactory oracleFactory,
                                              final PlaceManager placeManager,
                                              final TestRunnerReportingScreen testRunnerReportingScreen,
-                                             final ScenarioSimulationDocksHandler scenarioSimulationDocksHandler) {
+                                             final ScenarioSimulationDocksHandler scenarioSimulationDocksHandler,
+                                             final SessionInfo sessionInfo) {
         super(scenarioSimulationProducer.getScenarioSimulationView());
+        this.sessionInfo = sessionInfo;
         this.testRunnerReportingScreen = testRunnerReportingScreen;
         this.scenarioSimulationDocksHandler = scenarioSimulationDocksHandler;
         this.view = (ScenarioSimulationView) baseView;
@@ -209,6 +238,14 @@ public class ScenarioSimulationEditorPresenter
         }
     }
 
+    public void onImportAddedEvent(@Observes ImportAddedEvent event) {
+        onImportsChanged(event.getDataModelOracle());
+    }
+
+    public void onImportRemovedEvent(@Observes ImportRemovedEvent event) {
+        onImportsChanged(event.getDataModelOracle());
+    }
+
     // Observing to hide RightPanel when ScenarioSimulationScreen is put in background
     public void onPlaceHiddenEvent(@Observes PlaceHiddenEvent placeHiddenEvent) {
         if (!(placeHiddenEvent.getPlace() instanceof PathPlaceRequest)) {  // Ignoring other requests
@@ -225,6 +262,13 @@ public class ScenarioSimulationEditorPresenter
         }
     }
 
+    void onImportsChanged(AsyncPackageDataModelOracle dataModelOracle) {
+        // imports are not managed by the grid so the change has to be tracked here
+        if (oracle != null && oracle.equals(dataModelOracle)) {
+            scenarioGridPanel.getScenarioGrid().getModel().incrementRevision();
+        }
+    }
+
     public void expandToolsDock() {
         scenarioSimulationDocksHandler.expandToolsDock();
     }
@@ -250,14 +294,74 @@ public class ScenarioSimulationEditorPresenter
 
     public void onRunScenario() {
         view.getScenarioGridPanel().getScenarioGrid().getModel().resetErrors();
-        service.call(refreshModel()).runScenario(versionRecordManager.getCurrentPath(), model);
+        scenarioSimulationDocksHandler.expandTestResultsDock();
+        runInProgress = true;
+        currentRunId = null;
+        pendingRunEvents.clear();
+        runProfiles.clear();
+        service.call(getRunStartedCallback()).runScenarioAsync(versionRecordManager.getCurrentPath(), model);
+    }
+
+    public void onCancelRunScenario() {
+        if (runInProgress && currentRunId != null) {
+            service.call().cancelRunScenario(currentRunId);
+        }
     }
 
-    RemoteCallback<ScenarioSimulationModel> refreshModel() {
-        return newModel -> {
-            this.model = newModel;
-            view.refreshContent(newModel.getSimulation());
-            scenarioSimulationDocksHandler.expandTestResultsDock();
+    public void onUndo() {
+        eventBus.fireEvent(new UndoEvent());
+    }
+
+    public void onRedo() {
+        eventBus.fireEvent(new RedoEvent());
+    }
+
+    // Observing to show the outcome of each scenario as soon as it is available
+    public void onScenarioRunEvent(@Observes ScenarioRunEvent scenarioRunEvent) {
+        if (!runInProgress || !sessionInfo.getId().equals(scenarioRunEvent.getSessionId())) {
+            return;
+        }
+        if (currentRunId == null) {
+            pendingRunEvents.add(scenarioRunEvent);
+            return;
+        }
+        if (!currentRunId.equals(scenarioRunEvent.getRunId())) {
+            return;
+        }
+        if (scenarioRunEvent.isTerminal()) {
+            runInProgress = false;
+            currentRunId = null;
+            view.refreshContent(model.getSimulation());
+            commandExecutor.clearHistory();
+            getRightPanelPresenter().ifPresent(presenter -> presenter.setProfiles(runProfiles));
+            return;
+        }
+        if (scenarioRunEvent.getProfile() != null) {
+            runProfiles.add(scenarioRunEvent.getProfile());
+        }
+        int scenarioIndex = scenarioRunEvent.getScenarioIndex();
+        // rows could have been removed while the run was in progress
+        // rows of a data file are not part of the model
+        if (scenarioRunEvent.getScenario() == null) {
+            return;
+        }
+        if (scenarioIndex < 0 || scenarioIndex >= model.getSimulation().getUnmodifiableScenarios().size()) {
+            return;
+        }
+        Scenario scenario = model.getSimulation().getScenarioByIndex(scenarioIndex);
+        for (FactMappingValue result : scenarioRunEvent.getScenario().getUnmodifiableFactMappingValues()) {
+            scenario.getFactMappingValue(result.getFactIdentifier(), result.getExpressionIdentifier())
+                    .ifPresent(factMappingValue -> factMappingValue.setError(result.isError()));
+        }
+        view.refreshErrors(scenarioIndex);
+    }
+
+    RemoteCallback<String> getRunStartedCallback() {
+        return runId -> {
+            currentRunId = runId;
+            List<ScenarioRunEvent> toProcess = new ArrayList<>(pendingRunEvents);
+            pendingRunEvents.clear();
+            toProcess.forEach(this::onScenarioRunEvent);
         };
     }
 
@@ -275,6 +379,9 @@ public class ScenarioSimulationEditorPresenter
     @Override
     protected void makeMenuBar() {
         fileMenuBuilder.addNewTopLevelMenu(view.getRunScenarioMenuItem());
+        fileMenuBuilder.addNewTopLevelMenu(view.getCancelRunScenarioMenuItem());
+        fileMenuBuilder.addNewTopLevelMenu(view.getUndoMenuItem());
+        fileMenuBuilder.addNewTopLevelMenu(view.getRedoMenuItem());
         super.makeMenuBar();
     }
 
@@ -285,7 +392,7 @@ public class ScenarioSimulationEditorPresenter
 
     @Override
     protected void save(final String commitMessage) {
-        service.call(getSaveSuccessCallback(getJsonModel(model).hashCode()),
+        service.call(getSaveSuccessCallback(getCurrentRevision()),
                      new HasBusyIndicatorDefaultErrorCallback(baseView)).save(versionRecordManager.getCurrentPath(),
                                                                               model,
                                                                               metadata,
@@ -332,34 +439,55 @@ public class ScenarioSimulationEditorPresenter
             }
             return;
         }
-        // Instantiate the aggregator callback
-        Callback<FactModelTree> aggregatorCallback = aggregatorCallback(rightPanelPresenter, factTypes.length, factTypeFieldsMap);
-        // Iterate over all facttypes to retrieve their modelfields
+        // Only the names are needed to show the facts: their modelfields are retrieved when they are expanded
         for (String factType : factTypes) {
-            oracle.getFieldCompletions(factType, fieldCompletionsCallback(factType, aggregatorCallback));
+            FactModelTree factModelTree = getFactModelTree(factType, new ModelField[0]);
+            factModelTree.setLoaded(false);
+            factTypeFieldsMap.put(factType, factModelTree);
         }
+        rightPanelPresenter.setFactModelTreeLoader(getFactModelTreeLoader(factTypeFieldsMap));
+        rightPanelPresenter.setDataObjectFieldsMap(factTypeFieldsMap);
+        rightPanelPresenter.setInstanceFieldsMap(getInstanceFieldsMap(factTypeFieldsMap));
     }
 
     void clearRightPanelStatus() {
         getRightPanelPresenter().ifPresent(RightPanelView.Presenter::onClearStatus);
     }
 
-    String getJsonModel(ScenarioSimulationModel model) {
-        return MarshallingWrapper.toJSON(model);
+    /**
+     * Revision of the model, used instead of its hash to detect changes: the original hash is the revision of the last
+     * load/save
+     * @return
+     */
+    int getCurrentRevision() {
+        return scenarioGridPanel.getScenarioGrid().getModel().getRevision();
     }
 
     /**
-     * This <code>Callback</code> will receive <code>ModelField[]</code> from <code>AsyncPackageDataModelOracleFactory.getFieldCompletions(final String,
-     * final Callback&lt;ModelField[]&gt;)</code>; build a <code>FactModelTree</code> from them, and send it to the
-     * given <code>Callback&lt;FactModelTree&gt;</code> aggregatorCallback
-     * @param factName
-     * @param aggregatorCallback
+     * This <code>FactModelTreeLoader</code> retrieves the <code>ModelField[]</code> of a fact with
+     * <code>AsyncPackageDataModelOracle.getFieldCompletions(final String, final Callback&lt;ModelField[]&gt;)</code>
+     * and adds them to its <code>FactModelTree</code>. Requests for a fact already being retrieved wait for the
+     * same result instead of querying the oracle again
+     * @param factTypeFieldsMap
      * @return
      */
-    protected Callback<ModelField[]> fieldCompletionsCallback(String factName, Callback<FactModelTree> aggregatorCallback) {
-        return result -> {
-            FactModelTree toSend = getFactModelTree(factName, result);
-            aggregatorCallback.callback(toSend);
+    protected FactModelTreeLoader getFactModelTreeLoader(SortedMap<String, FactModelTree> factTypeFieldsMap) {
+        final Map<String, List<Command>> pendingLoads = new HashMap<>();
+        return (toLoad, onLoaded) -> {
+            final String factName = toLoad.getFactName();
+            if (pendingLoads.containsKey(factName)) {
+                pendingLoads.get(factName).add(onLoaded);
+                return;
+            }
+            final List<Command> toExecute = new ArrayList<>();
+            toExecute.add(onLoaded);
+            pendingLoads.put(factName, toExecute);
+            oracle.getFieldCompletions(factName, result -> {
+                getFactModelTree(factName, result).getSimpleProperties().forEach(toLoad::addSimpleProperty);
+                populateFactModel(toLoad, factTypeFieldsMap);
+                toLoad.setLoaded(true);
+                pendingLoads.remove(factName).forEach(Command::execute);
+            });
         };
     }
 
@@ -404,45 +532,36 @@ public class ScenarioSimulationEditorPresenter
             addImportsTab(importsWidget);
             baseView.hideBusyIndicator();
             view.setContent(model.getSimulation());
-            setOriginalHash(getJsonModel(model).hashCode());
+            // i.e. a reload or the restore of a version: changes recorded on the previous content cannot be undone
+            commandExecutor.clearHistory();
+            setOriginalHash(getCurrentRevision());
         };
     }
 
     /**
-     * This <code>Callback</code> will receive data from other callbacks and when the retrieved results get to the
-     * expected ones it will recursively elaborate the map
-     * @param rightPanelPresenter
-     * @param expectedElements
+     * Map each instance name of the simulation to the <code>FactModelTree</code> of its data model class
      * @param factTypeFieldsMap
      * @return
      */
-    private Callback<FactModelTree> aggregatorCallback(final RightPanelView.Presenter rightPanelPresenter, final int expectedElements, SortedMap<String, FactModelTree> factTypeFieldsMap) {
-        return result -> {
-            factTypeFieldsMap.put(result.getFactName(), result);
-            if (factTypeFieldsMap.size() == expectedElements) {
-                factTypeFieldsMap.values().forEach(factModelTree -> populateFactModel(factModelTree, factTypeFieldsMap));
-                rightPanelPresenter.setDataObjectFieldsMap(factTypeFieldsMap);
-                SortedMap<String, FactModelTree> instanceFieldsMap = new TreeMap<>();
-                // map instance name top data model class
-                if (model != null) {
-                    final SimulationDescriptor simulationDescriptor = model.getSimulation().getSimulationDescriptor();
-                    simulationDescriptor.getUnmodifiableFactMappings().forEach(factMapping -> {
-                        String dataObjectName = factMapping.getFactIdentifier().getClassName();
-                        if (dataObjectName.contains(".")) {
-                            dataObjectName = dataObjectName.substring(dataObjectName.lastIndexOf(".") + 1);
-                        }
-                        final String instanceName = factMapping.getFactAlias();
-                        if (!instanceName.equals(dataObjectName)) {
-                            final FactModelTree factModelTree = factTypeFieldsMap.get(dataObjectName);
-                            if (factModelTree != null) {
-                                instanceFieldsMap.put(instanceName, factModelTree);
-                            }
-                        }
-                    });
+    private SortedMap<String, FactModelTree> getInstanceFieldsMap(SortedMap<String, FactModelTree> factTypeFieldsMap) {
+        SortedMap<String, FactModelTree> instanceFieldsMap = new TreeMap<>();
+        if (model != null) {
+            final SimulationDescriptor simulationDescriptor = model.getSimulation().getSimulationDescriptor();
+            simulationDescriptor.getUnmodifiableFactMappings().forEach(factMapping -> {
+                String dataObjectName = factMapping.getFactIdentifier().getClassName();
+                if (dataObjectName.contains(".")) {
+                    dataObjectName = dataObjectName.substring(dataObjectName.lastIndexOf(".") + 1);
                 }
-                rightPanelPresenter.setInstanceFieldsMap(instanceFieldsMap);
-            }
-        };
+                final String instanceName = factMapping.getFactAlias();
+                if (!instanceName.equals(dataObjectName)) {
+                    final FactModelTree factModelTree = factTypeFieldsMap.get(dataObjectName);
+                    if (factModelTree != null) {
+                        instanceFieldsMap.put(instanceName, factModelTree);
+                    }
+                }
+            });
+        }
+        return instanceFieldsMap;
     }
 
     private void populateFactModel(FactModelTree toPopulate, SortedMap<String, FactModelTree> factTypeFieldsMap) {
@@ -476,9 +595,7 @@ public class ScenarioSimulationEditorPresenter
 
     boolean isDirty() {
         try {
-            view.getScenarioGridPanel().getScenarioGrid().getModel().resetErrors();
-            int currentHashcode = MarshallingWrapper.toJSON(model).hashCode();
-            return originalHash != currentHashcode;
+            return originalHash != null && originalHash != getCurrentRevision();
         } catch (Exception ignored) {
             return false;
         }
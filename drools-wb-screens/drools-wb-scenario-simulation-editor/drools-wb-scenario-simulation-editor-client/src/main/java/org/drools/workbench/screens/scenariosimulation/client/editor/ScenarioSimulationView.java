@@ -36,6 +36,18 @@ public interface ScenarioSimulationView extends KieEditorView,
 
     MenuItem getRunScenarioMenuItem();
 
+    MenuItem getCancelRunScenarioMenuItem();
+
+    MenuItem getUndoMenuItem();
+
+    MenuItem getRedoMenuItem();
+
+    /**
+     * Refresh the errors of a single row, i.e. when the outcome of a single scenario is received
+     * @param rowIndex
+     */
+    void refreshErrors(int rowIndex);
+
     void setScenarioGridPanel(ScenarioGridPanel scenarioGridPanel);
 
     ScenarioGridPanel getScenarioGridPanel();
@@ -78,6 +78,30 @@ public class ScenarioSimulationViewImpl
                                        () -> presenter.onRunScenario());
     }
 
+    @Override
+    public MenuItem getCancelRunScenarioMenuItem() {
+        return new RunScenarioMenuItem(ScenarioSimulationEditorConstants.INSTANCE.cancelRunScenarioSimulation(),
+                                       () -> presenter.onCancelRunScenario());
+    }
+
+    @Override
+    public MenuItem getUndoMenuItem() {
+        return new ButtonMenuItem(ScenarioSimulationEditorConstants.INSTANCE.undo(),
+                                  () -> presenter.onUndo());
+    }
+
+    @Override
+    public MenuItem getRedoMenuItem() {
+        return new ButtonMenuItem(ScenarioSimulationEditorConstants.INSTANCE.redo(),
+                                  () -> presenter.onRedo());
+    }
+
+    @Override
+    public void refreshErrors(int rowIndex) {
+        scenarioGridPanel.getScenarioGrid().getModel().refreshErrorsRow(rowIndex);
+        scenarioGridLayer.batch();
+    }
+
     @Override
     public ScenarioGridPanel getScenarioGridPanel() {
         return scenarioGridPanel;
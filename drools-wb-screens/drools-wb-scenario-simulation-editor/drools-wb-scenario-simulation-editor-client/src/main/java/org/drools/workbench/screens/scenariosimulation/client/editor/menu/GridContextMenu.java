@@ -20,9 +20,10 @@ import javax.annotation.PostConstruct;
 import javax.enterprise.context.Dependent;
 
 import com.google.gwt.dom.client.LIElement;
-import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowEvent;
-import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowEvent;
-import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.PasteRowsEvent;
 
 /**
  * The contextual menu of a a <i>ROW</i> cell whose <b>GROUP</b> does <b>allow</b> column modification (insert/delete). It has the same items has {@link AbstractColumnMenuPresenter} and specific ones (?)
@@ -41,11 +42,13 @@ public class GridContextMenu extends AbstractColumnMenuPresenter {
     private final String GRIDCONTEXTMENU_INSERT_ROW_BELOW = "gridcontextmenu-insert-row-below";
     private final String GRIDCONTEXTMENU_DELETE_ROW = "gridcontextmenu-delete-row";
     private final String GRIDCONTEXTMENU_DUPLICATE_ROW = "gridcontextmenu-duplicate-row";
+    private final String GRIDCONTEXTMENU_PASTE_ROWS = "gridcontextmenu-paste-rows";
 
     private LIElement insertRowAboveLIElement;
     private LIElement insertRowBelowLIElement;
     private LIElement duplicateRowLIElement;
     private LIElement deleteRowLIElement;
+    private LIElement pasteRowsLIElement;
 
     @PostConstruct
     @Override
@@ -66,9 +69,20 @@ public class GridContextMenu extends AbstractColumnMenuPresenter {
         insertRowBelowLIElement = addExecutableMenuItem(GRIDCONTEXTMENU_INSERT_ROW_BELOW, constants.insertRowBelow(), "insertRowBelow");
         duplicateRowLIElement = addExecutableMenuItem(GRIDCONTEXTMENU_DUPLICATE_ROW, constants.duplicateRow(), "duplicateRow");
         deleteRowLIElement = addExecutableMenuItem(GRIDCONTEXTMENU_DELETE_ROW, constants.deleteRow(), "deleteRow");
+        pasteRowsLIElement = addExecutableMenuItem(GRIDCONTEXTMENU_PASTE_ROWS, constants.pasteRows(), "pasteRows");
     }
 
-    public void show(final int mx, final int my, int columnIndex, int rowIndex, String group, boolean asProperty) {
+    /**
+     * Row items act on the given block of rows: the selected rows that contain the one clicked
+     * @param mx
+     * @param my
+     * @param columnIndex
+     * @param rowIndex index of the first row of the block
+     * @param rowCount
+     * @param group
+     * @param asProperty
+     */
+    public void show(final int mx, final int my, int columnIndex, int rowIndex, int rowCount, String group, boolean asProperty) {
         super.show(mx, my, columnIndex, group, asProperty);
         columnContextLIElement
                 .getChild(1) //  a  element
@@ -76,9 +90,10 @@ public class GridContextMenu extends AbstractColumnMenuPresenter {
                 .getFirstChild() // b element
                 .getChild(0) // text
                 .setNodeValue(group);
-        mapEvent(insertRowAboveLIElement, new InsertRowEvent(rowIndex));
-        mapEvent(insertRowBelowLIElement, new InsertRowEvent(rowIndex + 1));
-        mapEvent(duplicateRowLIElement, new DuplicateRowEvent(rowIndex));
-        mapEvent(deleteRowLIElement, new DeleteRowEvent(rowIndex));
+        mapEvent(insertRowAboveLIElement, new InsertRowsEvent(rowIndex, rowCount));
+        mapEvent(insertRowBelowLIElement, new InsertRowsEvent(rowIndex + rowCount, rowCount));
+        mapEvent(duplicateRowLIElement, new DuplicateRowsEvent(rowIndex, rowCount));
+        mapEvent(deleteRowLIElement, new DeleteRowsEvent(rowIndex, rowCount));
+        mapEvent(pasteRowsLIElement, new PasteRowsEvent(rowIndex + rowCount, columnIndex));
     }
 }
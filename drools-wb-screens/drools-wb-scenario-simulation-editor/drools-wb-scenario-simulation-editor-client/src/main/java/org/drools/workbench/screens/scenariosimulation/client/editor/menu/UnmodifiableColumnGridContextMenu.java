@@ -20,9 +20,10 @@ import javax.annotation.PostConstruct;
 import javax.enterprise.context.Dependent;
 
 import com.google.gwt.dom.client.LIElement;
-import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowEvent;
-import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowEvent;
-import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.PasteRowsEvent;
 
 /**
  * The contextual menu of a <i>ROW</i> cell whose <b>GROUP</b> does <b>not allow</b> column modification (insert/delete). It has the same items has {@link AbstractColumnMenuPresenter} and specific ones (?)
@@ -37,11 +38,13 @@ public class UnmodifiableColumnGridContextMenu extends AbstractHeaderMenuPresent
     private final String UCGRIDCONTEXTMENU_INSERT_ROW_BELOW = "ucgridcontextmenu-insert-row-below";
     private final String UCGRIDCONTEXTMENU_DELETE_ROW = "ucgridcontextmenu-delete-row";
     private final String UCGRIDCONTEXTMENU_DUPLICATE_ROW = "ucgridcontextmenu-duplicate-row";
+    private final String UCGRIDCONTEXTMENU_PASTE_ROWS = "ucgridcontextmenu-paste-rows";
 
     private LIElement insertRowAboveLIElement;
     private LIElement insertRowBelowLIElement;
     private LIElement duplicateRowLIElement;
     private LIElement deleteRowLIElement;
+    private LIElement pasteRowsLIElement;
 
     @PostConstruct
     @Override
@@ -55,13 +58,23 @@ public class UnmodifiableColumnGridContextMenu extends AbstractHeaderMenuPresent
         insertRowBelowLIElement = addExecutableMenuItem(UCGRIDCONTEXTMENU_INSERT_ROW_BELOW, constants.insertRowBelow(), "insertRowBelow");
         duplicateRowLIElement = addExecutableMenuItem(UCGRIDCONTEXTMENU_DUPLICATE_ROW, constants.duplicateRow(), "duplicateRow");
         deleteRowLIElement = addExecutableMenuItem(UCGRIDCONTEXTMENU_DELETE_ROW, constants.deleteRow(), "deleteRow");
+        pasteRowsLIElement = addExecutableMenuItem(UCGRIDCONTEXTMENU_PASTE_ROWS, constants.pasteRows(), "pasteRows");
     }
 
-    public void show(final int mx, final int my, int rowIndex) {
+    /**
+     * Row items act on the given block of rows: the selected rows that contain the one clicked
+     * @param mx
+     * @param my
+     * @param columnIndex first column of the pasted values
+     * @param rowIndex index of the first row of the block
+     * @param rowCount
+     */
+    public void show(final int mx, final int my, int columnIndex, int rowIndex, int rowCount) {
         super.show(mx, my);
-        mapEvent(insertRowAboveLIElement, new InsertRowEvent(rowIndex));
-        mapEvent(insertRowBelowLIElement, new InsertRowEvent(rowIndex + 1));
-        mapEvent(duplicateRowLIElement, new DuplicateRowEvent(rowIndex));
-        mapEvent(deleteRowLIElement, new DeleteRowEvent(rowIndex));
+        mapEvent(insertRowAboveLIElement, new InsertRowsEvent(rowIndex, rowCount));
+        mapEvent(insertRowBelowLIElement, new InsertRowsEvent(rowIndex + rowCount, rowCount));
+        mapEvent(duplicateRowLIElement, new DuplicateRowsEvent(rowIndex, rowCount));
+        mapEvent(deleteRowLIElement, new DeleteRowsEvent(rowIndex, rowCount));
+        mapEvent(pasteRowsLIElement, new PasteRowsEvent(rowIndex + rowCount, columnIndex));
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.events;
+
+import java.util.List;
+
+import com.google.gwt.event.shared.GwtEvent;
+import org.drools.workbench.screens.scenariosimulation.client.handlers.PasteRowsEventHandler;
+
+/**
+ * <code>GwtEvent</code> to <b>paste</b> a block of values as new rows. Without values the block is read from the
+ * system clipboard
+ */
+public class PasteRowsEvent extends GwtEvent<PasteRowsEventHandler> {
+
+    public static Type<PasteRowsEventHandler> TYPE = new Type<>();
+
+    private final int rowIndex;
+
+    private final int columnIndex;
+
+    private final List<List<String>> values;
+
+    public PasteRowsEvent(int rowIndex, int columnIndex) {
+        this(rowIndex, columnIndex, null);
+    }
+
+    public PasteRowsEvent(int rowIndex, int columnIndex, List<List<String>> values) {
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    @Override
+    public Type<PasteRowsEventHandler> getAssociatedType() {
+        return TYPE;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    public List<List<String>> getValues() {
+        return values;
+    }
+
+    @Override
+    protected void dispatch(PasteRowsEventHandler handler) {
+        handler.onEvent(this);
+    }
+}
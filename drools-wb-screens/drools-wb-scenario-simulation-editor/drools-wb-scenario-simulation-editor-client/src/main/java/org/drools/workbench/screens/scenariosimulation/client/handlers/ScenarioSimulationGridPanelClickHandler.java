@@ -52,6 +52,7 @@ import org.drools.workbench.screens.scenariosimulation.model.ExpressionElement;
 import org.drools.workbench.screens.scenariosimulation.model.Simulation;
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.util.CoordinateUtilities;
 import org.uberfire.ext.wires.core.grids.client.widget.context.GridBodyCellEditContext;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.impl.BaseGridRendererHelper;
@@ -271,13 +272,17 @@ public class ScenarioSimulationGridPanelClickHandler implements ClickHandler,
             return false;
         }
         String group = scenarioGridColumn.getInformationHeaderMetaData().getColumnGroup();
+        // row items act on all the selected rows when the clicked one is among them
+        final GridData.Range rowsRange = scenarioGrid.getModel().getSelectedRowsRange(uiRowIndex);
+        final int rowIndex = rowsRange.getMinRowIndex();
+        final int rowCount = rowsRange.getMaxRowIndex() - rowsRange.getMinRowIndex() + 1;
         switch (group) {
             case "GIVEN":
             case "EXPECT":
-                gridContextMenu.show(left, top, uiColumnIndex, uiRowIndex, group, true);
+                gridContextMenu.show(left, top, uiColumnIndex, rowIndex, rowCount, group, true);
                 break;
             default:
-                unmodifiableColumnGridContextMenu.show(left, top, uiRowIndex);
+                unmodifiableColumnGridContextMenu.show(left, top, uiColumnIndex, rowIndex, rowCount);
         }
         return true;
     }
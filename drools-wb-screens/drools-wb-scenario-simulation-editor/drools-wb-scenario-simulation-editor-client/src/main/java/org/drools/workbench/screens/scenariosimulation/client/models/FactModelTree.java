@@ -28,6 +28,7 @@ public class FactModelTree {
 
     private final Map<String, String> simpleProperties; // Map of the properties: key = property name, value = property value
     private final Map<String, String> expandableProperties = new HashMap<>(); // Map of the expandable properties: key = property name, value = property value
+    private boolean loaded = true; // false until the properties have been retrieved, i.e. when the fact is expanded the first time
 
     public FactModelTree(String factName, String fullPackage, Map<String, String> simpleProperties) {
         this.factName = factName;
@@ -63,6 +64,14 @@ public class FactModelTree {
         simpleProperties.remove(propertyName);
     }
 
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+
 
     @Override
     public String toString() {
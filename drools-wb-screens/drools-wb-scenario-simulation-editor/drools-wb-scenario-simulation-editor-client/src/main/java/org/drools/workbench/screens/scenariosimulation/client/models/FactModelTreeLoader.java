@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.models;
+
+import org.uberfire.mvp.Command;
+
+/**
+ * Retrieves the properties of a <code>FactModelTree</code> created without them, i.e. when the fact is expanded in the
+ * right panel for the first time
+ */
+@FunctionalInterface
+public interface FactModelTreeLoader {
+
+    /**
+     * Populate the properties of the given <code>FactModelTree</code>, set it as loaded and then execute onLoaded
+     * @param toLoad
+     * @param onLoaded
+     */
+    void load(FactModelTree toLoad, Command onLoaded);
+}
@@ -17,12 +17,16 @@ package org.drools.workbench.screens.scenariosimulation.client.models;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.google.gwt.event.shared.EventBus;
@@ -34,6 +38,7 @@ import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.Sce
 import org.drools.workbench.screens.scenariosimulation.client.values.ScenarioGridCellValue;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridCell;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridColumn;
+import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridRow;
 import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
 import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
 import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
@@ -61,6 +66,23 @@ public class ScenarioGridModel extends BaseGridData {
 
     protected GridColumn<?> selectedColumn = null;
 
+    /**
+     * Revision of the underlying model, incremented by every method that changes it: comparing two revisions is enough
+     * to know if the model has been modified, without serializing it
+     */
+    protected int revision = 0;
+
+    /**
+     * Highest revision assigned so far: a change never reuses the revision of a state that has been undone
+     */
+    protected int lastRevision = 0;
+
+    /**
+     * Indexes of the columns with an error, by row index: only the rows with at least one error are kept. Markers are
+     * applied to the cells when they are read, so only the rows actually drawn by the renderer are touched
+     */
+    protected Map<Integer, Set<Integer>> errorCells = new HashMap<>();
+
     public ScenarioGridModel() {
     }
 
@@ -83,6 +105,26 @@ public class ScenarioGridModel extends BaseGridData {
         this.eventBus = eventBus;
     }
 
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * To be called when the underlying model is changed without using the methods of this class
+     */
+    public void incrementRevision() {
+        revision = ++lastRevision;
+    }
+
+    /**
+     * To be called when the model is brought back to a state it already had, i.e. on undo, with the revision of that
+     * state
+     * @param revision
+     */
+    public void restoreRevision(int revision) {
+        this.revision = revision;
+    }
+
     public int nextColumnCount() {
         return columnCounter.getAndIncrement();
     }
@@ -106,6 +148,7 @@ public class ScenarioGridModel extends BaseGridData {
     @Override
     public void appendRow(GridRow row) {
         checkSimulation();
+        incrementRevision();
         super.appendRow(row);
         int rowIndex = getRowCount() - 1;
         commonAddRow(rowIndex);
@@ -119,6 +162,7 @@ public class ScenarioGridModel extends BaseGridData {
                                   final GridRow row, final Scenario scenario) {
         checkSimulation();
         super.insertRow(rowIndex, row);
+        shiftErrorRows(rowIndex, 1);
         scenario.getUnmodifiableFactMappingValues().forEach(value -> {
             FactIdentifier factIdentifier = value.getFactIdentifier();
             ExpressionIdentifier expressionIdentifier = value.getExpressionIdentifier();
@@ -131,7 +175,7 @@ public class ScenarioGridModel extends BaseGridData {
                 throw new UnsupportedOperationException("Only string is supported at the moment");
             }
         });
-        updateIndexColumn();
+        updateIndexColumn(rowIndex);
     }
 
     /**
@@ -141,7 +185,9 @@ public class ScenarioGridModel extends BaseGridData {
     @Override
     public void insertRow(int rowIndex, GridRow row) {
         checkSimulation();
+        incrementRevision();
         super.insertRow(rowIndex, row);
+        shiftErrorRows(rowIndex, 1);
         commonAddRow(rowIndex);
     }
 
@@ -152,9 +198,73 @@ public class ScenarioGridModel extends BaseGridData {
     @Override
     public Range deleteRow(int rowIndex) {
         checkSimulation();
+        incrementRevision();
         Range toReturn = super.deleteRow(rowIndex);
         simulation.removeScenarioByIndex(rowIndex);
-        updateIndexColumn();
+        errorCells.remove(rowIndex);
+        shiftErrorRows(rowIndex + 1, -1);
+        updateIndexColumn(rowIndex);
+        return toReturn;
+    }
+
+    /**
+     * This method <i>insert</i> a block of rows to the grid <b>and</b> the given scenarios to the underlying model, in a
+     * single pass: the revision and the index column are updated once for the whole block. The error markers of the
+     * scenarios, i.e. of rows deleted and inserted back, are restored
+     * @param rowIndex
+     * @param scenarios scenarios not bound to the underlying model, i.e. the ones returned by {@link #deleteRows(int, int)}
+     */
+    public void insertRows(int rowIndex, List<Scenario> scenarios) {
+        checkSimulation();
+        incrementRevision();
+        simulation.addScenarios(rowIndex, scenarios);
+        shiftErrorRows(rowIndex, scenarios.size());
+        final SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
+        IntStream.range(0, scenarios.size()).forEach(offset -> {
+            final int currentRowIndex = rowIndex + offset;
+            super.insertRow(currentRowIndex, new ScenarioGridRow());
+            scenarios.get(offset).getUnmodifiableFactMappingValues().forEach(value -> {
+                int columnIndex = simulationDescriptor.getIndexByIdentifier(value.getFactIdentifier(), value.getExpressionIdentifier());
+                String placeHolder = ((ScenarioGridColumn) columns.get(columnIndex)).getPlaceHolder();
+                String stringValue = value.getRawValue() != null ? value.getRawValue().toString() : null;
+                // the scenario already contains the value: only the grid is updated
+                super.setCell(currentRowIndex, columnIndex, () -> new ScenarioGridCell(new ScenarioGridCellValue(stringValue, placeHolder)));
+            });
+            refreshErrorsRow(currentRowIndex);
+        });
+        updateIndexColumn(rowIndex);
+    }
+
+    /**
+     * This method <i>delete</i> a block of rows from both the grid <b>and</b> the underlying model, in a single pass
+     * @param rowIndex
+     * @param count
+     * @return the removed scenarios, that can be inserted back with {@link #insertRows(int, List)}
+     */
+    public List<Scenario> deleteRows(int rowIndex, int count) {
+        checkSimulation();
+        incrementRevision();
+        final List<Scenario> toReturn = simulation.removeScenarios(rowIndex, count);
+        IntStream.range(0, count).forEach(offset -> super.deleteRow(rowIndex));
+        IntStream.range(rowIndex, rowIndex + count).forEach(errorCells::remove);
+        shiftErrorRows(rowIndex + count, -count);
+        updateIndexColumn(rowIndex);
+        return toReturn;
+    }
+
+    /**
+     * Returns a new <code>Scenario</code>, <b>not</b> added to the underlying model, with an empty value for each
+     * column but the index one
+     * @return
+     */
+    public Scenario createScenario() {
+        checkSimulation();
+        final SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
+        final Scenario toReturn = new Scenario(simulationDescriptor);
+        IntStream.range(1, getColumnCount()).forEach(columnIndex -> {
+            final FactMapping factMappingByIndex = simulationDescriptor.getFactMappingByIndex(columnIndex);
+            toReturn.addMappingValue(factMappingByIndex.getFactIdentifier(), factMappingByIndex.getExpressionIdentifier(), null);
+        });
         return toReturn;
     }
 
@@ -165,6 +275,7 @@ public class ScenarioGridModel extends BaseGridData {
      */
     public void duplicateRow(int rowIndex, GridRow row) {
         checkSimulation();
+        incrementRevision();
         int newRowIndex = rowIndex + 1;
         final Scenario toDuplicate = simulation.cloneScenario(rowIndex, newRowIndex);
         insertRowGridOnly(newRowIndex, row, toDuplicate);
@@ -178,6 +289,7 @@ public class ScenarioGridModel extends BaseGridData {
     public void insertColumnGridOnly(final int index, final GridColumn<?> column) {
         checkSimulation();
         super.insertColumn(index, column);
+        shiftErrorColumns(index, 1);
     }
 
     /**
@@ -188,6 +300,7 @@ public class ScenarioGridModel extends BaseGridData {
     @Override
     public void insertColumn(final int index, final GridColumn<?> column) {
         checkSimulation();
+        incrementRevision();
         commonAddColumn(index, column);
     }
 
@@ -197,9 +310,13 @@ public class ScenarioGridModel extends BaseGridData {
      */
     public void deleteColumn(int columnIndex) {
         checkSimulation();
+        incrementRevision();
         final GridColumn<?> toDelete = getColumns().get(columnIndex);
         deleteColumn(toDelete);
         simulation.removeFactMappingByIndex(columnIndex);
+        errorCells.values().forEach(errorColumns -> errorColumns.remove(columnIndex));
+        errorCells.values().removeIf(Set::isEmpty);
+        shiftErrorColumns(columnIndex + 1, -1);
     }
 
     /**
@@ -209,6 +326,7 @@ public class ScenarioGridModel extends BaseGridData {
      */
     public void updateColumnInstance(int columnIndex, final GridColumn<?> column) {
         checkSimulation();
+        incrementRevision();
         deleteColumn(columnIndex);
         String group = ((ScenarioGridColumn) column).getInformationHeaderMetaData().getColumnGroup();
         String columnId = ((ScenarioGridColumn) column).getInformationHeaderMetaData().getColumnId();
@@ -226,6 +344,7 @@ public class ScenarioGridModel extends BaseGridData {
      */
     public void updateColumnProperty(int columnIndex, final GridColumn<?> column, String value, String lastLevelClassName, boolean keepData) {
         checkSimulation();
+        incrementRevision();
         List<GridCellValue<?>> originalValues = new ArrayList<>();
         if (keepData) {
             IntStream.range(0, getRowCount())
@@ -266,6 +385,7 @@ public class ScenarioGridModel extends BaseGridData {
     @Override
     public Range setCell(int rowIndex, int columnIndex, Supplier<GridCell<?>> cellSupplier) {
         checkSimulation();
+        incrementRevision();
         Range toReturn = super.setCell(rowIndex, columnIndex, cellSupplier);
         try {
             Optional<?> optionalValue = getCellValue(getCell(rowIndex, columnIndex));
@@ -283,6 +403,18 @@ public class ScenarioGridModel extends BaseGridData {
         return toReturn;
     }
 
+    /**
+     * The error marker of the cell is applied here, when the cell is read, instead of being kept up to date for all the
+     * cells of the grid
+     * @param rowIndex
+     * @param columnIndex
+     * @return
+     */
+    @Override
+    public GridCell<?> getCell(int rowIndex, int columnIndex) {
+        return applyErrorMarker(rowIndex, columnIndex, super.getCell(rowIndex, columnIndex));
+    }
+
     @Override
     public Range setCellValue(int rowIndex, int columnIndex, GridCellValue<?> value) {
         return setCell(rowIndex, columnIndex, () -> new ScenarioGridCell((ScenarioGridCellValue) value));
@@ -290,6 +422,7 @@ public class ScenarioGridModel extends BaseGridData {
 
     @Override
     public Range deleteCell(int rowIndex, int columnIndex) {
+        incrementRevision();
         FactMapping factMapping = simulation.getSimulationDescriptor().getFactMappingByIndex(columnIndex);
         simulation.getScenarioByIndex(rowIndex)
                 .removeFactMappingValueByIdentifiers(factMapping.getFactIdentifier(), factMapping.getExpressionIdentifier());
@@ -374,6 +507,7 @@ public class ScenarioGridModel extends BaseGridData {
         if (Objects.equals(editedMetadata.getTitle(), value)) {
             return;
         }
+        incrementRevision();
         SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
         FactMapping factMappingToEdit = simulationDescriptor.getFactMappingByIndex(columnIndex);
         if (editedMetadata.isInstanceHeader()) { // we have to update title and value for every column of the group
@@ -392,6 +526,8 @@ public class ScenarioGridModel extends BaseGridData {
     }
 
     public void clear() {
+        incrementRevision();
+        errorCells.clear();
         // Deleting rows
         int to = getRowCount();
         IntStream.range(0, to)
@@ -439,6 +575,29 @@ public class ScenarioGridModel extends BaseGridData {
         IntStream.range(0, columns).forEach(columnIndex -> selectCell(rowIndex, columnIndex));
     }
 
+    /**
+     * Returns the block of selected rows that contains the given one, or only the given row if it is not selected
+     * @param rowIndex
+     * @return
+     */
+    public Range getSelectedRowsRange(int rowIndex) {
+        final Set<Integer> selectedRows = getSelectedCells().stream()
+                .map(SelectedCell::getRowIndex)
+                .collect(Collectors.toSet());
+        if (!selectedRows.contains(rowIndex)) {
+            return new Range(rowIndex);
+        }
+        int minRowIndex = rowIndex;
+        while (selectedRows.contains(minRowIndex - 1)) {
+            minRowIndex--;
+        }
+        int maxRowIndex = rowIndex;
+        while (selectedRows.contains(maxRowIndex + 1)) {
+            maxRowIndex++;
+        }
+        return new Range(minRowIndex, maxRowIndex);
+    }
+
     public GridColumn<?> getSelectedColumn() {
         return selectedColumn;
     }
@@ -543,6 +702,7 @@ public class ScenarioGridModel extends BaseGridData {
                 super.appendColumn(column);
             } else {
                 super.insertColumn(index, column);
+                shiftErrorColumns(index, 1);
             }
             final Range instanceLimits = getInstanceLimits(columnIndex);
             IntStream.range(instanceLimits.getMinRowIndex(), instanceLimits.getMaxRowIndex() + 1)
@@ -570,17 +730,25 @@ public class ScenarioGridModel extends BaseGridData {
             String placeHolder = ((ScenarioGridColumn) columns.get(columnIndex)).isPropertyAssigned() ? ScenarioSimulationEditorConstants.INSTANCE.insertValue() : ScenarioSimulationEditorConstants.INSTANCE.defineValidType();
             setCell(rowIndex, columnIndex, () -> new ScenarioGridCell(new ScenarioGridCellValue(null, placeHolder)));
         });
-        updateIndexColumn();
+        updateIndexColumn(rowIndex);
     }
 
     protected void updateIndexColumn() {
+        updateIndexColumn(0);
+    }
+
+    /**
+     * Update the index column from the given row: rows before it did not move
+     * @param fromRowIndex
+     */
+    protected void updateIndexColumn(int fromRowIndex) {
         final Optional<GridColumn<?>> indexColumn = this.getColumns()    // Retrieving the column list
                 .stream()  // streaming
                 .filter(gridColumn -> ((ScenarioGridColumn) gridColumn).getInformationHeaderMetaData().getTitle().equals(FactIdentifier.INDEX.getName()))  // filtering by group name
                 .findFirst();
         indexColumn.ifPresent(column -> {
             int indexOfColumn = getColumns().indexOf(column);
-            IntStream.range(0, getRowCount())
+            IntStream.range(Math.max(fromRowIndex, 0), getRowCount())
                     .forEach(rowIndex -> {
                         String value = String.valueOf(rowIndex + 1);
                         setCellValue(rowIndex, indexOfColumn, new ScenarioGridCellValue(value));
@@ -629,36 +797,94 @@ public class ScenarioGridModel extends BaseGridData {
                 .noneMatch(elem -> Objects.equals(elem.getTitle(), value));
     }
 
+    /**
+     * Reset the errors of the rows with at least one error: the other rows are not touched
+     */
     public void resetErrors() {
-        IntStream.range(0, getRowCount()).forEach(this::resetErrors);
+        new ArrayList<>(errorCells.keySet()).forEach(this::resetErrors);
     }
 
     public void resetErrors(int rowIndex) {
         Scenario scenarioByIndex = simulation.getScenarioByIndex(rowIndex);
         scenarioByIndex.resetErrors();
-        refreshErrors();
+        errorCells.remove(rowIndex);
     }
 
+    /**
+     * Rebuild the error markers from the underlying model. Only the values with an error are mapped to their column
+     */
     public void refreshErrors() {
-        IntStream.range(0, getRowCount()).forEach(this::refreshErrorsRow);
+        errorCells.clear();
+        SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
+        int rowIndex = 0;
+        for (Scenario scenario : simulation.getUnmodifiableScenarios()) {
+            for (FactMappingValue factMappingValue : scenario.getUnmodifiableFactMappingValues()) {
+                // values without a column are not shown
+                if (!factMappingValue.isError() ||
+                        !simulationDescriptor.getFactMapping(factMappingValue.getFactIdentifier(), factMappingValue.getExpressionIdentifier()).isPresent()) {
+                    continue;
+                }
+                int columnIndex = simulationDescriptor.getIndexByIdentifier(factMappingValue.getFactIdentifier(),
+                                                                            factMappingValue.getExpressionIdentifier());
+                errorCells.computeIfAbsent(rowIndex, key -> new HashSet<>()).add(columnIndex);
+            }
+            rowIndex++;
+        }
     }
 
-    void refreshErrorsRow(int rowIndex) {
+    public void refreshErrorsRow(int rowIndex) {
         SimulationDescriptor simulationDescriptor = simulation.getSimulationDescriptor();
         Scenario scenarioByIndex = simulation.getScenarioByIndex(rowIndex);
+        Set<Integer> errorColumns = new HashSet<>();
         IntStream.range(0, getColumnCount()).forEach(columnIndex -> {
-            ScenarioGridCell cell = (ScenarioGridCell) getCell(rowIndex, columnIndex);
-            if (cell == null) {
-                return;
-            }
             final FactMapping factMappingByIndex = simulationDescriptor.getFactMappingByIndex(columnIndex);
             Optional<FactMappingValue> factMappingValue = scenarioByIndex.getFactMappingValue(factMappingByIndex.getFactIdentifier(), factMappingByIndex.getExpressionIdentifier());
-            if (factMappingValue.isPresent()) {
-                cell.setError(factMappingValue.get().isError());
-            } else {
-                cell.setError(false);
+            if (factMappingValue.isPresent() && factMappingValue.get().isError()) {
+                errorColumns.add(columnIndex);
             }
         });
+        if (errorColumns.isEmpty()) {
+            errorCells.remove(rowIndex);
+        } else {
+            errorCells.put(rowIndex, errorColumns);
+        }
+    }
+
+    public boolean isCellError(int rowIndex, int columnIndex) {
+        Set<Integer> errorColumns = errorCells.get(rowIndex);
+        return errorColumns != null && errorColumns.contains(columnIndex);
+    }
+
+    protected GridCell<?> applyErrorMarker(int rowIndex, int columnIndex, GridCell<?> cell) {
+        if (cell instanceof ScenarioGridCell) {
+            ((ScenarioGridCell) cell).setError(isCellError(rowIndex, columnIndex));
+        }
+        return cell;
+    }
+
+    /**
+     * Move the error markers of the rows starting from the given index, after rows have been inserted or removed
+     * @param fromRowIndex
+     * @param delta
+     */
+    protected void shiftErrorRows(int fromRowIndex, int delta) {
+        if (errorCells.isEmpty()) {
+            return;
+        }
+        Map<Integer, Set<Integer>> shifted = new HashMap<>();
+        errorCells.forEach((rowIndex, errorColumns) -> shifted.put(rowIndex >= fromRowIndex ? rowIndex + delta : rowIndex, errorColumns));
+        errorCells = shifted;
+    }
+
+    /**
+     * Move the error markers of the columns starting from the given index, after columns have been inserted or removed
+     * @param fromColumnIndex
+     * @param delta
+     */
+    protected void shiftErrorColumns(int fromColumnIndex, int delta) {
+        errorCells.replaceAll((rowIndex, errorColumns) -> errorColumns.stream()
+                .map(columnIndex -> columnIndex >= fromColumnIndex ? columnIndex + delta : columnIndex)
+                .collect(Collectors.toSet()));
     }
 
     // Helper method to avoid potential NPE
@@ -58,6 +58,12 @@ public interface ScenarioSimulationEditorConstants
 
     String runScenarioSimulation();
 
+    String cancelRunScenarioSimulation();
+
+    String undo();
+
+    String redo();
+
     String expect();
 
     String insertColumnLeft();
@@ -78,6 +84,8 @@ public interface ScenarioSimulationEditorConstants
 
     String duplicateRow();
 
+    String pasteRows();
+
     String prependRow();
 
     String appendRow();
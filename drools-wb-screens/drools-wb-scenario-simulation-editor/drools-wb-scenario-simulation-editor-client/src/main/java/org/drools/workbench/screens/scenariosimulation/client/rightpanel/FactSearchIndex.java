@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of the names (data objects, instances and their loaded properties) searched in the right panel.
+ * <p>
+ * Every suffix of a (lower-case) name is a key of a sorted map, so the names <b>containing</b> a search string are
+ * the ones with a suffix starting with it and are found with a single range lookup instead of scanning them all
+ */
+public class FactSearchIndex {
+
+    private final TreeMap<String, Set<String>> keysBySuffix = new TreeMap<>();
+
+    /**
+     * Index the given name for the given key, i.e. the name of the element of the right panel to show when the name
+     * matches the search
+     * @param name
+     * @param key
+     */
+    public void add(String name, String key) {
+        final String lowerCaseName = name.toLowerCase();
+        for (int index = 0; index < lowerCaseName.length(); index++) {
+            keysBySuffix.computeIfAbsent(lowerCaseName.substring(index), suffix -> new HashSet<>()).add(key);
+        }
+    }
+
+    public void addAll(Collection<String> names, String key) {
+        names.forEach(name -> add(name, key));
+    }
+
+    /**
+     * @param search
+     * @return the keys with at least one name containing the given string, case-unsensitive
+     */
+    public Set<String> search(String search) {
+        final String lowerCaseSearch = search.toLowerCase();
+        final Set<String> toReturn = new HashSet<>();
+        keysBySuffix.subMap(lowerCaseSearch, true, lowerCaseSearch + Character.MAX_VALUE, true)
+                .values()
+                .forEach(toReturn::addAll);
+        return toReturn;
+    }
+
+    public void clear() {
+        keysBySuffix.clear();
+    }
+}
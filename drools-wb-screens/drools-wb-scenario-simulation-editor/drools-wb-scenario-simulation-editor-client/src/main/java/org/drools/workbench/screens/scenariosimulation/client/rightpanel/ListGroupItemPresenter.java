@@ -25,6 +25,7 @@ import javax.inject.Inject;
 import com.google.gwt.dom.client.DivElement;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
 import org.drools.workbench.screens.scenariosimulation.client.utils.ViewsProvider;
+import org.uberfire.mvp.Command;
 
 @Dependent
 public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
@@ -64,22 +65,21 @@ public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
 
     @Override
     public void selectProperty(String factName, String propertyName) {
-        final ListGroupItemView listGroupItemView = listGroupItemViewMap.get(factName);
-        if (!listGroupItemView.isShown()) {
-            onToggleRowExpansion(listGroupItemView, false);
-        }
-        String key;
-        if (propertyName.contains(".")) {
-            key = factName + "." + propertyName.substring(0, propertyName.indexOf("."));
-            final ListGroupItemView subListGroupItemView = listGroupItemViewMap.get(key);
-            if (!subListGroupItemView.isShown()) {
-                onToggleRowExpansion(subListGroupItemView, false);
+        // properties may have to be loaded before expanding the nodes, so each step continues when the previous one is done
+        final Command selectField = () -> {
+            String key = factName + "." + propertyName;
+            if (fieldItemPresenter.fieldItemMap.containsKey(key)) {
+                fieldItemPresenter.fieldItemMap.get(key).onFieldElementClick();
             }
-        }
-        key = factName + "." + propertyName;
-        if (fieldItemPresenter.fieldItemMap.containsKey(key)) {
-            fieldItemPresenter.fieldItemMap.get(key).onFieldElementClick();
-        }
+        };
+        expandIfClosed(listGroupItemViewMap.get(factName), () -> {
+            if (propertyName.contains(".")) {
+                String key = factName + "." + propertyName.substring(0, propertyName.indexOf("."));
+                expandIfClosed(listGroupItemViewMap.get(key), selectField);
+            } else {
+                selectField.execute();
+            }
+        });
     }
 
     @Override
@@ -102,8 +102,9 @@ public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
         if (listGroupItemViewMap.containsKey(factName)) {
             return listGroupItemViewMap.get(factName).getListGroupItem();
         } else {
-            final ListGroupItemView listGroupItemView = commonGetListGroupItemView("", factName, false);
-            populateListGroupItemView(listGroupItemView, "", factName, factModelTree);
+            // properties are added on the first expansion, when they are loaded
+            final ListGroupItemView listGroupItemView = commonGetListGroupItemView("", factName, true);
+            setListGroupItemViewName(listGroupItemView, factName, factModelTree);
             return listGroupItemView.getListGroupItem();
         }
     }
@@ -128,17 +129,8 @@ public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
         if (currentlyShown) {
             listGroupItemView.closeRow();
         } else {
-            if (listGroupItemView.isToExpand()) {
-                FactModelTree factModelTree = rightPanelPresenter.getFactModelTreeFromFactTypeMap(listGroupItemView.getFactType());
-                populateListGroupItemView(listGroupItemView, listGroupItemView.getParentPath(), listGroupItemView.getFactName(), factModelTree);
-                listGroupItemView.setToExpand(false);
-                if (factName != null) {
-                    listGroupItemView.disable();
-                } else {
-                    listGroupItemView.enable();
-                }
-            }
-            listGroupItemView.expandRow();
+            expandRow(listGroupItemView, () -> {
+            });
         }
     }
 
@@ -155,6 +147,43 @@ public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
         listGroupItemViewMap.values().forEach(ListGroupItemView::unselect);
     }
 
+    /**
+     * Expand the given <code>ListGroupItemView</code>, populating it the first time, when the properties of its type
+     * have been loaded
+     * @param listGroupItemView
+     * @param onExpanded executed when the row has been expanded
+     */
+    protected void expandRow(ListGroupItemView listGroupItemView, Command onExpanded) {
+        if (!listGroupItemView.isToExpand()) {
+            listGroupItemView.expandRow();
+            onExpanded.execute();
+            return;
+        }
+        FactModelTree factModelTree = rightPanelPresenter.getFactModelTreeFromFactTypeMap(listGroupItemView.getFactType());
+        rightPanelPresenter.loadFactModelTree(factModelTree, () -> {
+            // the row could have been populated meanwhile, i.e. by a previous click while loading
+            if (listGroupItemView.isToExpand()) {
+                populateListGroupItemView(listGroupItemView, listGroupItemView.getParentPath(), listGroupItemView.getFactName(), factModelTree);
+                listGroupItemView.setToExpand(false);
+                if (factName != null) {
+                    listGroupItemView.disable();
+                } else {
+                    listGroupItemView.enable();
+                }
+            }
+            listGroupItemView.expandRow();
+            onExpanded.execute();
+        });
+    }
+
+    protected void expandIfClosed(ListGroupItemView listGroupItemView, Command onExpanded) {
+        if (listGroupItemView.isShown() || disabled.get()) {
+            onExpanded.execute();
+        } else {
+            expandRow(listGroupItemView, onExpanded);
+        }
+    }
+
     /**
      * Populate the "Assets" list. When
      * @param toPopulate
@@ -163,15 +192,19 @@ public class ListGroupItemPresenter implements ListGroupItemView.Presenter {
      * @param factModelTree the <code>FactModelTree</code> with all properties of a given type
      */
     protected void populateListGroupItemView(ListGroupItemView toPopulate, String parentPath, String factName, FactModelTree factModelTree) {
+        setListGroupItemViewName(toPopulate, factName, factModelTree);
+        String fullPath = parentPath.isEmpty() ? factName : parentPath + "." + factName;
+        factModelTree.getSimpleProperties().forEach((key, value) -> toPopulate.addFactField(fieldItemPresenter.getLIElement(fullPath, factName, key, value)));
+        factModelTree.getExpandableProperties().forEach(
+                (key, value) -> toPopulate.addExpandableFactField(getDivElement(fullPath, key, value)));
+    }
+
+    protected void setListGroupItemViewName(ListGroupItemView toPopulate, String factName, FactModelTree factModelTree) {
         if (factName.equals(factModelTree.getFactName())) {  // the name of the property equals the type of the factModelTree: this means that we are populating the "root" of the class
             toPopulate.setFactName(factName);
         } else {
             toPopulate.setFactNameAndType(factName, factModelTree.getFactName()); // the name of the property differ from the type of the factModelTree: this means that we are populating children of the class
         }
-        String fullPath = parentPath.isEmpty() ? factName : parentPath + "." + factName;
-        factModelTree.getSimpleProperties().forEach((key, value) -> toPopulate.addFactField(fieldItemPresenter.getLIElement(fullPath, factName, key, value)));
-        factModelTree.getExpandableProperties().forEach(
-                (key, value) -> toPopulate.addExpandableFactField(getDivElement(fullPath, key, value)));
     }
 
     /**
@@ -16,9 +16,12 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 
 import javax.annotation.PostConstruct;
@@ -31,11 +34,14 @@ import com.google.gwt.user.client.ui.Widget;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetInstanceHeaderEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetPropertyHeaderEvent;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
+import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTreeLoader;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.uberfire.client.annotations.DefaultPosition;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchPartView;
 import org.uberfire.client.annotations.WorkbenchScreen;
+import org.uberfire.mvp.Command;
 import org.uberfire.workbench.model.CompassPosition;
 import org.uberfire.workbench.model.Position;
 
@@ -58,6 +64,12 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
 
     protected Map<String, FactModelTree> instanceFieldsMap;
 
+    protected FactSearchIndex dataObjectSearchIndex = new FactSearchIndex();
+
+    protected FactSearchIndex instanceSearchIndex = new FactSearchIndex();
+
+    protected FactModelTreeLoader factModelTreeLoader;
+
     protected EventBus eventBus;
 
     protected boolean editingColumnEnabled = false;
@@ -65,6 +77,10 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
     protected ListGroupItemView selectedListGroupItemView;
     protected FieldItemView selectedFieldItemView;
 
+    protected List<ScenarioProfile> profiles = new ArrayList<>();
+    protected RightPanelView.ProfileColumn profileSortColumn = RightPanelView.ProfileColumn.TOTAL;
+    protected boolean profileSortAscending = false;
+
     public RightPanelPresenter() {
         //Zero argument constructor for CDI
     }
@@ -135,11 +151,30 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
         return instanceFieldsMap.get(factName);
     }
 
+    @Override
+    public void setFactModelTreeLoader(FactModelTreeLoader factModelTreeLoader) {
+        this.factModelTreeLoader = factModelTreeLoader;
+    }
+
+    @Override
+    public void loadFactModelTree(FactModelTree toLoad, Command onLoaded) {
+        if (toLoad.isLoaded() || factModelTreeLoader == null) {
+            onLoaded.execute();
+            return;
+        }
+        factModelTreeLoader.load(toLoad, () -> {
+            indexProperties(dataObjectSearchIndex, dataObjectFieldsMap, toLoad);
+            indexProperties(instanceSearchIndex, instanceFieldsMap, toLoad);
+            onLoaded.execute();
+        });
+    }
+
     @Override
     public void setDataObjectFieldsMap(SortedMap<String, FactModelTree> dataObjectFieldsMap) {
         clearDataObjectList();
         this.dataObjectFieldsMap = dataObjectFieldsMap;
         this.dataObjectFieldsMap.forEach(this::addDataObjectListGroupItemView);
+        populateSearchIndex(dataObjectSearchIndex, dataObjectFieldsMap);
     }
 
     @Override
@@ -147,6 +182,7 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
         clearInstanceList();
         this.instanceFieldsMap = instanceFieldsMap;
         this.instanceFieldsMap.forEach(this::addInstanceListGroupItemView);
+        populateSearchIndex(instanceSearchIndex, instanceFieldsMap);
     }
 
     @Override
@@ -166,15 +202,22 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
         if (dataObjectFieldsMap.isEmpty()) {
             return;
         }
+        if (search.isEmpty()) {
+            dataObjectFieldsMap.forEach(this::addDataObjectListGroupItemView);
+            instanceFieldsMap.forEach(this::addInstanceListGroupItemView);
+            return;
+        }
+        final Set<String> dataObjectKeys = dataObjectSearchIndex.search(search);
         dataObjectFieldsMap
                 .entrySet()
                 .stream()
-                .filter(entry -> entry.getKey().toLowerCase().contains(search.toLowerCase()))
+                .filter(entry -> dataObjectKeys.contains(entry.getKey()))
                 .forEach(filteredEntry -> addDataObjectListGroupItemView(filteredEntry.getKey(), filteredEntry.getValue()));
+        final Set<String> instanceKeys = instanceSearchIndex.search(search);
         instanceFieldsMap
                 .entrySet()
                 .stream()
-                .filter(entry -> entry.getKey().toLowerCase().contains(search.toLowerCase()))
+                .filter(entry -> instanceKeys.contains(entry.getKey()))
                 .forEach(filteredEntry -> addInstanceListGroupItemView(filteredEntry.getKey(), filteredEntry.getValue()));
     }
 
@@ -277,6 +320,71 @@ public class RightPanelPresenter implements RightPanelView.Presenter {
         }
     }
 
+    @Override
+    public void setProfiles(List<ScenarioProfile> profiles) {
+        this.profiles = new ArrayList<>(profiles);
+        sortProfiles();
+    }
+
+    @Override
+    public void onSortProfiles(RightPanelView.ProfileColumn column) {
+        profileSortAscending = column.equals(profileSortColumn) && !profileSortAscending;
+        profileSortColumn = column;
+        sortProfiles();
+    }
+
+    protected void sortProfiles() {
+        Comparator<ScenarioProfile> comparator = getProfileComparator(profileSortColumn);
+        profiles.sort(profileSortAscending ? comparator : comparator.reversed());
+        view.showProfiles(new ArrayList<>(profiles));
+    }
+
+    protected Comparator<ScenarioProfile> getProfileComparator(RightPanelView.ProfileColumn column) {
+        switch (column) {
+            case SCENARIO:
+                return Comparator.comparingInt(ScenarioProfile::getScenarioIndex);
+            case GIVEN:
+                return Comparator.comparingLong(ScenarioProfile::getGivenTime);
+            case FIRE:
+                return Comparator.comparingLong(ScenarioProfile::getFireTime);
+            case VERIFY:
+                return Comparator.comparingLong(ScenarioProfile::getVerifyTime);
+            case RULE_FIRINGS:
+                return Comparator.comparingInt(ScenarioProfile::getRuleFirings);
+            default:
+                return Comparator.comparingLong(ScenarioProfile::getTotalTime);
+        }
+    }
+
+    protected void populateSearchIndex(FactSearchIndex toPopulate, Map<String, FactModelTree> source) {
+        toPopulate.clear();
+        source.forEach((key, factModelTree) -> {
+            toPopulate.add(key, key);
+            if (factModelTree.isLoaded()) {
+                toPopulate.addAll(factModelTree.getSimpleProperties().keySet(), key);
+                toPopulate.addAll(factModelTree.getExpandableProperties().keySet(), key);
+            }
+        });
+    }
+
+    /**
+     * Add the properties of a <code>FactModelTree</code> just loaded to the index, for all the elements showing it
+     * @param toUpdate
+     * @param source
+     * @param loaded
+     */
+    protected void indexProperties(FactSearchIndex toUpdate, Map<String, FactModelTree> source, FactModelTree loaded) {
+        if (source == null) {
+            return;
+        }
+        source.forEach((key, factModelTree) -> {
+            if (factModelTree == loaded) {
+                toUpdate.addAll(loaded.getSimpleProperties().keySet(), key);
+                toUpdate.addAll(loaded.getExpandableProperties().keySet(), key);
+            }
+        });
+    }
+
     protected boolean filterTerm(String key, String search, boolean notEqualsSearch) {
         List<String> terms = Arrays.asList(search.split(";"));
         if (notEqualsSearch) {
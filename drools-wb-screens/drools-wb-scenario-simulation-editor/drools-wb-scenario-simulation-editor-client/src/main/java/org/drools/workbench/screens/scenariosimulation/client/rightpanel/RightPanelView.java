@@ -16,18 +16,34 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
 
+import java.util.List;
 import java.util.SortedMap;
 
 import com.google.gwt.dom.client.DivElement;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.IsWidget;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
+import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTreeLoader;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.uberfire.client.mvp.HasPresenter;
+import org.uberfire.mvp.Command;
 
 public interface RightPanelView
         extends IsWidget,
                 HasPresenter<RightPanelView.Presenter> {
 
+    /**
+     * Columns of the profile table that can be used to sort it
+     */
+    enum ProfileColumn {
+        SCENARIO,
+        GIVEN,
+        FIRE,
+        VERIFY,
+        TOTAL,
+        RULE_FIRINGS
+    }
+
     void clearInputSearch();
 
     void clearNameField();
@@ -60,6 +76,12 @@ public interface RightPanelView
      */
     void enableAddButton();
 
+    /**
+     * Replace the rows of the <b>Profile Tab</b> with the given profiles, in the given order
+     * @param profiles
+     */
+    void showProfiles(List<ScenarioProfile> profiles);
+
     interface Presenter {
 
         void onClearSearch();
@@ -71,7 +93,7 @@ public interface RightPanelView
         void onShowClearButton();
 
         /**
-         * Filter the data in the right panel if they <b>contains</b> the given search string, case-unsensitive. To be used by manual search
+         * Filter the data in the right panel if they, or their loaded properties, <b>contains</b> the given search string, case-unsensitive. To be used by manual search
          * @param search
          */
         void onSearchedEvent(String search);
@@ -101,6 +123,19 @@ public interface RightPanelView
 
         FactModelTree getFactModelTreeFromInstanceMap(String factName);
 
+        /**
+         * Set the <code>FactModelTreeLoader</code> used to retrieve the properties of the facts when they are expanded
+         * @param factModelTreeLoader
+         */
+        void setFactModelTreeLoader(FactModelTreeLoader factModelTreeLoader);
+
+        /**
+         * Load the properties of the given <code>FactModelTree</code>, if not already loaded, and then execute onLoaded
+         * @param toLoad
+         * @param onLoaded
+         */
+        void loadFactModelTree(FactModelTree toLoad, Command onLoaded);
+
         /**
          * By default the <b>Editor Tab</b> is disabled (no user interaction allowed).
          * Use this when click on grid' <i>instance</i> header.
@@ -144,5 +179,17 @@ public interface RightPanelView
          * @param selected
          */
         void setSelectedElement(FieldItemView selected);
+
+        /**
+         * Show the profiles of the last run in the <b>Profile Tab</b>, sorted by the current column
+         * @param profiles
+         */
+        void setProfiles(List<ScenarioProfile> profiles);
+
+        /**
+         * Sort the profiles by the given column: slowest first, a second selection of the same column reverses the order
+         * @param column
+         */
+        void onSortProfiles(ProfileColumn column);
     }
 }
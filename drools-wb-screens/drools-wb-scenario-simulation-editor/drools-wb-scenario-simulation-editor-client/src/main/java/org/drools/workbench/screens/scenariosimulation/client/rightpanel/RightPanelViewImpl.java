@@ -16,18 +16,26 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import javax.enterprise.context.Dependent;
 
 import com.google.gwt.dom.client.ButtonElement;
 import com.google.gwt.dom.client.DivElement;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.InputElement;
+import com.google.gwt.dom.client.TableCellElement;
+import com.google.gwt.dom.client.TableRowElement;
+import com.google.gwt.dom.client.TableSectionElement;
 import com.google.gwt.dom.client.UListElement;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.KeyCodes;
 import com.google.gwt.event.dom.client.KeyDownEvent;
 import com.google.gwt.event.dom.client.KeyUpEvent;
 import com.google.gwt.user.client.ui.Composite;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.jboss.errai.ui.shared.api.annotations.DataField;
 import org.jboss.errai.ui.shared.api.annotations.EventHandler;
 import org.jboss.errai.ui.shared.api.annotations.Templated;
@@ -70,6 +78,27 @@ public class RightPanelViewImpl
     @DataField("kieTestEditorTabContent")
     protected DivElement kieTestEditorTabContent = Document.get().createDivElement();
 
+    @DataField("profileScenarioHeader")
+    protected TableCellElement profileScenarioHeader = Document.get().createTHElement();
+
+    @DataField("profileGivenHeader")
+    protected TableCellElement profileGivenHeader = Document.get().createTHElement();
+
+    @DataField("profileFireHeader")
+    protected TableCellElement profileFireHeader = Document.get().createTHElement();
+
+    @DataField("profileVerifyHeader")
+    protected TableCellElement profileVerifyHeader = Document.get().createTHElement();
+
+    @DataField("profileTotalHeader")
+    protected TableCellElement profileTotalHeader = Document.get().createTHElement();
+
+    @DataField("profileRuleFiringsHeader")
+    protected TableCellElement profileRuleFiringsHeader = Document.get().createTHElement();
+
+    @DataField("profileTableBody")
+    protected TableSectionElement profileTableBody = Document.get().createTBodyElement();
+
     public RightPanelViewImpl() {
 
     }
@@ -115,6 +144,52 @@ public class RightPanelViewImpl
         presenter.onDisableEditorTab();
     }
 
+    @EventHandler("profileScenarioHeader")
+    public void onProfileScenarioHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.SCENARIO);
+    }
+
+    @EventHandler("profileGivenHeader")
+    public void onProfileGivenHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.GIVEN);
+    }
+
+    @EventHandler("profileFireHeader")
+    public void onProfileFireHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.FIRE);
+    }
+
+    @EventHandler("profileVerifyHeader")
+    public void onProfileVerifyHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.VERIFY);
+    }
+
+    @EventHandler("profileTotalHeader")
+    public void onProfileTotalHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.TOTAL);
+    }
+
+    @EventHandler("profileRuleFiringsHeader")
+    public void onProfileRuleFiringsHeaderClick(ClickEvent event) {
+        presenter.onSortProfiles(ProfileColumn.RULE_FIRINGS);
+    }
+
+    @Override
+    public void showProfiles(List<ScenarioProfile> profiles) {
+        profileTableBody.removeAllChildren();
+        for (ScenarioProfile profile : profiles) {
+            TableRowElement row = Document.get().createTRElement();
+            addCell(row, (profile.getScenarioIndex() + 1) + " - " + (profile.getDescription() != null ? profile.getDescription() : ""));
+            addCell(row, formatTime(profile.getGivenTime()));
+            addCell(row, formatTime(profile.getFireTime()));
+            addCell(row, formatTime(profile.getVerifyTime()));
+            addCell(row, formatTime(profile.getTotalTime()));
+            addCell(row, String.valueOf(profile.getRuleFirings()));
+            addCell(row, formatTopRules(profile.getTopRules()));
+            profileTableBody.appendChild(row);
+        }
+    }
+
     @Override
     public void clearInputSearch() {
         inputSearch.setValue("");
@@ -176,6 +251,27 @@ public class RightPanelViewImpl
         }
     }
 
+    protected void addCell(TableRowElement row, String text) {
+        TableCellElement cell = Document.get().createTDElement();
+        cell.setInnerText(text);
+        row.appendChild(cell);
+    }
+
+    /**
+     * @param nanoseconds
+     * @return given time in milliseconds, with three decimals at most
+     */
+    protected static String formatTime(long nanoseconds) {
+        return String.valueOf(Math.round(nanoseconds / 1000.0) / 1000.0);
+    }
+
+    protected static String formatTopRules(Map<String, Integer> topRules) {
+        return topRules.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
     protected void setContainersDisabledStatus(boolean disabled) {
         if (disabled) {
             dataObjectListContainer.addClassName("disabled");
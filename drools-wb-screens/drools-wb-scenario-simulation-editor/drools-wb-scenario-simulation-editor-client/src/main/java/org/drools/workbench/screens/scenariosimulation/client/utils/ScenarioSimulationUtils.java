@@ -15,6 +15,11 @@
  */
 package org.drools.workbench.screens.scenariosimulation.client.utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.drools.workbench.screens.scenariosimulation.client.factories.FactoryProvider;
 import org.drools.workbench.screens.scenariosimulation.client.factories.ScenarioCellTextAreaSingletonDOMElementFactory;
 import org.drools.workbench.screens.scenariosimulation.client.factories.ScenarioHeaderTextBoxSingletonDOMElementFactory;
@@ -263,6 +268,37 @@ public class ScenarioSimulationUtils {
         }
     }
 
+    /**
+     * Split a block of text copied from a spreadsheet in its rows (one per line) and values (tab separated)
+     * @param text
+     * @return
+     */
+    public static List<List<String>> getClipboardRows(String text) {
+        final List<List<String>> toReturn = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return toReturn;
+        }
+        final String[] lines = text.split("\\r?\\n");
+        for (String line : lines) {
+            toReturn.add(Arrays.asList(line.split("\t", -1)));
+        }
+        return toReturn;
+    }
+
+    /**
+     * Read the text of the system clipboard: the callback is not invoked if the browser does not grant the access
+     * @param callback
+     */
+    public static native void readClipboardText(Consumer<String> callback) /*-{
+        var clipboard = $wnd.navigator.clipboard;
+        if (clipboard && clipboard.readText) {
+            clipboard.readText().then(function (text) {
+                callback.@java.util.function.Consumer::accept(Ljava/lang/Object;)(text);
+            }, function () {
+            });
+        }
+    }-*/;
+
     private static boolean isOther(FactMappingType factMappingType) {
         return FactMappingType.OTHER.equals(factMappingType);
     }
@@ -16,7 +16,9 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.commands;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwtmockito.GwtMockitoTestRunner;
@@ -24,17 +26,23 @@ import org.drools.workbench.screens.scenariosimulation.client.events.AppendColum
 import org.drools.workbench.screens.scenariosimulation.client.events.AppendRowEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DeleteColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DeleteRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DisableRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.DuplicateRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.EnableRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.InsertColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.InsertRowsEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.PasteRowsEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.PrependColumnEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.PrependRowEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.RedoEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.ReloadRightPanelEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.ScenarioGridReloadEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetInstanceHeaderEvent;
 import org.drools.workbench.screens.scenariosimulation.client.events.SetPropertyHeaderEvent;
+import org.drools.workbench.screens.scenariosimulation.client.events.UndoEvent;
 import org.drools.workbench.screens.scenariosimulation.client.popup.DeletePopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.popup.PreserveDeletePopupPresenter;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
@@ -45,9 +53,11 @@ import org.mockito.Mock;
 import org.uberfire.mvp.Command;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -71,20 +81,30 @@ public class CommandExecutorTest extends AbstractCommandTest {
     @Mock
     private HandlerRegistration deleteRowHandlerRegistrationMock;
     @Mock
+    private HandlerRegistration deleteRowsHandlerRegistrationMock;
+    @Mock
     private HandlerRegistration disableRightPanelEventHandlerMock;
     @Mock
     private HandlerRegistration duplicateHandlerRegistrationMock;
     @Mock
+    private HandlerRegistration duplicateRowsHandlerRegistrationMock;
+    @Mock
     private HandlerRegistration enableRightPanelEventHandlerMock;
     @Mock
     private HandlerRegistration insertColumnHandlerRegistrationMock;
     @Mock
     private HandlerRegistration insertRowHandlerRegistrationMock;
     @Mock
+    private HandlerRegistration insertRowsHandlerRegistrationMock;
+    @Mock
+    private HandlerRegistration pasteRowsHandlerRegistrationMock;
+    @Mock
     private HandlerRegistration prependColumnHandlerRegistrationMock;
     @Mock
     private HandlerRegistration prependRowHandlerRegistrationMock;
     @Mock
+    private HandlerRegistration redoHandlerRegistrationMock;
+    @Mock
     private HandlerRegistration reloadRightPanelHandlerRegistrationMock;
     @Mock
     private HandlerRegistration scenarioGridReloadHandlerRegistrationMock;
@@ -92,11 +112,15 @@ public class CommandExecutorTest extends AbstractCommandTest {
     private HandlerRegistration setInstanceHeaderEventHandlerMock;
     @Mock
     private HandlerRegistration setPropertyHeaderEventHandlerMock;
+    @Mock
+    private HandlerRegistration undoHandlerRegistrationMock;
 
     @Mock
     private DeletePopupPresenter deletePopupPresenterMock;
     @Mock
     private PreserveDeletePopupPresenter preserveDeletePopupPresenterMock;
+    @Mock
+    private CommandHistory commandHistoryMock;
 
     private CommandExecutor commandExecutor;
 
@@ -107,17 +131,23 @@ public class CommandExecutorTest extends AbstractCommandTest {
         when(eventBusMock.addHandler(eq(AppendRowEvent.TYPE), isA(CommandExecutor.class))).thenReturn(appendRowHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(DeleteColumnEvent.TYPE), isA(CommandExecutor.class))).thenReturn(deleteColumnHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(DeleteRowEvent.TYPE), isA(CommandExecutor.class))).thenReturn(deleteRowHandlerRegistrationMock);
+        when(eventBusMock.addHandler(eq(DeleteRowsEvent.TYPE), isA(CommandExecutor.class))).thenReturn(deleteRowsHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(DisableRightPanelEvent.TYPE), isA(CommandExecutor.class))).thenReturn(disableRightPanelEventHandlerMock);
         when(eventBusMock.addHandler(eq(DuplicateRowEvent.TYPE), isA(CommandExecutor.class))).thenReturn(duplicateHandlerRegistrationMock);
+        when(eventBusMock.addHandler(eq(DuplicateRowsEvent.TYPE), isA(CommandExecutor.class))).thenReturn(duplicateRowsHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(EnableRightPanelEvent.TYPE), isA(CommandExecutor.class))).thenReturn(enableRightPanelEventHandlerMock);
         when(eventBusMock.addHandler(eq(InsertColumnEvent.TYPE), isA(CommandExecutor.class))).thenReturn(insertColumnHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(InsertRowEvent.TYPE), isA(CommandExecutor.class))).thenReturn(insertRowHandlerRegistrationMock);
+        when(eventBusMock.addHandler(eq(InsertRowsEvent.TYPE), isA(CommandExecutor.class))).thenReturn(insertRowsHandlerRegistrationMock);
+        when(eventBusMock.addHandler(eq(PasteRowsEvent.TYPE), isA(CommandExecutor.class))).thenReturn(pasteRowsHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(PrependColumnEvent.TYPE), isA(CommandExecutor.class))).thenReturn(prependColumnHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(PrependRowEvent.TYPE), isA(CommandExecutor.class))).thenReturn(prependRowHandlerRegistrationMock);
+        when(eventBusMock.addHandler(eq(RedoEvent.TYPE), isA(CommandExecutor.class))).thenReturn(redoHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(ReloadRightPanelEvent.TYPE), isA(CommandExecutor.class))).thenReturn(reloadRightPanelHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(ScenarioGridReloadEvent.TYPE), isA(CommandExecutor.class))).thenReturn(scenarioGridReloadHandlerRegistrationMock);
         when(eventBusMock.addHandler(eq(SetInstanceHeaderEvent.TYPE), isA(CommandExecutor.class))).thenReturn(setInstanceHeaderEventHandlerMock);
         when(eventBusMock.addHandler(eq(SetPropertyHeaderEvent.TYPE), isA(CommandExecutor.class))).thenReturn(setPropertyHeaderEventHandlerMock);
+        when(eventBusMock.addHandler(eq(UndoEvent.TYPE), isA(CommandExecutor.class))).thenReturn(undoHandlerRegistrationMock);
         commandExecutor = spy(new CommandExecutor() {
             {
                 this.eventBus = eventBusMock;
@@ -129,6 +159,7 @@ public class CommandExecutorTest extends AbstractCommandTest {
                 this.rightPanelPresenter = rightPanelPresenterMock;
                 this.deletePopupPresenter = deletePopupPresenterMock;
                 this.preserveDeletePopupPresenter = preserveDeletePopupPresenterMock;
+                this.commandHistory = commandHistoryMock;
             }
         });
     }
@@ -201,6 +232,13 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(commandExecutor, times(1)).commonExecute(isA(DeleteRowCommand.class));
     }
 
+    @Test
+    public void onDeleteRowsEvent() {
+        DeleteRowsEvent event = new DeleteRowsEvent(ROW_INDEX, 3);
+        commandExecutor.onEvent(event);
+        verify(commandExecutor, times(1)).commonExecute(isA(DeleteRowsCommand.class));
+    }
+
     @Test
     public void onDisableRightPanelEvent() {
         DisableRightPanelEvent event = new DisableRightPanelEvent();
@@ -215,6 +253,13 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(commandExecutor, times(1)).commonExecute(isA(DuplicateRowCommand.class));
     }
 
+    @Test
+    public void onDuplicateRowsEvent() {
+        DuplicateRowsEvent event = new DuplicateRowsEvent(ROW_INDEX, 3);
+        commandExecutor.onEvent(event);
+        verify(commandExecutor, times(1)).commonExecute(isA(DuplicateRowsCommand.class));
+    }
+
     @Test
     public void onEnableRightPanelEvent() {
         EnableRightPanelEvent event = new EnableRightPanelEvent();
@@ -236,6 +281,42 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(commandExecutor, times(1)).commonExecute(isA(InsertRowCommand.class));
     }
 
+    @Test
+    public void onInsertRowsEvent() {
+        InsertRowsEvent event = new InsertRowsEvent(ROW_INDEX, 3);
+        commandExecutor.onEvent(event);
+        verify(commandExecutor, times(1)).commonExecute(isA(InsertRowsCommand.class));
+    }
+
+    @Test
+    public void onPasteRowsEvent() {
+        PasteRowsEvent event = new PasteRowsEvent(ROW_INDEX, COLUMN_INDEX, Collections.singletonList(Collections.singletonList(VALUE)));
+        commandExecutor.onEvent(event);
+        verify(commandExecutor, never()).readClipboard(any());
+        verify(commandExecutor, times(1)).commonExecute(isA(PasteRowsCommand.class));
+    }
+
+    @Test
+    public void onPasteRowsEventFromClipboard() {
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArguments()[0]).accept(VALUE + "\t" + VALUE + "\n" + VALUE);
+            return null;
+        }).when(commandExecutor).readClipboard(any());
+        commandExecutor.onEvent(new PasteRowsEvent(ROW_INDEX, COLUMN_INDEX));
+        verify(commandExecutor, times(1)).readClipboard(any());
+        verify(commandExecutor, times(1)).commonExecute(isA(PasteRowsCommand.class));
+    }
+
+    @Test
+    public void onPasteRowsEventFromEmptyClipboard() {
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArguments()[0]).accept("");
+            return null;
+        }).when(commandExecutor).readClipboard(any());
+        commandExecutor.onEvent(new PasteRowsEvent(ROW_INDEX, COLUMN_INDEX));
+        verify(commandExecutor, never()).commonExecute(any());
+    }
+
     @Test
     public void onPrependColumnEvent() {
         PrependColumnEvent event = new PrependColumnEvent(COLUMN_GROUP);
@@ -250,6 +331,18 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(commandExecutor, times(1)).commonExecute(isA(PrependRowCommand.class));
     }
 
+    @Test
+    public void onRedoEvent() {
+        when(commandHistoryMock.redo()).thenReturn(false);
+        commandExecutor.onEvent(new RedoEvent());
+        verify(scenarioGridPanelMock, never()).onResize();
+        when(commandHistoryMock.redo()).thenReturn(true);
+        commandExecutor.onEvent(new RedoEvent());
+        verify(commandHistoryMock, times(2)).redo();
+        verify(scenarioGridPanelMock, times(1)).onResize();
+        verify(scenarioGridPanelMock, times(1)).select();
+    }
+
     @Test
     public void onReloadRightPanelEvent() {
         ReloadRightPanelEvent event = new ReloadRightPanelEvent(true);
@@ -354,6 +447,18 @@ public class CommandExecutorTest extends AbstractCommandTest {
                                                         isA(Command.class));
     }
 
+    @Test
+    public void onUndoEvent() {
+        when(commandHistoryMock.undo()).thenReturn(false);
+        commandExecutor.onEvent(new UndoEvent());
+        verify(scenarioGridPanelMock, never()).onResize();
+        when(commandHistoryMock.undo()).thenReturn(true);
+        commandExecutor.onEvent(new UndoEvent());
+        verify(commandHistoryMock, times(2)).undo();
+        verify(scenarioGridPanelMock, times(1)).onResize();
+        verify(scenarioGridPanelMock, times(1)).select();
+    }
+
     @Test
     public void commonExecute() {
         commandExecutor.scenarioGridPanel = scenarioGridPanelMock;
@@ -362,6 +467,31 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(mockCommand, times(1)).execute();
         verify(scenarioGridPanelMock, times(1)).onResize();
         verify(scenarioGridPanelMock, times(1)).select();
+        verify(commandHistoryMock, never()).add(anyObject());
+        verify(commandHistoryMock, never()).clear();
+    }
+
+    @Test
+    public void commonExecuteUndoable() {
+        UndoableCommand mockCommand = mock(UndoableCommand.class);
+        commandExecutor.commonExecute(mockCommand);
+        verify(mockCommand, times(1)).execute();
+        verify(commandHistoryMock, times(1)).add(eq(mockCommand));
+        verify(scenarioGridPanelMock, times(1)).onResize();
+    }
+
+    @Test
+    public void commonExecuteModifyingNotUndoable() {
+        Command mockCommand = scenarioGridModelMock::incrementRevision;
+        commandExecutor.commonExecute(mockCommand);
+        verify(commandHistoryMock, never()).add(anyObject());
+        verify(commandHistoryMock, times(1)).clear();
+    }
+
+    @Test
+    public void clearHistory() {
+        commandExecutor.clearHistory();
+        verify(commandHistoryMock, times(1)).clear();
     }
 
     @Test
@@ -375,20 +505,30 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(handlerRegistrationListMock, times(1)).add(eq(deleteColumnHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(DeleteRowEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(deleteRowHandlerRegistrationMock));
+        verify(eventBusMock, times(1)).addHandler(eq(DeleteRowsEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(deleteRowsHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(DisableRightPanelEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(disableRightPanelEventHandlerMock));
         verify(eventBusMock, times(1)).addHandler(eq(DuplicateRowEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(duplicateHandlerRegistrationMock));
+        verify(eventBusMock, times(1)).addHandler(eq(DuplicateRowsEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(duplicateRowsHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(EnableRightPanelEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(enableRightPanelEventHandlerMock));
         verify(eventBusMock, times(1)).addHandler(eq(InsertColumnEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(insertColumnHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(InsertRowEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(insertRowHandlerRegistrationMock));
+        verify(eventBusMock, times(1)).addHandler(eq(InsertRowsEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(insertRowsHandlerRegistrationMock));
+        verify(eventBusMock, times(1)).addHandler(eq(PasteRowsEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(pasteRowsHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(PrependColumnEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(prependColumnHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(PrependRowEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(prependRowHandlerRegistrationMock));
+        verify(eventBusMock, times(1)).addHandler(eq(RedoEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(redoHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(ReloadRightPanelEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(reloadRightPanelHandlerRegistrationMock));
         verify(eventBusMock, times(1)).addHandler(eq(ScenarioGridReloadEvent.TYPE), isA(CommandExecutor.class));
@@ -397,5 +537,7 @@ public class CommandExecutorTest extends AbstractCommandTest {
         verify(handlerRegistrationListMock, times(1)).add(eq(setInstanceHeaderEventHandlerMock));
         verify(eventBusMock, times(1)).addHandler(eq(SetPropertyHeaderEvent.TYPE), isA(CommandExecutor.class));
         verify(handlerRegistrationListMock, times(1)).add(eq(setPropertyHeaderEventHandlerMock));
+        verify(eventBusMock, times(1)).addHandler(eq(UndoEvent.TYPE), isA(CommandExecutor.class));
+        verify(handlerRegistrationListMock, times(1)).add(eq(undoHandlerRegistrationMock));
     }
 }
\ No newline at end of file
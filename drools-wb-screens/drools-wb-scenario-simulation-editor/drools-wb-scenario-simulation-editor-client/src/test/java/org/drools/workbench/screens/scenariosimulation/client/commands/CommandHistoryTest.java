@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommandHistoryTest {
+
+    @Mock
+    private UndoableCommand firstCommandMock;
+
+    @Mock
+    private UndoableCommand secondCommandMock;
+
+    private CommandHistory commandHistory;
+
+    @Before
+    public void setup() {
+        commandHistory = new CommandHistory(1);
+    }
+
+    @Test
+    public void undoRedo() {
+        assertFalse(commandHistory.undo());
+        assertFalse(commandHistory.redo());
+        commandHistory.add(firstCommandMock);
+        assertTrue(commandHistory.canUndo());
+        assertFalse(commandHistory.canRedo());
+        assertTrue(commandHistory.undo());
+        verify(firstCommandMock, times(1)).undo();
+        assertFalse(commandHistory.canUndo());
+        assertTrue(commandHistory.canRedo());
+        assertTrue(commandHistory.redo());
+        verify(firstCommandMock, times(1)).execute();
+        assertTrue(commandHistory.canUndo());
+        assertFalse(commandHistory.canRedo());
+    }
+
+    @Test
+    public void addDropsOldestAndRedo() {
+        commandHistory.add(firstCommandMock);
+        commandHistory.undo();
+        commandHistory.add(secondCommandMock);
+        assertFalse(commandHistory.canRedo());
+        commandHistory.add(firstCommandMock);
+        assertTrue(commandHistory.undo());
+        assertFalse(commandHistory.undo());
+        inOrder(firstCommandMock).verify(firstCommandMock, times(2)).undo();
+        verify(secondCommandMock, never()).undo();
+    }
+
+    @Test
+    public void clear() {
+        commandHistory.add(firstCommandMock);
+        commandHistory.undo();
+        commandHistory.add(secondCommandMock);
+        commandHistory.clear();
+        assertFalse(commandHistory.canUndo());
+        assertFalse(commandHistory.canRedo());
+    }
+}
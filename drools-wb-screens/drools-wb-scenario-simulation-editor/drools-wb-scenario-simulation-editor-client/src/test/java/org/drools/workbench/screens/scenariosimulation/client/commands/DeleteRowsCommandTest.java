@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class DeleteRowsCommandTest extends AbstractCommandTest {
+
+    @Mock
+    private Scenario scenarioMock;
+
+    private DeleteRowsCommand deleteRowsCommand;
+
+    @Before
+    public void setup() {
+        super.setup();
+        deleteRowsCommand = new DeleteRowsCommand(scenarioGridModelMock, ROW_INDEX, 2);
+    }
+
+    @Test
+    public void executeUndo() {
+        List<Scenario> removed = Arrays.asList(scenarioMock, scenarioMock);
+        doReturn(removed).when(scenarioGridModelMock).deleteRows(anyInt(), anyInt());
+        doNothing().when(scenarioGridModelMock).insertRows(anyInt(), anyListOf(Scenario.class));
+        deleteRowsCommand.execute();
+        verify(scenarioGridModelMock, times(1)).deleteRows(eq(ROW_INDEX), eq(2));
+        deleteRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).insertRows(eq(ROW_INDEX), eq(removed));
+    }
+
+    @Test
+    public void executeUndoRevision() {
+        doReturn(Arrays.asList(scenarioMock, scenarioMock)).when(scenarioGridModelMock).deleteRows(anyInt(), anyInt());
+        doNothing().when(scenarioGridModelMock).insertRows(anyInt(), anyListOf(Scenario.class));
+        doReturn(5, 6).when(scenarioGridModelMock).getRevision();
+        deleteRowsCommand.execute();
+        deleteRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).restoreRevision(eq(5));
+    }
+}
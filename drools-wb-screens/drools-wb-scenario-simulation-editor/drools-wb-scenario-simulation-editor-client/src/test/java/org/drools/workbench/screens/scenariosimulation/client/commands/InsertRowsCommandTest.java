@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.commands;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactIdentifier;
+import org.drools.workbench.screens.scenariosimulation.model.FactMapping;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class InsertRowsCommandTest extends AbstractCommandTest {
+
+    @Mock
+    private Scenario scenarioMock;
+
+    @Mock
+    private FactMapping factMappingMock;
+
+    @Mock
+    private FactIdentifier factIdentifierMock;
+
+    @Mock
+    private ExpressionIdentifier expressionIdentifierMock;
+
+    private InsertRowsCommand insertRowsCommand;
+
+    @Before
+    public void setup() {
+        super.setup();
+        insertRowsCommand = new InsertRowsCommand(scenarioGridModelMock, ROW_INDEX, 2);
+        doReturn(scenarioMock).when(scenarioGridModelMock).createScenario();
+        doNothing().when(scenarioGridModelMock).insertRows(anyInt(), anyListOf(Scenario.class));
+        doReturn(null).when(scenarioGridModelMock).deleteRows(anyInt(), anyInt());
+    }
+
+    @Test
+    public void executeUndoRedo() {
+        insertRowsCommand.execute();
+        ArgumentCaptor<List> scenariosCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scenarioGridModelMock, times(1)).insertRows(eq(ROW_INDEX), scenariosCaptor.capture());
+        assertEquals(Arrays.asList(scenarioMock, scenarioMock), scenariosCaptor.getValue());
+        insertRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).deleteRows(eq(ROW_INDEX), eq(2));
+        insertRowsCommand.execute();
+        // the same scenarios are inserted back
+        verify(scenarioGridModelMock, times(2)).createScenario();
+        verify(scenarioGridModelMock, times(2)).insertRows(eq(ROW_INDEX), scenariosCaptor.capture());
+        assertSame(scenariosCaptor.getAllValues().get(0), scenariosCaptor.getAllValues().get(2));
+    }
+
+    @Test
+    public void executeUndoRedoRevision() {
+        doReturn(5, 6).when(scenarioGridModelMock).getRevision();
+        insertRowsCommand.execute();
+        insertRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).restoreRevision(eq(5));
+        insertRowsCommand.execute();
+        verify(scenarioGridModelMock, times(1)).restoreRevision(eq(6));
+    }
+
+    @Test
+    public void duplicate() {
+        List<Scenario> clones = Arrays.asList(scenarioMock, scenarioMock);
+        when(simulationMock.cloneScenarios(ROW_INDEX, 2)).thenReturn(clones);
+        DuplicateRowsCommand duplicateRowsCommand = new DuplicateRowsCommand(scenarioGridModelMock, ROW_INDEX, 2);
+        duplicateRowsCommand.execute();
+        verify(scenarioGridModelMock, times(1)).insertRows(eq(ROW_INDEX + 2), eq(clones));
+        duplicateRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).deleteRows(eq(ROW_INDEX + 2), eq(2));
+    }
+
+    @Test
+    public void paste() {
+        when(simulationDescriptorMock.getFactMappingByIndex(anyInt())).thenReturn(factMappingMock);
+        when(factMappingMock.getFactIdentifier()).thenReturn(factIdentifierMock);
+        when(factMappingMock.getExpressionIdentifier()).thenReturn(expressionIdentifierMock);
+        // the first value is on the index column, the last one is beyond the last column
+        PasteRowsCommand pasteRowsCommand = new PasteRowsCommand(scenarioGridModelMock, ROW_INDEX, 0,
+                                                                 Collections.singletonList(Arrays.asList("1", VALUE, " ", VALUE, VALUE)));
+        pasteRowsCommand.execute();
+        verify(scenarioMock, times(2)).addOrUpdateMappingValue(eq(factIdentifierMock), eq(expressionIdentifierMock), eq(VALUE));
+        verify(scenarioMock, times(1)).addOrUpdateMappingValue(eq(factIdentifierMock), eq(expressionIdentifierMock), isNull());
+        verify(scenarioGridModelMock, times(1)).insertRows(eq(ROW_INDEX), eq(Collections.singletonList(scenarioMock)));
+        pasteRowsCommand.undo();
+        verify(scenarioGridModelMock, times(1)).deleteRows(eq(ROW_INDEX), eq(1));
+        verify(simulationDescriptorMock, never()).getFactMappingByIndex(0);
+        verify(simulationDescriptorMock, never()).getFactMappingByIndex(4);
+    }
+}
@@ -16,10 +16,15 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.editor;
 
+import java.util.HashMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
 import com.google.gwtmockito.GwtMockitoTestRunner;
 import org.drools.workbench.screens.scenariosimulation.client.commands.CommandExecutor;
 import org.drools.workbench.screens.scenariosimulation.client.handlers.ScenarioSimulationDocksHandler;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
+import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTreeLoader;
 import org.drools.workbench.screens.scenariosimulation.client.models.ScenarioGridModel;
 import org.drools.workbench.screens.scenariosimulation.client.producers.ScenarioSimulationProducer;
 import org.drools.workbench.screens.scenariosimulation.client.rightpanel.RightPanelPresenter;
@@ -28,6 +33,8 @@ import org.drools.workbench.screens.scenariosimulation.client.type.ScenarioSimul
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGrid;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridLayer;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridPanel;
+import org.drools.workbench.screens.scenariosimulation.model.Scenario;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioRunEvent;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModel;
 import org.drools.workbench.screens.scenariosimulation.model.ScenarioSimulationModelContent;
 import org.guvnor.common.services.shared.metadata.model.Overview;
@@ -44,9 +51,11 @@ import org.kie.workbench.common.widgets.configresource.client.widget.bound.Impor
 import org.kie.workbench.common.widgets.metadata.client.KieEditorWrapperView;
 import org.kie.workbench.common.widgets.metadata.client.widget.OverviewWidgetPresenter;
 import org.kie.workbench.common.workbench.client.test.TestRunnerReportingScreen;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.uberfire.backend.vfs.ObservablePath;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.client.callbacks.Callback;
 import org.uberfire.client.mvp.AbstractWorkbenchActivity;
 import org.uberfire.client.mvp.PlaceManager;
 import org.uberfire.client.mvp.PlaceStatus;
@@ -58,12 +67,15 @@ import org.uberfire.mocks.EventSourceMock;
 import org.uberfire.mvp.Command;
 import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.mvp.impl.PathPlaceRequest;
+import org.uberfire.rpc.SessionInfo;
 import org.uberfire.workbench.events.NotificationEvent;
 import org.uberfire.workbench.model.menu.MenuItem;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
@@ -149,6 +161,8 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
     TestRunnerReportingScreen testRunnerReportingScreen;
     @Mock
     ScenarioSimulationDocksHandler scenarioSimulationDocksHandler;
+    @Mock
+    SessionInfo sessionInfo;
 
     @Before
     public void setup() {
@@ -161,6 +175,7 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
         when(mockScenarioSimulationProducer.getScenarioSimulationView()).thenReturn(mockScenarioSimulationView);
         when(mockScenarioSimulationProducer.getCommandExecutor()).thenReturn(mockCommandExecutor);
         when(mockPlaceRequest.getIdentifier()).thenReturn(ScenarioSimulationEditorPresenter.IDENTIFIER);
+        when(sessionInfo.getId()).thenReturn("sessionId");
 
         when(mockOracleFactory.makeAsyncPackageDataModelOracle(anyObject(), anyObject(), anyObject())).thenReturn(mockOracle);
 
@@ -176,7 +191,8 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
                                                                mockOracleFactory,
                                                                mockPlaceManager,
                                                                testRunnerReportingScreen,
-                                                               scenarioSimulationDocksHandler) {
+                                                               scenarioSimulationDocksHandler,
+                                                               sessionInfo) {
             {
                 this.kieView = mockKieView;
                 this.overviewWidget = mockOverviewWidget;
@@ -210,11 +226,6 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
             void clearRightPanelStatus() {
 
             }
-
-            @Override
-            String getJsonModel(ScenarioSimulationModel model) {
-                return "";
-            }
         };
         presenterSpy = spy(presenter);
     }
@@ -239,6 +250,7 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
         verify(mockKieView).addImportsTab(mockImportsWidget);
         verify(mockScenarioSimulationView).showLoading();
         verify(mockScenarioSimulationView).hideBusyIndicator();
+        verify(mockCommandExecutor, times(1)).clearHistory();
     }
 
     @Test
@@ -317,19 +329,74 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
                                                     new Overview(),
                                                     new PackageDataModelOracleBaselinePayload())).when(scenarioSimulationService).loadContent(any());
 
-        when(scenarioSimulationService.runScenario(any(), any())).thenReturn(mock(ScenarioSimulationModel.class));
+        when(scenarioSimulationService.runScenarioAsync(any(), any())).thenReturn("runId");
 
         presenter.onStartup(mock(ObservablePath.class), mock(PlaceRequest.class));
 
         presenter.onRunScenario();
 
-        verify(scenarioSimulationService).runScenario(any(), eq(model));
+        verify(scenarioSimulationService).runScenarioAsync(any(), eq(model));
 
         verify(mockScenarioGridModel, times(1)).resetErrors();
 
-        verify(mockScenarioSimulationView, times(1)).refreshContent(any());
-
         verify(scenarioSimulationDocksHandler).expandTestResultsDock();
+
+        final Scenario scenario = model.getSimulation().getScenarioByIndex(0);
+        final Path path = mock(Path.class);
+
+        presenter.onScenarioRunEvent(runEvent("otherRunId", path, ScenarioRunEvent.Status.FAILURE, 0, scenario, "Failure"));
+        verify(mockScenarioSimulationView, never()).refreshErrors(anyInt());
+
+        presenter.onScenarioRunEvent(runEvent("runId", path, ScenarioRunEvent.Status.FAILURE, 0, scenario, "Failure"));
+        verify(mockScenarioSimulationView, times(1)).refreshErrors(0);
+
+        presenter.onCancelRunScenario();
+        verify(scenarioSimulationService).cancelRunScenario("runId");
+
+        presenter.onScenarioRunEvent(runEvent("runId", path, ScenarioRunEvent.Status.CANCELLED));
+        verify(mockScenarioSimulationView, times(1)).refreshContent(model.getSimulation());
+        // once on load and once on the refresh of the run results
+        verify(mockCommandExecutor, times(2)).clearHistory();
+
+        // run is finished
+        presenter.onScenarioRunEvent(runEvent("runId", path, ScenarioRunEvent.Status.SUCCESS, 0, scenario, null));
+        verify(mockScenarioSimulationView, times(1)).refreshErrors(0);
+    }
+
+    @Test
+    public void onScenarioRunEventOfOtherSession() {
+        final ScenarioSimulationModel model = new ScenarioSimulationModel();
+        doReturn(new ScenarioSimulationModelContent(model,
+                                                    new Overview(),
+                                                    new PackageDataModelOracleBaselinePayload())).when(scenarioSimulationService).loadContent(any());
+        presenter.onStartup(mock(ObservablePath.class), mock(PlaceRequest.class));
+
+        presenter.onRunScenario();
+
+        final ScenarioRunEvent otherSessionEvent = new ScenarioRunEvent("runId", mock(Path.class), ScenarioRunEvent.Status.COMPLETED);
+        otherSessionEvent.setSessionId("otherSessionId");
+        presenter.onScenarioRunEvent(otherSessionEvent);
+
+        presenter.getRunStartedCallback().callback("runId");
+        verify(mockScenarioSimulationView, never()).refreshContent(any());
+    }
+
+    @Test
+    public void onScenarioRunEventBeforeRunId() {
+        final ScenarioSimulationModel model = new ScenarioSimulationModel();
+        doReturn(new ScenarioSimulationModelContent(model,
+                                                    new Overview(),
+                                                    new PackageDataModelOracleBaselinePayload())).when(scenarioSimulationService).loadContent(any());
+        presenter.onStartup(mock(ObservablePath.class), mock(PlaceRequest.class));
+
+        presenter.onRunScenario();
+
+        // run identifier not yet received
+        presenter.onScenarioRunEvent(runEvent("runId", mock(Path.class), ScenarioRunEvent.Status.COMPLETED));
+        verify(mockScenarioSimulationView, never()).refreshContent(any());
+
+        presenter.getRunStartedCallback().callback("runId");
+        verify(mockScenarioSimulationView, times(1)).refreshContent(any());
     }
 
     @Test
@@ -362,12 +429,69 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
         assertEquals(SCENARIO_PACKAGE, retrieved.getFullPackage());
     }
 
+    @Test
+    public void getFactModelTreeLoader() {
+        String factName = "FACT_NAME";
+        String otherFactName = "OTHER_FACT_NAME";
+        SortedMap<String, FactModelTree> factTypeFieldsMap = new TreeMap<>();
+        FactModelTree toLoad = new FactModelTree(factName, SCENARIO_PACKAGE, new HashMap<>());
+        toLoad.setLoaded(false);
+        factTypeFieldsMap.put(factName, toLoad);
+        factTypeFieldsMap.put(otherFactName, new FactModelTree(otherFactName, SCENARIO_PACKAGE, new HashMap<>()));
+        ModelField[] modelFields = {
+                new ModelField("myint", int.class.getName(), ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                               ModelField.FIELD_ORIGIN.SELF, FieldAccessorsAndMutators.BOTH, int.class.getName()),
+                new ModelField("other", otherFactName, ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                               ModelField.FIELD_ORIGIN.SELF, FieldAccessorsAndMutators.BOTH, otherFactName)};
+        FactModelTreeLoader loader = presenter.getFactModelTreeLoader(factTypeFieldsMap);
+        Command firstCommandMock = mock(Command.class);
+        Command secondCommandMock = mock(Command.class);
+
+        loader.load(toLoad, firstCommandMock);
+        loader.load(toLoad, secondCommandMock);
+
+        ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+        // the second request waits for the result of the first one
+        verify(mockOracle, times(1)).getFieldCompletions(eq(factName), callbackCaptor.capture());
+        verify(firstCommandMock, never()).execute();
+        callbackCaptor.getValue().callback(modelFields);
+        assertTrue(toLoad.isLoaded());
+        assertEquals(int.class.getName(), toLoad.getSimpleProperties().get("myint"));
+        assertEquals(otherFactName, toLoad.getExpandableProperties().get("other"));
+        assertFalse(toLoad.getSimpleProperties().containsKey("other"));
+        verify(firstCommandMock, times(1)).execute();
+        verify(secondCommandMock, times(1)).execute();
+    }
+
     @Test
     public void isDirty() {
         when(mockScenarioSimulationView.getScenarioGridPanel()).thenThrow(new RuntimeException());
         assertFalse(presenter.isDirty());
     }
 
+    @Test
+    public void isDirtyAfterChanges() {
+        when(mockScenarioGridModel.getRevision()).thenReturn(1);
+        presenter.onStartup(mock(ObservablePath.class),
+                            mock(PlaceRequest.class));
+        assertFalse(presenter.isDirty());
+
+        when(mockScenarioGridModel.getRevision()).thenReturn(2);
+        assertTrue(presenter.isDirty());
+
+        presenter.save("save message");
+        assertFalse(presenter.isDirty());
+    }
+
+    @Test
+    public void onImportsChanged() {
+        presenter.onImportsChanged(mock(AsyncPackageDataModelOracle.class));
+        verify(mockScenarioGridModel, never()).incrementRevision();
+
+        presenter.onImportsChanged(mockOracle);
+        verify(mockScenarioGridModel, times(1)).incrementRevision();
+    }
+
     private void onClosePlaceStatusOpen() {
         verify(mockVersionRecordManager, times(1)).clear();
         verify(mockScenarioGridPanel, times(1)).unregister();
@@ -378,4 +502,14 @@ public class ScenarioSimulationEditorPresenterTest extends AbstractScenarioSimul
         verify(mockPlaceManager, times(0)).closePlace(mockPlaceRequest);
         verify(mockScenarioGridPanel, times(1)).unregister();
     }
+
+    private ScenarioRunEvent runEvent(String runId, Path path, ScenarioRunEvent.Status status) {
+        return runEvent(runId, path, status, -1, null, null);
+    }
+
+    private ScenarioRunEvent runEvent(String runId, Path path, ScenarioRunEvent.Status status, int scenarioIndex, Scenario scenario, String message) {
+        final ScenarioRunEvent event = new ScenarioRunEvent(runId, path, status, scenarioIndex, scenario, message);
+        event.setSessionId("sessionId");
+        return event;
+    }
 }
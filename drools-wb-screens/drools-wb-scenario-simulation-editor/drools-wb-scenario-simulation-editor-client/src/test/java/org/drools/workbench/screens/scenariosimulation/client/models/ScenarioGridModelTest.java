@@ -17,6 +17,9 @@
 package org.drools.workbench.screens.scenariosimulation.client.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -41,12 +44,15 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.uberfire.ext.wires.core.grids.client.model.GridCell;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridRow;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
@@ -234,7 +240,7 @@ public class ScenarioGridModelTest {
         scenarioGridModel.insertRowGridOnly(ROW_INDEX, gridRowMock, scenarioMock);
         verify(scenarioGridModel, atLeast(1)).checkSimulation();
         verify(scenarioGridModel, never()).insertRow(eq(ROW_INDEX), eq(gridRowMock));
-        verify(scenarioGridModel, times(1)).updateIndexColumn();
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(ROW_INDEX));
     }
 
     @Test
@@ -243,16 +249,73 @@ public class ScenarioGridModelTest {
         scenarioGridModel.insertRow(ROW_INDEX, gridRowMock);
         verify(scenarioGridModel, atLeast(1)).checkSimulation();
         verify(scenarioGridModel, times(1)).commonAddRow(eq(ROW_INDEX));
-        verify(scenarioGridModel, times(1)).updateIndexColumn();
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(ROW_INDEX));
     }
 
     @Test
     public void deleteRow() {
         reset(scenarioGridModel);
+        int revision = scenarioGridModel.getRevision();
         scenarioGridModel.deleteRow(ROW_INDEX);
+        assertTrue(scenarioGridModel.getRevision() > revision);
         verify(scenarioGridModel, atLeast(1)).checkSimulation();
         verify(simulationMock, times(1)).removeScenarioByIndex(eq(ROW_INDEX));
-        verify(scenarioGridModel, times(1)).updateIndexColumn();
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(ROW_INDEX));
+    }
+
+    @Test
+    public void deleteRows() {
+        reset(scenarioGridModel);
+        int revision = scenarioGridModel.getRevision();
+        int rowCount = scenarioGridModel.getRowCount();
+        scenarioGridModel.deleteRows(1, 2);
+        assertEquals(revision + 1, scenarioGridModel.getRevision());
+        assertEquals(rowCount - 2, scenarioGridModel.getRowCount());
+        verify(simulationMock, times(1)).removeScenarios(eq(1), eq(2));
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(1));
+    }
+
+    @Test
+    public void insertRows() {
+        reset(scenarioGridModel);
+        int revision = scenarioGridModel.getRevision();
+        int rowCount = scenarioGridModel.getRowCount();
+        List<Scenario> scenarios = Arrays.asList(scenarioMock, scenarioMock);
+        scenarioGridModel.insertRows(1, scenarios);
+        assertEquals(revision + 1, scenarioGridModel.getRevision());
+        assertEquals(rowCount + 2, scenarioGridModel.getRowCount());
+        verify(simulationMock, times(1)).addScenarios(eq(1), eq(scenarios));
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(1));
+        // error markers of the inserted rows are restored
+        verify(scenarioGridModel, times(1)).refreshErrorsRow(eq(1));
+        verify(scenarioGridModel, times(1)).refreshErrorsRow(eq(2));
+    }
+
+    @Test
+    public void restoreRevision() {
+        int revision = scenarioGridModel.getRevision();
+        scenarioGridModel.incrementRevision();
+        int changedRevision = scenarioGridModel.getRevision();
+        scenarioGridModel.restoreRevision(revision);
+        assertEquals(revision, scenarioGridModel.getRevision());
+        // a new change after an undo never gets back a revision already used
+        scenarioGridModel.incrementRevision();
+        assertTrue(scenarioGridModel.getRevision() > changedRevision);
+    }
+
+    @Test
+    public void getSelectedRowsRange() {
+        doReturn(Arrays.asList(new GridData.SelectedCell(1, 0),
+                               new GridData.SelectedCell(2, 0),
+                               new GridData.SelectedCell(2, 1),
+                               new GridData.SelectedCell(3, 0)))
+                .when(scenarioGridModel).getSelectedCells();
+        GridData.Range range = scenarioGridModel.getSelectedRowsRange(2);
+        assertEquals(1, range.getMinRowIndex());
+        assertEquals(3, range.getMaxRowIndex());
+        range = scenarioGridModel.getSelectedRowsRange(0);
+        assertEquals(0, range.getMinRowIndex());
+        assertEquals(0, range.getMaxRowIndex());
     }
 
     @Test
@@ -263,7 +326,7 @@ public class ScenarioGridModelTest {
         verify(simulationMock, times(1)).cloneScenario(eq(ROW_INDEX), eq(ROW_INDEX + 1));
         verify(scenarioGridModel, times(1)).insertRowGridOnly(eq(ROW_INDEX + 1), eq(gridRowMock), isA(Scenario.class));
         verify(scenarioGridModel, never()).insertRow(eq(ROW_INDEX), eq(gridRowMock));
-        verify(scenarioGridModel, times(1)).updateIndexColumn();
+        verify(scenarioGridModel, times(1)).updateIndexColumn(eq(ROW_INDEX + 1));
     }
 
     @Test
@@ -310,14 +373,18 @@ public class ScenarioGridModelTest {
 
     @Test
     public void setCellGridOnly() {
+        int revision = scenarioGridModel.getRevision();
         scenarioGridModel.setCellGridOnly(ROW_INDEX, COLUMN_INDEX, gridCellSupplier);
         verify(scenarioGridModel, times(1)).checkSimulation();
+        assertEquals(revision, scenarioGridModel.getRevision());
     }
 
     @Test
     public void setCell() {
+        int revision = scenarioGridModel.getRevision();
         scenarioGridModel.setCell(ROW_INDEX, COLUMN_INDEX, gridCellSupplier);
         verify(scenarioGridModel, times(1)).setCell(eq(ROW_INDEX), eq(COLUMN_INDEX), eq(gridCellSupplier));
+        assertTrue(scenarioGridModel.getRevision() > revision);
     }
 
     @Test
@@ -363,13 +430,19 @@ public class ScenarioGridModelTest {
 
     @Test
     public void refreshErrorsTest() {
+        when(simulationMock.getUnmodifiableScenarios()).thenReturn(Arrays.asList(scenarioMock, scenarioMock));
+        when(scenarioMock.getUnmodifiableFactMappingValues()).thenReturn(Collections.singletonList(factMappingValueMock));
+        when(simulationDescriptorMock.getFactMapping(any(), any())).thenReturn(Optional.of(factMappingMock));
+        when(simulationDescriptorMock.getIndexByIdentifier(any(), any())).thenReturn(COLUMN_INDEX);
         scenarioGridModel.refreshErrors();
-        verify(gridCellMock, times(24)).setError(eq(true));
+        assertTrue(scenarioGridModel.isCellError(0, COLUMN_INDEX));
+        assertTrue(scenarioGridModel.isCellError(1, COLUMN_INDEX));
+        assertFalse(scenarioGridModel.isCellError(0, 0));
+        assertEquals(2, scenarioGridModel.errorCells.size());
 
-        reset(gridCellMock);
         when(factMappingValueMock.isError()).thenReturn(false);
         scenarioGridModel.refreshErrors();
-        verify(gridCellMock, times(24)).setError(eq(false));
+        assertTrue(scenarioGridModel.errorCells.isEmpty());
     }
 
     @Test
@@ -379,10 +452,52 @@ public class ScenarioGridModelTest {
 
         when(scenarioMock.getFactMappingValue(any(), any())).thenReturn(Optional.empty());
         scenarioGridModel.refreshErrorsRow(0);
-        verify(gridCellMock, times(6)).setError(false);
+        assertTrue(scenarioGridModel.errorCells.isEmpty());
 
         when(scenarioMock.getFactMappingValue(any(), any())).thenReturn(Optional.of(factMappingValue));
         scenarioGridModel.refreshErrorsRow(0);
-        verify(gridCellMock, times(6)).setError(true);
+        IntStream.range(0, COLUMN_INDEX + 1).forEach(columnIndex -> assertTrue(scenarioGridModel.isCellError(0, columnIndex)));
+        assertFalse(scenarioGridModel.isCellError(1, 0));
+        // cells are not touched until they are read
+        verify(gridCellMock, never()).setError(anyBoolean());
+    }
+
+    @Test
+    public void applyErrorMarker() {
+        scenarioGridModel.refreshErrorsRow(ROW_INDEX);
+        scenarioGridModel.applyErrorMarker(ROW_INDEX, COLUMN_INDEX, gridCellMock);
+        verify(gridCellMock, times(1)).setError(eq(true));
+        scenarioGridModel.applyErrorMarker(0, COLUMN_INDEX, gridCellMock);
+        verify(gridCellMock, times(1)).setError(eq(false));
+    }
+
+    @Test
+    public void resetErrors() {
+        scenarioGridModel.refreshErrorsRow(ROW_INDEX);
+        scenarioGridModel.resetErrors();
+        assertTrue(scenarioGridModel.errorCells.isEmpty());
+        verify(scenarioMock, times(1)).resetErrors();
+        verify(simulationMock, never()).getScenarioByIndex(0);
+    }
+
+    @Test
+    public void shiftErrors() {
+        scenarioGridModel.errorCells.put(1, new HashSet<>(Arrays.asList(1, 3)));
+        scenarioGridModel.errorCells.put(3, new HashSet<>(Collections.singletonList(2)));
+
+        scenarioGridModel.shiftErrorRows(2, 1);
+        assertTrue(scenarioGridModel.isCellError(1, 1));
+        assertTrue(scenarioGridModel.isCellError(4, 2));
+        assertFalse(scenarioGridModel.isCellError(3, 2));
+
+        scenarioGridModel.shiftErrorColumns(2, -1);
+        assertTrue(scenarioGridModel.isCellError(1, 1));
+        assertTrue(scenarioGridModel.isCellError(1, 2));
+        assertTrue(scenarioGridModel.isCellError(4, 1));
+
+        reset(scenarioGridModel);
+        scenarioGridModel.deleteRow(1);
+        assertFalse(scenarioGridModel.errorCells.containsKey(1));
+        assertTrue(scenarioGridModel.isCellError(3, 1));
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FactSearchIndexTest {
+
+    private FactSearchIndex factSearchIndex;
+
+    @Before
+    public void setup() {
+        factSearchIndex = new FactSearchIndex();
+        factSearchIndex.add("Applicant", "Applicant");
+        factSearchIndex.addAll(Arrays.asList("age", "creditScore"), "Applicant");
+        factSearchIndex.add("Mortgage", "Mortgage");
+        factSearchIndex.add("amount", "Mortgage");
+    }
+
+    @Test
+    public void search() {
+        assertEquals(new HashSet<>(Arrays.asList("Applicant", "Mortgage")), factSearchIndex.search("a"));
+        assertEquals(Collections.singleton("Applicant"), factSearchIndex.search("APPL"));
+        assertEquals(Collections.singleton("Applicant"), factSearchIndex.search("score"));
+        assertEquals(Collections.singleton("Mortgage"), factSearchIndex.search("gage"));
+        assertTrue(factSearchIndex.search("applicants").isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        factSearchIndex.clear();
+        assertTrue(factSearchIndex.search("a").isEmpty());
+    }
+}
@@ -24,7 +24,9 @@ import com.google.gwtmockito.GwtMockitoTestRunner;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.uberfire.mvp.Command;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -57,6 +59,9 @@ public class ListGroupItemPresenterTest extends AbstractRightPanelTest {
     @Mock
     private List<ListGroupItemView> listGroupItemViewValuesMock;
 
+    @Mock
+    private RightPanelView.Presenter rightPanelPresenterMock;
+
     @Before
     public void setup() {
         super.setup();
@@ -69,6 +74,7 @@ public class ListGroupItemPresenterTest extends AbstractRightPanelTest {
                 listGroupItemViewMap = listGroupItemViewMapMock;
                 fieldItemPresenter = fieldItemPresenterMock;
                 viewsProvider = viewsProviderMock;
+                rightPanelPresenter = rightPanelPresenterMock;
             }
         });
     }
@@ -78,8 +84,9 @@ public class ListGroupItemPresenterTest extends AbstractRightPanelTest {
         DivElement retrieved = listGroupItemPresenter.getDivElement(FACT_NAME, FACT_MODEL_TREE);
         assertNotNull(retrieved);
         assertEquals(divElementMock, retrieved);
-        verify(listGroupItemPresenter, times(1)).commonGetListGroupItemView(eq(""), eq(FACT_NAME), eq(false));
-        verify(listGroupItemPresenter, times(1)).populateListGroupItemView(eq(listGroupItemViewMock), eq(""), eq(FACT_NAME), eq(FACT_MODEL_TREE));
+        verify(listGroupItemPresenter, times(1)).commonGetListGroupItemView(eq(""), eq(FACT_NAME), eq(true));
+        verify(listGroupItemViewMock, times(1)).setFactName(eq(FACT_NAME));
+        verify(listGroupItemPresenter, never()).populateListGroupItemView(eq(listGroupItemViewMock), eq(""), eq(FACT_NAME), eq(FACT_MODEL_TREE));
     }
 
     @Test
@@ -135,6 +142,25 @@ public class ListGroupItemPresenterTest extends AbstractRightPanelTest {
         verify(listGroupItemViewMock, times(1)).expandRow();
     }
 
+    @Test
+    public void onToggleRowExpansionToLoad() {
+        listGroupItemPresenter.enable();
+        when(listGroupItemViewMock.isToExpand()).thenReturn(true);
+        when(listGroupItemViewMock.getFactType()).thenReturn(FACT_NAME);
+        when(listGroupItemViewMock.getFactName()).thenReturn(FACT_NAME);
+        when(listGroupItemViewMock.getParentPath()).thenReturn("");
+        when(rightPanelPresenterMock.getFactModelTreeFromFactTypeMap(FACT_NAME)).thenReturn(FACT_MODEL_TREE);
+        listGroupItemPresenter.onToggleRowExpansion(listGroupItemViewMock, false);
+        ArgumentCaptor<Command> onLoadedCaptor = ArgumentCaptor.forClass(Command.class);
+        verify(rightPanelPresenterMock, times(1)).loadFactModelTree(eq(FACT_MODEL_TREE), onLoadedCaptor.capture());
+        // nothing is shown until the properties are loaded
+        verify(listGroupItemViewMock, never()).expandRow();
+        onLoadedCaptor.getValue().execute();
+        verify(listGroupItemPresenter, times(1)).populateListGroupItemView(eq(listGroupItemViewMock), eq(""), eq(FACT_NAME), eq(FACT_MODEL_TREE));
+        verify(listGroupItemViewMock, times(1)).setToExpand(eq(false));
+        verify(listGroupItemViewMock, times(1)).expandRow();
+    }
+
     @Test
     public void populateListGroupItemView() {
         listGroupItemPresenter.populateListGroupItemView(listGroupItemViewMock, "", FACT_NAME, FACT_MODEL_TREE);
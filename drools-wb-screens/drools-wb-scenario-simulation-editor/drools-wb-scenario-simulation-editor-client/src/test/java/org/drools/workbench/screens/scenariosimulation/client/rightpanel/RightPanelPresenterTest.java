@@ -17,6 +17,8 @@
 package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -27,20 +29,24 @@ import org.drools.workbench.screens.scenariosimulation.client.events.SetInstance
 import org.drools.workbench.screens.scenariosimulation.client.events.SetPropertyHeaderEvent;
 import org.drools.workbench.screens.scenariosimulation.client.models.FactModelTree;
 import org.drools.workbench.screens.scenariosimulation.client.resources.i18n.ScenarioSimulationEditorConstants;
+import org.drools.workbench.screens.scenariosimulation.model.ScenarioProfile;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.uberfire.mvp.Command;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -179,6 +185,37 @@ public class RightPanelPresenterTest extends AbstractRightPanelTest {
         verify(rightPanelPresenter, times(1)).clearInstanceList();
     }
 
+    @Test
+    public void onSearchedEventByProperty() {
+        rightPanelPresenter.setDataObjectFieldsMap(dataObjectFactTreeMap);
+        rightPanelPresenter.setInstanceFieldsMap(instanceFactTreeMap);
+        reset(rightPanelPresenter);
+        final String propertyName = FACT_MODEL_TREE.getSimpleProperties().keySet().iterator().next();
+        rightPanelPresenter.onSearchedEvent(propertyName.toLowerCase());
+        verify(rightPanelPresenter, times(1)).addDataObjectListGroupItemView(eq(FACT_NAME), eq(FACT_MODEL_TREE));
+    }
+
+    @Test
+    public void loadFactModelTree() {
+        final FactModelTree toLoad = new FactModelTree("Loaded", FACT_PACKAGE, new HashMap<>());
+        toLoad.setLoaded(false);
+        dataObjectFactTreeMap.put(toLoad.getFactName(), toLoad);
+        rightPanelPresenter.setDataObjectFieldsMap(dataObjectFactTreeMap);
+        rightPanelPresenter.setFactModelTreeLoader((factModelTree, onLoaded) -> {
+            factModelTree.addSimpleProperty("loadedProperty", String.class.getName());
+            factModelTree.setLoaded(true);
+            onLoaded.execute();
+        });
+        final Command onLoadedMock = mock(Command.class);
+        rightPanelPresenter.loadFactModelTree(toLoad, onLoadedMock);
+        verify(onLoadedMock, times(1)).execute();
+        assertTrue(rightPanelPresenter.dataObjectSearchIndex.search("loadedprop").contains(toLoad.getFactName()));
+        // already loaded
+        rightPanelPresenter.setFactModelTreeLoader((factModelTree, onLoaded) -> fail());
+        rightPanelPresenter.loadFactModelTree(toLoad, onLoadedMock);
+        verify(onLoadedMock, times(2)).execute();
+    }
+
     @Test
     public void addListGroupItemView() {
         rightPanelPresenter.addDataObjectListGroupItemView(FACT_NAME, FACT_MODEL_TREE);
@@ -256,4 +293,27 @@ public class RightPanelPresenterTest extends AbstractRightPanelTest {
 
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void setProfiles() {
+        ScenarioProfile fast = createProfile(0, 10);
+        ScenarioProfile slow = createProfile(1, 30);
+        ScenarioProfile medium = createProfile(2, 20);
+
+        rightPanelPresenter.setProfiles(Arrays.asList(fast, slow, medium));
+        verify(rightPanelViewMock, times(1)).showProfiles(eq(Arrays.asList(slow, medium, fast)));
+
+        rightPanelPresenter.onSortProfiles(RightPanelView.ProfileColumn.TOTAL);
+        verify(rightPanelViewMock, times(1)).showProfiles(eq(Arrays.asList(fast, medium, slow)));
+
+        rightPanelPresenter.onSortProfiles(RightPanelView.ProfileColumn.SCENARIO);
+        verify(rightPanelViewMock, times(1)).showProfiles(eq(Arrays.asList(medium, slow, fast)));
+    }
+
+    private ScenarioProfile createProfile(int scenarioIndex, long fireTime) {
+        ScenarioProfile profile = new ScenarioProfile();
+        profile.setScenarioIndex(scenarioIndex);
+        profile.setFireTime(fireTime);
+        return profile;
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.rightpanel;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.google.gwt.dom.client.ButtonElement;
 import com.google.gwt.dom.client.InputElement;
 import com.google.gwt.event.dom.client.ClickEvent;
@@ -26,6 +29,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -102,4 +106,19 @@ public class RightPanelViewImplTest {
         verify(mockClearSearchButton, times(1)).setDisabled(eq(false));
         verify(mockClearSearchButton, times(1)).removeAttribute(eq("style"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void onProfileTotalHeaderClick() {
+        rightPanelView.onProfileTotalHeaderClick(mock(ClickEvent.class));
+        verify(mockRightPanelPresenter, times(1)).onSortProfiles(eq(RightPanelView.ProfileColumn.TOTAL));
+    }
+
+    @Test
+    public void formatProfile() {
+        assertEquals("1.235", RightPanelViewImpl.formatTime(1234567));
+        Map<String, Integer> topRules = new HashMap<>();
+        topRules.put("rule A", 1);
+        topRules.put("rule B", 3);
+        assertEquals("rule B (3), rule A (1)", RightPanelViewImpl.formatTopRules(topRules));
+    }
+}
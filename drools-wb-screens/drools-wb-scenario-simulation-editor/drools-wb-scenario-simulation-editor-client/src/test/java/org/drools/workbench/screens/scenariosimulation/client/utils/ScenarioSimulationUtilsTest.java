@@ -16,6 +16,9 @@
 
 package org.drools.workbench.screens.scenariosimulation.client.utils;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.google.gwtmockito.GwtMockitoTestRunner;
 import org.drools.workbench.screens.scenariosimulation.client.widgets.ScenarioGridColumn;
 import org.drools.workbench.screens.scenariosimulation.model.ExpressionIdentifier;
@@ -24,6 +27,7 @@ import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(GwtMockitoTestRunner.class)
 public class ScenarioSimulationUtilsTest extends AbstractUtilsTest {
@@ -72,4 +76,12 @@ public class ScenarioSimulationUtilsTest extends AbstractUtilsTest {
         assertEquals(200, ScenarioSimulationUtils.getColumnWidth(ExpressionIdentifier.NAME.Expected.name()), 0);
         assertEquals(200, ScenarioSimulationUtils.getColumnWidth(ExpressionIdentifier.NAME.Other.name()), 0);
     }
+
+    @Test
+    public void getClipboardRows() {
+        assertTrue(ScenarioSimulationUtils.getClipboardRows(null).isEmpty());
+        assertTrue(ScenarioSimulationUtils.getClipboardRows("").isEmpty());
+        List<List<String>> retrieved = ScenarioSimulationUtils.getClipboardRows("a\tb\r\n\tc\t\nd\n");
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("", "c", ""), Arrays.asList("d")), retrieved);
+    }
 }
\ No newline at end of file